@@ -16,16 +16,26 @@
 
 package com.github.peterbencze.serritor.api;
 
+import com.gargoylesoftware.htmlunit.WebResponse;
+import com.github.peterbencze.serritor.internal.JsoupSearchContext;
+import java.util.Optional;
 import net.lightbody.bmp.core.har.HarResponse;
+import org.apache.commons.lang3.Validate;
+import org.apache.http.HttpResponse;
+import org.jsoup.nodes.Document;
+import org.openqa.selenium.SearchContext;
 import org.openqa.selenium.WebDriver;
 
 /**
  * Represents a complete crawl response that provides access to the HTTP header information and the
- * {@link WebDriver} instance to interact with the browser.
+ * {@link WebDriver} instance to interact with the browser. If the page was fetched without the
+ * browser (see {@link Crawler#registerStaticHtmlUrlPattern}), the parsed HTML document is provided
+ * instead.
  */
 public final class CompleteCrawlResponse extends PartialCrawlResponse {
 
     private final WebDriver webDriver;
+    private final Document document;
 
     /**
      * Creates a {@link CompleteCrawlResponse} instance from an HAR capture.
@@ -37,14 +47,66 @@ public final class CompleteCrawlResponse extends PartialCrawlResponse {
         super(harResponse);
 
         this.webDriver = webDriver;
+        document = null;
+    }
+
+    /**
+     * Creates a {@link CompleteCrawlResponse} instance from an HtmlUnit response.
+     *
+     * @param webResponse the HtmlUnit response
+     * @param webDriver   the <code>WebDriver</code> instance
+     */
+    public CompleteCrawlResponse(final WebResponse webResponse, final WebDriver webDriver) {
+        super(webResponse);
+
+        this.webDriver = webDriver;
+        document = null;
+    }
+
+    /**
+     * Creates a {@link CompleteCrawlResponse} instance from an HTTP response message and its
+     * parsed content.
+     *
+     * @param httpResponse the HTTP response message
+     * @param document     the parsed HTML document
+     */
+    public CompleteCrawlResponse(final HttpResponse httpResponse, final Document document) {
+        super(httpResponse);
+
+        webDriver = null;
+        this.document = document;
     }
 
     /**
      * Returns the <code>WebDriver</code> instance to interact with the browser.
      *
      * @return the <code>WebDriver</code> instance
+     *
+     * @throws IllegalStateException if the page was not loaded in the browser
      */
     public WebDriver getWebDriver() {
+        Validate.validState(webDriver != null, "The page was not loaded in the browser.");
+
         return webDriver;
     }
+
+    /**
+     * Returns the parsed HTML document if the page was fetched without the browser.
+     *
+     * @return the parsed HTML document, or empty if the page was loaded in the browser
+     */
+    public Optional<Document> getDocument() {
+        return Optional.ofNullable(document);
+    }
+
+    /**
+     * Returns the context to use for locating elements on the page, regardless of whether it was
+     * loaded in the browser or not.
+     *
+     * @return the search context of the page
+     */
+    public SearchContext getSearchContext() {
+        return getDocument().<SearchContext>map(JsoupSearchContext::create)
+                .orElseGet(this::getWebDriver);
+    }
 }
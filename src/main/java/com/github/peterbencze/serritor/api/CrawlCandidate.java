@@ -31,11 +31,13 @@ public final class CrawlCandidate implements Serializable {
     private final URI refererUrl;
     private final int crawlDepth;
     private final CrawlRequest crawlRequest;
+    private final int retryCount;
 
     private CrawlCandidate(final CrawlCandidateBuilder builder) {
         this.crawlRequest = builder.crawlRequest;
         this.refererUrl = builder.refererUrl;
         this.crawlDepth = builder.crawlDepth;
+        this.retryCount = builder.retryCount;
     }
 
     /**
@@ -92,6 +94,16 @@ public final class CrawlCandidate implements Serializable {
         return crawlRequest.getMetadata();
     }
 
+    /**
+     * Returns the number of times the crawling of this candidate has been retried because the
+     * browser failed.
+     *
+     * @return the number of retries
+     */
+    public int getRetryCount() {
+        return retryCount;
+    }
+
     /**
      * Returns a string representation of this crawl candidate.
      *
@@ -105,6 +117,7 @@ public final class CrawlCandidate implements Serializable {
                 .append("domain", getDomain())
                 .append("crawlDepth", crawlDepth)
                 .append("priority", getPriority())
+                .append("retryCount", retryCount)
                 .toString();
     }
 
@@ -117,6 +130,7 @@ public final class CrawlCandidate implements Serializable {
 
         private URI refererUrl;
         private int crawlDepth;
+        private int retryCount;
 
         /**
          * Creates a {@link CrawlCandidateBuilder} instance.
@@ -127,6 +141,19 @@ public final class CrawlCandidate implements Serializable {
             crawlRequest = request;
         }
 
+        /**
+         * Creates a {@link CrawlCandidateBuilder} instance initialized with the properties of an
+         * existing candidate.
+         *
+         * @param candidate the <code>CrawlCandidate</code> instance to copy
+         */
+        public CrawlCandidateBuilder(final CrawlCandidate candidate) {
+            crawlRequest = candidate.crawlRequest;
+            refererUrl = candidate.refererUrl;
+            crawlDepth = candidate.crawlDepth;
+            retryCount = candidate.retryCount;
+        }
+
         /**
          * Sets the referer URL.
          *
@@ -151,6 +178,18 @@ public final class CrawlCandidate implements Serializable {
             return this;
         }
 
+        /**
+         * Sets the number of times the crawling of the candidate has been retried.
+         *
+         * @param retryCount the number of retries
+         *
+         * @return the <code>CrawlCandidateBuilder</code> instance
+         */
+        public CrawlCandidateBuilder setRetryCount(final int retryCount) {
+            this.retryCount = retryCount;
+            return this;
+        }
+
         /**
          * Builds the configured <code>CrawlCandidate</code> instance.
          *
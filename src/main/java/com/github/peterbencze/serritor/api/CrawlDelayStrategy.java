@@ -17,7 +17,8 @@
 package com.github.peterbencze.serritor.api;
 
 /**
- * Available crawl delay strategies which define how the delay between each request is determined.
+ * Available crawl delay strategies which define how the delay between each request to the same
+ * host is determined.
  */
 public enum CrawlDelayStrategy {
 
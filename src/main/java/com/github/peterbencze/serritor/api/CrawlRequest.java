@@ -17,6 +17,7 @@
 package com.github.peterbencze.serritor.api;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.github.peterbencze.serritor.internal.util.DomainNameCache;
 import com.google.common.net.InternetDomainName;
 import java.io.IOException;
 import java.io.ObjectInputStream;
@@ -45,9 +46,13 @@ public final class CrawlRequest implements Serializable {
     @JsonIgnore
     private transient InternetDomainName domain;
 
+    @JsonIgnore
+    private transient boolean isDomainNameCacheHit;
+
     private CrawlRequest(final CrawlRequestBuilder builder) {
         requestUrl = builder.requestUrl;
         domain = builder.domain;
+        isDomainNameCacheHit = builder.isDomainNameCacheHit;
         priority = builder.priority;
         metadata = builder.metadata;
     }
@@ -92,6 +97,17 @@ public final class CrawlRequest implements Serializable {
         return domain;
     }
 
+    /**
+     * Indicates if the domain of the request URL was found in the domain name cache when the
+     * request was created.
+     *
+     * @return <code>true</code> if the domain was found in the cache, <code>false</code> if it had
+     *         to be parsed
+     */
+    boolean isDomainNameCacheHit() {
+        return isDomainNameCacheHit;
+    }
+
     /**
      * Returns the priority of the request.
      *
@@ -134,6 +150,7 @@ public final class CrawlRequest implements Serializable {
         private final URI requestUrl;
         private final InternetDomainName domain;
 
+        private boolean isDomainNameCacheHit;
         private int priority;
         private Serializable metadata;
 
@@ -157,7 +174,8 @@ public final class CrawlRequest implements Serializable {
             }
 
             // Extract the domain from the request URL
-            domain = InternetDomainName.from(requestUrl.getHost());
+            domain = DomainNameCache.get(requestUrl.getHost(),
+                    isCacheHit -> isDomainNameCacheHit = isCacheHit);
 
             // Set default priority
             priority = DEFAULT_PRIORITY;
@@ -210,6 +228,7 @@ public final class CrawlRequest implements Serializable {
     private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
         in.defaultReadObject();
 
-        domain = InternetDomainName.from(requestUrl.getHost());
+        domain = DomainNameCache.get(requestUrl.getHost(),
+                isCacheHit -> isDomainNameCacheHit = isCacheHit);
     }
 }
@@ -44,7 +44,9 @@ import org.apache.commons.lang3.time.DurationFormatUtils;
         "networkErrorCount",
         "filteredDuplicateRequestCount",
         "filteredOffsiteRequestCount",
-        "filteredCrawlDepthLimitExceedingRequestCount"
+        "filteredCrawlDepthLimitExceedingRequestCount",
+        "domainNameCacheHitCount",
+        "domainNameCacheMissCount"
 })
 public final class CrawlStats {
 
@@ -115,7 +117,7 @@ public final class CrawlStats {
      *
      * @return the number of remaining crawl candidates
      */
-    public int getRemainingCrawlCandidateCount() {
+    public long getRemainingCrawlCandidateCount() {
         return statsCounterSnapshot.getRemainingCrawlCandidateCount();
     }
 
@@ -124,7 +126,7 @@ public final class CrawlStats {
      *
      * @return the number of processed crawl candidates
      */
-    public int getProcessedCrawlCandidateCount() {
+    public long getProcessedCrawlCandidateCount() {
         return statsCounterSnapshot.getProcessedCrawlCandidateCount();
     }
 
@@ -135,7 +137,7 @@ public final class CrawlStats {
      * @return the number of responses received during the crawl, whose HTTP status code indicated
      *         success (2xx)
      */
-    public int getResponseSuccessCount() {
+    public long getResponseSuccessCount() {
         return statsCounterSnapshot.getResponseSuccessCount();
     }
 
@@ -144,7 +146,7 @@ public final class CrawlStats {
      *
      * @return the number of page load timeouts that occurred during the crawl
      */
-    public int getPageLoadTimeoutCount() {
+    public long getPageLoadTimeoutCount() {
         return statsCounterSnapshot.getPageLoadTimeoutCount();
     }
 
@@ -153,7 +155,7 @@ public final class CrawlStats {
      *
      * @return the number of request redirects that occurred during the crawl.
      */
-    public int getRequestRedirectCount() {
+    public long getRequestRedirectCount() {
         return statsCounterSnapshot.getRequestRedirectCount();
     }
 
@@ -162,7 +164,7 @@ public final class CrawlStats {
      *
      * @return the number of responses received with non-HTML content
      */
-    public int getNonHtmlResponseCount() {
+    public long getNonHtmlResponseCount() {
         return statsCounterSnapshot.getNonHtmlResponseCount();
     }
 
@@ -173,7 +175,7 @@ public final class CrawlStats {
      * @return the number of responses received during the crawl, whose HTTP status code indicated
      *         error (4xx or 5xx)
      */
-    public int getResponseErrorCount() {
+    public long getResponseErrorCount() {
         return statsCounterSnapshot.getResponseErrorCount();
     }
 
@@ -182,7 +184,7 @@ public final class CrawlStats {
      *
      * @return the number of network errors that occurred during the crawl
      */
-    public int getNetworkErrorCount() {
+    public long getNetworkErrorCount() {
         return statsCounterSnapshot.getNetworkErrorCount();
     }
 
@@ -191,7 +193,7 @@ public final class CrawlStats {
      *
      * @return the number of filtered duplicate requests
      */
-    public int getFilteredDuplicateRequestCount() {
+    public long getFilteredDuplicateRequestCount() {
         return statsCounterSnapshot.getFilteredDuplicateRequestCount();
     }
 
@@ -200,7 +202,7 @@ public final class CrawlStats {
      *
      * @return the number of filtered offsite requests
      */
-    public int getFilteredOffsiteRequestCount() {
+    public long getFilteredOffsiteRequestCount() {
         return statsCounterSnapshot.getFilteredOffsiteRequestCount();
     }
 
@@ -209,10 +211,30 @@ public final class CrawlStats {
      *
      * @return the number of filtered crawl depth limit exceeding requests
      */
-    public int getFilteredCrawlDepthLimitExceedingRequestCount() {
+    public long getFilteredCrawlDepthLimitExceedingRequestCount() {
         return statsCounterSnapshot.getFilteredCrawlDepthLimitExceedingRequestCount();
     }
 
+    /**
+     * Returns the number of crawl requests fed by the crawler, whose domain name was served from
+     * the domain name cache.
+     *
+     * @return the number of domain name cache hits
+     */
+    public long getDomainNameCacheHitCount() {
+        return statsCounterSnapshot.getDomainNameCacheHitCount();
+    }
+
+    /**
+     * Returns the number of crawl requests fed by the crawler, whose domain name had to be
+     * parsed.
+     *
+     * @return the number of domain name cache misses
+     */
+    public long getDomainNameCacheMissCount() {
+        return statsCounterSnapshot.getDomainNameCacheMissCount();
+    }
+
     /**
      * Returns a string representation of the statistics.
      *
@@ -239,6 +261,8 @@ public final class CrawlStats {
                 .append("filteredOffsiteRequestCount", getFilteredOffsiteRequestCount())
                 .append("filteredCrawlDepthLimitExceedingRequestCount",
                         getFilteredCrawlDepthLimitExceedingRequestCount())
+                .append("domainNameCacheHitCount", getDomainNameCacheHitCount())
+                .append("domainNameCacheMissCount", getDomainNameCacheMissCount())
                 .toString();
     }
 
@@ -252,7 +276,7 @@ public final class CrawlStats {
      */
     private static double calculateCrawlRate(
             final Duration runDuration,
-            final int processedCrawlCandidateCount) {
+            final long processedCrawlCandidateCount) {
         long runDurationInMinutes = runDuration.toMinutes();
         if (runDurationInMinutes == 0) {
             return processedCrawlCandidateCount;
@@ -271,7 +295,7 @@ public final class CrawlStats {
      */
     private static Duration calculateRemainingDurationEstimate(
             final double crawlRate,
-            final int remainingCrawlCandidateCount) {
+            final long remainingCrawlCandidateCount) {
         Validate.finite(crawlRate, "The crawlRate parameter must be finite.");
         Validate.isTrue(crawlRate > 0, "The crawlRate parameter must be larger than 0.");
 
@@ -17,6 +17,8 @@
 package com.github.peterbencze.serritor.api;
 
 import com.gargoylesoftware.htmlunit.WebClient;
+import com.gargoylesoftware.htmlunit.WebResponse;
+import com.github.peterbencze.serritor.api.CrawlCandidate.CrawlCandidateBuilder;
 import com.github.peterbencze.serritor.api.CrawlRequest.CrawlRequestBuilder;
 import com.github.peterbencze.serritor.api.event.NetworkErrorEvent;
 import com.github.peterbencze.serritor.api.event.NonHtmlResponseEvent;
@@ -24,26 +26,54 @@ import com.github.peterbencze.serritor.api.event.PageLoadTimeoutEvent;
 import com.github.peterbencze.serritor.api.event.RequestRedirectEvent;
 import com.github.peterbencze.serritor.api.event.ResponseErrorEvent;
 import com.github.peterbencze.serritor.api.event.ResponseSuccessEvent;
+import com.github.peterbencze.serritor.internal.AsyncHttpClient;
+import com.github.peterbencze.serritor.internal.BrowserFailureException;
+import com.github.peterbencze.serritor.internal.BrowserRestartPolicy;
+import com.github.peterbencze.serritor.internal.BrowserSession;
 import com.github.peterbencze.serritor.internal.CrawlEvent;
 import com.github.peterbencze.serritor.internal.CrawlFrontier;
 import com.github.peterbencze.serritor.internal.CustomCallbackManager;
+import com.github.peterbencze.serritor.internal.DocumentResponseRecorder;
+import com.github.peterbencze.serritor.internal.HeadRequestPrefetcher;
+import com.github.peterbencze.serritor.internal.HttpClientFactory;
+import com.github.peterbencze.serritor.internal.ResponseCapturingHtmlUnitDriver;
 import com.github.peterbencze.serritor.internal.WebDriverFactory;
+import com.github.peterbencze.serritor.internal.cluster.ClusterNode;
 import com.github.peterbencze.serritor.internal.crawldelaymechanism.AdaptiveCrawlDelayMechanism;
 import com.github.peterbencze.serritor.internal.crawldelaymechanism.CrawlDelayMechanism;
+import com.github.peterbencze.serritor.internal.crawldelaymechanism.CrawlDelayScheduler;
 import com.github.peterbencze.serritor.internal.crawldelaymechanism.FixedCrawlDelayMechanism;
 import com.github.peterbencze.serritor.internal.crawldelaymechanism.RandomCrawlDelayMechanism;
 import com.github.peterbencze.serritor.internal.stats.StatsCounter;
+import com.github.peterbencze.serritor.internal.stats.StatsCounterSnapshot;
 import com.github.peterbencze.serritor.internal.util.CookieConverter;
+import com.github.peterbencze.serritor.internal.util.FutureUtils;
 import com.github.peterbencze.serritor.internal.util.stopwatch.Stopwatch;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.InetSocketAddress;
 import java.net.URI;
+import java.nio.charset.Charset;
 import java.nio.charset.UnsupportedCharsetException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
 import net.lightbody.bmp.BrowserMobProxyServer;
 import net.lightbody.bmp.client.ClientUtil;
 import net.lightbody.bmp.core.har.HarResponse;
@@ -62,16 +92,20 @@ import org.apache.http.client.utils.HttpClientUtils;
 import org.apache.http.entity.ContentType;
 import org.apache.http.impl.client.BasicCookieStore;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
 import org.eclipse.jetty.http.HttpStatus;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.NoSuchSessionException;
 import org.openqa.selenium.Proxy;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriver.Options;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.remote.CapabilityType;
 import org.openqa.selenium.remote.DesiredCapabilities;
+import org.openqa.selenium.remote.UnreachableBrowserException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -83,17 +117,30 @@ public abstract class Crawler {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Crawler.class);
 
+    private static final long CLUSTER_IDLE_CHECK_INTERVAL_IN_MILLIS = 100;
+
     private final CrawlerConfiguration config;
     private final Stopwatch runTimeStopwatch;
     private final StatsCounter statsCounter;
     private final CrawlFrontier crawlFrontier;
     private final CustomCallbackManager callbackManager;
-
+    private final List<Pattern> staticHtmlUrlPatterns;
+    private final Object frontierMonitor;
+    private final ThreadLocal<CrawlCandidate> workerCandidate;
+    private final CrawlDelayScheduler crawlDelayScheduler;
+    private final List<BrowserSession> browserSessions;
+    private final BrowserRestartPolicy browserRestartPolicy;
+
+    private Browser browserType;
+    private MutableCapabilities browserCapabilities;
+    private HttpHost chainedProxy;
     private BasicCookieStore cookieStore;
     private CloseableHttpClient httpClient;
-    private BrowserMobProxyServer proxyServer;
-    private WebDriver webDriver;
-    private CrawlDelayMechanism crawlDelayMechanism;
+    private AsyncHttpClient asyncHttpClient;
+    private ExecutorService headRequestExecutor;
+    private HeadRequestPrefetcher headRequestPrefetcher;
+    private ClusterNode clusterNode;
+    private int inProgressCandidateCount;
     private AtomicBoolean isStopped;
     private AtomicBoolean isStopInitiated;
 
@@ -122,6 +169,15 @@ public abstract class Crawler {
                 .orElseGet(() -> new CrawlFrontier(config, statsCounter));
 
         callbackManager = new CustomCallbackManager();
+        staticHtmlUrlPatterns = new ArrayList<>();
+        frontierMonitor = new Object();
+        workerCandidate = new ThreadLocal<>();
+        // Without any crawl delay there is no reason to avoid concurrent requests to a host
+        crawlDelayScheduler = new CrawlDelayScheduler(
+                !CrawlDelayStrategy.FIXED.equals(config.getCrawlDelayStrategy())
+                        || config.getFixedCrawlDelayDurationInMillis() > 0);
+        browserSessions = new ArrayList<>();
+        browserRestartPolicy = new BrowserRestartPolicy(config);
 
         isStopInitiated = new AtomicBoolean(false);
         isStopped = new AtomicBoolean(true);
@@ -145,6 +201,26 @@ public abstract class Crawler {
         return new CrawlStats(runTimeStopwatch.getElapsedDuration(), statsCounter.getSnapshot());
     }
 
+    /**
+     * Returns summary statistics about the crawl progress of the whole crawl cluster, using the
+     * stats last reported by the other nodes. The run duration is the one of this node. If cluster
+     * mode is disabled, it is the same as {@link #getCrawlStats()}. This method is thread-safe.
+     *
+     * @return summary statistics about the crawl progress of the cluster
+     */
+    public final CrawlStats getClusterCrawlStats() {
+        List<StatsCounterSnapshot> snapshots = new ArrayList<>();
+        snapshots.add(statsCounter.getSnapshot());
+
+        ClusterNode currentClusterNode = clusterNode;
+        if (currentClusterNode != null) {
+            snapshots.addAll(currentClusterNode.getPeerStatsCounterSnapshots());
+        }
+
+        return new CrawlStats(runTimeStopwatch.getElapsedDuration(),
+                new StatsCounterSnapshot(snapshots));
+    }
+
     /**
      * Starts the crawler. The crawler will use HtmlUnit headless browser to visit URLs. This method
      * will block until the crawler finishes.
@@ -185,6 +261,7 @@ public abstract class Crawler {
             final Browser browser,
             final MutableCapabilities capabilities,
             final boolean isResuming) {
+        boolean isBrowserReusable = false;
         try {
             Validate.validState(isStopped.get(), "The crawler is already running.");
 
@@ -198,79 +275,93 @@ public abstract class Crawler {
                 crawlFrontier.reset();
             }
 
-            cookieStore = new BasicCookieStore();
-            HttpClientBuilder httpClientBuilder = HttpClientBuilder.create()
-                    .disableRedirectHandling()
-                    .setDefaultCookieStore(cookieStore);
-
-            // Create a copy of the original capabilities before we make changes to it (we don't
-            // want to cause any unwanted side effects)
-            MutableCapabilities capabilitiesClone = new MutableCapabilities(capabilities);
+            crawlDelayScheduler.reset();
 
-            proxyServer = new BrowserMobProxyServer();
+            if (!config.getClusterNodeAddresses().isEmpty()) {
+                clusterNode = new ClusterNode(config.getClusterNodeAddresses(),
+                        config.getLocalClusterNodeIndex(), this::feedForwardedRequests,
+                        this::isIdle, statsCounter::getSnapshot);
+                clusterNode.start();
+            }
 
-            // If a user-defined proxy is set, chain it to our internal one
-            Proxy proxyCapability = (Proxy) capabilitiesClone.getCapability(CapabilityType.PROXY);
+            // If a user-defined proxy is set, chain it to our internal ones
+            chainedProxy = null;
+            Proxy proxyCapability = (Proxy) capabilities.getCapability(CapabilityType.PROXY);
             if (proxyCapability != null && proxyCapability.getHttpProxy() != null) {
-                HttpHost proxyHost = HttpHost.create(proxyCapability.getHttpProxy());
-                String hostname = proxyHost.getHostName();
-                int port = proxyHost.getPort();
-
-                LOGGER.debug("Using chained HTTP proxy with address {}:{}", hostname, port);
+                chainedProxy = HttpHost.create(proxyCapability.getHttpProxy());
 
-                httpClientBuilder.setProxy(proxyHost);
-                proxyServer.setChainedProxy(new InetSocketAddress(hostname, port));
+                LOGGER.debug("Using chained HTTP proxy with address {}:{}",
+                        chainedProxy.getHostName(), chainedProxy.getPort());
             }
 
-            // The internal proxy server must be started before creating the Selenium proxy
-            // because the port is dynamically chosen by the server when it starts
-            proxyServer.start();
-            LOGGER.debug("Internal proxy server started on port {}", proxyServer.getPort());
-
-            // Set our internal proxy
-            capabilitiesClone.setCapability(CapabilityType.PROXY,
-                    ClientUtil.createSeleniumProxy(proxyServer));
-
-            httpClient = httpClientBuilder.build();
+            cookieStore = new BasicCookieStore();
+            if (config.isAsyncHttpClientEnabled()) {
+                asyncHttpClient = HttpClientFactory.createAsyncHttpClient(config, cookieStore,
+                        chainedProxy);
+            } else {
+                httpClient = HttpClientFactory.createHttpClient(config, cookieStore,
+                        chainedProxy);
+            }
 
-            LOGGER.debug("Starting {} browser", browser);
-            webDriver = WebDriverFactory.createWebDriver(browser, capabilitiesClone);
+            if (config.getHeadRequestPrefetchDepth() > 0) {
+                // The non-blocking client does not need threads to keep requests in flight
+                if (asyncHttpClient == null) {
+                    headRequestExecutor = Executors.newFixedThreadPool(
+                            config.getMaximumInFlightHeadRequests(),
+                            new ThreadFactoryBuilder().setNameFormat("head-request-%d")
+                                    .setDaemon(true)
+                                    .build());
+                }
 
-            LOGGER.debug("Calling onBrowserInit callback");
-            onBrowserInit(webDriver.manage());
+                headRequestPrefetcher = new HeadRequestPrefetcher(
+                        config.getHeadRequestPrefetchDepth(), this::prefetchHeadResponse);
+            }
 
-            // If the crawl delay strategy is set to adaptive, we check if the browser supports the
-            // Navigation Timing API or not. However HtmlUnit requires a page to be loaded first
-            // before executing JavaScript, so we load a blank page.
-            if (Browser.HTML_UNIT.equals(browser)
-                    && CrawlDelayStrategy.ADAPTIVE.equals(config.getCrawlDelayStrategy())) {
-                webDriver.get(WebClient.ABOUT_BLANK);
+            // Browsers kept running since the previous run can only be reused if the same browser
+            // is requested with the same properties
+            if (!browserSessions.isEmpty() && !(browser.equals(browserType)
+                    && capabilities.asMap().equals(browserCapabilities.asMap()))) {
+                closeBrowserSessions();
             }
 
-            // Must be created here (the adaptive crawl delay strategy depends on the WebDriver)
-            crawlDelayMechanism = createCrawlDelayMechanism();
+            browserType = browser;
+            browserCapabilities = new MutableCapabilities(capabilities);
+            while (browserSessions.size() < config.getWorkerCount()) {
+                browserSessions.add(createBrowserSession(browser, capabilities, chainedProxy));
+            }
 
             LOGGER.debug("Calling onStart callback");
             onStart();
 
             run();
+
+            isBrowserReusable = config.isBrowserReuseEnabled();
         } finally {
             LOGGER.debug("Crawler is stopping");
 
             try {
+                stopHeadRequestPrefetching();
+
                 LOGGER.debug("Calling onStop callback");
                 onStop();
             } finally {
-                HttpClientUtils.closeQuietly(httpClient);
+                if (headRequestExecutor != null) {
+                    headRequestExecutor.shutdownNow();
+                    headRequestExecutor = null;
+                }
 
-                if (webDriver != null) {
-                    LOGGER.debug("Closing browser");
-                    webDriver.quit();
+                // The node is kept to provide the last stats of the cluster
+                if (clusterNode != null) {
+                    clusterNode.close();
                 }
 
-                if (proxyServer != null && proxyServer.isStarted()) {
-                    LOGGER.debug("Stopping proxy server");
-                    proxyServer.stop();
+                HttpClientUtils.closeQuietly(httpClient);
+                httpClient = null;
+
+                closeAsyncHttpClient();
+
+                if (!isBrowserReusable) {
+                    closeBrowserSessions();
                 }
 
                 runTimeStopwatch.stop();
@@ -281,6 +372,154 @@ public abstract class Crawler {
         }
     }
 
+    /**
+     * Closes the browsers along with their internal proxy servers.
+     */
+    private void closeBrowserSessions() {
+        browserSessions.forEach(BrowserSession::close);
+        browserSessions.clear();
+    }
+
+    /**
+     * Closes the non-blocking HTTP client, if it is used. Pending requests and downloads are
+     * aborted.
+     */
+    private void closeAsyncHttpClient() {
+        if (asyncHttpClient == null) {
+            return;
+        }
+
+        try {
+            asyncHttpClient.close();
+        } catch (IOException exception) {
+            LOGGER.debug("Failed to close asynchronous HTTP client", exception);
+        }
+
+        asyncHttpClient = null;
+    }
+
+    /**
+     * Stops prefetching HTTP HEAD responses and puts the candidates that have been prefetched but
+     * not processed back to the frontier, so they are not lost when the crawl is resumed.
+     */
+    private void stopHeadRequestPrefetching() {
+        if (headRequestPrefetcher == null) {
+            return;
+        }
+
+        synchronized (frontierMonitor) {
+            List<CrawlCandidate> unprocessedCandidates = headRequestPrefetcher.drain();
+            unprocessedCandidates.forEach(crawlFrontier::requeueCandidate);
+            inProgressCandidateCount -= unprocessedCandidates.size();
+
+            headRequestPrefetcher = null;
+        }
+    }
+
+    /**
+     * Starts a browser along with its internal proxy server (unless HtmlUnit bypasses it) and
+     * performs the initialization of the browser.
+     *
+     * @param browser      the type of the browser to start
+     * @param capabilities the browser properties
+     * @param chainedProxy the user-defined proxy to chain to the internal proxy server or
+     *                     <code>null</code> if there is none
+     *
+     * @return the started browser session
+     */
+    private BrowserSession createBrowserSession(
+            final Browser browser,
+            final MutableCapabilities capabilities,
+            final HttpHost chainedProxy) {
+        BrowserSession session;
+        if (Browser.HTML_UNIT.equals(browser) && config.isHtmlUnitProxyBypassEnabled()) {
+            // The user-defined proxy (if any) is used by HtmlUnit directly
+            LOGGER.debug("Starting {} browser without internal proxy server", browser);
+            session = new BrowserSession(null, null,
+                    WebDriverFactory.createResponseCapturingHtmlUnitDriver(capabilities));
+        } else {
+            session = startProxiedBrowser(browser, capabilities, chainedProxy);
+        }
+
+        WebDriver webDriver = session.getWebDriver();
+        try {
+            LOGGER.debug("Calling onBrowserInit callback");
+            onBrowserInit(webDriver.manage());
+
+            // If the crawl delay strategy is set to adaptive, we check if the browser supports the
+            // Navigation Timing API or not. However HtmlUnit requires a page to be loaded first
+            // before executing JavaScript, so we load a blank page.
+            if (Browser.HTML_UNIT.equals(browser)
+                    && CrawlDelayStrategy.ADAPTIVE.equals(config.getCrawlDelayStrategy())) {
+                webDriver.get(WebClient.ABOUT_BLANK);
+            }
+        } catch (RuntimeException exception) {
+            session.close();
+            throw exception;
+        }
+
+        return session;
+    }
+
+    /**
+     * Starts a browser which sends its requests through an internal proxy server.
+     *
+     * @param browser      the type of the browser to start
+     * @param capabilities the browser properties
+     * @param chainedProxy the user-defined proxy to chain to the internal proxy server or
+     *                     <code>null</code> if there is none
+     *
+     * @return the started browser session
+     */
+    private static BrowserSession startProxiedBrowser(
+            final Browser browser,
+            final MutableCapabilities capabilities,
+            final HttpHost chainedProxy) {
+        // Only the main document responses are recorded, a full HAR capture is not needed
+        DocumentResponseRecorder responseRecorder = new DocumentResponseRecorder();
+        BrowserMobProxyServer proxyServer = new BrowserMobProxyServer();
+        proxyServer.addFirstHttpFilterFactory(responseRecorder);
+        if (chainedProxy != null) {
+            proxyServer.setChainedProxy(new InetSocketAddress(chainedProxy.getHostName(),
+                    chainedProxy.getPort()));
+        }
+
+        // The internal proxy server must be started before creating the Selenium proxy
+        // because the port is dynamically chosen by the server when it starts
+        proxyServer.start();
+        LOGGER.debug("Internal proxy server started on port {}", proxyServer.getPort());
+
+        // Create a copy of the original capabilities before we make changes to it (we don't
+        // want to cause any unwanted side effects)
+        MutableCapabilities capabilitiesClone = new MutableCapabilities(capabilities);
+
+        // Set our internal proxy
+        capabilitiesClone.setCapability(CapabilityType.PROXY,
+                ClientUtil.createSeleniumProxy(proxyServer));
+
+        WebDriver webDriver;
+        try {
+            LOGGER.debug("Starting {} browser", browser);
+            webDriver = WebDriverFactory.createWebDriver(browser, capabilitiesClone);
+        } catch (RuntimeException exception) {
+            proxyServer.stop();
+            throw exception;
+        }
+
+        return new BrowserSession(proxyServer, responseRecorder, webDriver);
+    }
+
+    /**
+     * Closes the browsers which have been kept running since the last run of the crawler because
+     * browser reuse is enabled. Has no effect if there are no such browsers.
+     */
+    public final void closeBrowsers() {
+        Validate.validState(isStopped.get(),
+                "Cannot close the browsers while the crawler is running.");
+
+        closeBrowserSessions();
+    }
+
     /**
      * Returns the current state of the crawler.
      *
@@ -337,6 +576,22 @@ public abstract class Crawler {
         callbackManager.addCustomCallback(eventClass, callback);
     }
 
+    /**
+     * Registers a pattern for the URLs of server-rendered pages which do not need JavaScript to be
+     * executed. HTML pages whose request URL matches the pattern are fetched with the HTTP client
+     * and parsed by an HTML parser instead of being opened in the browser, which is considerably
+     * cheaper. Their responses are delivered through the same events, but the complete crawl
+     * response provides the parsed document instead of the <code>WebDriver</code> instance.
+     *
+     * @param urlPattern the regex pattern used for matching on request URLs
+     */
+    protected final void registerStaticHtmlUrlPattern(final Pattern urlPattern) {
+        Validate.notNull(urlPattern, "The urlPattern parameter cannot be null.");
+
+        LOGGER.debug("Adding static HTML URL pattern {}", urlPattern);
+        staticHtmlUrlPatterns.add(urlPattern);
+    }
+
     /**
      * Gracefully stops the crawler. This method is thread-safe.
      */
@@ -347,30 +602,116 @@ public abstract class Crawler {
 
         // Indicate that the crawling should be stopped
         isStopInitiated.set(true);
+
+        synchronized (frontierMonitor) {
+            frontierMonitor.notifyAll();
+        }
     }
 
     /**
-     * Feeds a crawl request to the crawler. The crawler should be running, otherwise the request
-     * has to be added as a crawl seed instead.
+     * Feeds a crawl request to the crawler, which was found on the candidate currently processed
+     * by the calling worker. Therefore, it can only be called from the callbacks of the crawler.
+     * The crawler should be running, otherwise the request has to be added as a crawl seed
+     * instead.
      *
      * @param request the crawl request
      */
     protected final void crawl(final CrawlRequest request) {
+        Validate.validState(!isStopped.get(),
+                "The crawler is not started. Maybe you meant to add this request as a crawl seed?");
+
+        CrawlCandidate parentCandidate = workerCandidate.get();
+        Validate.validState(parentCandidate != null,
+                "There is no candidate being processed on this thread. Use crawl(CrawlRequest, "
+                        + "CrawlCandidate) to feed requests from other threads.");
+
+        crawl(request, parentCandidate);
+    }
+
+    /**
+     * Feeds a crawl request to the crawler, which was found on the given candidate. Unlike
+     * {@link #crawl(CrawlRequest)}, it can be called from any thread, for example from an
+     * executor processing the responses asynchronously. The crawler should be running, otherwise
+     * the request has to be added as a crawl seed instead.
+     *
+     * @param request         the crawl request
+     * @param parentCandidate the crawl candidate on which the request was found
+     */
+    protected final void crawl(final CrawlRequest request, final CrawlCandidate parentCandidate) {
         Validate.validState(!isStopped.get(),
                 "The crawler is not started. Maybe you meant to add this request as a crawl seed?");
         Validate.notNull(request, "The request parameter cannot be null.");
+        Validate.notNull(parentCandidate, "The parentCandidate parameter cannot be null.");
 
-        crawlFrontier.feedRequest(request, false);
+        statsCounter.recordDomainNameLookup(request.isDomainNameCacheHit());
+
+        if (clusterNode != null && !clusterNode.isLocalRequest(request)) {
+            clusterNode.forwardForeignRequests(Collections.singletonList(request),
+                    parentCandidate);
+            return;
+        }
+
+        // The frontier is thread-safe, the monitor is only needed to wake up the waiting workers
+        crawlFrontier.feedRequest(request, parentCandidate);
+
+        synchronized (frontierMonitor) {
+            frontierMonitor.notifyAll();
+        }
     }
 
     /**
-     * Feeds multiple crawl requests to the crawler. The crawler should be running, otherwise the
-     * requests have to be added as crawl seeds instead.
+     * Feeds multiple crawl requests to the crawler, which were found on the candidate currently
+     * processed by the calling worker. Therefore, it can only be called from the callbacks of the
+     * crawler. The requests are fed to the frontier as a single batch, which is considerably
+     * cheaper than feeding them one by one. The crawler should be running, otherwise the requests
+     * have to be added as crawl seeds instead.
      *
      * @param requests the list of crawl requests
      */
     protected final void crawl(final List<CrawlRequest> requests) {
-        requests.forEach(this::crawl);
+        Validate.validState(!isStopped.get(),
+                "The crawler is not started. Maybe you meant to add these requests as crawl "
+                        + "seeds?");
+
+        CrawlCandidate parentCandidate = workerCandidate.get();
+        Validate.validState(parentCandidate != null,
+                "There is no candidate being processed on this thread. Use crawl(List, "
+                        + "CrawlCandidate) to feed requests from other threads.");
+
+        crawl(requests, parentCandidate);
+    }
+
+    /**
+     * Feeds multiple crawl requests to the crawler, which were found on the given candidate.
+     * Unlike {@link #crawl(List)}, it can be called from any thread. The requests are fed to the
+     * frontier as a single batch. The crawler should be running, otherwise the requests have to
+     * be added as crawl seeds instead.
+     *
+     * @param requests        the list of crawl requests
+     * @param parentCandidate the crawl candidate on which the requests were found
+     */
+    protected final void crawl(
+            final List<CrawlRequest> requests,
+            final CrawlCandidate parentCandidate) {
+        Validate.validState(!isStopped.get(),
+                "The crawler is not started. Maybe you meant to add these requests as crawl "
+                        + "seeds?");
+        Validate.noNullElements(requests, "The requests parameter cannot contain null elements.");
+        Validate.notNull(parentCandidate, "The parentCandidate parameter cannot be null.");
+
+        requests.forEach(request ->
+                statsCounter.recordDomainNameLookup(request.isDomainNameCacheHit()));
+
+        List<CrawlRequest> localRequests = requests;
+        if (clusterNode != null) {
+            localRequests = clusterNode.forwardForeignRequests(requests, parentCandidate);
+        }
+
+        crawlFrontier.feedRequests(localRequests, parentCandidate);
+
+        synchronized (frontierMonitor) {
+            frontierMonitor.notifyAll();
+        }
     }
 
     /**
@@ -389,6 +730,11 @@ public abstract class Crawler {
 
         LOGGER.debug("Downloading file from {} to {}", source, destination);
 
+        if (asyncHttpClient != null) {
+            FutureUtils.join(asyncHttpClient.download(source, destination));
+            return;
+        }
+
         HttpGet request = new HttpGet(source);
         try (CloseableHttpResponse response = httpClient.execute(request)) {
             HttpEntity entity = response.getEntity();
@@ -399,127 +745,678 @@ public abstract class Crawler {
     }
 
     /**
-     * Defines the workflow of the crawler.
+     * Downloads the file specified by the URL without blocking the calling thread. The non-blocking
+     * HTTP client has to be enabled in the configuration. Downloads which are still in progress
+     * when the crawler stops are aborted.
+     *
+     * @param source      the source URL
+     * @param destination the destination file
+     *
+     * @return the future which completes when the file has been downloaded, or completes
+     *         exceptionally with an <code>UncheckedIOException</code> if an I/O error occurs
+     */
+    protected final CompletableFuture<Void> downloadFileAsync(
+            final URI source,
+            final File destination) {
+        Validate.validState(!isStopped.get(),
+                "Cannot download file when the crawler is not started.");
+        Validate.validState(asyncHttpClient != null,
+                "The asynchronous HTTP client is not enabled in the configuration.");
+        Validate.notNull(source, "The source parameter cannot be null.");
+        Validate.notNull(destination, "The destination parameter cannot be null.");
+
+        LOGGER.debug("Downloading file asynchronously from {} to {}", source, destination);
+
+        return asyncHttpClient.download(source, destination);
+    }
+
+    /**
+     * Runs the workers of the crawler. The first worker runs on the calling thread, the others on
+     * their own threads. This method blocks until every worker has finished.
      */
     private void run() {
-        boolean shouldPerformDelay = false;
+        int workerCount = browserSessions.size();
+        if (workerCount == 1) {
+            runWorker(0);
+            return;
+        }
 
-        while (!isStopInitiated.get() && crawlFrontier.hasNextCandidate()) {
-            // Do not perform delay in the first iteration
-            if (shouldPerformDelay) {
-                performDelay();
-            } else {
-                shouldPerformDelay = true;
+        ExecutorService executor = Executors.newFixedThreadPool(workerCount - 1,
+                new ThreadFactoryBuilder().setNameFormat("crawler-worker-%d").build());
+        try {
+            List<Future<?>> workerFutures = new ArrayList<>();
+            for (int i = 1; i < workerCount; i++) {
+                int workerIndex = i;
+                workerFutures.add(executor.submit(() -> runWorkerOrStopCrawl(workerIndex)));
             }
 
-            CrawlCandidate currentCandidate = crawlFrontier.getNextCandidate();
-            LOGGER.debug("Next crawl candidate: {}", currentCandidate);
+            runWorkerOrStopCrawl(0);
 
-            String candidateUrl = currentCandidate.getRequestUrl().toString();
-            CloseableHttpResponse httpHeadResponse = null;
+            for (Future<?> workerFuture : workerFutures) {
+                awaitWorker(workerFuture);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs a worker and initiates the stop of the whole crawl if the worker fails, so the other
+     * workers do not keep on crawling.
+     *
+     * @param workerIndex the index of the worker
+     */
+    private void runWorkerOrStopCrawl(final int workerIndex) {
+        try {
+            runWorker(workerIndex);
+        } catch (RuntimeException | Error exception) {
+            LOGGER.debug("Worker failed, stopping crawler");
+            isStopInitiated.set(true);
+
+            synchronized (frontierMonitor) {
+                frontierMonitor.notifyAll();
+            }
 
+            throw exception;
+        }
+    }
+
+    /**
+     * Waits for a worker to finish and rethrows the exception that caused it to fail, if any.
+     *
+     * @param workerFuture the future representing the worker
+     */
+    private static void awaitWorker(final Future<?> workerFuture) {
+        try {
+            Uninterruptibles.getUninterruptibly(workerFuture);
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Defines the workflow of a worker.
+     *
+     * @param workerIndex the index of the worker, which is also the index of its browser session
+     */
+    private void runWorker(final int workerIndex) {
+        BrowserSession session = browserSessions.get(workerIndex);
+        // Must be created here (the adaptive crawl delay strategy depends on the WebDriver)
+        CrawlDelayMechanism crawlDelayMechanism =
+                createCrawlDelayMechanism(session.getWebDriver());
+
+        while (!isStopInitiated.get()) {
+            CrawlCandidate currentCandidate = takeNextCandidate();
+            if (currentCandidate == null) {
+                return;
+            }
+
+            long delayInMillis = 0;
+            boolean isBrowserFailed = false;
+            workerCandidate.set(currentCandidate);
             try {
-                LOGGER.debug("Sending HTTP head request to URL {}", candidateUrl);
+                // Only the browser failures before the response event is dispatched are retried,
+                // failures in the callbacks are handled like any other exception thrown by them
+                processCandidate(currentCandidate, session);
 
                 try {
-                    httpHeadResponse = httpClient.execute(new HttpHead(candidateUrl));
-                } catch (IOException exception) {
-                    handleNetworkError(new NetworkErrorEvent(currentCandidate,
-                            exception.toString()));
-
-                    continue;
+                    delayInMillis = crawlDelayMechanism.getDelay();
+                } catch (UnreachableBrowserException | NoSuchSessionException exception) {
+                    // The candidate is already processed, only the browser has to be replaced
+                    LOGGER.debug("Browser failed after processing candidate {}", currentCandidate,
+                            exception);
+                    isBrowserFailed = true;
                 }
+            } catch (BrowserFailureException exception) {
+                isBrowserFailed = true;
+                handleBrowserFailure(currentCandidate, exception.getCause());
+            } finally {
+                workerCandidate.remove();
+                completeCandidate(currentCandidate, delayInMillis);
+            }
+
+            // The candidate is already completed, so no crawl state is lost if the restart fails
+            if (isBrowserFailed
+                    || !isStopInitiated.get() && browserRestartPolicy.isRestartRequired(session)) {
+                session = restartBrowserSession(workerIndex);
+                crawlDelayMechanism = createCrawlDelayMechanism(session.getWebDriver());
+            }
+        }
+    }
 
-                int statusCode = httpHeadResponse.getStatusLine().getStatusCode();
+    /**
+     * Handles the failure of the browser by putting the candidate back to the frontier, so it is
+     * crawled again with a new browser. If its retries have been exhausted, the candidate is given
+     * up and a network error event is delivered instead.
+     *
+     * @param candidate the candidate which was being processed when the browser failed
+     * @param exception the exception thrown by the <code>WebDriver</code> instance
+     */
+    private void handleBrowserFailure(
+            final CrawlCandidate candidate,
+            final WebDriverException exception) {
+        LOGGER.debug("Browser failed while processing candidate {}", candidate, exception);
 
-                // Check if there was an HTTP redirect
-                Header locationHeader = httpHeadResponse.getFirstHeader(HttpHeaders.LOCATION);
-                if (HttpStatus.isRedirection(statusCode) && locationHeader != null) {
-                    // Create a new crawl request for the redirected URL (HTTP redirect)
-                    CrawlRequest redirectedRequest =
-                            createCrawlRequestForRedirect(currentCandidate,
-                                    locationHeader.getValue());
+        if (candidate.getRetryCount() >= config.getMaximumBrowserFailureRetryCount()) {
+            handleNetworkError(new NetworkErrorEvent(candidate, exception.toString()));
 
-                    handleRequestRedirect(new RequestRedirectEvent(currentCandidate,
-                            new PartialCrawlResponse(httpHeadResponse), redirectedRequest));
+            return;
+        }
 
-                    continue;
-                }
+        CrawlCandidate retriedCandidate = new CrawlCandidateBuilder(candidate)
+                .setRetryCount(candidate.getRetryCount() + 1)
+                .build();
+        synchronized (frontierMonitor) {
+            crawlFrontier.requeueCandidate(retriedCandidate);
+        }
+    }
 
-                String mimeType = getResponseMimeType(httpHeadResponse);
-                if (!mimeType.equals(ContentType.TEXT_HTML.getMimeType())) {
-                    // URLs that point to non-HTML content should not be opened in the browser
-                    handleNonHtmlResponse(new NonHtmlResponseEvent(currentCandidate,
-                            new PartialCrawlResponse(httpHeadResponse)));
+    /**
+     * Replaces the browser session of a worker with a newly started and initialized one, then
+     * closes the old session.
+     *
+     * @param workerIndex the index of the worker
+     *
+     * @return the new browser session of the worker
+     */
+    private BrowserSession restartBrowserSession(final int workerIndex) {
+        LOGGER.debug("Restarting browser of worker {}", workerIndex);
 
-                    continue;
+        BrowserSession newSession =
+                createBrowserSession(browserType, browserCapabilities, chainedProxy);
+        BrowserSession oldSession = browserSessions.set(workerIndex, newSession);
+        try {
+            oldSession.close();
+        } catch (RuntimeException exception) {
+            LOGGER.debug("Failed to close browser", exception);
+        }
+
+        return newSession;
+    }
+
+    /**
+     * Takes the next crawl candidate whose host can be requested according to the crawl delay. If
+     * prefetching is enabled, the candidate is taken from the prefetched ones after the HEAD
+     * requests of the upcoming candidates have been sent. If there is no such candidate, it waits
+     * until the delay of a host elapses, a worker finishes processing its candidate (which may
+     * feed new requests) or a revisit becomes due in continuous crawl mode.
+     *
+     * @return the next crawl candidate or <code>null</code> if the crawl is finished or stopped
+     */
+    private CrawlCandidate takeNextCandidate() {
+        synchronized (frontierMonitor) {
+            while (!isStopInitiated.get()) {
+                long waitTimeInMillis = 0;
+
+                if (headRequestPrefetcher != null) {
+                    while (!headRequestPrefetcher.isFull()) {
+                        Optional<CrawlCandidate> candidateOpt = pollEligibleCandidate();
+                        if (!candidateOpt.isPresent()) {
+                            break;
+                        }
+
+                        headRequestPrefetcher.prefetch(candidateOpt.get());
+                    }
+
+                    if (headRequestPrefetcher.hasNextCandidate()) {
+                        return headRequestPrefetcher.getNextCandidate();
+                    }
+                } else {
+                    Optional<CrawlCandidate> nextCandidateOpt = pollEligibleCandidate();
+                    if (nextCandidateOpt.isPresent()) {
+                        return nextCandidateOpt.get();
+                    }
                 }
 
-                proxyServer.newHar();
+                if (crawlFrontier.hasNextCandidate()) {
+                    // Every remaining candidate belongs to a host which is being delayed
+                    waitTimeInMillis = crawlDelayScheduler.getShortestRemainingDelay()
+                            .map(delay -> Math.max(delay.toMillis(), 1))
+                            .orElse(0L);
+                } else {
+                    Optional<Instant> nextRevisitTimeOpt = crawlFrontier.getNextRevisitTime();
+                    if (nextRevisitTimeOpt.isPresent()) {
+                        // Continuous crawl mode, the frontier is refilled by the revisits
+                        waitTimeInMillis = Math.max(
+                                Duration.between(Instant.now(), nextRevisitTimeOpt.get())
+                                        .toMillis(), 1);
+                    } else if (inProgressCandidateCount == 0) {
+                        if (clusterNode == null || clusterNode.isCrawlFinished()) {
+                            // Nothing left to crawl, let the other waiting workers finish as well
+                            frontierMonitor.notifyAll();
+                            return null;
+                        }
+
+                        // Other cluster nodes may still forward requests to this one
+                        waitTimeInMillis = CLUSTER_IDLE_CHECK_INTERVAL_IN_MILLIS;
+                    }
+                }
 
-                LOGGER.debug("Opening URL {} in browser", candidateUrl);
                 try {
-                    webDriver.get(candidateUrl);
+                    LOGGER.debug("Waiting for crawl candidate");
+                    frontierMonitor.wait(waitTimeInMillis);
+                } catch (InterruptedException exception) {
+                    LOGGER.debug("Waiting for candidate interrupted, stopping crawler");
+                    Thread.currentThread().interrupt();
+                    isStopInitiated.set(true);
+                }
+            }
 
-                    // Ensure HTTP client and Selenium have the same cookies
-                    syncHttpClientCookies();
-                } catch (TimeoutException exception) {
-                    handlePageLoadTimeout(new PageLoadTimeoutEvent(currentCandidate,
-                            new PartialCrawlResponse(httpHeadResponse)));
+            return null;
+        }
+    }
 
-                    continue;
-                }
-            } finally {
-                HttpClientUtils.closeQuietly(httpHeadResponse);
+    /**
+     * Takes the next crawl candidate from the frontier whose host can be requested according to
+     * the crawl delay and marks it as in progress. Must be called while holding the frontier
+     * monitor.
+     *
+     * @return the next eligible crawl candidate, or empty if there is none
+     */
+    private Optional<CrawlCandidate> pollEligibleCandidate() {
+        if (!crawlFrontier.hasNextCandidate()) {
+            return Optional.empty();
+        }
+
+        Optional<CrawlCandidate> candidateOpt =
+                crawlFrontier.getNextCandidate(crawlDelayScheduler);
+        candidateOpt.ifPresent(candidate -> {
+            LOGGER.debug("Next crawl candidate: {}", candidate);
+
+            crawlDelayScheduler.recordRequestStart(candidate.getDomain());
+            ++inProgressCandidateCount;
+        });
+
+        return candidateOpt;
+    }
+
+    /**
+     * Indicates if the crawler has nothing to crawl, i.e. there are no candidates in the frontier
+     * and none of them is in progress.
+     *
+     * @return <code>true</code> if the crawler is idle, <code>false</code> otherwise
+     */
+    private boolean isIdle() {
+        synchronized (frontierMonitor) {
+            return inProgressCandidateCount == 0 && !crawlFrontier.hasNextCandidate();
+        }
+    }
+
+    /**
+     * Feeds the requests forwarded by another node of the crawl cluster to the frontier.
+     *
+     * @param requests        the forwarded crawl requests
+     * @param parentCandidate the crawl candidate on which the requests were found
+     */
+    private void feedForwardedRequests(
+            final List<CrawlRequest> requests,
+            final CrawlCandidate parentCandidate) {
+        crawlFrontier.feedRequests(requests, parentCandidate);
+
+        synchronized (frontierMonitor) {
+            frontierMonitor.notifyAll();
+        }
+    }
+
+    /**
+     * Indicates that a worker has finished processing its candidate.
+     *
+     * @param candidate     the processed crawl candidate
+     * @param delayInMillis the delay which should pass before the next request to the same host
+     */
+    private void completeCandidate(final CrawlCandidate candidate, final long delayInMillis) {
+        crawlFrontier.completeCandidate(candidate);
+
+        synchronized (frontierMonitor) {
+            crawlDelayScheduler.recordRequestEnd(candidate.getDomain(), delayInMillis);
+            --inProgressCandidateCount;
+
+            frontierMonitor.notifyAll();
+        }
+    }
+
+    /**
+     * Crawls the given candidate using the browser of the worker.
+     *
+     * @param currentCandidate the crawl candidate to process
+     * @param session          the browser session of the worker
+     */
+    private void processCandidate(
+            final CrawlCandidate currentCandidate,
+            final BrowserSession session) {
+        PartialCrawlResponse httpHeadResponse;
+        try {
+            if (headRequestPrefetcher != null) {
+                httpHeadResponse = headRequestPrefetcher.takeHeadResponse(currentCandidate);
+            } else {
+                httpHeadResponse = executeHeadRequest(currentCandidate);
             }
+        } catch (IOException exception) {
+            handleNetworkError(new NetworkErrorEvent(currentCandidate, exception.toString()));
+
+            return;
+        }
 
-            HarResponse harResponse = proxyServer.getHar().getLog().getEntries().stream()
-                    .filter(harEntry -> candidateUrl.equals(harEntry.getRequest().getUrl()))
-                    .findFirst()
-                    .orElseThrow(() -> new IllegalStateException("No HAR entry for request URL"))
-                    .getResponse();
-            if (harResponse.getError() != null) {
-                handleNetworkError(new NetworkErrorEvent(currentCandidate, harResponse.getError()));
+        // Check if there was an HTTP redirect
+        Optional<Header> locationHeaderOpt =
+                httpHeadResponse.getFirstHeader(HttpHeaders.LOCATION);
+        if (HttpStatus.isRedirection(httpHeadResponse.getStatusCode())
+                && locationHeaderOpt.isPresent()) {
+            // Create a new crawl request for the redirected URL (HTTP redirect)
+            CrawlRequest redirectedRequest = createCrawlRequestForRedirect(currentCandidate,
+                    locationHeaderOpt.get().getValue());
+
+            handleRequestRedirect(new RequestRedirectEvent(currentCandidate, httpHeadResponse,
+                    redirectedRequest));
+
+            return;
+        }
+
+        String mimeType = getResponseMimeType(httpHeadResponse);
+        if (!mimeType.equals(ContentType.TEXT_HTML.getMimeType())) {
+            // URLs that point to non-HTML content should not be opened in the browser
+            handleNonHtmlResponse(new NonHtmlResponseEvent(currentCandidate, httpHeadResponse));
+
+            return;
+        }
 
-                continue;
+        String candidateUrl = currentCandidate.getRequestUrl().toString();
+        if (staticHtmlUrlPatterns.stream()
+                .anyMatch(urlPattern -> urlPattern.matcher(candidateUrl).find())) {
+            processStaticHtmlPage(currentCandidate);
+
+            return;
+        }
+
+        WebDriver webDriver = session.getWebDriver();
+
+        Optional<DocumentResponseRecorder> responseRecorderOpt = session.getResponseRecorder();
+        if (responseRecorderOpt.isPresent()) {
+            responseRecorderOpt.get().startRecording(candidateUrl);
+        } else {
+            ((ResponseCapturingHtmlUnitDriver) webDriver).captureResponse(candidateUrl);
+        }
+
+        LOGGER.debug("Opening URL {} in browser", candidateUrl);
+        session.recordPageLoad();
+        String loadedPageUrl = candidateUrl;
+        try {
+            webDriver.get(candidateUrl);
+            loadedPageUrl = webDriver.getCurrentUrl();
+
+            // Ensure HTTP client and Selenium have the same cookies
+            syncHttpClientCookies(webDriver);
+        } catch (TimeoutException exception) {
+            handlePageLoadTimeout(new PageLoadTimeoutEvent(currentCandidate, httpHeadResponse));
+
+            return;
+        } catch (WebDriverException exception) {
+            // Without the internal proxy server, HtmlUnit reports some network errors by throwing
+            // an exception, these are handled below along with the captured response
+            if (responseRecorderOpt.isPresent() || !((ResponseCapturingHtmlUnitDriver) webDriver)
+                    .getCapturedError().isPresent()) {
+                throw new BrowserFailureException(exception);
             }
+        }
 
-            // We need to check both the redirect URL in the HAR response and the URL of the
-            // loaded page to see if there was a JS redirect
-            String redirectUrl = harResponse.getRedirectURL();
-            String loadedPageUrl = webDriver.getCurrentUrl();
-            if (!redirectUrl.isEmpty() || !loadedPageUrl.equals(candidateUrl)) {
-                if (redirectUrl.isEmpty()) {
-                    redirectUrl = loadedPageUrl;
-                }
+        if (responseRecorderOpt.isPresent()) {
+            processHarResponse(currentCandidate, responseRecorderOpt.get(), webDriver,
+                    loadedPageUrl);
+        } else {
+            processCapturedResponse(currentCandidate, (ResponseCapturingHtmlUnitDriver) webDriver,
+                    loadedPageUrl);
+        }
+    }
 
-                CrawlRequest request = createCrawlRequestForRedirect(currentCandidate, redirectUrl);
+    /**
+     * Processes the response of the loaded page recorded by the internal proxy server.
+     *
+     * @param currentCandidate the current crawl candidate
+     * @param responseRecorder the recorder of the internal proxy server used by the browser
+     * @param webDriver        the <code>WebDriver</code> instance which loaded the page
+     * @param loadedPageUrl    the URL of the page loaded in the browser
+     */
+    private void processHarResponse(
+            final CrawlCandidate currentCandidate,
+            final DocumentResponseRecorder responseRecorder,
+            final WebDriver webDriver,
+            final String loadedPageUrl) {
+        HarResponse harResponse = responseRecorder.getDocumentResponse()
+                .orElseThrow(() -> new IllegalStateException("No response for request URL"));
+        if (harResponse.getError() != null) {
+            handleNetworkError(new NetworkErrorEvent(currentCandidate, harResponse.getError()));
+
+            return;
+        }
+
+        processLoadedPage(currentCandidate, loadedPageUrl, harResponse.getRedirectURL(),
+                new PartialCrawlResponse(harResponse),
+                new CompleteCrawlResponse(harResponse, webDriver));
+    }
+
+    /**
+     * Processes the response of the loaded page captured by HtmlUnit.
+     *
+     * @param currentCandidate the current crawl candidate
+     * @param webDriver        the <code>WebDriver</code> instance which loaded the page
+     * @param loadedPageUrl    the URL of the page loaded in the browser
+     */
+    private void processCapturedResponse(
+            final CrawlCandidate currentCandidate,
+            final ResponseCapturingHtmlUnitDriver webDriver,
+            final String loadedPageUrl) {
+        Optional<IOException> capturedErrorOpt = webDriver.getCapturedError();
+        if (capturedErrorOpt.isPresent()) {
+            handleNetworkError(new NetworkErrorEvent(currentCandidate,
+                    capturedErrorOpt.get().toString()));
+
+            return;
+        }
+
+        WebResponse webResponse = webDriver.getCapturedResponse()
+                .orElseThrow(() -> new IllegalStateException("No response for request URL"));
+
+        // HtmlUnit follows HTTP redirects, but the captured response is the original one
+        String redirectUrl = "";
+        String locationHeader = webResponse.getResponseHeaderValue(HttpHeaders.LOCATION);
+        if (HttpStatus.isRedirection(webResponse.getStatusCode()) && locationHeader != null) {
+            redirectUrl = locationHeader;
+        }
 
-                handleRequestRedirect(new RequestRedirectEvent(currentCandidate,
-                        new PartialCrawlResponse(harResponse), request));
+        processLoadedPage(currentCandidate, loadedPageUrl, redirectUrl,
+                new PartialCrawlResponse(webResponse),
+                new CompleteCrawlResponse(webResponse, webDriver));
+    }
+
+    /**
+     * Fetches the page with the HTTP client and parses it without opening it in the browser.
+     *
+     * @param currentCandidate the current crawl candidate
+     */
+    private void processStaticHtmlPage(final CrawlCandidate currentCandidate) {
+        String candidateUrl = currentCandidate.getRequestUrl().toString();
+        LOGGER.debug("Fetching URL {} without browser", candidateUrl);
 
-                continue;
+        CompleteCrawlResponse response;
+        try {
+            HttpGet request = new HttpGet(candidateUrl);
+            if (asyncHttpClient != null) {
+                response = parseStaticHtmlResponse(
+                        FutureUtils.join(asyncHttpClient.execute(request)), candidateUrl);
+            } else {
+                try (CloseableHttpResponse httpResponse = httpClient.execute(request)) {
+                    response = parseStaticHtmlResponse(httpResponse, candidateUrl);
+                }
             }
+        } catch (IOException exception) {
+            handleNetworkError(new NetworkErrorEvent(currentCandidate, exception.toString()));
+
+            return;
+        }
+
+        String redirectUrl = "";
+        Optional<Header> locationHeaderOpt = response.getFirstHeader(HttpHeaders.LOCATION);
+        if (HttpStatus.isRedirection(response.getStatusCode()) && locationHeaderOpt.isPresent()) {
+            redirectUrl = locationHeaderOpt.get().getValue();
+        }
 
-            int statusCode = harResponse.getStatus();
-            if (HttpStatus.isClientError(statusCode) || HttpStatus.isServerError(statusCode)) {
-                handleResponseError(new ResponseErrorEvent(currentCandidate,
-                        new CompleteCrawlResponse(harResponse, webDriver)));
+        processLoadedPage(currentCandidate, candidateUrl, redirectUrl, response, response);
+    }
 
-                continue;
+    /**
+     * Parses the content of an HTTP response as an HTML document. The charset is taken from the
+     * <code>Content-Type</code> header if present, otherwise it is detected from the content.
+     *
+     * @param httpResponse the HTTP response message
+     * @param baseUri      the URL of the page, used to resolve relative URLs
+     *
+     * @return the complete crawl response which provides the parsed document
+     *
+     * @throws IOException if an I/O error occurs while reading the content
+     */
+    private static CompleteCrawlResponse parseStaticHtmlResponse(
+            final HttpResponse httpResponse,
+            final String baseUri) throws IOException {
+        HttpEntity entity = httpResponse.getEntity();
+        if (entity == null) {
+            return new CompleteCrawlResponse(httpResponse, Document.createShell(baseUri));
+        }
+
+        String charsetName = null;
+        try {
+            Charset charset = ContentType.getOrDefault(entity).getCharset();
+            if (charset != null) {
+                charsetName = charset.name();
             }
+        } catch (ParseException | UnsupportedCharsetException exception) {
+            LOGGER.debug("Invalid content type, detecting charset from content", exception);
+        }
+
+        try (InputStream content = entity.getContent()) {
+            return new CompleteCrawlResponse(httpResponse,
+                    Jsoup.parse(content, charsetName, baseUri));
+        }
+    }
+
+    /**
+     * Delivers the event corresponding to the response of the loaded page.
+     *
+     * @param currentCandidate the current crawl candidate
+     * @param loadedPageUrl    the URL of the loaded page
+     * @param redirectUrl      the HTTP redirect URL of the response or an empty string if it was
+     *                         not redirected
+     * @param partialResponse  the partial crawl response of the page
+     * @param completeResponse the complete crawl response of the page
+     */
+    private void processLoadedPage(
+            final CrawlCandidate currentCandidate,
+            final String loadedPageUrl,
+            final String redirectUrl,
+            final PartialCrawlResponse partialResponse,
+            final CompleteCrawlResponse completeResponse) {
+        // We need to check both the redirect URL in the response and the URL of the loaded page
+        // to see if there was a JS redirect
+        if (!redirectUrl.isEmpty()
+                || !loadedPageUrl.equals(currentCandidate.getRequestUrl().toString())) {
+            CrawlRequest request = createCrawlRequestForRedirect(currentCandidate,
+                    redirectUrl.isEmpty() ? loadedPageUrl : redirectUrl);
+
+            handleRequestRedirect(new RequestRedirectEvent(currentCandidate, partialResponse,
+                    request));
+
+            return;
+        }
+
+        int statusCode = completeResponse.getStatusCode();
+        if (HttpStatus.isClientError(statusCode) || HttpStatus.isServerError(statusCode)) {
+            handleResponseError(new ResponseErrorEvent(currentCandidate, completeResponse));
+
+            return;
+        }
+
+        handleResponseSuccess(new ResponseSuccessEvent(currentCandidate, completeResponse));
+    }
+
+    /**
+     * Sends an HTTP HEAD request to the URL of the candidate.
+     *
+     * @param candidate the crawl candidate
+     *
+     * @return the HTTP HEAD response
+     *
+     * @throws IOException if an I/O error occurs while sending the request
+     */
+    private PartialCrawlResponse executeHeadRequest(final CrawlCandidate candidate)
+            throws IOException {
+        if (asyncHttpClient != null) {
+            return FutureUtils.join(sendHeadRequestAsync(candidate));
+        }
+
+        String candidateUrl = candidate.getRequestUrl().toString();
+        LOGGER.debug("Sending HTTP head request to URL {}", candidateUrl);
 
-            handleResponseSuccess(new ResponseSuccessEvent(currentCandidate,
-                    new CompleteCrawlResponse(harResponse, webDriver)));
+        try (CloseableHttpResponse httpHeadResponse =
+                httpClient.execute(new HttpHead(candidateUrl))) {
+            return new PartialCrawlResponse(httpHeadResponse);
         }
     }
 
+    /**
+     * Sends an HTTP HEAD request to the URL of the candidate using the non-blocking HTTP client.
+     *
+     * @param candidate the crawl candidate
+     *
+     * @return the future HTTP HEAD response
+     */
+    private CompletableFuture<PartialCrawlResponse> sendHeadRequestAsync(
+            final CrawlCandidate candidate) {
+        String candidateUrl = candidate.getRequestUrl().toString();
+        LOGGER.debug("Sending asynchronous HTTP head request to URL {}", candidateUrl);
+
+        return asyncHttpClient.execute(new HttpHead(candidateUrl))
+                .thenApply(PartialCrawlResponse::new);
+    }
+
+    /**
+     * Sends an HTTP HEAD request to the URL of the candidate without blocking the calling thread.
+     * With the blocking HTTP client, the request is sent on one of the prefetch threads.
+     *
+     * @param candidate the crawl candidate
+     *
+     * @return the future HTTP HEAD response
+     */
+    private CompletableFuture<PartialCrawlResponse> prefetchHeadResponse(
+            final CrawlCandidate candidate) {
+        if (asyncHttpClient != null) {
+            return sendHeadRequestAsync(candidate);
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return executeHeadRequest(candidate);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }, headRequestExecutor);
+    }
+
     /**
      * Creates the crawl delay mechanism according to the configuration.
      *
+     * @param webDriver the <code>WebDriver</code> instance of the worker
+     *
      * @return the created crawl delay mechanism
      */
-    private CrawlDelayMechanism createCrawlDelayMechanism() {
+    private CrawlDelayMechanism createCrawlDelayMechanism(final WebDriver webDriver) {
         switch (config.getCrawlDelayStrategy()) {
             case FIXED:
                 return new FixedCrawlDelayMechanism(config);
@@ -540,10 +1437,11 @@ public abstract class Crawler {
      *
      * @return the MIME type of the response
      */
-    private static String getResponseMimeType(final HttpResponse httpHeadResponse) {
-        Header contentTypeHeader = httpHeadResponse.getFirstHeader("Content-Type");
-        if (contentTypeHeader != null) {
-            String contentType = contentTypeHeader.getValue();
+    private static String getResponseMimeType(final PartialCrawlResponse httpHeadResponse) {
+        Optional<Header> contentTypeHeaderOpt =
+                httpHeadResponse.getFirstHeader(HttpHeaders.CONTENT_TYPE);
+        if (contentTypeHeaderOpt.isPresent()) {
+            String contentType = contentTypeHeaderOpt.get().getValue();
             if (contentType != null) {
                 try {
                     return ContentType.parse(contentType).getMimeType();
@@ -579,7 +1477,7 @@ public abstract class Crawler {
                 event.getCrawlCandidate().getRequestUrl(),
                 event.getRedirectedCrawlRequest().getRequestUrl());
 
-        crawl(event.getRedirectedCrawlRequest());
+        crawl(event.getRedirectedCrawlRequest(), event.getCrawlCandidate());
 
         callbackManager.callCustomOrDefault(RequestRedirectEvent.class, event,
                 this::onRequestRedirect);
@@ -642,6 +1540,15 @@ public abstract class Crawler {
         LOGGER.debug("Received response whose status code ({}) indicates success",
                 event.getCompleteCrawlResponse().getStatusCode());
 
+        if (config.isContinuousCrawlEnabled()) {
+            CompleteCrawlResponse response = event.getCompleteCrawlResponse();
+            String content = response.getDocument()
+                    .map(Document::html)
+                    .orElseGet(() -> response.getWebDriver().getPageSource());
+
+            crawlFrontier.scheduleRevisit(event.getCrawlCandidate(), content);
+        }
+
         callbackManager.callCustomOrDefault(ResponseSuccessEvent.class, event,
                 this::onResponseSuccess);
 
@@ -650,8 +1557,10 @@ public abstract class Crawler {
 
     /**
      * Copies all the Selenium cookies for the current domain to the HTTP client cookie store.
+     *
+     * @param webDriver the <code>WebDriver</code> instance which loaded the current page
      */
-    private void syncHttpClientCookies() {
+    private void syncHttpClientCookies(final WebDriver webDriver) {
         LOGGER.debug("Synchronizing HTTP client cookies");
 
         webDriver.manage()
@@ -661,21 +1570,6 @@ public abstract class Crawler {
                 .forEach(cookieStore::addCookie);
     }
 
-    /**
-     * Delays the next request.
-     */
-    private void performDelay() {
-        LOGGER.debug("Performing delay");
-
-        try {
-            TimeUnit.MILLISECONDS.sleep(crawlDelayMechanism.getDelay());
-        } catch (InterruptedException ex) {
-            LOGGER.debug("Delay interrupted, stopping crawler");
-            Thread.currentThread().interrupt();
-            isStopInitiated.set(true);
-        }
-    }
-
     /**
      * Helper method that is used to create crawl requests for redirects. The newly created request
      * will have the same attributes as the redirected one.
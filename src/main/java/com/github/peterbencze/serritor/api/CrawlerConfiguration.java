@@ -18,11 +18,17 @@ package com.github.peterbencze.serritor.api;
 
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.github.peterbencze.serritor.internal.CrawlDomain;
+import com.github.peterbencze.serritor.internal.util.DomainNameCache;
 import com.google.common.net.InternetDomainName;
+import java.io.File;
 import java.io.Serializable;
+import java.net.InetSocketAddress;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -41,7 +47,36 @@ import org.apache.commons.lang3.builder.ToStringStyle;
         "crawlDelayStrategy",
         "fixedCrawlDelayDurationInMillis",
         "minimumCrawlDelayDurationInMillis",
-        "maximumCrawlDelayDurationInMillis"
+        "maximumCrawlDelayDurationInMillis",
+        "workerCount",
+        "headRequestPrefetchDepth",
+        "maximumInFlightHeadRequests",
+        "htmlUnitProxyBypassEnabled",
+        "maximumTotalConnections",
+        "maximumConnectionsPerRoute",
+        "defaultKeepAliveDurationInMillis",
+        "maximumIdleConnectionDurationInMillis",
+        "connectTimeoutInMillis",
+        "socketTimeoutInMillis",
+        "connectionRequestTimeoutInMillis",
+        "asyncHttpClientEnabled",
+        "browserRestartPageCount",
+        "browserRestartMemoryThresholdInBytes",
+        "browserReuseEnabled",
+        "maximumBrowserFailureRetryCount",
+        "crawlFrontierDirectory",
+        "crawlFrontierHeadBufferSize",
+        "duplicateRequestFilterStrategy",
+        "expectedUrlCount",
+        "duplicateFilterFalsePositiveProbability",
+        "offHeapDuplicateFilterEnabled",
+        "hostBackQueueCapacity",
+        "crawlFrontierJournalDirectory",
+        "clusterNodeAddresses",
+        "localClusterNodeIndex",
+        "continuousCrawlEnabled",
+        "minimumRevisitIntervalInMillis",
+        "maximumRevisitIntervalInMillis"
 })
 public final class CrawlerConfiguration implements Serializable {
 
@@ -57,6 +92,35 @@ public final class CrawlerConfiguration implements Serializable {
     private final long fixedCrawlDelayDurationInMillis;
     private final long minCrawlDelayDurationInMillis;
     private final long maxCrawlDelayDurationInMillis;
+    private final int workerCount;
+    private final int headRequestPrefetchDepth;
+    private final int maxInFlightHeadRequests;
+    private final boolean isHtmlUnitProxyBypassEnabled;
+    private final int maxTotalConnections;
+    private final int maxConnectionsPerRoute;
+    private final long defaultKeepAliveDurationInMillis;
+    private final long maxIdleConnectionDurationInMillis;
+    private final long connectTimeoutInMillis;
+    private final long socketTimeoutInMillis;
+    private final long connectionRequestTimeoutInMillis;
+    private final boolean isAsyncHttpClientEnabled;
+    private final int browserRestartPageCount;
+    private final long browserRestartMemoryThresholdInBytes;
+    private final boolean isBrowserReuseEnabled;
+    private final int maxBrowserFailureRetryCount;
+    private final File crawlFrontierDirectory;
+    private final int crawlFrontierHeadBufferSize;
+    private final DuplicateRequestFilterStrategy duplicateRequestFilterStrategy;
+    private final long expectedUrlCount;
+    private final double duplicateFilterFalsePositiveProbability;
+    private final boolean isOffHeapDuplicateFilterEnabled;
+    private final int hostBackQueueCapacity;
+    private final File crawlFrontierJournalDirectory;
+    private final List<InetSocketAddress> clusterNodeAddresses;
+    private final int localClusterNodeIndex;
+    private final boolean isContinuousCrawlEnabled;
+    private final long minRevisitIntervalInMillis;
+    private final long maxRevisitIntervalInMillis;
 
     private CrawlerConfiguration(final CrawlerConfigurationBuilder builder) {
         allowedCrawlDomains = builder.allowedCrawlDomains;
@@ -69,6 +133,35 @@ public final class CrawlerConfiguration implements Serializable {
         fixedCrawlDelayDurationInMillis = builder.fixedCrawlDelayDurationInMillis;
         minCrawlDelayDurationInMillis = builder.minCrawlDelayDurationInMillis;
         maxCrawlDelayDurationInMillis = builder.maxCrawlDelayDurationInMillis;
+        workerCount = builder.workerCount;
+        headRequestPrefetchDepth = builder.headRequestPrefetchDepth;
+        maxInFlightHeadRequests = builder.maxInFlightHeadRequests;
+        isHtmlUnitProxyBypassEnabled = builder.isHtmlUnitProxyBypassEnabled;
+        maxConnectionsPerRoute = builder.getMaximumConnectionsPerRoute();
+        maxTotalConnections = builder.getMaximumTotalConnections(maxConnectionsPerRoute);
+        defaultKeepAliveDurationInMillis = builder.defaultKeepAliveDurationInMillis;
+        maxIdleConnectionDurationInMillis = builder.maxIdleConnectionDurationInMillis;
+        connectTimeoutInMillis = builder.connectTimeoutInMillis;
+        socketTimeoutInMillis = builder.socketTimeoutInMillis;
+        connectionRequestTimeoutInMillis = builder.getConnectionRequestTimeoutInMillis();
+        isAsyncHttpClientEnabled = builder.isAsyncHttpClientEnabled;
+        browserRestartPageCount = builder.browserRestartPageCount;
+        browserRestartMemoryThresholdInBytes = builder.browserRestartMemoryThresholdInBytes;
+        isBrowserReuseEnabled = builder.isBrowserReuseEnabled;
+        maxBrowserFailureRetryCount = builder.maxBrowserFailureRetryCount;
+        crawlFrontierDirectory = builder.crawlFrontierDirectory;
+        crawlFrontierHeadBufferSize = builder.crawlFrontierHeadBufferSize;
+        duplicateRequestFilterStrategy = builder.duplicateRequestFilterStrategy;
+        expectedUrlCount = builder.expectedUrlCount;
+        duplicateFilterFalsePositiveProbability = builder.duplicateFilterFalsePositiveProbability;
+        isOffHeapDuplicateFilterEnabled = builder.isOffHeapDuplicateFilterEnabled;
+        hostBackQueueCapacity = builder.hostBackQueueCapacity;
+        crawlFrontierJournalDirectory = builder.crawlFrontierJournalDirectory;
+        clusterNodeAddresses = builder.clusterNodeAddresses;
+        localClusterNodeIndex = builder.localClusterNodeIndex;
+        isContinuousCrawlEnabled = builder.isContinuousCrawlEnabled;
+        minRevisitIntervalInMillis = builder.minRevisitIntervalInMillis;
+        maxRevisitIntervalInMillis = builder.maxRevisitIntervalInMillis;
     }
 
     /**
@@ -135,7 +228,7 @@ public final class CrawlerConfiguration implements Serializable {
     }
 
     /**
-     * Returns the exact duration of delay between each request.
+     * Returns the exact duration of delay between each request to the same host.
      *
      * @return the duration of delay in milliseconds
      */
@@ -144,7 +237,7 @@ public final class CrawlerConfiguration implements Serializable {
     }
 
     /**
-     * Returns the minimum duration of delay between each request.
+     * Returns the minimum duration of delay between each request to the same host.
      *
      * @return the minimum duration of delay in milliseconds
      */
@@ -153,7 +246,7 @@ public final class CrawlerConfiguration implements Serializable {
     }
 
     /**
-     * Returns the maximum duration of delay between each request.
+     * Returns the maximum duration of delay between each request to the same host.
      *
      * @return the maximum duration of delay in milliseconds
      */
@@ -161,6 +254,282 @@ public final class CrawlerConfiguration implements Serializable {
         return maxCrawlDelayDurationInMillis;
     }
 
+    /**
+     * Returns the number of workers which crawl in parallel, each using its own browser.
+     *
+     * @return the number of workers
+     */
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    /**
+     * Returns the number of upcoming crawl candidates whose HTTP HEAD requests are sent ahead,
+     * while the browsers are busy. Zero means that prefetching is disabled.
+     *
+     * @return the number of candidates to prefetch
+     */
+    public int getHeadRequestPrefetchDepth() {
+        return headRequestPrefetchDepth;
+    }
+
+    /**
+     * Returns the maximum number of prefetch HTTP HEAD requests which can be in flight at the same
+     * time.
+     *
+     * @return the maximum number of in-flight prefetch requests
+     */
+    public int getMaximumInFlightHeadRequests() {
+        return maxInFlightHeadRequests;
+    }
+
+    /**
+     * Indicates if HtmlUnit crawls bypass the internal proxy server.
+     *
+     * @return <code>true</code> if enabled, <code>false</code> otherwise
+     */
+    public boolean isHtmlUnitProxyBypassEnabled() {
+        return isHtmlUnitProxyBypassEnabled;
+    }
+
+    /**
+     * Returns the maximum number of connections in the pool of the HTTP client.
+     *
+     * @return the maximum number of connections
+     */
+    public int getMaximumTotalConnections() {
+        return maxTotalConnections;
+    }
+
+    /**
+     * Returns the maximum number of connections per route in the pool of the HTTP client.
+     *
+     * @return the maximum number of connections per route
+     */
+    public int getMaximumConnectionsPerRoute() {
+        return maxConnectionsPerRoute;
+    }
+
+    /**
+     * Returns the duration for which a connection of the HTTP client is kept alive if the server
+     * does not specify it.
+     *
+     * @return the default keep-alive duration in milliseconds
+     */
+    public long getDefaultKeepAliveDurationInMillis() {
+        return defaultKeepAliveDurationInMillis;
+    }
+
+    /**
+     * Returns the duration after which an idle connection of the HTTP client is evicted from the
+     * pool.
+     *
+     * @return the maximum idle duration in milliseconds
+     */
+    public long getMaximumIdleConnectionDurationInMillis() {
+        return maxIdleConnectionDurationInMillis;
+    }
+
+    /**
+     * Returns the timeout of establishing a connection by the HTTP client.
+     *
+     * @return the connect timeout in milliseconds
+     */
+    public long getConnectTimeoutInMillis() {
+        return connectTimeoutInMillis;
+    }
+
+    /**
+     * Returns the timeout of waiting for data by the HTTP client.
+     *
+     * @return the socket timeout in milliseconds
+     */
+    public long getSocketTimeoutInMillis() {
+        return socketTimeoutInMillis;
+    }
+
+    /**
+     * Returns the timeout of leasing a connection from the pool of the HTTP client.
+     *
+     * @return the connection request timeout in milliseconds
+     */
+    public long getConnectionRequestTimeoutInMillis() {
+        return connectionRequestTimeoutInMillis;
+    }
+
+    /**
+     * Indicates if the HTTP requests of the crawler are sent by a non-blocking HTTP client.
+     *
+     * @return <code>true</code> if enabled, <code>false</code> otherwise
+     */
+    public boolean isAsyncHttpClientEnabled() {
+        return isAsyncHttpClientEnabled;
+    }
+
+    /**
+     * Returns the number of pages after which the browser of a worker is restarted.
+     *
+     * @return the number of pages after which the browser is restarted
+     */
+    public int getBrowserRestartPageCount() {
+        return browserRestartPageCount;
+    }
+
+    /**
+     * Returns the JavaScript heap size of the browser above which the browser is restarted.
+     *
+     * @return the memory threshold in bytes
+     */
+    public long getBrowserRestartMemoryThresholdInBytes() {
+        return browserRestartMemoryThresholdInBytes;
+    }
+
+    /**
+     * Indicates if the browsers are kept running after the crawler stops, to be reused when it is
+     * started again.
+     *
+     * @return <code>true</code> if enabled, <code>false</code> otherwise
+     */
+    public boolean isBrowserReuseEnabled() {
+        return isBrowserReuseEnabled;
+    }
+
+    /**
+     * Returns the maximum number of times the crawling of a candidate is retried after the browser
+     * failed.
+     *
+     * @return the maximum number of retries
+     */
+    public int getMaximumBrowserFailureRetryCount() {
+        return maxBrowserFailureRetryCount;
+    }
+
+    /**
+     * Returns the directory where the crawl frontier stores the crawl candidates which do not fit
+     * in memory.
+     *
+     * @return the directory of the crawl frontier, or empty if the crawl candidates are kept in
+     *         memory
+     */
+    public Optional<File> getCrawlFrontierDirectory() {
+        return Optional.ofNullable(crawlFrontierDirectory);
+    }
+
+    /**
+     * Returns the maximum number of crawl candidates kept in memory for each crawl depth and
+     * priority when the crawl frontier is backed by disk.
+     *
+     * @return the size of the in-memory head buffers of the crawl frontier
+     */
+    public int getCrawlFrontierHeadBufferSize() {
+        return crawlFrontierHeadBufferSize;
+    }
+
+    /**
+     * Returns the strategy which defines how the duplicate request filter remembers the already
+     * seen URLs.
+     *
+     * @return the duplicate request filter strategy
+     */
+    public DuplicateRequestFilterStrategy getDuplicateRequestFilterStrategy() {
+        return duplicateRequestFilterStrategy;
+    }
+
+    /**
+     * Returns the number of URLs the probabilistic duplicate request filter is initially sized
+     * for.
+     *
+     * @return the expected number of URLs
+     */
+    public long getExpectedUrlCount() {
+        return expectedUrlCount;
+    }
+
+    /**
+     * Returns the probability of the probabilistic duplicate request filter filtering a new URL as
+     * a duplicate.
+     *
+     * @return the false positive probability of the probabilistic duplicate request filter
+     */
+    public double getDuplicateFilterFalsePositiveProbability() {
+        return duplicateFilterFalsePositiveProbability;
+    }
+
+    /**
+     * Indicates if the exact duplicate request filter stores the URL fingerprints outside of the
+     * heap.
+     *
+     * @return <code>true</code> if enabled, <code>false</code> otherwise
+     */
+    public boolean isOffHeapDuplicateFilterEnabled() {
+        return isOffHeapDuplicateFilterEnabled;
+    }
+
+    /**
+     * Returns the maximum number of crawl candidates held in the back queue of each host in the
+     * crawl frontier.
+     *
+     * @return the capacity of the back queue of each host, or 0 if it is unlimited
+     */
+    public int getHostBackQueueCapacity() {
+        return hostBackQueueCapacity;
+    }
+
+    /**
+     * Returns the directory where the crawl frontier journals its changes, so that it can be
+     * recovered after the crawler is stopped or crashed.
+     *
+     * @return the journal directory of the crawl frontier, or empty if journaling is disabled
+     */
+    public Optional<File> getCrawlFrontierJournalDirectory() {
+        return Optional.ofNullable(crawlFrontierJournalDirectory);
+    }
+
+    /**
+     * Returns the addresses of the nodes of the crawl cluster.
+     *
+     * @return the addresses of the cluster nodes, or an empty list if cluster mode is disabled
+     */
+    public List<InetSocketAddress> getClusterNodeAddresses() {
+        return clusterNodeAddresses;
+    }
+
+    /**
+     * Returns the index of this node among the nodes of the crawl cluster.
+     *
+     * @return the index of the local cluster node
+     */
+    public int getLocalClusterNodeIndex() {
+        return localClusterNodeIndex;
+    }
+
+    /**
+     * Indicates if the crawl is continuous, i.e. the successfully fetched pages are revisited.
+     *
+     * @return <code>true</code> if the crawl is continuous, <code>false</code> otherwise
+     */
+    public boolean isContinuousCrawlEnabled() {
+        return isContinuousCrawlEnabled;
+    }
+
+    /**
+     * Returns the minimum time between two visits of the same page in a continuous crawl.
+     *
+     * @return the minimum revisit interval in milliseconds
+     */
+    public long getMinimumRevisitIntervalInMillis() {
+        return minRevisitIntervalInMillis;
+    }
+
+    /**
+     * Returns the maximum time between two visits of the same page in a continuous crawl.
+     *
+     * @return the maximum revisit interval in milliseconds
+     */
+    public long getMaximumRevisitIntervalInMillis() {
+        return maxRevisitIntervalInMillis;
+    }
+
     /**
      * Returns the string representation of this crawler configuration.
      *
@@ -179,6 +548,38 @@ public final class CrawlerConfiguration implements Serializable {
                 .append("fixedCrawlDelayDurationInMillis", fixedCrawlDelayDurationInMillis)
                 .append("minimumCrawlDelayDurationInMillis", minCrawlDelayDurationInMillis)
                 .append("maximumCrawlDelayDurationInMillis", maxCrawlDelayDurationInMillis)
+                .append("workerCount", workerCount)
+                .append("headRequestPrefetchDepth", headRequestPrefetchDepth)
+                .append("maximumInFlightHeadRequests", maxInFlightHeadRequests)
+                .append("isHtmlUnitProxyBypassEnabled", isHtmlUnitProxyBypassEnabled)
+                .append("maximumTotalConnections", maxTotalConnections)
+                .append("maximumConnectionsPerRoute", maxConnectionsPerRoute)
+                .append("defaultKeepAliveDurationInMillis", defaultKeepAliveDurationInMillis)
+                .append("maximumIdleConnectionDurationInMillis",
+                        maxIdleConnectionDurationInMillis)
+                .append("connectTimeoutInMillis", connectTimeoutInMillis)
+                .append("socketTimeoutInMillis", socketTimeoutInMillis)
+                .append("connectionRequestTimeoutInMillis", connectionRequestTimeoutInMillis)
+                .append("isAsyncHttpClientEnabled", isAsyncHttpClientEnabled)
+                .append("browserRestartPageCount", browserRestartPageCount)
+                .append("browserRestartMemoryThresholdInBytes",
+                        browserRestartMemoryThresholdInBytes)
+                .append("isBrowserReuseEnabled", isBrowserReuseEnabled)
+                .append("maximumBrowserFailureRetryCount", maxBrowserFailureRetryCount)
+                .append("crawlFrontierDirectory", crawlFrontierDirectory)
+                .append("crawlFrontierHeadBufferSize", crawlFrontierHeadBufferSize)
+                .append("duplicateRequestFilterStrategy", duplicateRequestFilterStrategy)
+                .append("expectedUrlCount", expectedUrlCount)
+                .append("duplicateFilterFalsePositiveProbability",
+                        duplicateFilterFalsePositiveProbability)
+                .append("isOffHeapDuplicateFilterEnabled", isOffHeapDuplicateFilterEnabled)
+                .append("hostBackQueueCapacity", hostBackQueueCapacity)
+                .append("crawlFrontierJournalDirectory", crawlFrontierJournalDirectory)
+                .append("clusterNodeAddresses", clusterNodeAddresses)
+                .append("localClusterNodeIndex", localClusterNodeIndex)
+                .append("isContinuousCrawlEnabled", isContinuousCrawlEnabled)
+                .append("minimumRevisitIntervalInMillis", minRevisitIntervalInMillis)
+                .append("maximumRevisitIntervalInMillis", maxRevisitIntervalInMillis)
                 .toString();
     }
 
@@ -198,6 +599,37 @@ public final class CrawlerConfiguration implements Serializable {
                 = Duration.ofSeconds(1).toMillis();
         private static final long DEFAULT_MAX_CRAWL_DELAY_IN_MILLIS
                 = Duration.ofMinutes(1).toMillis();
+        private static final int DEFAULT_WORKER_COUNT = 1;
+        private static final int DEFAULT_HEAD_REQUEST_PREFETCH_DEPTH = 0;
+        private static final int DEFAULT_MAX_IN_FLIGHT_HEAD_REQUESTS = 4;
+        private static final boolean IS_HTML_UNIT_PROXY_BYPASS_ENABLED_BY_DEFAULT = false;
+        private static final int DEFAULT_MAX_TOTAL_CONNECTIONS = 20;
+        private static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 5;
+        private static final long DEFAULT_KEEP_ALIVE_DURATION_IN_MILLIS
+                = Duration.ofSeconds(30).toMillis();
+        private static final long DEFAULT_MAX_IDLE_CONNECTION_DURATION_IN_MILLIS
+                = Duration.ofMinutes(1).toMillis();
+        private static final long DEFAULT_CONNECT_TIMEOUT_IN_MILLIS
+                = Duration.ofSeconds(30).toMillis();
+        private static final long DEFAULT_SOCKET_TIMEOUT_IN_MILLIS
+                = Duration.ofMinutes(1).toMillis();
+        private static final boolean IS_ASYNC_HTTP_CLIENT_ENABLED_BY_DEFAULT = false;
+        private static final int DEFAULT_BROWSER_RESTART_PAGE_COUNT = 0;
+        private static final long DEFAULT_BROWSER_RESTART_MEMORY_THRESHOLD = 0;
+        private static final boolean IS_BROWSER_REUSE_ENABLED_BY_DEFAULT = false;
+        private static final int DEFAULT_MAX_BROWSER_FAILURE_RETRY_COUNT = 2;
+        private static final int DEFAULT_CRAWL_FRONTIER_HEAD_BUFFER_SIZE = 1000;
+        private static final DuplicateRequestFilterStrategy DEFAULT_DUPLICATE_FILTER_STRATEGY =
+                DuplicateRequestFilterStrategy.EXACT;
+        private static final long DEFAULT_EXPECTED_URL_COUNT = 1_000_000;
+        private static final double DEFAULT_FALSE_POSITIVE_PROBABILITY = 0.001;
+        private static final boolean IS_OFF_HEAP_DUPLICATE_FILTER_ENABLED_BY_DEFAULT = false;
+        private static final int DEFAULT_HOST_BACK_QUEUE_CAPACITY = 16;
+        private static final boolean IS_CONTINUOUS_CRAWL_ENABLED_BY_DEFAULT = false;
+        private static final long DEFAULT_MIN_REVISIT_INTERVAL_IN_MILLIS
+                = Duration.ofHours(1).toMillis();
+        private static final long DEFAULT_MAX_REVISIT_INTERVAL_IN_MILLIS
+                = Duration.ofDays(30).toMillis();
 
         private final Set<CrawlDomain> allowedCrawlDomains;
         private final Set<CrawlRequest> crawlSeeds;
@@ -210,6 +642,35 @@ public final class CrawlerConfiguration implements Serializable {
         private long fixedCrawlDelayDurationInMillis;
         private long minCrawlDelayDurationInMillis;
         private long maxCrawlDelayDurationInMillis;
+        private int workerCount;
+        private int headRequestPrefetchDepth;
+        private int maxInFlightHeadRequests;
+        private boolean isHtmlUnitProxyBypassEnabled;
+        private Integer maxTotalConnections;
+        private Integer maxConnectionsPerRoute;
+        private long defaultKeepAliveDurationInMillis;
+        private long maxIdleConnectionDurationInMillis;
+        private long connectTimeoutInMillis;
+        private long socketTimeoutInMillis;
+        private Long connectionRequestTimeoutInMillis;
+        private boolean isAsyncHttpClientEnabled;
+        private int browserRestartPageCount;
+        private long browserRestartMemoryThresholdInBytes;
+        private boolean isBrowserReuseEnabled;
+        private int maxBrowserFailureRetryCount;
+        private File crawlFrontierDirectory;
+        private int crawlFrontierHeadBufferSize;
+        private DuplicateRequestFilterStrategy duplicateRequestFilterStrategy;
+        private long expectedUrlCount;
+        private double duplicateFilterFalsePositiveProbability;
+        private boolean isOffHeapDuplicateFilterEnabled;
+        private int hostBackQueueCapacity;
+        private File crawlFrontierJournalDirectory;
+        private List<InetSocketAddress> clusterNodeAddresses;
+        private int localClusterNodeIndex;
+        private boolean isContinuousCrawlEnabled;
+        private long minRevisitIntervalInMillis;
+        private long maxRevisitIntervalInMillis;
 
         /**
          * Creates a {@link CrawlerConfigurationBuilder} instance.
@@ -226,6 +687,29 @@ public final class CrawlerConfiguration implements Serializable {
             fixedCrawlDelayDurationInMillis = DEFAULT_FIXED_CRAWL_DELAY_IN_MILLIS;
             minCrawlDelayDurationInMillis = DEFAULT_MIN_CRAWL_DELAY_IN_MILLIS;
             maxCrawlDelayDurationInMillis = DEFAULT_MAX_CRAWL_DELAY_IN_MILLIS;
+            workerCount = DEFAULT_WORKER_COUNT;
+            headRequestPrefetchDepth = DEFAULT_HEAD_REQUEST_PREFETCH_DEPTH;
+            maxInFlightHeadRequests = DEFAULT_MAX_IN_FLIGHT_HEAD_REQUESTS;
+            isHtmlUnitProxyBypassEnabled = IS_HTML_UNIT_PROXY_BYPASS_ENABLED_BY_DEFAULT;
+            defaultKeepAliveDurationInMillis = DEFAULT_KEEP_ALIVE_DURATION_IN_MILLIS;
+            maxIdleConnectionDurationInMillis = DEFAULT_MAX_IDLE_CONNECTION_DURATION_IN_MILLIS;
+            connectTimeoutInMillis = DEFAULT_CONNECT_TIMEOUT_IN_MILLIS;
+            socketTimeoutInMillis = DEFAULT_SOCKET_TIMEOUT_IN_MILLIS;
+            isAsyncHttpClientEnabled = IS_ASYNC_HTTP_CLIENT_ENABLED_BY_DEFAULT;
+            browserRestartPageCount = DEFAULT_BROWSER_RESTART_PAGE_COUNT;
+            browserRestartMemoryThresholdInBytes = DEFAULT_BROWSER_RESTART_MEMORY_THRESHOLD;
+            isBrowserReuseEnabled = IS_BROWSER_REUSE_ENABLED_BY_DEFAULT;
+            maxBrowserFailureRetryCount = DEFAULT_MAX_BROWSER_FAILURE_RETRY_COUNT;
+            crawlFrontierHeadBufferSize = DEFAULT_CRAWL_FRONTIER_HEAD_BUFFER_SIZE;
+            duplicateRequestFilterStrategy = DEFAULT_DUPLICATE_FILTER_STRATEGY;
+            expectedUrlCount = DEFAULT_EXPECTED_URL_COUNT;
+            duplicateFilterFalsePositiveProbability = DEFAULT_FALSE_POSITIVE_PROBABILITY;
+            isOffHeapDuplicateFilterEnabled = IS_OFF_HEAP_DUPLICATE_FILTER_ENABLED_BY_DEFAULT;
+            hostBackQueueCapacity = DEFAULT_HOST_BACK_QUEUE_CAPACITY;
+            clusterNodeAddresses = Collections.emptyList();
+            isContinuousCrawlEnabled = IS_CONTINUOUS_CRAWL_ENABLED_BY_DEFAULT;
+            minRevisitIntervalInMillis = DEFAULT_MIN_REVISIT_INTERVAL_IN_MILLIS;
+            maxRevisitIntervalInMillis = DEFAULT_MAX_REVISIT_INTERVAL_IN_MILLIS;
         }
 
         /**
@@ -236,7 +720,7 @@ public final class CrawlerConfiguration implements Serializable {
          * @return the <code>CrawlerConfigurationBuilder</code> instance
          */
         public CrawlerConfigurationBuilder addAllowedCrawlDomain(final String allowedCrawlDomain) {
-            InternetDomainName domain = InternetDomainName.from(allowedCrawlDomain);
+            InternetDomainName domain = DomainNameCache.get(allowedCrawlDomain);
 
             Validate.isTrue(domain.isUnderPublicSuffix(),
                     String.format("The domain (\"%s\") is not under public suffix.",
@@ -343,7 +827,8 @@ public final class CrawlerConfiguration implements Serializable {
 
         /**
          * Sets the crawl delay strategy to be used by the crawler. This strategy defines how the
-         * delay between each request is determined.
+         * delay between each request to the same host is determined. Requests to different hosts
+         * are not delayed by each other.
          *
          * @param strategy the crawl delay strategy
          *
@@ -358,7 +843,7 @@ public final class CrawlerConfiguration implements Serializable {
         }
 
         /**
-         * Sets the exact duration of delay between each request.
+         * Sets the exact duration of delay between each request to the same host.
          *
          * @param fixedCrawlDelayDuration the duration of delay
          *
@@ -374,7 +859,7 @@ public final class CrawlerConfiguration implements Serializable {
         }
 
         /**
-         * Sets the minimum duration of delay between each request.
+         * Sets the minimum duration of delay between each request to the same host.
          *
          * @param minCrawlDelayDuration the minimum duration of delay
          *
@@ -397,7 +882,7 @@ public final class CrawlerConfiguration implements Serializable {
         }
 
         /**
-         * Sets the maximum duration of delay between each request.
+         * Sets the maximum duration of delay between each request to the same host.
          *
          * @param maxCrawlDelayDuration the maximum duration of delay
          *
@@ -417,6 +902,532 @@ public final class CrawlerConfiguration implements Serializable {
             return this;
         }
 
+        /**
+         * Sets the number of workers which crawl in parallel. Each worker uses its own browser and
+         * internal proxy server, while sharing the crawl frontier with the other workers. Note that
+         * when more than one worker is used, the callbacks of the crawler may be invoked
+         * concurrently from different threads.
+         *
+         * @param workerCount the number of workers (should be positive)
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setWorkerCount(final int workerCount) {
+            Validate.isTrue(workerCount > 0, "The worker count must be positive.");
+
+            this.workerCount = workerCount;
+            return this;
+        }
+
+        /**
+         * Sets the number of upcoming crawl candidates whose HTTP HEAD requests are sent ahead,
+         * while the browsers are busy loading pages. This way redirects and non-HTML responses are
+         * already known by the time a candidate is processed. Prefetched candidates are processed
+         * in the order they were prefetched, so requests fed in the meantime are processed after
+         * them. Setting it to zero disables prefetching.
+         *
+         * @param prefetchDepth the number of candidates to prefetch (should be non-negative)
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setHeadRequestPrefetchDepth(final int prefetchDepth) {
+            Validate.isTrue(prefetchDepth >= 0, "The prefetch depth cannot be negative.");
+
+            headRequestPrefetchDepth = prefetchDepth;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of prefetch HTTP HEAD requests which can be in flight at the
+         * same time. Has no effect if prefetching is disabled.
+         *
+         * @param maxInFlightRequests the maximum number of in-flight requests (should be positive)
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setMaximumInFlightHeadRequests(
+                final int maxInFlightRequests) {
+            Validate.isTrue(maxInFlightRequests > 0,
+                    "The maximum number of in-flight requests must be positive.");
+
+            maxInFlightHeadRequests = maxInFlightRequests;
+            return this;
+        }
+
+        /**
+         * Enables or disables the internal proxy server bypass for HtmlUnit. When enabled, HtmlUnit
+         * sends its requests directly (or through the user-defined proxy) and the responses are
+         * captured from HtmlUnit itself instead of from the HAR recorded by the internal proxy
+         * server. Has no effect on other browsers.
+         *
+         * @param bypassEnabled <code>true</code> enables, <code>false</code> disables the bypass
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setHtmlUnitProxyBypassEnabled(
+                final boolean bypassEnabled) {
+            this.isHtmlUnitProxyBypassEnabled = bypassEnabled;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of connections in the pool of the HTTP client which is used to
+         * send HTTP HEAD requests and download files. By default, it is 20, or the maximum number
+         * of connections per route if that is larger.
+         *
+         * @param maxTotalConnections the maximum number of connections (should be positive)
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setMaximumTotalConnections(
+                final int maxTotalConnections) {
+            Validate.isTrue(maxTotalConnections > 0,
+                    "The maximum number of connections must be positive.");
+
+            this.maxTotalConnections = maxTotalConnections;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of connections per route (that is, per target host) in the pool
+         * of the HTTP client. By default, it is large enough for every worker and every in-flight
+         * prefetch HTTP HEAD request to have its own connection to the same host, but at least 5.
+         * Otherwise the requests wait for a connection to be released, and fail with a network
+         * error once the connection request timeout elapses.
+         *
+         * @param maxConnectionsPerRoute the maximum number of connections per route (should be
+         *                               positive)
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setMaximumConnectionsPerRoute(
+                final int maxConnectionsPerRoute) {
+            Validate.isTrue(maxConnectionsPerRoute > 0,
+                    "The maximum number of connections per route must be positive.");
+
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+            return this;
+        }
+
+        /**
+         * Sets the duration for which a connection of the HTTP client is kept alive if the server
+         * does not specify it in the Keep-Alive header of the response.
+         *
+         * @param keepAliveDuration the default keep-alive duration
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setDefaultKeepAliveDuration(
+                final Duration keepAliveDuration) {
+            Validate.notNull(keepAliveDuration, "The keepAliveDuration parameter cannot be null.");
+            Validate.isTrue(!keepAliveDuration.isNegative(),
+                    "The keep-alive duration cannot be negative.");
+
+            defaultKeepAliveDurationInMillis = keepAliveDuration.toMillis();
+            return this;
+        }
+
+        /**
+         * Sets the duration after which an idle connection of the HTTP client is evicted from the
+         * pool by a background thread.
+         *
+         * @param maxIdleDuration the maximum idle duration (should be positive)
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setMaximumIdleConnectionDuration(
+                final Duration maxIdleDuration) {
+            Validate.notNull(maxIdleDuration, "The maxIdleDuration parameter cannot be null.");
+            Validate.isTrue(maxIdleDuration.toMillis() > 0,
+                    "The maximum idle duration must be positive.");
+
+            maxIdleConnectionDurationInMillis = maxIdleDuration.toMillis();
+            return this;
+        }
+
+        /**
+         * Sets the timeout of establishing a connection by the HTTP client. Zero means no
+         * timeout.
+         *
+         * @param connectTimeout the connect timeout
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setConnectTimeout(final Duration connectTimeout) {
+            Validate.notNull(connectTimeout, "The connectTimeout parameter cannot be null.");
+            Validate.isTrue(!connectTimeout.isNegative(),
+                    "The connect timeout cannot be negative.");
+
+            connectTimeoutInMillis = connectTimeout.toMillis();
+            return this;
+        }
+
+        /**
+         * Sets the timeout of waiting for data (that is, the maximum period of inactivity between
+         * two consecutive data packets) by the HTTP client. Zero means no timeout.
+         *
+         * @param socketTimeout the socket timeout
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setSocketTimeout(final Duration socketTimeout) {
+            Validate.notNull(socketTimeout, "The socketTimeout parameter cannot be null.");
+            Validate.isTrue(!socketTimeout.isNegative(), "The socket timeout cannot be negative.");
+
+            socketTimeoutInMillis = socketTimeout.toMillis();
+            return this;
+        }
+
+        /**
+         * Sets the timeout of leasing a connection from the pool of the HTTP client, when all the
+         * connections of the pool or the route are in use. Zero means no timeout. By default, the
+         * socket timeout is used, since a connection is released at the latest once a request
+         * using it times out.
+         *
+         * @param connectionRequestTimeout the connection request timeout
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setConnectionRequestTimeout(
+                final Duration connectionRequestTimeout) {
+            Validate.notNull(connectionRequestTimeout,
+                    "The connectionRequestTimeout parameter cannot be null.");
+            Validate.isTrue(!connectionRequestTimeout.isNegative(),
+                    "The connection request timeout cannot be negative.");
+
+            connectionRequestTimeoutInMillis = connectionRequestTimeout.toMillis();
+            return this;
+        }
+
+        /**
+         * Enables or disables the non-blocking HTTP client. When enabled, HTTP HEAD requests and
+         * file downloads are performed on a few I/O dispatcher threads instead of blocking the
+         * calling threads, which also makes asynchronous file downloads possible. In this case the
+         * number of prefetch requests in flight is limited by the prefetch depth and the
+         * connection pool, not by the maximum number of in-flight HEAD requests.
+         *
+         * @param clientEnabled <code>true</code> enables, <code>false</code> disables the
+         *                      non-blocking client
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setAsyncHttpClientEnabled(final boolean clientEnabled) {
+            this.isAsyncHttpClientEnabled = clientEnabled;
+            return this;
+        }
+
+        /**
+         * Sets the number of pages loaded by the browser of a worker after which the browser is
+         * restarted, in order to release the memory that accumulates in long-running browsers.
+         * Setting it to zero disables restarting based on the number of pages.
+         *
+         * @param pageCount the number of pages (should be non-negative)
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setBrowserRestartPageCount(final int pageCount) {
+            Validate.isTrue(pageCount >= 0, "The page count cannot be negative.");
+
+            browserRestartPageCount = pageCount;
+            return this;
+        }
+
+        /**
+         * Sets the used JavaScript heap size of a page above which the browser of the worker is
+         * restarted. The heap size is measured after every page, using the non-standard
+         * <code>performance.memory</code> API of Chromium-based browsers. It has no effect on
+         * browsers which do not support it. Setting it to zero disables restarting based on memory
+         * usage.
+         *
+         * @param thresholdInBytes the memory threshold in bytes (should be non-negative)
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setBrowserRestartMemoryThreshold(
+                final long thresholdInBytes) {
+            Validate.isTrue(thresholdInBytes >= 0, "The memory threshold cannot be negative.");
+
+            browserRestartMemoryThresholdInBytes = thresholdInBytes;
+            return this;
+        }
+
+        /**
+         * Enables or disables the reuse of browsers. When enabled, the browsers are kept running
+         * after the crawler stops, and the next start or resume of the same crawler instance uses
+         * them instead of starting new ones, provided that the same browser type and capabilities
+         * are requested. The browsers which are kept running can be closed with
+         * {@link Crawler#closeBrowsers()}.
+         *
+         * @param reuseEnabled <code>true</code> enables, <code>false</code> disables the reuse
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setBrowserReuseEnabled(final boolean reuseEnabled) {
+            this.isBrowserReuseEnabled = reuseEnabled;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of times the crawling of a candidate is retried after the browser
+         * failed while loading its page (for example, because the browser crashed or became
+         * unreachable). On such failures, the browser of the worker is restarted and the candidate
+         * is put back to the frontier. Once the retries are exhausted, the candidate is given up
+         * and a network error event is delivered for it. Failures in the callbacks are not
+         * retried, since the response event has already been delivered by then.
+         *
+         * @param maxRetryCount the maximum number of retries (should be non-negative)
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setMaximumBrowserFailureRetryCount(
+                final int maxRetryCount) {
+            Validate.isTrue(maxRetryCount >= 0, "The maximum retry count cannot be negative.");
+
+            maxBrowserFailureRetryCount = maxRetryCount;
+            return this;
+        }
+
+        /**
+         * Sets the directory where the crawl frontier stores the crawl candidates. When set, only
+         * a small number of candidates are kept in memory for each crawl depth and priority, the
+         * rest are written to memory-mapped segment files in this directory. This allows crawling
+         * far more URLs than what would fit in the heap. The directory should not be shared
+         * between crawlers. The saved state of the crawler includes the candidates stored in the
+         * segment files, which are written to new segment files when the crawler is resumed. By
+         * default, all the crawl candidates are kept in memory.
+         *
+         * @param directory the directory of the crawl frontier
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setCrawlFrontierDirectory(final File directory) {
+            Validate.notNull(directory, "The directory parameter cannot be null.");
+
+            crawlFrontierDirectory = directory;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of crawl candidates kept in memory for each crawl depth and
+         * priority when the crawl frontier is backed by disk. Has no effect if the crawl
+         * frontier directory is not set.
+         *
+         * @param bufferSize the size of the in-memory head buffers (should be positive)
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setCrawlFrontierHeadBufferSize(final int bufferSize) {
+            Validate.isTrue(bufferSize > 0, "The buffer size must be positive.");
+
+            crawlFrontierHeadBufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Sets the strategy which defines how the duplicate request filter remembers the already
+         * seen URLs. The probabilistic strategy needs only a couple of bytes per URL, but it may
+         * filter a small fraction of new URLs as duplicates. The default is the exact strategy.
+         *
+         * @param strategy the duplicate request filter strategy
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setDuplicateRequestFilterStrategy(
+                final DuplicateRequestFilterStrategy strategy) {
+            Validate.notNull(strategy, "The strategy parameter cannot be null.");
+
+            duplicateRequestFilterStrategy = strategy;
+            return this;
+        }
+
+        /**
+         * Sets the number of URLs the probabilistic duplicate request filter is initially sized
+         * for. The filter grows when more URLs are seen, but it is the most compact if the
+         * estimate is accurate.
+         *
+         * @param urlCount the expected number of URLs (should be positive)
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setExpectedUrlCount(final long urlCount) {
+            Validate.isTrue(urlCount > 0, "The URL count must be positive.");
+
+            expectedUrlCount = urlCount;
+            return this;
+        }
+
+        /**
+         * Sets the probability of the probabilistic duplicate request filter filtering a new URL
+         * as a duplicate. Lower probabilities need more memory per URL.
+         *
+         * @param probability the false positive probability (should be between 0 and 1,
+         *                    exclusive)
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setDuplicateFilterFalsePositiveProbability(
+                final double probability) {
+            Validate.exclusiveBetween(0.0, 1.0, probability,
+                    "The probability must be between 0 and 1, exclusive.");
+
+            duplicateFilterFalsePositiveProbability = probability;
+            return this;
+        }
+
+        /**
+         * Enables or disables storing the URL fingerprints of the exact duplicate request filter
+         * in direct (off-heap) memory. This keeps large fingerprint tables out of the reach of
+         * the garbage collector. Has no effect with the probabilistic strategy.
+         *
+         * @param offHeapEnabled <code>true</code> stores the fingerprints off-heap,
+         *                       <code>false</code> stores them in the heap
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setOffHeapDuplicateFilterEnabled(
+                final boolean offHeapEnabled) {
+            isOffHeapDuplicateFilterEnabled = offHeapEnabled;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of crawl candidates held in the back queue of each host in the
+         * crawl frontier. Candidates are moved from the queue ordered by crawl depth and priority
+         * to the back queues of their hosts, and the best candidate whose host can be requested
+         * is selected from the back queues. The candidates of a host whose back queue is full
+         * wait in the overflow queue of the host, and only a limited number of candidates may
+         * overflow, so most of the candidates stay in the queue ordered by crawl depth and
+         * priority, which can be backed by disk. A smaller capacity uses less memory, but the
+         * crawl strategy is followed less strictly across hosts. The default capacity is 16.
+         *
+         * @param capacity the capacity of the back queue of each host (0 means no limit)
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setHostBackQueueCapacity(final int capacity) {
+            Validate.isTrue(capacity >= 0, "The capacity cannot be negative.");
+
+            hostBackQueueCapacity = capacity;
+            return this;
+        }
+
+        /**
+         * Sets the directory where the crawl frontier journals its changes. When set, the crawl
+         * frontier appends the fed and processed crawl candidates to a log in this directory and
+         * compacts the log into a snapshot periodically. The frontier is recovered from the
+         * journal when the crawler is resumed, even if it was not stopped properly, and saving the
+         * crawler state no longer serializes the whole frontier. The journal keeps only the IDs
+         * of the pending crawl candidates in memory, and the log is compacted in the background.
+         * The directory should not be shared between crawlers. By default, journaling is
+         * disabled.
+         *
+         * @param directory the journal directory of the crawl frontier
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setCrawlFrontierJournalDirectory(final File directory) {
+            Validate.notNull(directory, "The directory parameter cannot be null.");
+
+            crawlFrontierJournalDirectory = directory;
+            return this;
+        }
+
+        /**
+         * Enables cluster mode, in which several crawler processes crawl together, each one
+         * owning a shard of the hosts. Hosts are assigned to the nodes by consistent hashing, and
+         * the requests found for the hosts of other nodes are forwarded to them in batches. Each
+         * node must be configured with the same list of node addresses (and the same crawl seeds)
+         * and its own index in that list. The nodes communicate with Java serialization
+         * restricted to the classes of the messages, so the metadata of the forwarded requests
+         * must be strings, numbers, URIs, primitive arrays or standard lists, sets and maps of
+         * them. The addresses should still only be reachable by trusted hosts, e.g. loopback
+         * addresses when all the nodes run on the same machine. By default, cluster mode is
+         * disabled.
+         *
+         * @param nodeAddresses  the addresses the cluster nodes listen on
+         * @param localNodeIndex the index of this node in the list of node addresses
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setClusterNodes(
+                final List<InetSocketAddress> nodeAddresses,
+                final int localNodeIndex) {
+            Validate.notEmpty(nodeAddresses, "The nodeAddresses parameter cannot be empty.");
+            Validate.noNullElements(nodeAddresses,
+                    "The nodeAddresses parameter cannot contain null elements.");
+            Validate.validIndex(nodeAddresses, localNodeIndex,
+                    "The local node index is out of range.");
+
+            clusterNodeAddresses = Collections.unmodifiableList(new ArrayList<>(nodeAddresses));
+            localClusterNodeIndex = localNodeIndex;
+            return this;
+        }
+
+        /**
+         * Enables or disables continuous crawling. In a continuous crawl, the successfully fetched
+         * pages are scheduled to be revisited, so the crawl does not end when the frontier runs
+         * out of new requests. The revisit interval of each page adapts to how often its content
+         * changes: it is halved when the content has changed since the previous visit and doubled
+         * when it has not, within the minimum and maximum revisit intervals. The first revisit
+         * happens after the minimum interval. By default, continuous crawling is disabled.
+         *
+         * @param isContinuousCrawlEnabled <code>true</code> enables, <code>false</code> disables
+         *                                 continuous crawling
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setContinuousCrawlEnabled(
+                final boolean isContinuousCrawlEnabled) {
+            this.isContinuousCrawlEnabled = isContinuousCrawlEnabled;
+            return this;
+        }
+
+        /**
+         * Sets the minimum time between two visits of the same page in a continuous crawl. Pages
+         * whose content changes on every visit are revisited this often.
+         *
+         * @param minRevisitInterval the minimum revisit interval
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setMinimumRevisitInterval(
+                final Duration minRevisitInterval) {
+            Validate.notNull(minRevisitInterval,
+                    "The minRevisitInterval parameter cannot be null.");
+
+            long minIntervalInMillis = minRevisitInterval.toMillis();
+
+            Validate.isTrue(minIntervalInMillis > 0,
+                    "The minimum revisit interval must be positive.");
+            Validate.isTrue(minIntervalInMillis <= maxRevisitIntervalInMillis,
+                    "The minimum revisit interval cannot be higher than the maximum.");
+
+            minRevisitIntervalInMillis = minIntervalInMillis;
+            return this;
+        }
+
+        /**
+         * Sets the maximum time between two visits of the same page in a continuous crawl. Pages
+         * whose content does not change are eventually revisited this rarely.
+         *
+         * @param maxRevisitInterval the maximum revisit interval
+         *
+         * @return the <code>CrawlerConfigurationBuilder</code> instance
+         */
+        public CrawlerConfigurationBuilder setMaximumRevisitInterval(
+                final Duration maxRevisitInterval) {
+            Validate.notNull(maxRevisitInterval,
+                    "The maxRevisitInterval parameter cannot be null.");
+
+            long maxIntervalInMillis = maxRevisitInterval.toMillis();
+
+            Validate.isTrue(maxIntervalInMillis >= minRevisitIntervalInMillis,
+                    "The maximum revisit interval cannot be lower than the minimum.");
+
+            maxRevisitIntervalInMillis = maxIntervalInMillis;
+            return this;
+        }
+
         /**
          * Builds the configured <code>CrawlerConfiguration</code> instance.
          *
@@ -425,5 +1436,56 @@ public final class CrawlerConfiguration implements Serializable {
         public CrawlerConfiguration build() {
             return new CrawlerConfiguration(this);
         }
+
+        /**
+         * Returns the maximum number of connections per route, which is sized from the number of
+         * concurrent HTTP requests if it is not set.
+         *
+         * @return the maximum number of connections per route
+         */
+        private int getMaximumConnectionsPerRoute() {
+            if (maxConnectionsPerRoute != null) {
+                return maxConnectionsPerRoute;
+            }
+
+            // Every worker sends at most one request at a time, besides the prefetch requests
+            int concurrentRequestCount = workerCount;
+            if (headRequestPrefetchDepth > 0) {
+                concurrentRequestCount += isAsyncHttpClientEnabled
+                        ? headRequestPrefetchDepth : maxInFlightHeadRequests;
+            }
+
+            return Math.max(DEFAULT_MAX_CONNECTIONS_PER_ROUTE, concurrentRequestCount);
+        }
+
+        /**
+         * Returns the maximum number of connections in the pool, which is at least the maximum
+         * number of connections per route if it is not set.
+         *
+         * @param maxConnectionsPerRoute the maximum number of connections per route
+         *
+         * @return the maximum number of connections in the pool
+         */
+        private int getMaximumTotalConnections(final int maxConnectionsPerRoute) {
+            if (maxTotalConnections != null) {
+                return maxTotalConnections;
+            }
+
+            return Math.max(DEFAULT_MAX_TOTAL_CONNECTIONS, maxConnectionsPerRoute);
+        }
+
+        /**
+         * Returns the timeout of leasing a connection from the pool, which is the socket timeout
+         * if it is not set.
+         *
+         * @return the connection request timeout in milliseconds
+         */
+        private long getConnectionRequestTimeoutInMillis() {
+            if (connectionRequestTimeoutInMillis != null) {
+                return connectionRequestTimeoutInMillis;
+            }
+
+            return socketTimeoutInMillis;
+        }
     }
 }
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.api;
+
+/**
+ * Available duplicate request filter strategies which define how the already seen URLs are
+ * remembered. The exact strategy never filters a new URL, while the probabilistic strategy uses a
+ * fraction of the memory at the cost of occasionally filtering a new URL as a duplicate.
+ */
+public enum DuplicateRequestFilterStrategy {
+
+    EXACT,
+    PROBABILISTIC
+}
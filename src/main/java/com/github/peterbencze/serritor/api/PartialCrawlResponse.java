@@ -16,6 +16,7 @@
 
 package com.github.peterbencze.serritor.api;
 
+import com.gargoylesoftware.htmlunit.WebResponse;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -60,6 +61,20 @@ public class PartialCrawlResponse {
                         header.getValue())));
     }
 
+    /**
+     * Creates a {@link PartialCrawlResponse} instance from an HtmlUnit response.
+     *
+     * @param webResponse the HtmlUnit response
+     */
+    public PartialCrawlResponse(final WebResponse webResponse) {
+        statusCode = webResponse.getStatusCode();
+        statusText = webResponse.getStatusMessage();
+        headers = new ArrayList<>();
+        webResponse.getResponseHeaders()
+                .forEach(header -> headers.add(new BasicHeader(header.getName(),
+                        header.getValue())));
+    }
+
     /**
      * Returns the HTTP status code of the response.
      *
@@ -88,7 +103,8 @@ public class PartialCrawlResponse {
     }
 
     /**
-     * Returns all the headers with the specified name of the response.
+     * Returns all the headers with the specified name of the response. The name is matched
+     * case-insensitively.
      *
      * @param name the name of the headers
      *
@@ -96,12 +112,13 @@ public class PartialCrawlResponse {
      */
     public List<Header> getHeaders(final String name) {
         return headers.stream()
-                .filter(header -> name.equals(header.getName()))
+                .filter(header -> name.equalsIgnoreCase(header.getName()))
                 .collect(Collectors.toList());
     }
 
     /**
-     * Returns the first header with the specified name of the response.
+     * Returns the first header with the specified name of the response. The name is matched
+     * case-insensitively.
      *
      * @param name the name of the header
      *
@@ -109,7 +126,7 @@ public class PartialCrawlResponse {
      */
     public Optional<Header> getFirstHeader(final String name) {
         return headers.stream()
-                .filter(header -> name.equals(header.getName()))
+                .filter(header -> name.equalsIgnoreCase(header.getName()))
                 .findFirst();
     }
 }
@@ -107,7 +107,7 @@ public final class TextFinder {
 
         return locatingMechanisms.stream()
                 .flatMap(locatingMechanism ->
-                        response.getWebDriver().findElements(locatingMechanism).stream())
+                        response.getSearchContext().findElements(locatingMechanism).stream())
                 .flatMap(element -> findAllInElement(element).stream())
                 .collect(Collectors.toList());
     }
@@ -124,7 +124,7 @@ public final class TextFinder {
 
         List<WebElement> matchedElements = locatingMechanisms.stream()
                 .flatMap(locatingMechanism ->
-                        response.getWebDriver().findElements(locatingMechanism).stream())
+                        response.getSearchContext().findElements(locatingMechanism).stream())
                 .collect(Collectors.toList());
 
         // Return on first match (not possible with Java 8 Stream API)
@@ -108,7 +108,7 @@ public final class UrlFinder {
 
         return locatingMechanisms.stream()
                 .flatMap(locatingMechanism ->
-                        response.getWebDriver().findElements(locatingMechanism).stream())
+                        response.getSearchContext().findElements(locatingMechanism).stream())
                 .map(element -> element.getAttribute(attributeName))
                 .map(this::findInAttributeValue)
                 .filter(Optional::isPresent)
@@ -128,7 +128,7 @@ public final class UrlFinder {
 
         List<WebElement> matchedElements = locatingMechanisms.stream()
                 .flatMap(locatingMechanism ->
-                        response.getWebDriver().findElements(locatingMechanism).stream())
+                        response.getSearchContext().findElements(locatingMechanism).stream())
                 .collect(Collectors.toList());
 
         // Return on first match (not possible with Java 8 Stream API)
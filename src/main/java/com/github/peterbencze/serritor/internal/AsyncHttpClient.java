@@ -0,0 +1,184 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.nio.client.methods.HttpAsyncMethods;
+import org.apache.http.nio.client.methods.ZeroCopyConsumer;
+import org.apache.http.nio.conn.NHttpClientConnectionManager;
+
+/**
+ * A non-blocking HTTP client whose results are provided as {@link CompletableFuture} instances. A
+ * handful of I/O dispatcher threads serve every request, so a large number of requests can be in
+ * flight without blocking the crawler threads.
+ */
+public final class AsyncHttpClient implements Closeable {
+
+    private final CloseableHttpAsyncClient httpClient;
+    private final ScheduledExecutorService connectionEvictor;
+
+    /**
+     * Creates an {@link AsyncHttpClient} instance and starts the underlying client.
+     *
+     * @param httpClient               the underlying non-blocking client
+     * @param connectionManager        the connection manager of the underlying client
+     * @param maxIdleDurationInMillis  the duration after which idle connections are closed
+     */
+    public AsyncHttpClient(
+            final CloseableHttpAsyncClient httpClient,
+            final NHttpClientConnectionManager connectionManager,
+            final long maxIdleDurationInMillis) {
+        this.httpClient = httpClient;
+
+        // The non-blocking client has no built-in eviction of idle connections
+        connectionEvictor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("async-connection-evictor-%d")
+                        .setDaemon(true)
+                        .build());
+        connectionEvictor.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(maxIdleDurationInMillis,
+                    TimeUnit.MILLISECONDS);
+        }, maxIdleDurationInMillis, maxIdleDurationInMillis, TimeUnit.MILLISECONDS);
+
+        httpClient.start();
+    }
+
+    /**
+     * Sends the request. The response entity, if any, is buffered in memory.
+     *
+     * @param request the request to send
+     *
+     * @return the future response
+     */
+    public CompletableFuture<HttpResponse> execute(final HttpUriRequest request) {
+        CompletableFuture<HttpResponse> response = new CompletableFuture<>();
+        Future<HttpResponse> exchange = httpClient.execute(request, completing(response));
+        cancelOnCancellation(response, exchange);
+
+        return response;
+    }
+
+    /**
+     * Downloads the file specified by the URL. The content is transferred directly to the
+     * destination file.
+     *
+     * @param source      the source URL
+     * @param destination the destination file
+     *
+     * @return the future which completes when the file has been downloaded
+     */
+    public CompletableFuture<Void> download(final URI source, final File destination) {
+        CompletableFuture<File> download = new CompletableFuture<>();
+        try {
+            FileUtils.forceMkdirParent(destination);
+
+            ZeroCopyConsumer<File> consumer = new ZeroCopyConsumer<File>(destination) {
+                @Override
+                protected File process(
+                        final HttpResponse response,
+                        final File file,
+                        final ContentType contentType) {
+                    return file;
+                }
+            };
+
+            Future<File> exchange = httpClient.execute(HttpAsyncMethods.createGet(source),
+                    consumer, completing(download));
+            cancelOnCancellation(download, exchange);
+        } catch (IOException exception) {
+            download.completeExceptionally(new UncheckedIOException(exception));
+        }
+
+        return download.thenApply(file -> null);
+    }
+
+    /**
+     * Closes the underlying client. The requests in flight are aborted.
+     *
+     * @throws IOException if an I/O error occurs while closing the client
+     */
+    @Override
+    public void close() throws IOException {
+        connectionEvictor.shutdownNow();
+        httpClient.close();
+    }
+
+    /**
+     * Creates a callback which completes the given future.
+     *
+     * @param <T>    the type of the result
+     * @param future the future to complete
+     *
+     * @return the callback
+     */
+    private static <T> FutureCallback<T> completing(final CompletableFuture<T> future) {
+        return new FutureCallback<T>() {
+            @Override
+            public void completed(final T result) {
+                future.complete(result);
+            }
+
+            @Override
+            public void failed(final Exception exception) {
+                if (exception instanceof IOException) {
+                    future.completeExceptionally(
+                            new UncheckedIOException((IOException) exception));
+                } else {
+                    future.completeExceptionally(exception);
+                }
+            }
+
+            @Override
+            public void cancelled() {
+                future.cancel(false);
+            }
+        };
+    }
+
+    /**
+     * Aborts the exchange if the future is cancelled.
+     *
+     * @param future   the future exposed to the callers
+     * @param exchange the future of the underlying exchange
+     */
+    private static void cancelOnCancellation(
+            final CompletableFuture<?> future,
+            final Future<?> exchange) {
+        future.whenComplete((result, throwable) -> {
+            if (future.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+    }
+}
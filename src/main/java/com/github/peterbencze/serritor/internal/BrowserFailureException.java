@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal;
+
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * Signals that the browser failed while loading a page, as opposed to exceptions thrown by the
+ * callbacks of the crawler. The browser of the worker is assumed to be unusable afterwards.
+ */
+public final class BrowserFailureException extends RuntimeException {
+
+    /**
+     * Creates a {@link BrowserFailureException} instance.
+     *
+     * @param cause the exception thrown by the <code>WebDriver</code> instance
+     */
+    public BrowserFailureException(final WebDriverException cause) {
+        super(cause);
+    }
+
+    /**
+     * Returns the exception thrown by the <code>WebDriver</code> instance.
+     *
+     * @return the exception thrown by the <code>WebDriver</code> instance
+     */
+    @Override
+    public synchronized WebDriverException getCause() {
+        return (WebDriverException) super.getCause();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal;
+
+import com.github.peterbencze.serritor.api.CrawlerConfiguration;
+import java.util.Optional;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides when the browser of a worker should be restarted, based on the number of pages it has
+ * loaded and the memory used by the current page.
+ */
+public final class BrowserRestartPolicy {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BrowserRestartPolicy.class);
+
+    private static final String USED_HEAP_SIZE_JS = "return ('performance' in window) && "
+            + "('memory' in window.performance) ? performance.memory.usedJSHeapSize : -1;";
+
+    private final int restartPageCount;
+    private final long memoryThresholdInBytes;
+
+    /**
+     * Creates a {@link BrowserRestartPolicy} instance.
+     *
+     * @param config the crawler configuration which specifies the page count and the memory
+     *               threshold
+     */
+    public BrowserRestartPolicy(final CrawlerConfiguration config) {
+        restartPageCount = config.getBrowserRestartPageCount();
+        memoryThresholdInBytes = config.getBrowserRestartMemoryThresholdInBytes();
+    }
+
+    /**
+     * Indicates if the browser of the session should be restarted.
+     *
+     * @param session the browser session of a worker
+     *
+     * @return <code>true</code> if the browser should be restarted, <code>false</code> otherwise
+     */
+    public boolean isRestartRequired(final BrowserSession session) {
+        if (restartPageCount > 0 && session.getLoadedPageCount() >= restartPageCount) {
+            LOGGER.debug("Browser has loaded {} pages", session.getLoadedPageCount());
+            return true;
+        }
+
+        if (memoryThresholdInBytes > 0 && session.getLoadedPageCount() > 0) {
+            Optional<Long> usedHeapSizeOpt = getUsedHeapSize(session.getWebDriver());
+            if (usedHeapSizeOpt.isPresent() && usedHeapSizeOpt.get() > memoryThresholdInBytes) {
+                LOGGER.debug("Browser uses {} bytes of JavaScript heap", usedHeapSizeOpt.get());
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the size of the JavaScript heap used by the current page of the browser.
+     *
+     * @param webDriver the <code>WebDriver</code> instance to control the browser
+     *
+     * @return the used heap size in bytes, or empty if the browser does not report it
+     */
+    private static Optional<Long> getUsedHeapSize(final WebDriver webDriver) {
+        if (!(webDriver instanceof JavascriptExecutor)) {
+            return Optional.empty();
+        }
+
+        try {
+            Object usedHeapSize =
+                    ((JavascriptExecutor) webDriver).executeScript(USED_HEAP_SIZE_JS);
+            if (usedHeapSize instanceof Number && ((Number) usedHeapSize).longValue() >= 0) {
+                return Optional.of(((Number) usedHeapSize).longValue());
+            }
+        } catch (WebDriverException exception) {
+            LOGGER.debug("Failed to measure used JavaScript heap size", exception);
+        }
+
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal;
+
+import java.util.Optional;
+import net.lightbody.bmp.BrowserMobProxyServer;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Represents a browser instance together with the internal proxy server through which the browser
+ * sends its requests and the recorder of the main document responses passing through it. The proxy
+ * server is absent if HtmlUnit bypasses it. Each crawler worker owns exactly one session at a time,
+ * so it is not thread-safe.
+ */
+public final class BrowserSession {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BrowserSession.class);
+
+    private final BrowserMobProxyServer proxyServer;
+    private final DocumentResponseRecorder responseRecorder;
+    private final WebDriver webDriver;
+
+    private int loadedPageCount;
+
+    /**
+     * Creates a {@link BrowserSession} instance.
+     *
+     * @param proxyServer      the started internal proxy server used by the browser or
+     *                         <code>null</code> if the browser bypasses it
+     * @param responseRecorder the recorder added to the internal proxy server or
+     *                         <code>null</code> if the browser bypasses it
+     * @param webDriver        the <code>WebDriver</code> instance to control the browser
+     */
+    public BrowserSession(
+            final BrowserMobProxyServer proxyServer,
+            final DocumentResponseRecorder responseRecorder,
+            final WebDriver webDriver) {
+        this.proxyServer = proxyServer;
+        this.responseRecorder = responseRecorder;
+        this.webDriver = webDriver;
+    }
+
+    /**
+     * Returns the recorder of the main document responses passing through the internal proxy
+     * server.
+     *
+     * @return the response recorder, or empty if the browser bypasses the internal proxy server
+     */
+    public Optional<DocumentResponseRecorder> getResponseRecorder() {
+        return Optional.ofNullable(responseRecorder);
+    }
+
+    /**
+     * Returns the <code>WebDriver</code> instance to control the browser.
+     *
+     * @return the <code>WebDriver</code> instance
+     */
+    public WebDriver getWebDriver() {
+        return webDriver;
+    }
+
+    /**
+     * Indicates that a page has been loaded in the browser.
+     */
+    public void recordPageLoad() {
+        ++loadedPageCount;
+    }
+
+    /**
+     * Returns the number of pages loaded in the browser since it was started.
+     *
+     * @return the number of loaded pages
+     */
+    public int getLoadedPageCount() {
+        return loadedPageCount;
+    }
+
+    /**
+     * Closes the browser and stops the internal proxy server.
+     */
+    public void close() {
+        try {
+            LOGGER.debug("Closing browser");
+            webDriver.quit();
+        } finally {
+            if (proxyServer != null && proxyServer.isStarted()) {
+                LOGGER.debug("Stopping proxy server");
+                proxyServer.stop();
+            }
+        }
+    }
+}
@@ -89,15 +89,19 @@ public final class CrawlDomain implements Serializable {
     public boolean contains(final InternetDomainName domain) {
         ImmutableList<String> otherDomainParts = domain.parts();
 
-        if (parts.size() > otherDomainParts.size()) {
+        int offset = otherDomainParts.size() - parts.size();
+        if (offset < 0) {
             return false;
         }
 
-        otherDomainParts = otherDomainParts.reverse()
-                .subList(0, parts.size());
+        // Compare the trailing parts in place, starting from the top-level domain
+        for (int i = parts.size() - 1; i >= 0; --i) {
+            if (!parts.get(i).equals(otherDomainParts.get(offset + i))) {
+                return false;
+            }
+        }
 
-        return parts.reverse()
-                .equals(otherDomainParts);
+        return true;
     }
 
     /**
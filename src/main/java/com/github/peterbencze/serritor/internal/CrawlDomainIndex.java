@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal;
+
+import com.github.peterbencze.serritor.internal.util.DomainNameCache;
+import com.google.common.net.InternetDomainName;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index of the crawl domains, which tells if an internet domain belongs to any of them. The
+ * crawl domains are stored in a trie of their labels in reverse order (from the top-level domain),
+ * so a lookup takes one hash lookup per label of the domain, regardless of the number of crawl
+ * domains, and it does not allocate anything.
+ */
+public final class CrawlDomainIndex implements Serializable {
+
+    private final Node root;
+
+    /**
+     * Creates a {@link CrawlDomainIndex} instance.
+     *
+     * @param crawlDomains the crawl domains to index
+     */
+    public CrawlDomainIndex(final Set<CrawlDomain> crawlDomains) {
+        root = new Node();
+
+        crawlDomains.forEach(crawlDomain -> {
+            List<String> parts = DomainNameCache.get(crawlDomain.getDomain()).parts();
+
+            Node node = root;
+            for (int i = parts.size() - 1; i >= 0; --i) {
+                node = node.children.computeIfAbsent(parts.get(i), part -> new Node());
+            }
+
+            node.isCrawlDomain = true;
+        });
+    }
+
+    /**
+     * Indicates if the internet domain belongs to any of the crawl domains, that is, it is one of
+     * them or one of their subdomains.
+     *
+     * @param domain an immutable well-formed internet domain name
+     *
+     * @return <code>true</code> if belongs, <code>false</code> otherwise
+     */
+    public boolean contains(final InternetDomainName domain) {
+        // The parts are stored by the domain, no need to split it again
+        List<String> parts = domain.parts();
+
+        Node node = root;
+        for (int i = parts.size() - 1; i >= 0; --i) {
+            node = node.children.get(parts.get(i));
+            if (node == null) {
+                return false;
+            }
+
+            if (node.isCrawlDomain) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * A label of a crawl domain in the trie.
+     */
+    private static final class Node implements Serializable {
+
+        private final Map<String, Node> children;
+        private boolean isCrawlDomain;
+
+        /**
+         * Creates a {@link Node} instance.
+         */
+        Node() {
+            children = new HashMap<>();
+        }
+    }
+}
@@ -20,35 +20,88 @@ import com.github.peterbencze.serritor.api.CrawlCandidate;
 import com.github.peterbencze.serritor.api.CrawlCandidate.CrawlCandidateBuilder;
 import com.github.peterbencze.serritor.api.CrawlRequest;
 import com.github.peterbencze.serritor.api.CrawlerConfiguration;
+import com.github.peterbencze.serritor.internal.cluster.ShardRing;
+import com.github.peterbencze.serritor.internal.frontier.CandidateQueue;
+import com.github.peterbencze.serritor.internal.frontier.DiskBackedCandidateQueue;
+import com.github.peterbencze.serritor.internal.frontier.ExactSeenUrlFilter;
+import com.github.peterbencze.serritor.internal.frontier.FrontierJournal;
+import com.github.peterbencze.serritor.internal.frontier.HostAvailability;
+import com.github.peterbencze.serritor.internal.frontier.HostBackQueues;
+import com.github.peterbencze.serritor.internal.frontier.InMemoryCandidateQueue;
+import com.github.peterbencze.serritor.internal.frontier.ProbabilisticSeenUrlFilter;
+import com.github.peterbencze.serritor.internal.frontier.RevisitScheduler;
+import com.github.peterbencze.serritor.internal.frontier.SeenUrlFilter;
+import com.github.peterbencze.serritor.internal.frontier.StripedSeenUrlFilter;
+import com.github.peterbencze.serritor.internal.frontier.UrlCanonicalizer;
+import com.github.peterbencze.serritor.internal.frontier.UrlFingerprint;
 import com.github.peterbencze.serritor.internal.stats.StatsCounter;
+import com.google.common.net.InternetDomainName;
 import java.io.Serializable;
-import java.net.URI;
-import java.util.Comparator;
-import java.util.HashSet;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.PriorityQueue;
+import java.util.Optional;
 import java.util.Queue;
-import java.util.Set;
-import java.util.function.Function;
-import org.apache.commons.codec.digest.DigestUtils;
-import org.apache.http.NameValuePair;
-import org.apache.http.client.utils.URIBuilder;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Manages crawl requests and provides crawl candidates to the crawler.
+ * Manages crawl requests and provides crawl candidates to the crawler. New candidates are added to
+ * a front queue ordered by crawl depth and priority, from which they are moved to per-host back
+ * queues, so the best candidate whose host can be requested is found quickly. If the back queue of
+ * each host is bounded, the candidates of the hosts whose back queues are full are held in the
+ * overflow queues of their hosts, and the front queue is only drained while the number of
+ * overflowing candidates is below a limit. This way, most of the candidates stay in the front
+ * queue, which can be backed by disk.
+ *
+ * <p>This class is thread-safe. Requests can be fed concurrently: the duplicate check is an atomic
+ * check-and-add on a lock-striped seen URL filter, and the new candidates are put in a lock-free
+ * queue, which is drained when the next candidate is taken. Taking candidates is serialized.
+ *
+ * <p>If a journal directory is configured, the changes of the frontier are recorded in a journal,
+ * from which the frontier is recovered when it is created. In this case, only the configuration
+ * is serialized with the frontier, and the frontier is recovered from the journal when it is
+ * deserialized.
+ *
+ * <p>In continuous crawl mode, the successfully crawled candidates are rescheduled by a revisit
+ * scheduler, and they are added to the queue again once their revisits are due. In this case, the
+ * frontier does not run out of candidates as long as there are scheduled revisits. Journaled
+ * revisits are recovered as pending candidates, so they are crawled again right after recovery.
  */
 public final class CrawlFrontier implements Serializable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CrawlFrontier.class);
 
+    private static final int SEEN_URL_FILTER_STRIPE_COUNT = 16;
+
+    // The number of candidates of full hosts held in the back queues before filling them stops
+    private static final int BACK_QUEUE_OVERFLOW_CAPACITY = 4096;
+
+    private static final HostAvailability UNRESTRICTED_HOST_AVAILABILITY =
+            new HostAvailability() {
+                @Override
+                public boolean isEligible(final InternetDomainName host) {
+                    return true;
+                }
+
+                @Override
+                public Optional<Instant> getNextEligibleTime(final InternetDomainName host) {
+                    return Optional.empty();
+                }
+            };
+
     private final CrawlerConfiguration config;
     private final StatsCounter statsCounter;
-    private final Set<String> urlFingerprints;
-    private final Queue<CrawlCandidate> candidates;
-
-    private CrawlCandidate currentCandidate;
+    private final CrawlDomainIndex allowedCrawlDomainIndex;
+    private final SeenUrlFilter seenUrlFilter;
+    private final CandidateQueue candidates;
+    private final HostBackQueues backQueues;
+    private final Queue<CrawlCandidate> newCandidates;
+    private final RevisitScheduler revisitScheduler;
+    private final transient FrontierJournal journal;
 
     /**
      * Creates a {@link CrawlFrontier} instance.
@@ -58,97 +111,201 @@ public final class CrawlFrontier implements Serializable {
      *                     the crawler
      */
     public CrawlFrontier(final CrawlerConfiguration config, final StatsCounter statsCounter) {
+        this(config, statsCounter, false);
+    }
+
+    /**
+     * Creates a {@link CrawlFrontier} instance.
+     *
+     * @param config                 the crawler configuration
+     * @param statsCounter           the stats counter which accumulates statistics during the
+     *                               operation of the crawler
+     * @param isStatsCounterRestored indicates if the stats counter already counts the candidates
+     *                               recovered from the journal
+     */
+    private CrawlFrontier(
+            final CrawlerConfiguration config,
+            final StatsCounter statsCounter,
+            final boolean isStatsCounterRestored) {
         this.config = config;
         this.statsCounter = statsCounter;
-        urlFingerprints = new HashSet<>();
-        candidates = createPriorityQueue();
+        allowedCrawlDomainIndex = new CrawlDomainIndex(config.getAllowedCrawlDomains());
+        seenUrlFilter = createSeenUrlFilter();
+        candidates = createCandidateQueue();
+        backQueues = new HostBackQueues(config.getCrawlStrategy(),
+                config.getHostBackQueueCapacity(), BACK_QUEUE_OVERFLOW_CAPACITY);
+        newCandidates = new ConcurrentLinkedQueue<>();
+        revisitScheduler = config.isContinuousCrawlEnabled()
+                ? new RevisitScheduler(config.getMinimumRevisitIntervalInMillis(),
+                config.getMaximumRevisitIntervalInMillis())
+                : null;
+        journal = config.getCrawlFrontierJournalDirectory().map(FrontierJournal::new).orElse(null);
+
+        if (journal == null || !recoverFromJournal(isStatsCounterRestored)) {
+            feedCrawlSeeds();
+        }
+    }
 
-        feedCrawlSeeds();
+    /**
+     * Feeds a crawl seed to the frontier.
+     *
+     * @param request the crawl request of the seed
+     */
+    public void feedCrawlSeed(final CrawlRequest request) {
+        addRequests(Collections.singletonList(request), null);
     }
 
     /**
-     * Feeds a crawl request to the frontier.
+     * Feeds a crawl request which was found while processing the given candidate to the frontier.
+     * The crawl depth and the referer URL of the request are derived from the parent candidate.
      *
-     * @param request     the crawl request
-     * @param isCrawlSeed indicates if the request is a crawl seed
+     * @param request         the crawl request
+     * @param parentCandidate the crawl candidate on which the request was found
      */
-    public void feedRequest(final CrawlRequest request, final boolean isCrawlSeed) {
-        LOGGER.debug("Feeding request: {}", request);
+    public void feedRequest(final CrawlRequest request, final CrawlCandidate parentCandidate) {
+        Validate.notNull(parentCandidate, "The parentCandidate parameter cannot be null.");
 
-        if (config.isOffsiteRequestFilterEnabled()) {
-            boolean inCrawlDomain = config.getAllowedCrawlDomains()
-                    .stream()
-                    .anyMatch(crawlDomain -> crawlDomain.contains(request.getDomain()));
+        addRequests(Collections.singletonList(request), parentCandidate);
+    }
+
+    /**
+     * Feeds a batch of crawl requests which were found while processing the given candidate to
+     * the frontier. The requests are filtered the same way as the ones fed one by one (including
+     * the duplicates within the batch), but the new candidates are added to the queue and the
+     * statistics are updated only once for the whole batch.
+     *
+     * @param requests        the crawl requests
+     * @param parentCandidate the crawl candidate on which the requests were found
+     */
+    public void feedRequests(
+            final List<CrawlRequest> requests,
+            final CrawlCandidate parentCandidate) {
+        Validate.notNull(parentCandidate, "The parentCandidate parameter cannot be null.");
 
-            if (!inCrawlDomain) {
-                LOGGER.debug("Filtering offsite request");
+        addRequests(requests, parentCandidate);
+    }
 
-                statsCounter.recordOffsiteRequest();
-                return;
-            }
-        }
+    /**
+     * Indicates if there are any candidates left in the queue.
+     *
+     * @return <code>true</code> if there are candidates in the queue, <code>false</code> otherwise
+     */
+    public synchronized boolean hasNextCandidate() {
+        feedDueRevisits();
 
-        if (config.isDuplicateRequestFilterEnabled()) {
-            String urlFingerprint = createFingerprintForUrl(request.getRequestUrl());
-            if (urlFingerprints.contains(urlFingerprint)) {
-                LOGGER.debug("Filtering duplicate request");
+        return !newCandidates.isEmpty() || !candidates.isEmpty() || !backQueues.isEmpty();
+    }
 
-                statsCounter.recordDuplicateRequest();
-                return;
-            }
+    /**
+     * Returns the next crawl candidate from the queue.
+     *
+     * @return the next crawl candidate from the queue
+     */
+    public CrawlCandidate getNextCandidate() {
+        return getNextCandidate(UNRESTRICTED_HOST_AVAILABILITY).orElse(null);
+    }
 
-            urlFingerprints.add(urlFingerprint);
-        }
+    /**
+     * Returns the best crawl candidate whose host can be requested now.
+     *
+     * @param hostAvailability tells when the hosts of the candidates can be requested
+     *
+     * @return the best crawl candidate whose host can be requested now, or empty if there is none
+     */
+    public synchronized Optional<CrawlCandidate> getNextCandidate(
+            final HostAvailability hostAvailability) {
+        feedDueRevisits();
 
-        CrawlCandidateBuilder builder = new CrawlCandidateBuilder(request);
+        CrawlCandidate newCandidate;
+        while ((newCandidate = newCandidates.poll()) != null) {
+            candidates.add(newCandidate);
+        }
 
-        if (!isCrawlSeed) {
-            int crawlDepthLimit = config.getMaximumCrawlDepth();
-            int nextCrawlDepth = currentCandidate.getCrawlDepth() + 1;
+        fillBackQueues();
 
-            if (crawlDepthLimit != 0 && nextCrawlDepth > crawlDepthLimit) {
-                LOGGER.debug("Filtering crawl depth limit exceeding request");
+        return backQueues.poll(hostAvailability);
+    }
 
-                statsCounter.recordCrawlDepthLimitExceedingRequest();
-                return;
-            }
+    /**
+     * Puts back a candidate which was taken from the queue but has not been processed. The
+     * candidate is not filtered again and it is not counted as a new remaining candidate.
+     *
+     * @param candidate the unprocessed crawl candidate
+     */
+    public void requeueCandidate(final CrawlCandidate candidate) {
+        LOGGER.debug("Requeueing candidate: {}", candidate);
 
-            builder.setRefererUrl(currentCandidate.getRequestUrl())
-                    .setCrawlDepth(nextCrawlDepth);
+        if (journal != null) {
+            journal.recordRequeuedCandidate(candidate);
         }
 
-        LOGGER.debug("Adding request to the list of crawl candidates");
-        candidates.add(builder.build());
-        statsCounter.recordRemainingCrawlCandidate();
+        newCandidates.add(candidate);
     }
 
     /**
-     * Indicates if there are any candidates left in the queue.
+     * Indicates that a candidate taken from the queue has been processed. Until then, the
+     * candidate is recovered from the journal, if there is one.
      *
-     * @return <code>true</code> if there are candidates in the queue, <code>false</code> otherwise
+     * @param candidate the processed crawl candidate
      */
-    public boolean hasNextCandidate() {
-        return !candidates.isEmpty();
+    public void completeCandidate(final CrawlCandidate candidate) {
+        if (journal != null) {
+            journal.recordCompletedCandidate(candidate);
+        }
     }
 
     /**
-     * Returns the next crawl candidate from the queue.
+     * Schedules the revisit of a successfully crawled candidate if continuous crawl mode is
+     * enabled. The revisit interval depends on whether the content of the page has changed since
+     * the previous visit.
      *
-     * @return the next crawl candidate from the queue
+     * @param candidate the successfully crawled candidate
+     * @param content   the content of the crawled page
      */
-    public CrawlCandidate getNextCandidate() {
-        currentCandidate = candidates.poll();
-        return currentCandidate;
+    public synchronized void scheduleRevisit(final CrawlCandidate candidate, final String content) {
+        if (revisitScheduler == null) {
+            return;
+        }
+
+        CrawlCandidate revisitCandidate = revisitScheduler.scheduleRevisit(candidate,
+                RevisitScheduler.hashContent(content), Instant.now());
+        LOGGER.debug("Scheduled revisit of candidate: {}", revisitCandidate);
+
+        if (journal != null) {
+            journal.recordAddedCandidate(revisitCandidate);
+        }
+    }
+
+    /**
+     * Returns the time of the earliest scheduled revisit in continuous crawl mode.
+     *
+     * @return the time of the earliest scheduled revisit, or empty if there are no revisits
+     */
+    public synchronized Optional<Instant> getNextRevisitTime() {
+        if (revisitScheduler == null) {
+            return Optional.empty();
+        }
+
+        return revisitScheduler.getNextRevisitTime();
     }
 
     /**
      * Resets the crawl frontier to its initial state.
      */
-    public void reset() {
+    public synchronized void reset() {
         LOGGER.debug("Setting crawl frontier to its initial state");
 
-        urlFingerprints.clear();
+        seenUrlFilter.clear();
+        newCandidates.clear();
         candidates.clear();
+        backQueues.clear();
+        if (revisitScheduler != null) {
+            revisitScheduler.clear();
+        }
+
+        if (journal != null) {
+            journal.clear();
+        }
 
         feedCrawlSeeds();
     }
@@ -159,64 +316,222 @@ public final class CrawlFrontier implements Serializable {
     private void feedCrawlSeeds() {
         LOGGER.debug("Feeding crawl seeds");
 
-        config.getCrawlSeeds().forEach((CrawlRequest request) -> feedRequest(request, true));
+        List<CrawlRequest> crawlSeeds = new ArrayList<>(config.getCrawlSeeds());
+        if (!config.getClusterNodeAddresses().isEmpty()) {
+            // Every cluster node has the same seeds, each one crawls the ones of its own hosts
+            ShardRing shardRing = new ShardRing(config.getClusterNodeAddresses().size());
+            crawlSeeds.removeIf(crawlSeed -> shardRing.getShard(crawlSeed.getDomain())
+                    != config.getLocalClusterNodeIndex());
+        }
+
+        addRequests(crawlSeeds, null);
     }
 
     /**
-     * Creates the fingerprint of the given URL. If the URL contains query params, it sorts them by
-     * key and value. This way URLs that have the same query params but in different order will have
-     * the same fingerprint. Fragments are ignored.
+     * Filters the crawl requests and adds the remaining ones to the queue of the new candidates.
      *
-     * @param url the URL for which the fingerprint is created
-     *
-     * @return the fingerprint of the URL
+     * @param requests        the crawl requests
+     * @param parentCandidate the crawl candidate on which the requests were found, or
+     *                        <code>null</code> if the requests are crawl seeds
      */
-    private static String createFingerprintForUrl(final URI url) {
-        URIBuilder builder = new URIBuilder(url);
+    private void addRequests(
+            final List<CrawlRequest> requests,
+            final CrawlCandidate parentCandidate) {
+        LOGGER.debug("Feeding requests: {}", requests);
+
+        // All the requests of the batch have the same parent, hence the same crawl depth
+        int nextCrawlDepth = 0;
+        boolean isCrawlDepthLimitExceeded = false;
+        if (parentCandidate != null) {
+            int crawlDepthLimit = config.getMaximumCrawlDepth();
+            nextCrawlDepth = parentCandidate.getCrawlDepth() + 1;
+            isCrawlDepthLimitExceeded = crawlDepthLimit != 0 && nextCrawlDepth > crawlDepthLimit;
+        }
+
+        List<CrawlCandidate> batch = new ArrayList<>(requests.size());
+        List<UrlFingerprint> seenUrlFingerprints = new ArrayList<>();
+        int offsiteRequestCount = 0;
+        int duplicateRequestCount = 0;
+        int crawlDepthLimitExceedingRequestCount = 0;
+
+        for (CrawlRequest request : requests) {
+            if (config.isOffsiteRequestFilterEnabled()
+                    && !allowedCrawlDomainIndex.contains(request.getDomain())) {
+                ++offsiteRequestCount;
+                continue;
+            }
+
+            if (config.isDuplicateRequestFilterEnabled()) {
+                UrlFingerprint urlFingerprint =
+                        UrlCanonicalizer.createFingerprint(request.getRequestUrl());
+                if (!seenUrlFilter.add(urlFingerprint)) {
+                    ++duplicateRequestCount;
+                    continue;
+                }
+
+                if (journal != null) {
+                    seenUrlFingerprints.add(urlFingerprint);
+                }
+            }
+
+            if (isCrawlDepthLimitExceeded) {
+                ++crawlDepthLimitExceedingRequestCount;
+                continue;
+            }
 
-        // Change scheme and host to lowercase
-        builder.setScheme(builder.getScheme().toLowerCase())
-                .setHost(builder.getHost().toLowerCase());
+            CrawlCandidateBuilder builder = new CrawlCandidateBuilder(request);
+            if (parentCandidate != null) {
+                builder.setRefererUrl(parentCandidate.getRequestUrl())
+                        .setCrawlDepth(nextCrawlDepth);
+            }
 
-        // Sort query params by key and value
-        List<NameValuePair> queryParams = builder.getQueryParams();
-        queryParams.sort(Comparator.comparing(NameValuePair::getName)
-                .thenComparing(NameValuePair::getValue));
+            batch.add(builder.build());
+        }
 
-        builder.setParameters(queryParams);
+        LOGGER.debug("Adding {} requests to the list of crawl candidates, filtered {} offsite, "
+                        + "{} duplicate and {} crawl depth limit exceeding requests", batch.size(),
+                offsiteRequestCount, duplicateRequestCount, crawlDepthLimitExceedingRequestCount);
 
-        // Remove fragment
-        builder.setFragment(null);
+        // Journal the candidates before they can be taken and completed
+        if (journal != null) {
+            journal.recordFedCandidates(seenUrlFingerprints, batch);
+        }
 
-        return DigestUtils.sha256Hex(builder.toString());
+        // Count the candidates before they can be taken and completed by a concurrent worker
+        statsCounter.recordFedRequests(batch.size(), offsiteRequestCount, duplicateRequestCount,
+                crawlDepthLimitExceedingRequestCount);
+        newCandidates.addAll(batch);
     }
 
     /**
-     * Creates a priority queue using the strategy specified in the configuration.
+     * Recovers the seen URLs and the pending crawl candidates from the journal.
      *
-     * @return the priority queue using the strategy specified in the configuration
+     * @param isStatsCounterRestored indicates if the stats counter already counts the recovered
+     *                               candidates
+     *
+     * @return <code>true</code> if the journal contained a previous state, <code>false</code>
+     *         otherwise
+     */
+    private boolean recoverFromJournal(final boolean isStatsCounterRestored) {
+        LOGGER.debug("Recovering crawl frontier from the journal");
+
+        List<CrawlCandidate> recoveredCandidates = new ArrayList<>();
+        if (!journal.recover(seenUrlFilter::add, recoveredCandidates::add)) {
+            return false;
+        }
+
+        newCandidates.addAll(recoveredCandidates);
+        if (!isStatsCounterRestored) {
+            statsCounter.recordFedRequests(recoveredCandidates.size(), 0, 0, 0);
+        }
+
+        return true;
+    }
+
+    /**
+     * Adds the candidates whose revisits are due to the queue of the new candidates, counting them
+     * as remaining candidates.
      */
-    private PriorityQueue<CrawlCandidate> createPriorityQueue() {
-        Function<CrawlCandidate, Integer> crawlDepthGetter =
-                (Function<CrawlCandidate, Integer> & Serializable) CrawlCandidate::getCrawlDepth;
-        Function<CrawlCandidate, Integer> priorityGetter =
-                (Function<CrawlCandidate, Integer> & Serializable) CrawlCandidate::getPriority;
+    private void feedDueRevisits() {
+        if (revisitScheduler == null) {
+            return;
+        }
+
+        List<CrawlCandidate> dueCandidates = revisitScheduler.pollDueRevisits(Instant.now());
+        if (!dueCandidates.isEmpty()) {
+            LOGGER.debug("Adding {} revisits to the list of crawl candidates",
+                    dueCandidates.size());
 
-        switch (config.getCrawlStrategy()) {
-            case BREADTH_FIRST:
-                Comparator<CrawlCandidate> breadthFirstComparator =
-                        Comparator.comparing(crawlDepthGetter)
-                                .thenComparing(priorityGetter, Comparator.reverseOrder());
+            newCandidates.addAll(dueCandidates);
+            statsCounter.recordFedRequests(dueCandidates.size(), 0, 0, 0);
+        }
+    }
+
+    /**
+     * Moves candidates from the front queue to the back queues of their hosts until the back
+     * queues are full. Each candidate is moved only once, and the back queues have room again
+     * only after a candidate of an overflowing host has been polled, so this takes constant time
+     * per polled candidate once the back queues are full.
+     */
+    private void fillBackQueues() {
+        while (!backQueues.isFull() && !candidates.isEmpty()) {
+            backQueues.add(candidates.poll());
+        }
+    }
 
-                return new PriorityQueue<>(breadthFirstComparator);
-            case DEPTH_FIRST:
-                Comparator<CrawlCandidate> depthFirstComparator =
-                        Comparator.comparing(crawlDepthGetter, Comparator.reverseOrder())
-                                .thenComparing(priorityGetter, Comparator.reverseOrder());
+    /**
+     * Creates the candidate queue specified in the configuration.
+     *
+     * @return the candidate queue specified in the configuration
+     */
+    private CandidateQueue createCandidateQueue() {
+        return config.getCrawlFrontierDirectory()
+                .<CandidateQueue>map(directory -> new DiskBackedCandidateQueue(
+                        config.getCrawlStrategy(), directory,
+                        config.getCrawlFrontierHeadBufferSize()))
+                .orElseGet(() -> new InMemoryCandidateQueue(config.getCrawlStrategy()));
+    }
 
-                return new PriorityQueue<>(depthFirstComparator);
+    /**
+     * Creates the seen URL filter specified in the configuration.
+     *
+     * @return the seen URL filter specified in the configuration
+     */
+    private SeenUrlFilter createSeenUrlFilter() {
+        switch (config.getDuplicateRequestFilterStrategy()) {
+            case EXACT:
+                return new StripedSeenUrlFilter(SEEN_URL_FILTER_STRIPE_COUNT,
+                        () -> new ExactSeenUrlFilter(config.isOffHeapDuplicateFilterEnabled()));
+            case PROBABILISTIC:
+                // Each stripe is sized for its share of the URLs
+                long expectedUrlCountPerStripe =
+                        Math.max(config.getExpectedUrlCount() / SEEN_URL_FILTER_STRIPE_COUNT, 1);
+
+                return new StripedSeenUrlFilter(SEEN_URL_FILTER_STRIPE_COUNT,
+                        () -> new ProbabilisticSeenUrlFilter(expectedUrlCountPerStripe,
+                                config.getDuplicateFilterFalsePositiveProbability()));
             default:
-                throw new IllegalArgumentException("Unsupported crawl strategy");
+                throw new IllegalArgumentException("Unsupported duplicate request filter strategy");
+        }
+    }
+
+    /**
+     * Replaces the frontier with its configuration during serialization if it is journaled, after
+     * syncing the journal to disk.
+     *
+     * @return the object to serialize instead of the frontier
+     */
+    private Object writeReplace() {
+        if (journal == null) {
+            return this;
+        }
+
+        journal.checkpoint();
+        return new JournaledCrawlFrontier(config, statsCounter);
+    }
+
+    /**
+     * The serialized form of a journaled crawl frontier, which is recovered from its journal when
+     * it is deserialized.
+     */
+    private static final class JournaledCrawlFrontier implements Serializable {
+
+        private final CrawlerConfiguration config;
+        private final StatsCounter statsCounter;
+
+        /**
+         * Creates a {@link JournaledCrawlFrontier} instance.
+         *
+         * @param config       the crawler configuration
+         * @param statsCounter the stats counter of the crawler
+         */
+        JournaledCrawlFrontier(final CrawlerConfiguration config, final StatsCounter statsCounter) {
+            this.config = config;
+            this.statsCounter = statsCounter;
+        }
+
+        private Object readResolve() {
+            return new CrawlFrontier(config, statsCounter, true);
         }
     }
 }
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import java.net.URI;
+import java.util.Optional;
+import net.lightbody.bmp.core.har.HarNameValuePair;
+import net.lightbody.bmp.core.har.HarResponse;
+import net.lightbody.bmp.filters.HttpsAwareFiltersAdapter;
+import net.lightbody.bmp.filters.util.HarCaptureUtil;
+import org.littleshoot.proxy.HttpFilters;
+import org.littleshoot.proxy.HttpFiltersSourceAdapter;
+import org.littleshoot.proxy.impl.ProxyUtils;
+
+/**
+ * Records the response of the main document request passing through the internal proxy server.
+ * Unlike a full HAR capture, sub-resource requests are not recorded and response bodies are never
+ * buffered, so recording a page takes constant memory regardless of the number of resources it
+ * loads.
+ */
+public final class DocumentResponseRecorder extends HttpFiltersSourceAdapter {
+
+    private static final int DEFAULT_HTTPS_PORT = 443;
+
+    private String documentUrl;
+    private HarResponse documentResponse;
+
+    /**
+     * Starts recording the response of the given URL. Only the first response is recorded. The
+     * previously recorded response is discarded.
+     *
+     * @param url the URL of the main document
+     */
+    public synchronized void startRecording(final String url) {
+        documentUrl = url;
+        documentResponse = null;
+    }
+
+    /**
+     * Returns the recorded response of the main document, if the request has been completed. Its
+     * error property is set if a network error occurred.
+     *
+     * @return the recorded response
+     */
+    public synchronized Optional<HarResponse> getDocumentResponse() {
+        return Optional.ofNullable(documentResponse);
+    }
+
+    /**
+     * Creates the filters for a request received by the proxy server.
+     *
+     * @param originalRequest the original request from the client
+     * @param ctx             the channel handler context of the client connection
+     *
+     * @return the filters for the request
+     */
+    @Override
+    public HttpFilters filterRequest(
+            final HttpRequest originalRequest,
+            final ChannelHandlerContext ctx) {
+        return new DocumentResponseFilter(originalRequest, ctx);
+    }
+
+    /**
+     * Indicates if the URL belongs to the main document and its response has not been recorded
+     * yet.
+     *
+     * @param url the full URL of the request
+     *
+     * @return <code>true</code> if the response should be recorded, <code>false</code> otherwise
+     */
+    private synchronized boolean isRecording(final String url) {
+        return documentResponse == null && url.equals(documentUrl);
+    }
+
+    /**
+     * Indicates if the host and port of the main document match the target of an HTTP CONNECT
+     * request.
+     *
+     * @param hostAndPort the target of the HTTP CONNECT request
+     *
+     * @return <code>true</code> if the main document is requested through the tunnel,
+     *         <code>false</code> otherwise
+     */
+    private synchronized boolean isRecordingTunnel(final String hostAndPort) {
+        if (documentResponse != null || documentUrl == null) {
+            return false;
+        }
+
+        URI url = URI.create(documentUrl);
+        if (!"https".equalsIgnoreCase(url.getScheme())) {
+            return false;
+        }
+
+        int port = url.getPort() == -1 ? DEFAULT_HTTPS_PORT : url.getPort();
+        return hostAndPort.equalsIgnoreCase(url.getHost() + ":" + port);
+    }
+
+    /**
+     * Records the response if it has not been recorded yet.
+     *
+     * @param url      the full URL of the request
+     * @param response the response to record
+     */
+    private synchronized void record(final String url, final HarResponse response) {
+        if (isRecording(url)) {
+            documentResponse = response;
+        }
+    }
+
+    /**
+     * Records a network error which occurred while sending the main document request.
+     *
+     * @param errorMessage the error message
+     */
+    private synchronized void recordError(final String errorMessage) {
+        if (documentResponse == null) {
+            documentResponse = HarCaptureUtil.createHarResponseForFailure();
+            documentResponse.setError(errorMessage);
+        }
+    }
+
+    /**
+     * Filters a single request and records its response if it belongs to the main document.
+     */
+    private final class DocumentResponseFilter extends HttpsAwareFiltersAdapter {
+
+        private String requestUrl;
+        private boolean isTunnelRecorded;
+
+        DocumentResponseFilter(final HttpRequest originalRequest, final ChannelHandlerContext ctx) {
+            super(originalRequest, ctx);
+        }
+
+        @Override
+        public HttpResponse clientToProxyRequest(final HttpObject httpObject) {
+            if (httpObject instanceof HttpRequest) {
+                HttpRequest request = (HttpRequest) httpObject;
+
+                if (ProxyUtils.isCONNECT(request)) {
+                    // Failures of the tunnel are failures of the HTTPS document request
+                    isTunnelRecorded = isRecordingTunnel(getHostAndPort(request));
+                } else {
+                    requestUrl = getFullUrl(request);
+                }
+            }
+
+            return null;
+        }
+
+        @Override
+        public HttpObject serverToProxyResponse(final HttpObject httpObject) {
+            if (httpObject instanceof HttpResponse && requestUrl != null
+                    && isRecording(requestUrl)) {
+                record(requestUrl, createHarResponse((HttpResponse) httpObject));
+            }
+
+            return httpObject;
+        }
+
+        @Override
+        public void proxyToServerResolutionFailed(final String hostAndPort) {
+            recordFailure(HarCaptureUtil.getResolutionFailedErrorMessage(hostAndPort));
+        }
+
+        @Override
+        public void proxyToServerConnectionFailed() {
+            recordFailure(HarCaptureUtil.getConnectionFailedErrorMessage());
+        }
+
+        @Override
+        public void serverToProxyResponseTimedOut() {
+            recordFailure(HarCaptureUtil.getResponseTimedOutErrorMessage());
+        }
+
+        /**
+         * Records the failure if this request belongs to the main document.
+         *
+         * @param errorMessage the error message
+         */
+        private void recordFailure(final String errorMessage) {
+            if (isTunnelRecorded || (requestUrl != null && isRecording(requestUrl))) {
+                recordError(errorMessage);
+            }
+        }
+
+        /**
+         * Creates a HAR response from the status line and headers of the response.
+         *
+         * @param response the response received from the server
+         *
+         * @return the created HAR response
+         */
+        private HarResponse createHarResponse(final HttpResponse response) {
+            HarResponse harResponse = new HarResponse(response.getStatus().code(),
+                    response.getStatus().reasonPhrase(), response.getProtocolVersion().text());
+            response.headers().forEach(header -> harResponse.getHeaders()
+                    .add(new HarNameValuePair(header.getKey(), header.getValue())));
+
+            String locationHeader = HttpHeaders.getHeader(response, HttpHeaders.Names.LOCATION);
+            if (locationHeader != null) {
+                harResponse.setRedirectURL(locationHeader);
+            }
+
+            return harResponse;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal;
+
+import com.github.peterbencze.serritor.api.CrawlCandidate;
+import com.github.peterbencze.serritor.api.PartialCrawlResponse;
+import com.github.peterbencze.serritor.internal.util.FutureUtils;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A look-ahead stage which sends the HTTP HEAD requests of the upcoming crawl candidates while the
+ * browsers are busy with the current ones. This way the network round-trip time of the HEAD
+ * requests is not paid serially before opening each page.
+ *
+ * <p>Note: the methods that manage the queue of prefetched candidates are not thread-safe, the
+ * callers should synchronize the access. Head responses can be taken concurrently.
+ */
+public final class HeadRequestPrefetcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HeadRequestPrefetcher.class);
+
+    private final int depth;
+    private final Function<CrawlCandidate, CompletableFuture<PartialCrawlResponse>> headRequester;
+    private final Queue<CrawlCandidate> prefetchedCandidates;
+    private final Map<CrawlCandidate, CompletableFuture<PartialCrawlResponse>> headResponses;
+
+    /**
+     * Creates a {@link HeadRequestPrefetcher} instance.
+     *
+     * @param depth         the maximum number of candidates whose HEAD requests are sent ahead
+     * @param headRequester the function which sends the HEAD request of a candidate and returns
+     *                      the future response
+     */
+    public HeadRequestPrefetcher(
+            final int depth,
+            final Function<CrawlCandidate, CompletableFuture<PartialCrawlResponse>> headRequester) {
+        Validate.isTrue(depth > 0, "The depth must be positive.");
+
+        this.depth = depth;
+        this.headRequester = headRequester;
+        prefetchedCandidates = new ArrayDeque<>(depth);
+        headResponses = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Indicates if the maximum number of candidates has already been prefetched.
+     *
+     * @return <code>true</code> if no more candidates can be prefetched, <code>false</code>
+     *         otherwise
+     */
+    public boolean isFull() {
+        return prefetchedCandidates.size() >= depth;
+    }
+
+    /**
+     * Sends the HEAD request of the candidate and appends it to the queue of prefetched
+     * candidates.
+     *
+     * @param candidate the crawl candidate to prefetch
+     */
+    public void prefetch(final CrawlCandidate candidate) {
+        LOGGER.debug("Prefetching HTTP head response of {}", candidate.getRequestUrl());
+
+        headResponses.put(candidate, headRequester.apply(candidate));
+        prefetchedCandidates.add(candidate);
+    }
+
+    /**
+     * Indicates if there are any prefetched candidates in the queue.
+     *
+     * @return <code>true</code> if there are prefetched candidates, <code>false</code> otherwise
+     */
+    public boolean hasNextCandidate() {
+        return !prefetchedCandidates.isEmpty();
+    }
+
+    /**
+     * Returns the next prefetched candidate from the queue, in the order they were prefetched.
+     *
+     * @return the next prefetched candidate
+     */
+    public CrawlCandidate getNextCandidate() {
+        return prefetchedCandidates.poll();
+    }
+
+    /**
+     * Waits for the HEAD response of a candidate returned by this prefetcher and removes it.
+     *
+     * @param candidate the prefetched crawl candidate
+     *
+     * @return the HTTP HEAD response of the candidate
+     *
+     * @throws IOException if an I/O error occurred while sending the request
+     */
+    public PartialCrawlResponse takeHeadResponse(final CrawlCandidate candidate)
+            throws IOException {
+        CompletableFuture<PartialCrawlResponse> headResponse = headResponses.remove(candidate);
+        Validate.validState(headResponse != null, "The candidate was not prefetched.");
+
+        return FutureUtils.join(headResponse);
+    }
+
+    /**
+     * Removes every candidate from the queue of prefetched candidates and cancels their pending
+     * HEAD requests.
+     *
+     * @return the candidates that were in the queue, in the order they were prefetched
+     */
+    public List<CrawlCandidate> drain() {
+        List<CrawlCandidate> drainedCandidates = new ArrayList<>(prefetchedCandidates);
+        prefetchedCandidates.clear();
+
+        drainedCandidates.forEach(candidate -> headResponses.remove(candidate).cancel(true));
+
+        return drainedCandidates;
+    }
+}
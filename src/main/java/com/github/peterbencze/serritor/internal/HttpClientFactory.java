@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal;
+
+import com.github.peterbencze.serritor.api.CrawlerConfiguration;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.http.HttpHost;
+import org.apache.http.client.CookieStore;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+
+/**
+ * Provides preconfigured blocking and non-blocking HTTP client instances.
+ */
+public final class HttpClientFactory {
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private HttpClientFactory() {
+    }
+
+    /**
+     * Creates an HTTP client with a pooling connection manager configured according to the
+     * crawler configuration. Redirects are not followed.
+     *
+     * @param config      the crawler configuration
+     * @param cookieStore the cookie store of the client
+     * @param proxy       the proxy to send the requests through or <code>null</code> if there is
+     *                    none
+     *
+     * @return the preconfigured <code>CloseableHttpClient</code> instance
+     */
+    public static CloseableHttpClient createHttpClient(
+            final CrawlerConfiguration config,
+            final CookieStore cookieStore,
+            final HttpHost proxy) {
+        PoolingHttpClientConnectionManager connectionManager =
+                new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(config.getMaximumTotalConnections());
+        connectionManager.setDefaultMaxPerRoute(config.getMaximumConnectionsPerRoute());
+
+        HttpClientBuilder builder = HttpClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(createRequestConfig(config))
+                .setKeepAliveStrategy(
+                        createKeepAliveStrategy(config.getDefaultKeepAliveDurationInMillis()))
+                .evictExpiredConnections()
+                .evictIdleConnections(config.getMaximumIdleConnectionDurationInMillis(),
+                        TimeUnit.MILLISECONDS)
+                .disableRedirectHandling()
+                .setDefaultCookieStore(cookieStore);
+
+        if (proxy != null) {
+            builder.setProxy(proxy);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Creates a non-blocking HTTP client with a pooling connection manager configured according
+     * to the crawler configuration. Redirects are not followed.
+     *
+     * @param config      the crawler configuration
+     * @param cookieStore the cookie store of the client
+     * @param proxy       the proxy to send the requests through or <code>null</code> if there is
+     *                    none
+     *
+     * @return the started <code>AsyncHttpClient</code> instance
+     */
+    public static AsyncHttpClient createAsyncHttpClient(
+            final CrawlerConfiguration config,
+            final CookieStore cookieStore,
+            final HttpHost proxy) {
+        IOReactorConfig ioReactorConfig = IOReactorConfig.custom()
+                .setConnectTimeout(toTimeout(config.getConnectTimeoutInMillis()))
+                .setSoTimeout(toTimeout(config.getSocketTimeoutInMillis()))
+                .build();
+
+        PoolingNHttpClientConnectionManager connectionManager;
+        try {
+            connectionManager = new PoolingNHttpClientConnectionManager(
+                    new DefaultConnectingIOReactor(ioReactorConfig));
+        } catch (IOReactorException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        connectionManager.setMaxTotal(config.getMaximumTotalConnections());
+        connectionManager.setDefaultMaxPerRoute(config.getMaximumConnectionsPerRoute());
+
+        HttpAsyncClientBuilder builder = HttpAsyncClientBuilder.create()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(createRequestConfig(config))
+                .setKeepAliveStrategy(
+                        createKeepAliveStrategy(config.getDefaultKeepAliveDurationInMillis()))
+                .setDefaultCookieStore(cookieStore);
+
+        if (proxy != null) {
+            builder.setProxy(proxy);
+        }
+
+        return new AsyncHttpClient(builder.build(), connectionManager,
+                config.getMaximumIdleConnectionDurationInMillis());
+    }
+
+    /**
+     * Creates the default request configuration of the HTTP clients.
+     *
+     * @param config the crawler configuration
+     *
+     * @return the request configuration
+     */
+    private static RequestConfig createRequestConfig(final CrawlerConfiguration config) {
+        return RequestConfig.custom()
+                .setConnectTimeout(toTimeout(config.getConnectTimeoutInMillis()))
+                .setConnectionRequestTimeout(
+                        toTimeout(config.getConnectionRequestTimeoutInMillis()))
+                .setSocketTimeout(toTimeout(config.getSocketTimeoutInMillis()))
+                .setRedirectsEnabled(false)
+                .build();
+    }
+
+    /**
+     * Creates a keep-alive strategy which uses the duration specified by the server, or the
+     * default duration if the server does not specify it.
+     *
+     * @param defaultKeepAliveDurationInMillis the default keep-alive duration in milliseconds
+     *
+     * @return the keep-alive strategy
+     */
+    private static ConnectionKeepAliveStrategy createKeepAliveStrategy(
+            final long defaultKeepAliveDurationInMillis) {
+        return (response, context) -> {
+            long keepAliveDuration = DefaultConnectionKeepAliveStrategy.INSTANCE
+                    .getKeepAliveDuration(response, context);
+
+            return keepAliveDuration > 0 ? keepAliveDuration : defaultKeepAliveDurationInMillis;
+        };
+    }
+
+    /**
+     * Converts a duration in milliseconds to a timeout value accepted by the HTTP client.
+     *
+     * @param durationInMillis the duration in milliseconds
+     *
+     * @return the timeout in milliseconds
+     */
+    private static int toTimeout(final long durationInMillis) {
+        return (int) Math.min(durationInMillis, Integer.MAX_VALUE);
+    }
+}
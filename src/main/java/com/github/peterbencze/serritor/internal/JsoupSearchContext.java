@@ -0,0 +1,224 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Selector.SelectorParseException;
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+/**
+ * A search context which locates elements in an HTML document parsed by jsoup, so that the
+ * standard {@link By} locating mechanisms can be used on pages that were not loaded in the
+ * browser.
+ */
+// The locators of Selenium 3 find elements through the deprecated FindsBy interfaces, they have no
+// replacement in this version
+@SuppressWarnings("deprecation")
+public class JsoupSearchContext implements SearchContext,
+        org.openqa.selenium.internal.FindsById,
+        org.openqa.selenium.internal.FindsByTagName,
+        org.openqa.selenium.internal.FindsByClassName,
+        org.openqa.selenium.internal.FindsByCssSelector,
+        org.openqa.selenium.internal.FindsByName,
+        org.openqa.selenium.internal.FindsByLinkText,
+        org.openqa.selenium.internal.FindsByXPath {
+
+    private final Element root;
+
+    /**
+     * Creates a {@link JsoupSearchContext} instance.
+     *
+     * @param root the element whose descendants are searched
+     */
+    JsoupSearchContext(final Element root) {
+        this.root = root;
+    }
+
+    /**
+     * Creates a search context which locates elements in the given document.
+     *
+     * @param document the document parsed by jsoup
+     *
+     * @return the search context of the document
+     */
+    public static JsoupSearchContext create(final Document document) {
+        return new JsoupSearchContext(document);
+    }
+
+    @Override
+    public List<WebElement> findElements(final By by) {
+        return by.findElements(this);
+    }
+
+    @Override
+    public WebElement findElement(final By by) {
+        return by.findElement(this);
+    }
+
+    @Override
+    public List<WebElement> findElementsById(final String using) {
+        return wrap(root.getElementsByAttributeValue("id", using));
+    }
+
+    @Override
+    public WebElement findElementById(final String using) {
+        return first(findElementsById(using), "id", using);
+    }
+
+    @Override
+    public List<WebElement> findElementsByTagName(final String using) {
+        return wrap(root.getElementsByTag(using));
+    }
+
+    @Override
+    public WebElement findElementByTagName(final String using) {
+        return first(findElementsByTagName(using), "tag name", using);
+    }
+
+    @Override
+    public List<WebElement> findElementsByClassName(final String using) {
+        return wrap(root.getElementsByClass(using));
+    }
+
+    @Override
+    public WebElement findElementByClassName(final String using) {
+        return first(findElementsByClassName(using), "class name", using);
+    }
+
+    @Override
+    public List<WebElement> findElementsByCssSelector(final String using) {
+        try {
+            return wrap(root.select(using));
+        } catch (SelectorParseException exception) {
+            throw new InvalidSelectorException(exception.getMessage(), exception);
+        }
+    }
+
+    @Override
+    public WebElement findElementByCssSelector(final String using) {
+        return first(findElementsByCssSelector(using), "css selector", using);
+    }
+
+    @Override
+    public List<WebElement> findElementsByName(final String using) {
+        return wrap(root.getElementsByAttributeValue("name", using));
+    }
+
+    @Override
+    public WebElement findElementByName(final String using) {
+        return first(findElementsByName(using), "name", using);
+    }
+
+    @Override
+    public List<WebElement> findElementsByLinkText(final String using) {
+        return findLinks(link -> link.text().equals(using));
+    }
+
+    @Override
+    public WebElement findElementByLinkText(final String using) {
+        return first(findElementsByLinkText(using), "link text", using);
+    }
+
+    @Override
+    public List<WebElement> findElementsByPartialLinkText(final String using) {
+        return findLinks(link -> link.text().contains(using));
+    }
+
+    @Override
+    public WebElement findElementByPartialLinkText(final String using) {
+        return first(findElementsByPartialLinkText(using), "partial link text", using);
+    }
+
+    @Override
+    public List<WebElement> findElementsByXPath(final String using) {
+        return JsoupXPathEvaluator.findElements(root, using).stream()
+                .map(JsoupWebElement::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public WebElement findElementByXPath(final String using) {
+        return first(findElementsByXPath(using), "xpath", using);
+    }
+
+    /**
+     * Returns the element whose descendants are searched.
+     *
+     * @return the root element of the search
+     */
+    protected final Element getRoot() {
+        return root;
+    }
+
+    /**
+     * Finds the links whose text satisfies the given predicate.
+     *
+     * @param textPredicate the predicate to apply to the text of the links
+     *
+     * @return the links whose text satisfies the predicate
+     */
+    private List<WebElement> findLinks(final Predicate<Element> textPredicate) {
+        return wrap(root.select("a[href]").stream()
+                .filter(textPredicate)
+                .collect(Collectors.toCollection(Elements::new)));
+    }
+
+    /**
+     * Wraps the found elements as web elements. The root element itself is excluded, as only its
+     * descendants are searched.
+     *
+     * @param elements the found elements
+     *
+     * @return the found web elements
+     */
+    private List<WebElement> wrap(final Elements elements) {
+        return elements.stream()
+                .filter(element -> element != root)
+                .map(JsoupWebElement::new)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the first of the found web elements.
+     *
+     * @param elements  the found web elements
+     * @param mechanism the name of the locating mechanism
+     * @param using     the value used by the locating mechanism
+     *
+     * @return the first web element
+     */
+    private static WebElement first(
+            final List<WebElement> elements,
+            final String mechanism,
+            final String using) {
+        if (elements.isEmpty()) {
+            throw new NoSuchElementException(
+                    String.format("Unable to locate element by %s: %s", mechanism, using));
+        }
+
+        return elements.get(0);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.WebElement;
+
+/**
+ * A read-only web element backed by an element of an HTML document parsed by jsoup. Interactions
+ * and rendering related information are not supported, since the page is not loaded in a browser.
+ */
+public final class JsoupWebElement extends JsoupSearchContext implements WebElement {
+
+    // Like in browsers, the values of these attributes are resolved to absolute URLs
+    private static final Set<String> URL_ATTRIBUTE_NAMES =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList("href", "src", "action")));
+
+    /**
+     * Creates a {@link JsoupWebElement} instance.
+     *
+     * @param element the jsoup element
+     */
+    JsoupWebElement(final Element element) {
+        super(element);
+    }
+
+    @Override
+    public String getTagName() {
+        return getRoot().tagName();
+    }
+
+    @Override
+    public String getAttribute(final String name) {
+        Element element = getRoot();
+        if (!element.hasAttr(name)) {
+            return null;
+        }
+
+        if (URL_ATTRIBUTE_NAMES.contains(name.toLowerCase(Locale.ENGLISH))) {
+            String absoluteUrl = element.absUrl(name);
+            if (!absoluteUrl.isEmpty()) {
+                return absoluteUrl;
+            }
+        }
+
+        return element.attr(name);
+    }
+
+    @Override
+    public String getText() {
+        return getRoot().text();
+    }
+
+    @Override
+    public boolean isSelected() {
+        return getRoot().hasAttr("selected") || getRoot().hasAttr("checked");
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return !getRoot().hasAttr("disabled");
+    }
+
+    @Override
+    public boolean isDisplayed() {
+        throw createUnsupportedOperationException();
+    }
+
+    @Override
+    public void click() {
+        throw createUnsupportedOperationException();
+    }
+
+    @Override
+    public void submit() {
+        throw createUnsupportedOperationException();
+    }
+
+    @Override
+    public void sendKeys(final CharSequence... keysToSend) {
+        throw createUnsupportedOperationException();
+    }
+
+    @Override
+    public void clear() {
+        throw createUnsupportedOperationException();
+    }
+
+    @Override
+    public Point getLocation() {
+        throw createUnsupportedOperationException();
+    }
+
+    @Override
+    public Dimension getSize() {
+        throw createUnsupportedOperationException();
+    }
+
+    @Override
+    public Rectangle getRect() {
+        throw createUnsupportedOperationException();
+    }
+
+    @Override
+    public String getCssValue(final String propertyName) {
+        throw createUnsupportedOperationException();
+    }
+
+    @Override
+    public <X> X getScreenshotAs(final OutputType<X> target) {
+        throw createUnsupportedOperationException();
+    }
+
+    @Override
+    public String toString() {
+        return getRoot().cssSelector();
+    }
+
+    /**
+     * Creates the exception thrown by the operations which require a browser.
+     *
+     * @return the created exception
+     */
+    private static UnsupportedOperationException createUnsupportedOperationException() {
+        return new UnsupportedOperationException(
+                "The operation is not supported on static HTML pages");
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import org.jsoup.nodes.Attribute;
+import org.jsoup.nodes.DataNode;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+import org.openqa.selenium.InvalidSelectorException;
+import org.w3c.dom.DOMException;
+import org.w3c.dom.NodeList;
+
+/**
+ * Evaluates XPath expressions on HTML documents parsed by jsoup. The document is converted to a
+ * W3C DOM document for each evaluation, whose elements refer back to the jsoup elements they were
+ * created from. Like in browsers, the converted elements have no namespace, so the tags of HTML
+ * documents can be matched without namespace prefixes even if the document declares one.
+ */
+final class JsoupXPathEvaluator {
+
+    private static final String SOURCE_ELEMENT_KEY = "jsoupElement";
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private JsoupXPathEvaluator() {
+    }
+
+    /**
+     * Evaluates an XPath expression in the context of the given element, like browsers do, so
+     * absolute expressions search the whole document the element belongs to.
+     *
+     * @param contextElement the context element of the evaluation
+     * @param expression     the XPath expression
+     *
+     * @return the elements selected by the expression, in document order
+     *
+     * @throws InvalidSelectorException if the expression is invalid or it selects something other
+     *                                  than elements
+     */
+    static List<Element> findElements(final Element contextElement, final String expression) {
+        W3cDocumentBuilder builder = new W3cDocumentBuilder(contextElement);
+        NodeTraversor.traverse(builder, contextElement.root());
+
+        NodeList nodes;
+        try {
+            nodes = (NodeList) XPathFactory.newInstance()
+                    .newXPath()
+                    .evaluate(expression, builder.getContextNode(), XPathConstants.NODESET);
+        } catch (XPathExpressionException exception) {
+            throw new InvalidSelectorException(
+                    String.format("Unable to evaluate XPath expression: %s", expression),
+                    exception);
+        }
+
+        List<Element> elements = new ArrayList<>(nodes.getLength());
+        for (int i = 0; i < nodes.getLength(); ++i) {
+            Object sourceElement = nodes.item(i).getUserData(SOURCE_ELEMENT_KEY);
+            if (sourceElement == null) {
+                throw new InvalidSelectorException(String.format(
+                        "The result of the XPath expression is not an element: %s", expression));
+            }
+
+            elements.add((Element) sourceElement);
+        }
+
+        return elements;
+    }
+
+    /**
+     * Builds a W3C DOM document from the visited jsoup nodes.
+     */
+    private static final class W3cDocumentBuilder implements NodeVisitor {
+
+        private final Element contextElement;
+        private final org.w3c.dom.Document document;
+        private final Deque<org.w3c.dom.Node> parents;
+
+        private org.w3c.dom.Node contextNode;
+
+        /**
+         * Creates a {@link W3cDocumentBuilder} instance.
+         *
+         * @param contextElement the jsoup element whose counterpart is the context node of the
+         *                       evaluation
+         */
+        W3cDocumentBuilder(final Element contextElement) {
+            this.contextElement = contextElement;
+
+            try {
+                document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+            } catch (ParserConfigurationException exception) {
+                throw new IllegalStateException(exception);
+            }
+
+            parents = new ArrayDeque<>();
+            parents.push(document);
+        }
+
+        @Override
+        public void head(final Node source, final int depth) {
+            org.w3c.dom.Node parent = parents.peek();
+            if (source instanceof Element) {
+                org.w3c.dom.Node node = parent;
+                if (!(source instanceof Document)) {
+                    node = appendElement((Element) source, parent);
+                }
+
+                if (source == contextElement) {
+                    contextNode = node;
+                }
+
+                parents.push(node);
+            } else if (parent instanceof org.w3c.dom.Element) {
+                if (source instanceof TextNode) {
+                    parent.appendChild(document.createTextNode(((TextNode) source).getWholeText()));
+                } else if (source instanceof DataNode) {
+                    parent.appendChild(document.createTextNode(((DataNode) source).getWholeData()));
+                }
+            }
+        }
+
+        @Override
+        public void tail(final Node source, final int depth) {
+            if (source instanceof Element) {
+                parents.pop();
+            }
+        }
+
+        /**
+         * Returns the counterpart of the context element in the built document.
+         *
+         * @return the context node of the evaluation
+         */
+        org.w3c.dom.Node getContextNode() {
+            return contextNode;
+        }
+
+        /**
+         * Creates the counterpart of a jsoup element and appends it to the given parent.
+         *
+         * @param source the jsoup element
+         * @param parent the parent of the created element
+         *
+         * @return the created element, or the parent if the element could not be created
+         */
+        private org.w3c.dom.Node appendElement(
+                final Element source,
+                final org.w3c.dom.Node parent) {
+            org.w3c.dom.Element element;
+            try {
+                element = document.createElement(source.tagName());
+                parent.appendChild(element);
+            } catch (DOMException exception) {
+                // Keep the descendants of elements with invalid tag names searchable
+                return parent;
+            }
+
+            for (Attribute attribute : source.attributes()) {
+                try {
+                    element.setAttribute(attribute.getKey(), attribute.getValue());
+                } catch (DOMException exception) {
+                    // Attributes with invalid names could not be matched by an expression anyway
+                }
+            }
+
+            element.setUserData(SOURCE_ELEMENT_KEY, source, null);
+            return element;
+        }
+    }
+}
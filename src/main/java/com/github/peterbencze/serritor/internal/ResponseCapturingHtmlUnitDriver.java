@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal;
+
+import com.gargoylesoftware.htmlunit.WebClient;
+import com.gargoylesoftware.htmlunit.WebRequest;
+import com.gargoylesoftware.htmlunit.WebResponse;
+import com.gargoylesoftware.htmlunit.util.WebConnectionWrapper;
+import java.io.IOException;
+import java.util.Optional;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+/**
+ * An <code>HtmlUnitDriver</code> which captures the response of a specific URL directly from
+ * HtmlUnit. This makes it possible to get the HTTP header information of the loaded page without
+ * an intercepting proxy server.
+ */
+public final class ResponseCapturingHtmlUnitDriver extends HtmlUnitDriver {
+
+    private String capturedUrl;
+    private WebResponse capturedResponse;
+    private IOException capturedError;
+
+    /**
+     * Creates a {@link ResponseCapturingHtmlUnitDriver} instance.
+     *
+     * @param capabilities the browser properties
+     */
+    public ResponseCapturingHtmlUnitDriver(final Capabilities capabilities) {
+        super(capabilities);
+    }
+
+    /**
+     * Starts capturing the response of the given URL. Only the first response is captured, so
+     * redirects are not followed. The previously captured response is discarded.
+     *
+     * @param url the URL whose response should be captured
+     */
+    public synchronized void captureResponse(final String url) {
+        capturedUrl = url;
+        capturedResponse = null;
+        capturedError = null;
+    }
+
+    /**
+     * Returns the captured response, if the request has been completed.
+     *
+     * @return the captured response
+     */
+    public synchronized Optional<WebResponse> getCapturedResponse() {
+        return Optional.ofNullable(capturedResponse);
+    }
+
+    /**
+     * Returns the network error which occurred while sending the captured request, if any.
+     *
+     * @return the network error
+     */
+    public synchronized Optional<IOException> getCapturedError() {
+        return Optional.ofNullable(capturedError);
+    }
+
+    /**
+     * Installs the connection wrapper which captures the responses.
+     *
+     * @param client the web client created by the driver
+     *
+     * @return the modified web client
+     */
+    @Override
+    protected WebClient modifyWebClient(final WebClient client) {
+        // The wrapper registers itself as the connection of the client
+        new WebConnectionWrapper(client) {
+            @Override
+            public WebResponse getResponse(final WebRequest request) throws IOException {
+                try {
+                    WebResponse response = super.getResponse(request);
+                    recordResponse(request, response);
+                    return response;
+                } catch (IOException exception) {
+                    recordError(request, exception);
+                    throw exception;
+                }
+            }
+        };
+
+        return client;
+    }
+
+    /**
+     * Records the response if it belongs to the captured URL and nothing has been captured yet.
+     *
+     * @param request  the sent request
+     * @param response the received response
+     */
+    private synchronized void recordResponse(final WebRequest request, final WebResponse response) {
+        if (isCapturing(request)) {
+            capturedResponse = response;
+        }
+    }
+
+    /**
+     * Records the network error if it belongs to the captured URL and nothing has been captured
+     * yet.
+     *
+     * @param request   the request which could not be sent
+     * @param exception the network error
+     */
+    private synchronized void recordError(final WebRequest request, final IOException exception) {
+        if (isCapturing(request)) {
+            capturedError = exception;
+        }
+    }
+
+    /**
+     * Indicates if the request is the one whose response is being captured.
+     *
+     * @param request the sent request
+     *
+     * @return <code>true</code> if the response should be captured, <code>false</code> otherwise
+     */
+    private boolean isCapturing(final WebRequest request) {
+        return capturedResponse == null
+                && capturedError == null
+                && request.getUrl().toString().equals(capturedUrl);
+    }
+}
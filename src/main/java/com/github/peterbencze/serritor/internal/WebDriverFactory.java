@@ -69,11 +69,35 @@ public final class WebDriverFactory {
      * @return the preconfigured <code>HtmlUnitDriver</code> instance
      */
     private static HtmlUnitDriver createHtmlUnitDriver(final Capabilities extraCapabilities) {
+        return new HtmlUnitDriver(createHtmlUnitCapabilities(extraCapabilities));
+    }
+
+    /**
+     * Creates a <code>ResponseCapturingHtmlUnitDriver</code> instance with the provided
+     * properties. It is used when HtmlUnit bypasses the internal proxy server.
+     *
+     * @param extraCapabilities the browser properties
+     *
+     * @return the preconfigured <code>ResponseCapturingHtmlUnitDriver</code> instance
+     */
+    public static ResponseCapturingHtmlUnitDriver createResponseCapturingHtmlUnitDriver(
+            final Capabilities extraCapabilities) {
+        return new ResponseCapturingHtmlUnitDriver(createHtmlUnitCapabilities(extraCapabilities));
+    }
+
+    /**
+     * Creates the capabilities of HtmlUnit merged with the provided properties.
+     *
+     * @param extraCapabilities the browser properties
+     *
+     * @return the HtmlUnit capabilities
+     */
+    private static Capabilities createHtmlUnitCapabilities(final Capabilities extraCapabilities) {
         DesiredCapabilities capabilities = DesiredCapabilities.htmlUnit();
         capabilities.merge(extraCapabilities);
         capabilities.setJavascriptEnabled(true);
 
-        return new HtmlUnitDriver(capabilities);
+        return capabilities;
     }
 
     /**
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.cluster;
+
+import java.io.Serializable;
+
+/**
+ * The last batch which a cluster node has received from another node. Since the batches are
+ * numbered per run of the sender node, the acknowledgement also identifies the run.
+ */
+final class BatchAcknowledgement implements Serializable {
+
+    private final long senderIncarnationId;
+    private final long sequenceNumber;
+
+    /**
+     * Creates a {@link BatchAcknowledgement} instance.
+     *
+     * @param senderIncarnationId the ID of the run of the sender node
+     * @param sequenceNumber      the sequence number of the last received batch
+     */
+    BatchAcknowledgement(final long senderIncarnationId, final long sequenceNumber) {
+        this.senderIncarnationId = senderIncarnationId;
+        this.sequenceNumber = sequenceNumber;
+    }
+
+    /**
+     * Returns the ID of the run of the sender node.
+     *
+     * @return the ID of the run of the sender node
+     */
+    long getSenderIncarnationId() {
+        return senderIncarnationId;
+    }
+
+    /**
+     * Returns the sequence number of the last received batch.
+     *
+     * @return the sequence number of the last received batch
+     */
+    long getSequenceNumber() {
+        return sequenceNumber;
+    }
+}
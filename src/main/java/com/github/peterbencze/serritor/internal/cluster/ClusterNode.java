@@ -0,0 +1,763 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.peterbencze.serritor.internal.cluster;
+
+import com.github.peterbencze.serritor.api.CrawlCandidate;
+import com.github.peterbencze.serritor.api.CrawlRequest;
+import com.github.peterbencze.serritor.internal.stats.StatsCounterSnapshot;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A node of the crawl cluster. It receives the requests forwarded by the other nodes, forwards
+ * the requests of the hosts owned by other nodes to them in batches, and periodically broadcasts
+ * its status, which carries its stats and the state needed to detect the end of the crawl.
+ *
+ * <p>Each node acknowledges the batches it has received in its status. A node keeps the batches
+ * until they are acknowledged, and sends them again when it reconnects to the receiver, so the
+ * batches are not lost if the receiver is restarted. Batches are numbered per run (incarnation)
+ * of the sender, so the receiver can tell the batches sent again from the ones of a restarted
+ * sender, and it resets its state of the sender in the latter case.
+ *
+ * <p>The crawl is finished when every node is idle and every forwarded request has been received.
+ * A node only reports itself idle if all the requests it has forwarded have been acknowledged, so
+ * the crawl is considered finished if all the nodes have been idle in two consecutive rounds of
+ * status messages of the same runs. A node which detects the end of the crawl tells the others in
+ * its last status.
+ *
+ * <p>Each message is framed with its type and length. The payloads are deserialized with an
+ * allow-list of classes, so the metadata of the forwarded requests must be of common value types,
+ * see {@link ClusterObjectInputStream}. A batch whose payload is rejected is acknowledged without
+ * processing it, so it is not sent again. The batches of an unreachable node are kept up to a
+ * limit, after which the oldest ones are dropped.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class ClusterNode implements Closeable {
+
+    static final long DEFAULT_FLUSH_INTERVAL_IN_MILLIS = 100;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClusterNode.class);
+
+    static final int DEFAULT_MAX_PENDING_BATCH_COUNT = 10_000;
+
+    private static final int CONNECT_TIMEOUT_IN_MILLIS = 1_000;
+    private static final int MAX_PAYLOAD_SIZE_IN_BYTES = 64 * 1024 * 1024;
+
+    private static final byte BATCH_MESSAGE_TYPE = 1;
+    private static final byte STATUS_MESSAGE_TYPE = 2;
+
+    private final List<InetSocketAddress> nodeAddresses;
+    private final int localNodeIndex;
+    private final ShardRing shardRing;
+    private final BiConsumer<List<CrawlRequest>, CrawlCandidate> forwardedRequestConsumer;
+    private final BooleanSupplier idleIndicator;
+    private final Supplier<StatsCounterSnapshot> statsSupplier;
+    private final long flushIntervalInMillis;
+    private final int maxPendingBatchCount;
+
+    // Identifies this run of the node, so the other nodes notice when it is restarted
+    private final long incarnationId;
+
+    private final Map<Integer, Queue<ForwardedRequests>> outboxes;
+    private final Map<Integer, NodeStatus> peerStatuses;
+    private final Map<Integer, BatchAcknowledgement> receivedBatches;
+    private final Set<Integer> restartedNodeIndexes;
+    private final Object batchReceiveLock;
+    private final AtomicLong pendingRequestCount;
+    private final List<Socket> acceptedSockets;
+    private final AtomicBoolean isClosed;
+
+    // Only accessed by the sender thread
+    private final Map<Integer, Deque<RequestBatch>> unsentBatches;
+    private final Map<Integer, Deque<RequestBatch>> unacknowledgedBatches;
+    private final Map<Integer, DataOutputStream> connections;
+    private long lastBatchNumber;
+    private long lastStatusNumber;
+
+    private volatile boolean isCrawlFinished;
+    private IdleRound idleRound;
+
+    private ServerSocket serverSocket;
+    private ExecutorService readerExecutor;
+    private ScheduledExecutorService senderExecutor;
+
+    /**
+     * Creates a {@link ClusterNode} instance.
+     *
+     * @param nodeAddresses            the addresses of the nodes of the cluster
+     * @param localNodeIndex           the index of this node
+     * @param forwardedRequestConsumer the operation to invoke with the requests forwarded to
+     *                                 this node and their parent candidate
+     * @param idleIndicator            tells if this node has nothing to crawl
+     * @param statsSupplier            supplies the stats of this node
+     * @param flushIntervalInMillis    the time between sending the batches and statuses
+     * @param maxPendingBatchCount     the maximum number of unacknowledged batches kept for
+     *                                 another node
+     */
+    ClusterNode(
+            final List<InetSocketAddress> nodeAddresses,
+            final int localNodeIndex,
+            final BiConsumer<List<CrawlRequest>, CrawlCandidate> forwardedRequestConsumer,
+            final BooleanSupplier idleIndicator,
+            final Supplier<StatsCounterSnapshot> statsSupplier,
+            final long flushIntervalInMillis,
+            final int maxPendingBatchCount) {
+        this.nodeAddresses = nodeAddresses;
+        this.localNodeIndex = localNodeIndex;
+        this.forwardedRequestConsumer = forwardedRequestConsumer;
+        this.idleIndicator = idleIndicator;
+        this.statsSupplier = statsSupplier;
+        this.flushIntervalInMillis = flushIntervalInMillis;
+        this.maxPendingBatchCount = maxPendingBatchCount;
+
+        incarnationId = ThreadLocalRandom.current().nextLong();
+        shardRing = new ShardRing(nodeAddresses.size());
+        outboxes = new HashMap<>();
+        unsentBatches = new HashMap<>();
+        unacknowledgedBatches = new HashMap<>();
+        for (int nodeIndex = 0; nodeIndex < nodeAddresses.size(); nodeIndex++) {
+            if (nodeIndex != localNodeIndex) {
+                outboxes.put(nodeIndex, new ConcurrentLinkedQueue<>());
+                unsentBatches.put(nodeIndex, new ArrayDeque<>());
+                unacknowledgedBatches.put(nodeIndex, new ArrayDeque<>());
+            }
+        }
+
+        peerStatuses = new ConcurrentHashMap<>();
+        receivedBatches = new ConcurrentHashMap<>();
+        restartedNodeIndexes = ConcurrentHashMap.newKeySet();
+        batchReceiveLock = new Object();
+        pendingRequestCount = new AtomicLong();
+        acceptedSockets = new CopyOnWriteArrayList<>();
+        isClosed = new AtomicBoolean();
+        connections = new HashMap<>();
+    }
+
+    /**
+     * Creates a {@link ClusterNode} instance.
+     *
+     * @param nodeAddresses            the addresses of the nodes of the cluster
+     * @param localNodeIndex           the index of this node
+     * @param forwardedRequestConsumer the operation to invoke with the requests forwarded to
+     *                                 this node and their parent candidate
+     * @param idleIndicator            tells if this node has nothing to crawl
+     * @param statsSupplier            supplies the stats of this node
+     */
+    public ClusterNode(
+            final List<InetSocketAddress> nodeAddresses,
+            final int localNodeIndex,
+            final BiConsumer<List<CrawlRequest>, CrawlCandidate> forwardedRequestConsumer,
+            final BooleanSupplier idleIndicator,
+            final Supplier<StatsCounterSnapshot> statsSupplier) {
+        this(nodeAddresses, localNodeIndex, forwardedRequestConsumer, idleIndicator,
+                statsSupplier, DEFAULT_FLUSH_INTERVAL_IN_MILLIS, DEFAULT_MAX_PENDING_BATCH_COUNT);
+    }
+
+    /**
+     * Starts listening for the messages of the other nodes and sending messages to them.
+     */
+    public void start() {
+        InetSocketAddress localAddress = nodeAddresses.get(localNodeIndex);
+        try {
+            serverSocket = new ServerSocket();
+            serverSocket.setReuseAddress(true);
+            serverSocket.bind(localAddress);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        LOGGER.debug("Cluster node {} listening on {}", localNodeIndex, localAddress);
+
+        readerExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                .setNameFormat("cluster-node-reader-%d")
+                .setDaemon(true)
+                .build());
+        readerExecutor.execute(this::acceptConnections);
+
+        senderExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("cluster-node-sender")
+                .setDaemon(true)
+                .build());
+        senderExecutor.scheduleWithFixedDelay(this::flush, 0, flushIntervalInMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Indicates if the host of the request is owned by this node.
+     *
+     * @param request the crawl request
+     *
+     * @return <code>true</code> if the request is crawled by this node, <code>false</code>
+     *         otherwise
+     */
+    public boolean isLocalRequest(final CrawlRequest request) {
+        return shardRing.getShard(request.getDomain()) == localNodeIndex;
+    }
+
+    /**
+     * Queues the requests whose hosts are owned by other nodes for forwarding. The queued
+     * requests are sent in batches by a background thread.
+     *
+     * @param requests        the crawl requests
+     * @param parentCandidate the crawl candidate on which the requests were found
+     *
+     * @return the requests whose hosts are owned by this node
+     */
+    public List<CrawlRequest> forwardForeignRequests(
+            final List<CrawlRequest> requests,
+            final CrawlCandidate parentCandidate) {
+        List<CrawlRequest> localRequests = new ArrayList<>();
+        Map<Integer, List<CrawlRequest>> foreignRequestsByNode = new HashMap<>();
+        for (CrawlRequest request : requests) {
+            int nodeIndex = shardRing.getShard(request.getDomain());
+            if (nodeIndex == localNodeIndex) {
+                localRequests.add(request);
+            } else {
+                foreignRequestsByNode.computeIfAbsent(nodeIndex, index -> new ArrayList<>())
+                        .add(request);
+            }
+        }
+
+        foreignRequestsByNode.forEach((nodeIndex, foreignRequests) -> {
+            // Counted before it is queued, so this node is not idle until it is acknowledged
+            pendingRequestCount.addAndGet(foreignRequests.size());
+            outboxes.get(nodeIndex).add(new ForwardedRequests(foreignRequests, parentCandidate));
+        });
+
+        return localRequests;
+    }
+
+    /**
+     * Indicates if the whole crawl is finished. It should only be called when this node is idle.
+     *
+     * @return <code>true</code> if the crawl is finished on every node, <code>false</code>
+     *         otherwise
+     */
+    public synchronized boolean isCrawlFinished() {
+        if (isCrawlFinished) {
+            return true;
+        }
+
+        Collection<NodeStatus> statuses = peerStatuses.values();
+        if (statuses.stream().anyMatch(NodeStatus::isCrawlFinished)) {
+            LOGGER.debug("Crawl finished on another cluster node");
+            isCrawlFinished = true;
+            return true;
+        }
+
+        if (statuses.size() < nodeAddresses.size() - 1
+                || pendingRequestCount.get() != 0
+                || !statuses.stream().allMatch(NodeStatus::isIdle)) {
+            idleRound = null;
+            return false;
+        }
+
+        if (idleRound == null || idleRound.hasRestartedNode(statuses)) {
+            idleRound = new IdleRound(statuses);
+            return false;
+        }
+
+        if (!idleRound.isFollowedBy(statuses)) {
+            return false;
+        }
+
+        LOGGER.debug("Crawl finished on every cluster node");
+        isCrawlFinished = true;
+        return true;
+    }
+
+    /**
+     * Returns the stats last reported by the other nodes.
+     *
+     * @return the stats of the other nodes
+     */
+    public List<StatsCounterSnapshot> getPeerStatsCounterSnapshots() {
+        return peerStatuses.values().stream()
+                .map(NodeStatus::getStatsCounterSnapshot)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Sends the queued requests and the last status of this node, then stops listening.
+     */
+    @Override
+    public void close() {
+        if (isClosed.getAndSet(true)) {
+            return;
+        }
+
+        LOGGER.debug("Closing cluster node {}", localNodeIndex);
+
+        if (senderExecutor != null) {
+            senderExecutor.shutdown();
+            try {
+                senderExecutor.awaitTermination(CONNECT_TIMEOUT_IN_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+
+            // The sender thread has finished, so it is safe to flush on this one
+            flush();
+            connections.values().forEach(ClusterNode::closeQuietly);
+            connections.clear();
+        }
+
+        closeQuietly(serverSocket);
+        acceptedSockets.forEach(ClusterNode::closeQuietly);
+        if (readerExecutor != null) {
+            readerExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Accepts the connections of the other nodes and reads their messages on separate threads.
+     */
+    private void acceptConnections() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                acceptedSockets.add(socket);
+                if (isClosed.get()) {
+                    // The server socket may only be closed after this, see close
+                    closeQuietly(socket);
+                    return;
+                }
+
+                readerExecutor.execute(() -> readMessages(socket));
+            } catch (IOException exception) {
+                LOGGER.debug("Stopped accepting cluster connections", exception);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads the messages of another node until the connection is closed.
+     *
+     * @param socket the connection to the other node
+     */
+    private void readMessages(final Socket socket) {
+        try (DataInputStream in =
+                new DataInputStream(new BufferedInputStream(socket.getInputStream()))) {
+            while (true) {
+                byte messageType = in.readByte();
+                if (messageType == BATCH_MESSAGE_TYPE) {
+                    readBatch(in);
+                } else if (messageType == STATUS_MESSAGE_TYPE) {
+                    readStatus(in);
+                } else {
+                    throw new StreamCorruptedException("Invalid cluster message type: "
+                            + messageType);
+                }
+            }
+        } catch (EOFException exception) {
+            LOGGER.debug("Cluster connection closed by the other node");
+        } catch (IOException exception) {
+            LOGGER.debug("Cluster connection failed", exception);
+        }
+    }
+
+    /**
+     * Reads a batch of forwarded requests. If its payload is rejected, the batch is acknowledged
+     * without processing it, otherwise it would be sent again and again.
+     *
+     * @param in the stream to read from
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @SuppressWarnings("unchecked")
+    private void readBatch(final DataInputStream in) throws IOException {
+        int senderNodeIndex = in.readInt();
+        long senderIncarnationId = in.readLong();
+        long sequenceNumber = in.readLong();
+
+        List<ForwardedRequests> forwardedRequests = Collections.emptyList();
+        try {
+            Object payload = readPayload(in);
+            if (payload instanceof List && ((List<?>) payload).stream()
+                    .allMatch(ForwardedRequests.class::isInstance)) {
+                forwardedRequests = (List<ForwardedRequests>) payload;
+            } else {
+                LOGGER.debug("Rejecting batch {} of cluster node {}, invalid payload",
+                        sequenceNumber, senderNodeIndex);
+            }
+        } catch (InvalidClassException exception) {
+            LOGGER.debug("Rejecting batch {} of cluster node {}", sequenceNumber,
+                    senderNodeIndex, exception);
+        }
+
+        receiveBatch(new RequestBatch(senderNodeIndex, senderIncarnationId, sequenceNumber,
+                forwardedRequests));
+    }
+
+    /**
+     * Reads the status of another node.
+     *
+     * @param in the stream to read from
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private void readStatus(final DataInputStream in) throws IOException {
+        try {
+            Object payload = readPayload(in);
+            if (payload instanceof NodeStatus) {
+                receiveStatus((NodeStatus) payload);
+            } else {
+                LOGGER.debug("Rejecting cluster node status, invalid payload");
+            }
+        } catch (InvalidClassException exception) {
+            LOGGER.debug("Rejecting cluster node status", exception);
+        }
+    }
+
+    /**
+     * Passes the requests of a batch to the consumer, unless the batch has been received already
+     * from the same run of the sender. The state of the sender is reset if it has been restarted.
+     *
+     * @param batch the batch of forwarded requests
+     */
+    private void receiveBatch(final RequestBatch batch) {
+        int senderNodeIndex = batch.getSenderNodeIndex();
+
+        // A sender may have more connections for a short time if it has reconnected
+        synchronized (batchReceiveLock) {
+            BatchAcknowledgement lastReceivedBatch = receivedBatches.get(senderNodeIndex);
+            if (lastReceivedBatch != null) {
+                if (lastReceivedBatch.getSenderIncarnationId() != batch.getSenderIncarnationId()) {
+                    LOGGER.debug("Cluster node {} has been restarted", senderNodeIndex);
+                } else if (batch.getSequenceNumber() <= lastReceivedBatch.getSequenceNumber()) {
+                    LOGGER.debug("Skipping batch {} of cluster node {}, it has been received "
+                            + "already", batch.getSequenceNumber(), senderNodeIndex);
+                    return;
+                }
+            }
+
+            for (ForwardedRequests forwardedRequests : batch.getForwardedRequests()) {
+                forwardedRequestConsumer.accept(forwardedRequests.getRequests(),
+                        forwardedRequests.getParentCandidate());
+            }
+
+            // Acknowledged after the requests are fed, so the node does not look idle before that
+            receivedBatches.put(senderNodeIndex,
+                    new BatchAcknowledgement(batch.getSenderIncarnationId(),
+                            batch.getSequenceNumber()));
+        }
+    }
+
+    /**
+     * Stores the status of another node.
+     *
+     * @param status the status of the other node
+     */
+    private void receiveStatus(final NodeStatus status) {
+        NodeStatus previousStatus = peerStatuses.put(status.getNodeIndex(), status);
+        if (previousStatus != null
+                && previousStatus.getIncarnationId() != status.getIncarnationId()) {
+            LOGGER.debug("Cluster node {} has been restarted", status.getNodeIndex());
+            restartedNodeIndexes.add(status.getNodeIndex());
+        }
+    }
+
+    /**
+     * Sends the queued requests in a batch and the status of this node to each other node.
+     */
+    private void flush() {
+        try {
+            // The acknowledgements are read before the idle state, see receiveBatch, and the idle
+            // state is read before the pending requests, see forwardForeignRequests
+            Map<Integer, BatchAcknowledgement> acknowledgements = new HashMap<>(receivedBatches);
+            boolean isIdle = idleIndicator.getAsBoolean();
+
+            outboxes.forEach((nodeIndex, outbox) -> {
+                List<ForwardedRequests> forwardedRequests = new ArrayList<>();
+                ForwardedRequests nextForwardedRequests;
+                while ((nextForwardedRequests = outbox.poll()) != null) {
+                    forwardedRequests.add(nextForwardedRequests);
+                }
+
+                if (!forwardedRequests.isEmpty()) {
+                    unsentBatches.get(nodeIndex).add(new RequestBatch(localNodeIndex,
+                            incarnationId, ++lastBatchNumber, forwardedRequests));
+                }
+
+                removeAcknowledgedBatches(nodeIndex);
+                removeExcessBatches(nodeIndex);
+            });
+
+            NodeStatus status = new NodeStatus(localNodeIndex, incarnationId, ++lastStatusNumber,
+                    isIdle && pendingRequestCount.get() == 0, isCrawlFinished, acknowledgements,
+                    statsSupplier.get());
+            unsentBatches.forEach((nodeIndex, batches) -> send(nodeIndex, batches, status));
+        } catch (RuntimeException exception) {
+            // Must not propagate, otherwise the sender task would not be run again
+            LOGGER.debug("Failed to flush cluster messages", exception);
+        }
+    }
+
+    /**
+     * Removes the batches which have been acknowledged by another node. If the other node has
+     * been restarted, the connection to it is closed, so the batches which it has not
+     * acknowledged are sent again when reconnecting.
+     *
+     * @param nodeIndex the index of the other node
+     */
+    private void removeAcknowledgedBatches(final int nodeIndex) {
+        NodeStatus peerStatus = peerStatuses.get(nodeIndex);
+        if (peerStatus == null) {
+            return;
+        }
+
+        if (restartedNodeIndexes.remove(nodeIndex)) {
+            closeQuietly(connections.remove(nodeIndex));
+        }
+
+        Optional<BatchAcknowledgement> acknowledgementOpt =
+                peerStatus.getAcknowledgement(localNodeIndex);
+        if (!acknowledgementOpt.isPresent()
+                || acknowledgementOpt.get().getSenderIncarnationId() != incarnationId) {
+            return;
+        }
+
+        long acknowledgedBatchNumber = acknowledgementOpt.get().getSequenceNumber();
+        Deque<RequestBatch> batches = unacknowledgedBatches.get(nodeIndex);
+        RequestBatch batch;
+        while ((batch = batches.peek()) != null
+                && batch.getSequenceNumber() <= acknowledgedBatchNumber) {
+            batches.poll();
+            pendingRequestCount.addAndGet(-batch.getRequestCount());
+        }
+    }
+
+    /**
+     * Drops the oldest batches kept for another node if there are more than the limit, so the
+     * batches of an unreachable node do not use up the memory. The requests of the dropped
+     * batches are lost.
+     *
+     * @param nodeIndex the index of the other node
+     */
+    private void removeExcessBatches(final int nodeIndex) {
+        Deque<RequestBatch> unacknowledged = unacknowledgedBatches.get(nodeIndex);
+        Deque<RequestBatch> unsent = unsentBatches.get(nodeIndex);
+        int excessBatchCount = unacknowledged.size() + unsent.size() - maxPendingBatchCount;
+        for (int i = 0; i < excessBatchCount; i++) {
+            // The unacknowledged batches are older than the unsent ones
+            RequestBatch batch = unacknowledged.isEmpty() ? unsent.poll() : unacknowledged.poll();
+            pendingRequestCount.addAndGet(-batch.getRequestCount());
+
+            LOGGER.debug("Dropping batch {} of cluster node {}, too many batches are pending",
+                    batch.getSequenceNumber(), nodeIndex);
+        }
+    }
+
+    /**
+     * Sends the unsent batches and the status to another node. The batches are kept if they
+     * cannot be sent, and they are sent again later. The sent batches are kept until they are
+     * acknowledged, and they are sent again if the connection has to be reestablished.
+     *
+     * @param nodeIndex the index of the other node
+     * @param batches   the batches which have not been sent to the node yet
+     * @param status    the status of this node
+     */
+    private void send(
+            final int nodeIndex,
+            final Deque<RequestBatch> batches,
+            final NodeStatus status) {
+        DataOutputStream out = connections.get(nodeIndex);
+        try {
+            if (out == null) {
+                Socket socket = new Socket();
+                socket.connect(nodeAddresses.get(nodeIndex), CONNECT_TIMEOUT_IN_MILLIS);
+                out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                connections.put(nodeIndex, out);
+
+                // The other node may not have received them, e.g. if it has been restarted
+                Deque<RequestBatch> unacknowledged = unacknowledgedBatches.get(nodeIndex);
+                unacknowledged.descendingIterator().forEachRemaining(batches::addFirst);
+                unacknowledged.clear();
+            }
+
+            for (RequestBatch batch : batches) {
+                out.writeByte(BATCH_MESSAGE_TYPE);
+                out.writeInt(batch.getSenderNodeIndex());
+                out.writeLong(batch.getSenderIncarnationId());
+                out.writeLong(batch.getSequenceNumber());
+                writePayload(out, batch.getForwardedRequests());
+            }
+
+            out.writeByte(STATUS_MESSAGE_TYPE);
+            writePayload(out, status);
+            out.flush();
+
+            unacknowledgedBatches.get(nodeIndex).addAll(batches);
+            batches.clear();
+        } catch (IOException exception) {
+            LOGGER.debug("Failed to send messages to cluster node {}", nodeIndex, exception);
+
+            closeQuietly(out);
+            connections.remove(nodeIndex);
+        }
+    }
+
+    /**
+     * Writes the serialized form of an object preceded by its length.
+     *
+     * @param out     the stream to write to
+     * @param payload the object to write
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writePayload(
+            final DataOutputStream out,
+            final Object payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOut = new ObjectOutputStream(bytes)) {
+            objectOut.writeObject(payload);
+        }
+
+        out.writeInt(bytes.size());
+        bytes.writeTo(out);
+    }
+
+    /**
+     * Reads a payload written by {@link #writePayload(DataOutputStream, Object)}. The payload is
+     * read entirely before it is deserialized, so the stream can be read further if it is
+     * rejected.
+     *
+     * @param in the stream to read from
+     *
+     * @return the deserialized object
+     *
+     * @throws InvalidClassException if the payload contains a class which is not allowed
+     * @throws IOException           if an I/O error occurs or the payload is too large
+     */
+    private static Object readPayload(final DataInputStream in) throws IOException {
+        int payloadSize = in.readInt();
+        if (payloadSize < 0 || payloadSize > MAX_PAYLOAD_SIZE_IN_BYTES) {
+            throw new StreamCorruptedException("Invalid cluster payload size: " + payloadSize);
+        }
+
+        byte[] payload = new byte[payloadSize];
+        in.readFully(payload);
+        try (ObjectInputStream objectIn =
+                new ClusterObjectInputStream(new ByteArrayInputStream(payload))) {
+            return objectIn.readObject();
+        } catch (ClassNotFoundException exception) {
+            throw new InvalidClassException(exception.getMessage());
+        }
+    }
+
+    private static void closeQuietly(final Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+
+        try {
+            closeable.close();
+        } catch (IOException exception) {
+            LOGGER.debug("Failed to close cluster connection", exception);
+        }
+    }
+
+    /**
+     * The state of the cluster observed in a round of status messages in which every node was
+     * idle.
+     */
+    private static final class IdleRound {
+
+        private final Map<Integer, NodeStatus> statuses;
+
+        /**
+         * Creates an {@link IdleRound} instance.
+         *
+         * @param statuses the statuses of the other nodes
+         */
+        IdleRound(final Collection<NodeStatus> statuses) {
+            this.statuses = statuses.stream()
+                    .collect(Collectors.toMap(NodeStatus::getNodeIndex, Function.identity()));
+        }
+
+        /**
+         * Indicates if any other node has been restarted since this round.
+         *
+         * @param currentStatuses the current statuses of the other nodes
+         *
+         * @return <code>true</code> if a node has been restarted, <code>false</code> otherwise
+         */
+        boolean hasRestartedNode(final Collection<NodeStatus> currentStatuses) {
+            return currentStatuses.stream().anyMatch(status -> status.getIncarnationId()
+                    != statuses.get(status.getNodeIndex()).getIncarnationId());
+        }
+
+        /**
+         * Indicates if every other node has sent a newer status since this round.
+         *
+         * @param currentStatuses the current statuses of the other nodes
+         *
+         * @return <code>true</code> if every status is newer, <code>false</code> otherwise
+         */
+        boolean isFollowedBy(final Collection<NodeStatus> currentStatuses) {
+            return currentStatuses.stream().allMatch(status -> status.getSequenceNumber()
+                    > statuses.get(status.getNodeIndex()).getSequenceNumber());
+        }
+    }
+}
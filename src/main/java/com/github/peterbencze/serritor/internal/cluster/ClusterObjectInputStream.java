@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.cluster;
+
+import com.github.peterbencze.serritor.api.CrawlCandidate;
+import com.github.peterbencze.serritor.api.CrawlRequest;
+import com.github.peterbencze.serritor.internal.stats.StatsCounterSnapshot;
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Set;
+
+/**
+ * An object input stream which only deserializes the classes of the cluster messages and common
+ * value types which may be used as request metadata, so a connection to a cluster node cannot be
+ * used to instantiate arbitrary classes.
+ */
+final class ClusterObjectInputStream extends ObjectInputStream {
+
+    private static final Set<String> ALLOWED_CLASS_NAMES = ImmutableSet.of(
+            ForwardedRequests.class,
+            NodeStatus.class,
+            BatchAcknowledgement.class,
+            CrawlRequest.class,
+            CrawlCandidate.class,
+            StatsCounterSnapshot.class,
+            URI.class,
+            String.class,
+            Boolean.class,
+            Character.class,
+            Number.class,
+            Byte.class,
+            Short.class,
+            Integer.class,
+            Long.class,
+            Float.class,
+            Double.class,
+            BigInteger.class,
+            BigDecimal.class,
+            ArrayList.class,
+            LinkedList.class,
+            HashMap.class,
+            LinkedHashMap.class,
+            HashSet.class,
+            LinkedHashSet.class)
+            .stream()
+            .map(Class::getName)
+            .collect(ImmutableSet.toImmutableSet());
+
+    /**
+     * Creates a {@link ClusterObjectInputStream} instance.
+     *
+     * @param in the input stream to read from
+     *
+     * @throws IOException if the stream header cannot be read
+     */
+    ClusterObjectInputStream(final InputStream in) throws IOException {
+        super(in);
+    }
+
+    /**
+     * Resolves the class of a serialized object if it is allowed.
+     *
+     * @param desc the description of the class
+     *
+     * @return the class of the serialized object
+     *
+     * @throws IOException            if the class is not allowed
+     * @throws ClassNotFoundException if the class cannot be found
+     */
+    @Override
+    protected Class<?> resolveClass(final ObjectStreamClass desc)
+            throws IOException, ClassNotFoundException {
+        if (!isAllowed(desc.getName())) {
+            throw new InvalidClassException(desc.getName(),
+                    "Class not allowed in cluster messages");
+        }
+
+        return super.resolveClass(desc);
+    }
+
+    /**
+     * Rejects every proxy class, since none is used in the cluster messages.
+     *
+     * @param interfaces the interfaces implemented by the proxy class
+     *
+     * @return never returns normally
+     *
+     * @throws IOException always
+     */
+    @Override
+    protected Class<?> resolveProxyClass(final String[] interfaces) throws IOException {
+        throw new InvalidClassException("Proxy classes not allowed in cluster messages");
+    }
+
+    private static boolean isAllowed(final String className) {
+        // Arrays of primitives, e.g. [B for byte[]
+        if (className.length() == 2 && className.charAt(0) == '[') {
+            return true;
+        }
+
+        return ALLOWED_CLASS_NAMES.contains(className);
+    }
+}
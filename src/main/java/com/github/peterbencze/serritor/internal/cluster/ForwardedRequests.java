@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.peterbencze.serritor.internal.cluster;
+
+import com.github.peterbencze.serritor.api.CrawlCandidate;
+import com.github.peterbencze.serritor.api.CrawlRequest;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Crawl requests found on a candidate, which are forwarded to the cluster node owning their hosts.
+ */
+final class ForwardedRequests implements Serializable {
+
+    private final List<CrawlRequest> requests;
+    private final CrawlCandidate parentCandidate;
+
+    /**
+     * Creates a {@link ForwardedRequests} instance.
+     *
+     * @param requests        the crawl requests
+     * @param parentCandidate the crawl candidate on which the requests were found
+     */
+    ForwardedRequests(final List<CrawlRequest> requests, final CrawlCandidate parentCandidate) {
+        this.requests = requests;
+        this.parentCandidate = parentCandidate;
+    }
+
+    /**
+     * Returns the crawl requests.
+     *
+     * @return the crawl requests
+     */
+    List<CrawlRequest> getRequests() {
+        return requests;
+    }
+
+    /**
+     * Returns the crawl candidate on which the requests were found.
+     *
+     * @return the parent crawl candidate
+     */
+    CrawlCandidate getParentCandidate() {
+        return parentCandidate;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.peterbencze.serritor.internal.cluster;
+
+import com.github.peterbencze.serritor.internal.stats.StatsCounterSnapshot;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The status which a cluster node periodically broadcasts to the other nodes. It also acknowledges
+ * the batches which the node has received from the others.
+ */
+final class NodeStatus implements Serializable {
+
+    private final int nodeIndex;
+    private final long incarnationId;
+    private final long sequenceNumber;
+    private final boolean isIdle;
+    private final boolean isCrawlFinished;
+    private final Map<Integer, BatchAcknowledgement> acknowledgements;
+    private final StatsCounterSnapshot statsCounterSnapshot;
+
+    /**
+     * Creates a {@link NodeStatus} instance.
+     *
+     * @param nodeIndex            the index of the node
+     * @param incarnationId        the ID of the run of the node
+     * @param sequenceNumber       the sequence number of the status among the ones of the run
+     * @param isIdle               indicates if the node has nothing to crawl and all the requests
+     *                             it has forwarded have been acknowledged
+     * @param isCrawlFinished      indicates if the node has detected the end of the crawl
+     * @param acknowledgements     the last batches received by the node by the index of their
+     *                             sender
+     * @param statsCounterSnapshot the stats of the node
+     */
+    NodeStatus(
+            final int nodeIndex,
+            final long incarnationId,
+            final long sequenceNumber,
+            final boolean isIdle,
+            final boolean isCrawlFinished,
+            final Map<Integer, BatchAcknowledgement> acknowledgements,
+            final StatsCounterSnapshot statsCounterSnapshot) {
+        this.nodeIndex = nodeIndex;
+        this.incarnationId = incarnationId;
+        this.sequenceNumber = sequenceNumber;
+        this.isIdle = isIdle;
+        this.isCrawlFinished = isCrawlFinished;
+        this.acknowledgements = acknowledgements;
+        this.statsCounterSnapshot = statsCounterSnapshot;
+    }
+
+    /**
+     * Returns the index of the node.
+     *
+     * @return the index of the node
+     */
+    int getNodeIndex() {
+        return nodeIndex;
+    }
+
+    /**
+     * Returns the ID of the run of the node, which changes when the node is restarted.
+     *
+     * @return the ID of the run of the node
+     */
+    long getIncarnationId() {
+        return incarnationId;
+    }
+
+    /**
+     * Returns the sequence number of the status among the ones of the run of the node.
+     *
+     * @return the sequence number of the status
+     */
+    long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    /**
+     * Indicates if the node has nothing to crawl and all the requests it has forwarded have been
+     * acknowledged.
+     *
+     * @return <code>true</code> if the node is idle, <code>false</code> otherwise
+     */
+    boolean isIdle() {
+        return isIdle;
+    }
+
+    /**
+     * Indicates if the node has detected the end of the crawl.
+     *
+     * @return <code>true</code> if the crawl is finished, <code>false</code> otherwise
+     */
+    boolean isCrawlFinished() {
+        return isCrawlFinished;
+    }
+
+    /**
+     * Returns the last batch received by the node from the given sender node.
+     *
+     * @param senderNodeIndex the index of the sender node
+     *
+     * @return the acknowledgement of the last received batch, or empty if no batch has been
+     *         received from the sender node
+     */
+    Optional<BatchAcknowledgement> getAcknowledgement(final int senderNodeIndex) {
+        return Optional.ofNullable(acknowledgements.get(senderNodeIndex));
+    }
+
+    /**
+     * Returns the stats of the node.
+     *
+     * @return the stats of the node
+     */
+    StatsCounterSnapshot getStatsCounterSnapshot() {
+        return statsCounterSnapshot;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.peterbencze.serritor.internal.cluster;
+
+import java.util.List;
+
+/**
+ * The requests forwarded by a cluster node to another one in a single message. Batches are
+ * numbered per run of the sender, so a batch which is sent again after a connection failure is
+ * not processed twice, while the batches of a restarted sender are not mistaken for old ones.
+ */
+final class RequestBatch {
+
+    private final int senderNodeIndex;
+    private final long senderIncarnationId;
+    private final long sequenceNumber;
+    private final List<ForwardedRequests> forwardedRequests;
+
+    /**
+     * Creates a {@link RequestBatch} instance.
+     *
+     * @param senderNodeIndex     the index of the sender node
+     * @param senderIncarnationId the ID of the run of the sender node
+     * @param sequenceNumber      the sequence number of the batch among the ones of the sender
+     * @param forwardedRequests   the forwarded requests
+     */
+    RequestBatch(
+            final int senderNodeIndex,
+            final long senderIncarnationId,
+            final long sequenceNumber,
+            final List<ForwardedRequests> forwardedRequests) {
+        this.senderNodeIndex = senderNodeIndex;
+        this.senderIncarnationId = senderIncarnationId;
+        this.sequenceNumber = sequenceNumber;
+        this.forwardedRequests = forwardedRequests;
+    }
+
+    /**
+     * Returns the index of the sender node.
+     *
+     * @return the index of the sender node
+     */
+    int getSenderNodeIndex() {
+        return senderNodeIndex;
+    }
+
+    /**
+     * Returns the ID of the run of the sender node.
+     *
+     * @return the ID of the run of the sender node
+     */
+    long getSenderIncarnationId() {
+        return senderIncarnationId;
+    }
+
+    /**
+     * Returns the sequence number of the batch among the ones of the sender.
+     *
+     * @return the sequence number of the batch
+     */
+    long getSequenceNumber() {
+        return sequenceNumber;
+    }
+
+    /**
+     * Returns the forwarded requests.
+     *
+     * @return the forwarded requests
+     */
+    List<ForwardedRequests> getForwardedRequests() {
+        return forwardedRequests;
+    }
+
+    /**
+     * Returns the number of the forwarded requests in the batch.
+     *
+     * @return the number of the forwarded requests
+     */
+    int getRequestCount() {
+        return forwardedRequests.stream()
+                .mapToInt(requests -> requests.getRequests().size())
+                .sum();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.peterbencze.serritor.internal.cluster;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.net.InternetDomainName;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Assigns hosts to the nodes of the crawl cluster by consistent hashing. Each node is placed on a
+ * hash ring at multiple points (virtual nodes) to spread the hosts evenly, and a host belongs to
+ * the node of the first point following its hash. The points of a node only depend on its index,
+ * so adding a node moves only the hosts which the new node takes over.
+ */
+public final class ShardRing {
+
+    private static final int VIRTUAL_NODE_COUNT = 128;
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private final NavigableMap<Long, Integer> ring;
+
+    /**
+     * Creates a {@link ShardRing} instance.
+     *
+     * @param nodeCount the number of nodes in the cluster
+     */
+    public ShardRing(final int nodeCount) {
+        Validate.isTrue(nodeCount > 0, "The node count must be positive.");
+
+        ring = new TreeMap<>();
+        for (int nodeIndex = 0; nodeIndex < nodeCount; nodeIndex++) {
+            for (int i = 0; i < VIRTUAL_NODE_COUNT; i++) {
+                ring.put(hash(nodeIndex + "#" + i), nodeIndex);
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the node which owns the given host.
+     *
+     * @param domain the domain of the host
+     *
+     * @return the index of the node which owns the host
+     */
+    public int getShard(final InternetDomainName domain) {
+        Map.Entry<Long, Integer> entry = ring.ceilingEntry(hash(domain.toString()));
+        if (entry == null) {
+            // Wrap around the ring
+            entry = ring.firstEntry();
+        }
+
+        return entry.getValue();
+    }
+
+    private static long hash(final String value) {
+        return HASH_FUNCTION.hashString(value, StandardCharsets.UTF_8).asLong();
+    }
+}
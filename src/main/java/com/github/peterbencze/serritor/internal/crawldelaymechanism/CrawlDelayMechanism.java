@@ -22,7 +22,7 @@ package com.github.peterbencze.serritor.internal.crawldelaymechanism;
 public interface CrawlDelayMechanism {
 
     /**
-     * Returns the delay which should pass between each request.
+     * Returns the delay which should pass between each request to the same host.
      *
      * @return the duration of delay in milliseconds
      */
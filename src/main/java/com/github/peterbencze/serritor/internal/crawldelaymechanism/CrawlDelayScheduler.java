@@ -0,0 +1,182 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.crawldelaymechanism;
+
+import com.github.peterbencze.serritor.internal.frontier.HostAvailability;
+import com.github.peterbencze.serritor.internal.util.stopwatch.TimeSource;
+import com.github.peterbencze.serritor.internal.util.stopwatch.UtcTimeSource;
+import com.google.common.net.InternetDomainName;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Enforces the crawl delay per host instead of globally. It keeps track of the time from which
+ * each host can be requested again, so requests to other hosts do not have to wait. If exclusive
+ * host access is enabled, a host is not eligible while one of its requests is in progress.
+ *
+ * <p>Note: this class is not thread-safe, the callers should synchronize the access.
+ */
+public final class CrawlDelayScheduler implements HostAvailability {
+
+    private final TimeSource timeSource;
+    private final boolean isExclusiveHostAccessEnabled;
+    private final Map<InternetDomainName, Instant> nextEligibleTimes;
+    private final Set<InternetDomainName> hostsInProgress;
+
+    /**
+     * Creates a {@link CrawlDelayScheduler} instance.
+     *
+     * @param timeSource                   a source providing access to the current instant
+     * @param isExclusiveHostAccessEnabled <code>true</code> if a host should not be requested
+     *                                     concurrently, <code>false</code> otherwise
+     */
+    public CrawlDelayScheduler(
+            final TimeSource timeSource,
+            final boolean isExclusiveHostAccessEnabled) {
+        this.timeSource = timeSource;
+        this.isExclusiveHostAccessEnabled = isExclusiveHostAccessEnabled;
+        nextEligibleTimes = new HashMap<>();
+        hostsInProgress = new HashSet<>();
+    }
+
+    /**
+     * Creates a {@link CrawlDelayScheduler} instance.
+     *
+     * @param isExclusiveHostAccessEnabled <code>true</code> if a host should not be requested
+     *                                     concurrently, <code>false</code> otherwise
+     */
+    public CrawlDelayScheduler(final boolean isExclusiveHostAccessEnabled) {
+        this(new UtcTimeSource(), isExclusiveHostAccessEnabled);
+    }
+
+    /**
+     * Indicates if the host can be requested now.
+     *
+     * @param host the host of the request
+     *
+     * @return <code>true</code> if the host can be requested, <code>false</code> otherwise
+     */
+    @Override
+    public boolean isEligible(final InternetDomainName host) {
+        if (hostsInProgress.contains(host)) {
+            return false;
+        }
+
+        Instant nextEligibleTime = nextEligibleTimes.get(host);
+        if (nextEligibleTime == null) {
+            return true;
+        }
+
+        if (timeSource.getTime().isBefore(nextEligibleTime)) {
+            return false;
+        }
+
+        // The delay has elapsed, no need to keep track of the host anymore
+        nextEligibleTimes.remove(host);
+        return true;
+    }
+
+    /**
+     * Returns the time from which the host can be requested again if it is being delayed. A host
+     * with a request in progress is not delayed until the end of the request is recorded.
+     *
+     * @param host the host of the request
+     *
+     * @return the time from which the host can be requested again, or empty if the host is not
+     *         being delayed
+     */
+    @Override
+    public Optional<Instant> getNextEligibleTime(final InternetDomainName host) {
+        Instant nextEligibleTime = nextEligibleTimes.get(host);
+        if (nextEligibleTime == null || !timeSource.getTime().isBefore(nextEligibleTime)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(nextEligibleTime);
+    }
+
+    /**
+     * Records the start of a request to the host. If exclusive host access is enabled, the host
+     * will not be eligible until the end of the request is recorded.
+     *
+     * @param host the host of the request
+     */
+    public void recordRequestStart(final InternetDomainName host) {
+        if (isExclusiveHostAccessEnabled) {
+            hostsInProgress.add(host);
+        }
+    }
+
+    /**
+     * Records the end of a request to the host. The host will be eligible again once the given
+     * delay has elapsed.
+     *
+     * @param host          the host of the request
+     * @param delayInMillis the delay which should pass before the next request to the host
+     */
+    public void recordRequestEnd(final InternetDomainName host, final long delayInMillis) {
+        hostsInProgress.remove(host);
+
+        if (delayInMillis > 0) {
+            nextEligibleTimes.put(host, timeSource.getTime().plusMillis(delayInMillis));
+        } else {
+            nextEligibleTimes.remove(host);
+        }
+    }
+
+    /**
+     * Returns the shortest duration after which a currently delayed host becomes eligible again.
+     * Hosts with a request in progress are not considered.
+     *
+     * @return the shortest remaining delay, or empty if no host is being delayed
+     */
+    public Optional<Duration> getShortestRemainingDelay() {
+        Instant now = timeSource.getTime();
+        Instant earliestEligibleTime = null;
+
+        Iterator<Instant> iterator = nextEligibleTimes.values().iterator();
+        while (iterator.hasNext()) {
+            Instant nextEligibleTime = iterator.next();
+            if (!now.isBefore(nextEligibleTime)) {
+                iterator.remove();
+            } else if (earliestEligibleTime == null
+                    || nextEligibleTime.isBefore(earliestEligibleTime)) {
+                earliestEligibleTime = nextEligibleTime;
+            }
+        }
+
+        if (earliestEligibleTime == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(Duration.between(now, earliestEligibleTime));
+    }
+
+    /**
+     * Forgets every host, making all of them eligible.
+     */
+    public void reset() {
+        nextEligibleTimes.clear();
+        hostsInProgress.clear();
+    }
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import com.github.peterbencze.serritor.api.CrawlCandidate;
+import com.github.peterbencze.serritor.api.CrawlCandidate.CrawlCandidateBuilder;
+import com.github.peterbencze.serritor.api.CrawlRequest.CrawlRequestBuilder;
+import com.github.peterbencze.serritor.internal.util.DomainNameCache;
+import com.google.common.net.InternetDomainName;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts crawl candidates to their compact form while they are queued, and back when they are
+ * polled. The origins (scheme and authority) of the request URLs are stored in a dictionary which
+ * only grows, since the number of hosts is small compared to the number of URLs. The referer URLs
+ * are stored in a reference counted dictionary, so the children of a page share a single entry
+ * which is removed once all of them have been polled.
+ */
+final class CandidateEncoder implements Serializable {
+
+    private static final int NO_REFERER_ID = -1;
+
+    private final Map<String, Integer> originIds;
+    private final List<Origin> origins;
+    private final Map<URI, Integer> refererIds;
+    private final List<Referer> referers;
+    private final Deque<Integer> freeRefererIds;
+
+    /**
+     * Creates a {@link CandidateEncoder} instance.
+     */
+    CandidateEncoder() {
+        originIds = new HashMap<>();
+        origins = new ArrayList<>();
+        refererIds = new HashMap<>();
+        referers = new ArrayList<>();
+        freeRefererIds = new ArrayDeque<>();
+    }
+
+    /**
+     * Converts a crawl candidate to its compact form. Each encoded candidate must be decoded
+     * exactly once, which releases its referer URL.
+     *
+     * @param candidate the crawl candidate
+     *
+     * @return the compact form of the candidate
+     */
+    CompactCandidate encode(final CrawlCandidate candidate) {
+        URI requestUrl = candidate.getRequestUrl();
+        String origin = requestUrl.getScheme() + "://" + requestUrl.getRawAuthority();
+        int originId = originIds.computeIfAbsent(origin, key -> {
+            origins.add(new Origin(key, candidate.getDomain()));
+            return origins.size() - 1;
+        });
+
+        int refererId = acquireRefererId(candidate.getRefererUrl());
+        byte[] pathAndQuery = getPathAndQuery(requestUrl).getBytes(StandardCharsets.UTF_8);
+
+        return CompactCandidate.create(originId, refererId, pathAndQuery,
+                candidate.getCrawlDepth(), candidate.getPriority(), candidate.getRetryCount(),
+                candidate.getMetadata().orElse(null));
+    }
+
+    /**
+     * Rebuilds the crawl candidate from its compact form, and releases its referer URL.
+     *
+     * @param compactCandidate the compact form of the candidate
+     *
+     * @return the crawl candidate
+     */
+    CrawlCandidate decode(final CompactCandidate compactCandidate) {
+        Origin origin = origins.get(compactCandidate.getOriginId());
+        URI requestUrl = URI.create(origin.getValue()
+                + new String(compactCandidate.getPathAndQuery(), StandardCharsets.UTF_8));
+
+        CrawlRequestBuilder requestBuilder = new CrawlRequestBuilder(requestUrl)
+                .setPriority(compactCandidate.getPriority());
+        if (compactCandidate.getMetadata() != null) {
+            requestBuilder.setMetadata(compactCandidate.getMetadata());
+        }
+
+        return new CrawlCandidateBuilder(requestBuilder.build())
+                .setRefererUrl(releaseRefererId(compactCandidate.getRefererId()))
+                .setCrawlDepth(compactCandidate.getCrawlDepth())
+                .setRetryCount(compactCandidate.getRetryCount())
+                .build();
+    }
+
+    /**
+     * Returns the domain of the request URL of an encoded candidate.
+     *
+     * @param compactCandidate the compact form of the candidate
+     *
+     * @return the domain of the request URL
+     */
+    InternetDomainName getDomain(final CompactCandidate compactCandidate) {
+        return origins.get(compactCandidate.getOriginId()).getDomain();
+    }
+
+    /**
+     * Removes all the entries of the dictionaries.
+     */
+    void clear() {
+        originIds.clear();
+        origins.clear();
+        refererIds.clear();
+        referers.clear();
+        freeRefererIds.clear();
+    }
+
+    /**
+     * Returns the ID of a referer URL, adding it to the dictionary if it is not there yet, and
+     * increments its reference count.
+     *
+     * @param refererUrl the referer URL, or <code>null</code> if there is none
+     *
+     * @return the ID of the referer URL
+     */
+    private int acquireRefererId(final URI refererUrl) {
+        if (refererUrl == null) {
+            return NO_REFERER_ID;
+        }
+
+        Integer refererId = refererIds.get(refererUrl);
+        if (refererId != null) {
+            referers.get(refererId).acquire();
+            return refererId;
+        }
+
+        Referer referer = new Referer(refererUrl);
+        Integer freeRefererId = freeRefererIds.poll();
+        if (freeRefererId != null) {
+            referers.set(freeRefererId, referer);
+            refererId = freeRefererId;
+        } else {
+            referers.add(referer);
+            refererId = referers.size() - 1;
+        }
+
+        refererIds.put(refererUrl, refererId);
+        return refererId;
+    }
+
+    /**
+     * Returns the referer URL with the given ID and decrements its reference count, removing it
+     * from the dictionary if it is not referenced anymore.
+     *
+     * @param refererId the ID of the referer URL
+     *
+     * @return the referer URL, or <code>null</code> if there is none
+     */
+    private URI releaseRefererId(final int refererId) {
+        if (refererId == NO_REFERER_ID) {
+            return null;
+        }
+
+        Referer referer = referers.get(refererId);
+        if (referer.release()) {
+            refererIds.remove(referer.getUrl());
+            referers.set(refererId, null);
+            freeRefererIds.add(refererId);
+        }
+
+        return referer.getUrl();
+    }
+
+    /**
+     * Returns the raw path, query and fragment of a URL.
+     *
+     * @param url the URL
+     *
+     * @return the raw path, query and fragment of the URL
+     */
+    private static String getPathAndQuery(final URI url) {
+        StringBuilder builder = new StringBuilder(url.getRawPath());
+        if (url.getRawQuery() != null) {
+            builder.append('?').append(url.getRawQuery());
+        }
+
+        if (url.getRawFragment() != null) {
+            builder.append('#').append(url.getRawFragment());
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * The scheme and authority of request URLs, and their parsed domain.
+     */
+    private static final class Origin implements Serializable {
+
+        private final String value;
+        private transient InternetDomainName domain;
+
+        /**
+         * Creates an {@link Origin} instance.
+         *
+         * @param value  the scheme and authority of the URLs
+         * @param domain the domain of the URLs
+         */
+        Origin(final String value, final InternetDomainName domain) {
+            this.value = value;
+            this.domain = domain;
+        }
+
+        String getValue() {
+            return value;
+        }
+
+        InternetDomainName getDomain() {
+            return domain;
+        }
+
+        private void readObject(final ObjectInputStream in)
+                throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+
+            domain = DomainNameCache.get(URI.create(value).getHost());
+        }
+    }
+
+    /**
+     * A referer URL and the number of encoded candidates which reference it.
+     */
+    private static final class Referer implements Serializable {
+
+        private final URI url;
+        private int referenceCount;
+
+        /**
+         * Creates a {@link Referer} instance with a single reference.
+         *
+         * @param url the referer URL
+         */
+        Referer(final URI url) {
+            this.url = url;
+            referenceCount = 1;
+        }
+
+        URI getUrl() {
+            return url;
+        }
+
+        void acquire() {
+            ++referenceCount;
+        }
+
+        boolean release() {
+            return --referenceCount == 0;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import com.github.peterbencze.serritor.api.CrawlCandidate;
+import java.io.Serializable;
+
+/**
+ * An interface which should be implemented by every queue that stores the crawl candidates of the
+ * crawl frontier. Candidates are ordered by crawl depth according to the crawl strategy, then by
+ * priority in descending order.
+ *
+ * <p>Note: implementations are not thread-safe, the callers should synchronize the access.
+ */
+public interface CandidateQueue extends Serializable {
+
+    /**
+     * Adds a crawl candidate to the queue.
+     *
+     * @param candidate the crawl candidate
+     */
+    void add(CrawlCandidate candidate);
+
+    /**
+     * Indicates if the queue contains no candidates.
+     *
+     * @return <code>true</code> if the queue is empty, <code>false</code> otherwise
+     */
+    boolean isEmpty();
+
+    /**
+     * Retrieves and removes the head of the queue.
+     *
+     * @return the head of the queue, or <code>null</code> if the queue is empty
+     */
+    CrawlCandidate poll();
+
+    /**
+     * Removes all the candidates from the queue.
+     */
+    void clear();
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only, memory-mapped segment file which stores length-prefixed records. Records are
+ * read back in the order they were appended.
+ *
+ * <p>The records which have not been read yet are serialized with the segment, and they are written
+ * to a new segment file when it is deserialized. The file of the original segment keeps changing
+ * while the crawl goes on (it is appended to and deleted once it is read), so a saved crawl
+ * frontier must not depend on it.
+ *
+ * <p>The mapping is released explicitly when the segment is unmapped or deleted, instead of
+ * waiting for the garbage collector to release it, if the JVM allows it.
+ */
+final class CandidateSegment implements Serializable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CandidateSegment.class);
+
+    private static final int LENGTH_PREFIX_SIZE = Integer.BYTES;
+
+    private static final Consumer<ByteBuffer> UNMAPPER = createUnmapper();
+
+    private final File file;
+    private final int capacity;
+    private int writePosition;
+    private int readPosition;
+
+    private transient MappedByteBuffer buffer;
+
+    /**
+     * Creates a {@link CandidateSegment} instance.
+     *
+     * @param file     the segment file
+     * @param capacity the size of the segment file in bytes
+     */
+    private CandidateSegment(final File file, final int capacity) {
+        this.file = file;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Creates a new segment file in the given directory, which is large enough to store the given
+     * record.
+     *
+     * @param directory  the directory of the segment file
+     * @param capacity   the preferred size of the segment file in bytes
+     * @param recordSize the size of the first record which is appended to the segment
+     *
+     * @return the created segment
+     */
+    static CandidateSegment create(
+            final File directory,
+            final int capacity,
+            final int recordSize) {
+        try {
+            File file = Files.createTempFile(directory.toPath(), "candidates-", ".segment")
+                    .toFile();
+            LOGGER.debug("Created candidate segment {}", file);
+
+            return new CandidateSegment(file, Math.max(capacity, LENGTH_PREFIX_SIZE + recordSize));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Appends a record to the end of the segment if it has enough space left.
+     *
+     * @param record the record to append
+     *
+     * @return <code>true</code> if the record was appended, <code>false</code> if the segment is
+     *         full
+     */
+    boolean append(final byte[] record) {
+        if (capacity - writePosition < LENGTH_PREFIX_SIZE + record.length) {
+            return false;
+        }
+
+        MappedByteBuffer mappedBuffer = getBuffer();
+        mappedBuffer.position(writePosition);
+        mappedBuffer.putInt(record.length);
+        mappedBuffer.put(record);
+        writePosition = mappedBuffer.position();
+        return true;
+    }
+
+    /**
+     * Indicates if there are records in the segment which have not been read yet.
+     *
+     * @return <code>true</code> if there are unread records, <code>false</code> otherwise
+     */
+    boolean hasNext() {
+        return readPosition < writePosition;
+    }
+
+    /**
+     * Reads the next record from the segment.
+     *
+     * @return the next record
+     */
+    byte[] next() {
+        MappedByteBuffer mappedBuffer = getBuffer();
+        mappedBuffer.position(readPosition);
+        byte[] record = new byte[mappedBuffer.getInt()];
+        mappedBuffer.get(record);
+        readPosition = mappedBuffer.position();
+        return record;
+    }
+
+    /**
+     * Releases the mapping of the segment file. The file is mapped again when it is accessed next
+     * time.
+     */
+    void unmap() {
+        if (buffer == null) {
+            return;
+        }
+
+        // Make sure the buffer cannot be accessed after it is unmapped
+        MappedByteBuffer mappedBuffer = buffer;
+        buffer = null;
+        UNMAPPER.accept(mappedBuffer);
+    }
+
+    /**
+     * Releases the mapping of the segment file and deletes it.
+     */
+    void delete() {
+        LOGGER.debug("Deleting candidate segment {}", file);
+
+        unmap();
+        if (!file.delete()) {
+            LOGGER.debug("Failed to delete candidate segment {}", file);
+        }
+    }
+
+    /**
+     * Returns the memory-mapped buffer of the segment file, mapping the file if it is not mapped
+     * yet.
+     *
+     * @return the memory-mapped buffer of the segment file
+     */
+    private MappedByteBuffer getBuffer() {
+        if (buffer == null) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                buffer = channel.map(MapMode.READ_WRITE, 0, capacity);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+        return buffer;
+    }
+
+    /**
+     * Creates a function which releases the mapping of a memory-mapped buffer. Java 9 and later
+     * versions provide <code>Unsafe.invokeCleaner</code> for this purpose, while Java 8 exposes
+     * the cleaner of the buffer directly. If neither is accessible, the mapping is released when
+     * the buffer is garbage collected.
+     *
+     * @return the function which releases the mapping of a buffer
+     */
+    private static Consumer<ByteBuffer> createUnmapper() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field unsafeField = unsafeClass.getDeclaredField("theUnsafe");
+            unsafeField.setAccessible(true);
+            Object unsafe = unsafeField.get(null);
+
+            return mappedBuffer -> invokeQuietly(invokeCleaner, unsafe, mappedBuffer);
+        } catch (ReflectiveOperationException | RuntimeException exception) {
+            LOGGER.debug("Unsafe.invokeCleaner is not available", exception);
+        }
+
+        try {
+            Method cleanerMethod = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            Method cleanMethod = Class.forName("sun.misc.Cleaner").getMethod("clean");
+
+            return mappedBuffer -> invokeQuietly(cleanMethod,
+                    invokeQuietly(cleanerMethod, mappedBuffer));
+        } catch (ReflectiveOperationException | RuntimeException exception) {
+            LOGGER.debug("The cleaner of direct buffers is not available", exception);
+        }
+
+        return mappedBuffer -> {
+        };
+    }
+
+    /**
+     * Invokes a method, logging any failure instead of throwing an exception.
+     *
+     * @param method    the method to invoke
+     * @param target    the object the method is invoked on
+     * @param arguments the arguments of the method
+     *
+     * @return the return value of the method, or <code>null</code> if the invocation failed
+     */
+    private static Object invokeQuietly(
+            final Method method,
+            final Object target,
+            final Object... arguments) {
+        if (target == null) {
+            return null;
+        }
+
+        try {
+            return method.invoke(target, arguments);
+        } catch (ReflectiveOperationException | RuntimeException exception) {
+            LOGGER.debug("Failed to unmap candidate segment", exception);
+            return null;
+        }
+    }
+
+    /**
+     * Replaces the segment with its serialized form, which contains the unread records.
+     *
+     * @return the serialized form of the segment
+     */
+    private Object writeReplace() {
+        boolean isMapped = buffer != null;
+
+        ByteBuffer unreadBuffer = getBuffer().duplicate();
+        unreadBuffer.position(readPosition);
+        byte[] unreadRecords = new byte[writePosition - readPosition];
+        unreadBuffer.get(unreadRecords);
+
+        // Do not keep segments mapped which were only mapped to be serialized
+        if (!isMapped) {
+            unmap();
+        }
+
+        return new SerializedForm(file.getParentFile(), capacity, unreadRecords);
+    }
+
+    /**
+     * The serialized form of a segment, which contains the records that have not been read yet.
+     */
+    private static final class SerializedForm implements Serializable {
+
+        private final File directory;
+        private final int capacity;
+        private final byte[] unreadRecords;
+
+        /**
+         * Creates a {@link SerializedForm} instance.
+         *
+         * @param directory     the directory of the segment file
+         * @param capacity      the size of the segment file in bytes
+         * @param unreadRecords the length-prefixed records which have not been read yet
+         */
+        SerializedForm(final File directory, final int capacity, final byte[] unreadRecords) {
+            this.directory = directory;
+            this.capacity = capacity;
+            this.unreadRecords = unreadRecords;
+        }
+
+        /**
+         * Writes the unread records to a new segment file.
+         *
+         * @return the segment which contains the unread records
+         */
+        private Object readResolve() {
+            Validate.isTrue(directory.isDirectory() || directory.mkdirs(),
+                    "Failed to create the crawl frontier directory.");
+
+            CandidateSegment segment = create(directory, Math.max(capacity, unreadRecords.length),
+                    0);
+            MappedByteBuffer mappedBuffer = segment.getBuffer();
+            mappedBuffer.position(0);
+            mappedBuffer.put(unreadRecords);
+            segment.writePosition = mappedBuffer.position();
+            return segment;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import org.apache.commons.lang3.SerializationUtils;
+
+/**
+ * The compact form of a queued crawl candidate, created by a {@link CandidateEncoder}. The origin
+ * of the request URL and the referer URL are stored as IDs of the dictionaries of the encoder, and
+ * the rest of the request URL is stored as UTF-8 bytes. The metadata of the request is stored in a
+ * subclass, since most of the requests do not have any.
+ *
+ * <p>Compact candidates can also be converted to a binary record, for example to store them in a
+ * file. Only the metadata is serialized with Java serialization in this case.
+ */
+class CompactCandidate implements Serializable {
+
+    // Path length, metadata length, origin ID, referer ID, crawl depth, priority and retry count
+    private static final int RECORD_HEADER_SIZE = 7 * Integer.BYTES;
+    private static final int NO_METADATA_LENGTH = -1;
+
+    private final int originId;
+    private final int refererId;
+    private final byte[] pathAndQuery;
+    private final int crawlDepth;
+    private final int priority;
+    private final int retryCount;
+
+    /**
+     * Creates a {@link CompactCandidate} instance.
+     *
+     * @param originId     the ID of the scheme and authority of the request URL
+     * @param refererId    the ID of the referer URL, or a negative number if there is none
+     * @param pathAndQuery the raw path, query and fragment of the request URL in UTF-8
+     * @param crawlDepth   the crawl depth of the candidate
+     * @param priority     the priority of the request
+     * @param retryCount   the number of times the crawling of the candidate has been retried
+     */
+    CompactCandidate(
+            final int originId,
+            final int refererId,
+            final byte[] pathAndQuery,
+            final int crawlDepth,
+            final int priority,
+            final int retryCount) {
+        this.originId = originId;
+        this.refererId = refererId;
+        this.pathAndQuery = pathAndQuery;
+        this.crawlDepth = crawlDepth;
+        this.priority = priority;
+        this.retryCount = retryCount;
+    }
+
+    int getOriginId() {
+        return originId;
+    }
+
+    int getRefererId() {
+        return refererId;
+    }
+
+    byte[] getPathAndQuery() {
+        return pathAndQuery;
+    }
+
+    int getCrawlDepth() {
+        return crawlDepth;
+    }
+
+    int getPriority() {
+        return priority;
+    }
+
+    int getRetryCount() {
+        return retryCount;
+    }
+
+    Serializable getMetadata() {
+        return null;
+    }
+
+    /**
+     * Creates a compact candidate, which stores the metadata only if there is any.
+     *
+     * @param originId     the ID of the scheme and authority of the request URL
+     * @param refererId    the ID of the referer URL, or a negative number if there is none
+     * @param pathAndQuery the raw path, query and fragment of the request URL in UTF-8
+     * @param crawlDepth   the crawl depth of the candidate
+     * @param priority     the priority of the request
+     * @param retryCount   the number of times the crawling of the candidate has been retried
+     * @param metadata     the metadata associated with the request, or <code>null</code>
+     *
+     * @return the compact candidate
+     */
+    static CompactCandidate create(
+            final int originId,
+            final int refererId,
+            final byte[] pathAndQuery,
+            final int crawlDepth,
+            final int priority,
+            final int retryCount,
+            final Serializable metadata) {
+        if (metadata == null) {
+            return new CompactCandidate(originId, refererId, pathAndQuery, crawlDepth, priority,
+                    retryCount);
+        }
+
+        return new WithMetadata(originId, refererId, pathAndQuery, crawlDepth, priority,
+                retryCount, metadata);
+    }
+
+    /**
+     * Converts the compact candidate to a binary record.
+     *
+     * @return the binary record of the compact candidate
+     */
+    byte[] toBytes() {
+        Serializable metadata = getMetadata();
+        byte[] serializedMetadata = metadata != null
+                ? SerializationUtils.serialize(metadata)
+                : new byte[0];
+
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_SIZE + pathAndQuery.length
+                + serializedMetadata.length);
+        buffer.putInt(pathAndQuery.length)
+                .put(pathAndQuery)
+                .putInt(metadata != null ? serializedMetadata.length : NO_METADATA_LENGTH)
+                .put(serializedMetadata)
+                .putInt(originId)
+                .putInt(refererId)
+                .putInt(crawlDepth)
+                .putInt(priority)
+                .putInt(retryCount);
+
+        return buffer.array();
+    }
+
+    /**
+     * Creates a compact candidate from its binary record.
+     *
+     * @param record the binary record created by {@link #toBytes()}
+     *
+     * @return the compact candidate
+     */
+    static CompactCandidate fromBytes(final byte[] record) {
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        byte[] pathAndQuery = new byte[buffer.getInt()];
+        buffer.get(pathAndQuery);
+
+        Serializable metadata = null;
+        int metadataLength = buffer.getInt();
+        if (metadataLength != NO_METADATA_LENGTH) {
+            byte[] serializedMetadata = new byte[metadataLength];
+            buffer.get(serializedMetadata);
+            metadata = SerializationUtils.deserialize(serializedMetadata);
+        }
+
+        // The arguments are evaluated from left to right, in the order of the record
+        return create(buffer.getInt(), buffer.getInt(), pathAndQuery, buffer.getInt(),
+                buffer.getInt(), buffer.getInt(), metadata);
+    }
+
+    /**
+     * The compact form of a queued crawl candidate whose request has metadata.
+     */
+    static final class WithMetadata extends CompactCandidate {
+
+        private final Serializable metadata;
+
+        /**
+         * Creates a {@link WithMetadata} instance.
+         *
+         * @param originId     the ID of the scheme and authority of the request URL
+         * @param refererId    the ID of the referer URL, or a negative number if there is none
+         * @param pathAndQuery the raw path, query and fragment of the request URL in UTF-8
+         * @param crawlDepth   the crawl depth of the candidate
+         * @param priority     the priority of the request
+         * @param retryCount   the number of times the crawling of the candidate has been retried
+         * @param metadata     the metadata associated with the request
+         */
+        WithMetadata(
+                final int originId,
+                final int refererId,
+                final byte[] pathAndQuery,
+                final int crawlDepth,
+                final int priority,
+                final int retryCount,
+                final Serializable metadata) {
+            super(originId, refererId, pathAndQuery, crawlDepth, priority, retryCount);
+
+            this.metadata = metadata;
+        }
+
+        @Override
+        Serializable getMetadata() {
+            return metadata;
+        }
+    }
+}
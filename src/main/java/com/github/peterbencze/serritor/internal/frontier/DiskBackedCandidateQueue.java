@@ -0,0 +1,261 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import com.github.peterbencze.serritor.api.CrawlCandidate;
+import com.github.peterbencze.serritor.api.CrawlStrategy;
+import java.io.File;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A candidate queue which keeps only a small head buffer of crawl candidates in the heap for each
+ * crawl depth and priority (band), and appends the rest to memory-mapped segment files. Within a
+ * band, candidates are served in the order they were added. Since the bands are ordered the same
+ * way as the in-memory queue orders the candidates, the crawl strategy is preserved.
+ *
+ * <p>Spilled candidates are encoded with a {@link CandidateEncoder} and stored as compact binary
+ * records. Segment files are unmapped and deleted as soon as they have been read entirely.
+ */
+public final class DiskBackedCandidateQueue implements CandidateQueue {
+
+    static final int DEFAULT_SEGMENT_SIZE_IN_BYTES = 16 * 1024 * 1024;
+
+    private final File directory;
+    private final int headBufferSize;
+    private final int segmentSizeInBytes;
+    private final CandidateEncoder encoder;
+
+    // Crawl depth -> priority -> band
+    private final NavigableMap<Integer, NavigableMap<Integer, CandidateBand>> bands;
+
+    /**
+     * Creates a {@link DiskBackedCandidateQueue} instance.
+     *
+     * @param crawlStrategy      the crawl strategy which determines the order of the candidates
+     * @param directory          the directory of the segment files
+     * @param headBufferSize     the maximum number of candidates kept in memory in each band
+     * @param segmentSizeInBytes the size of the segment files in bytes
+     */
+    DiskBackedCandidateQueue(
+            final CrawlStrategy crawlStrategy,
+            final File directory,
+            final int headBufferSize,
+            final int segmentSizeInBytes) {
+        Validate.isTrue(directory.isDirectory() || directory.mkdirs(),
+                "Failed to create the crawl frontier directory.");
+
+        this.directory = directory;
+        this.headBufferSize = headBufferSize;
+        this.segmentSizeInBytes = segmentSizeInBytes;
+        encoder = new CandidateEncoder();
+
+        switch (crawlStrategy) {
+            case BREADTH_FIRST:
+                bands = new TreeMap<>(Comparator.naturalOrder());
+                break;
+            case DEPTH_FIRST:
+                bands = new TreeMap<>(Comparator.reverseOrder());
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported crawl strategy");
+        }
+    }
+
+    /**
+     * Creates a {@link DiskBackedCandidateQueue} instance.
+     *
+     * @param crawlStrategy  the crawl strategy which determines the order of the candidates
+     * @param directory      the directory of the segment files
+     * @param headBufferSize the maximum number of candidates kept in memory in each band
+     */
+    public DiskBackedCandidateQueue(
+            final CrawlStrategy crawlStrategy,
+            final File directory,
+            final int headBufferSize) {
+        this(crawlStrategy, directory, headBufferSize, DEFAULT_SEGMENT_SIZE_IN_BYTES);
+    }
+
+    /**
+     * Adds a crawl candidate to the queue.
+     *
+     * @param candidate the crawl candidate
+     */
+    @Override
+    public void add(final CrawlCandidate candidate) {
+        bands.computeIfAbsent(candidate.getCrawlDepth(),
+                crawlDepth -> new TreeMap<>(Comparator.reverseOrder()))
+                .computeIfAbsent(candidate.getPriority(), priority -> new CandidateBand())
+                .add(candidate);
+    }
+
+    /**
+     * Indicates if the queue contains no candidates.
+     *
+     * @return <code>true</code> if the queue is empty, <code>false</code> otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        // Empty bands are removed eagerly
+        return bands.isEmpty();
+    }
+
+    /**
+     * Retrieves and removes the head of the queue.
+     *
+     * @return the head of the queue, or <code>null</code> if the queue is empty
+     */
+    @Override
+    public CrawlCandidate poll() {
+        if (bands.isEmpty()) {
+            return null;
+        }
+
+        // Empty bands are removed eagerly, so the first band always has a candidate
+        NavigableMap<Integer, CandidateBand> bandsOfDepth = bands.firstEntry().getValue();
+        CandidateBand band = bandsOfDepth.firstEntry().getValue();
+
+        CrawlCandidate candidate = band.poll();
+        if (band.isEmpty()) {
+            bandsOfDepth.pollFirstEntry();
+            if (bandsOfDepth.isEmpty()) {
+                bands.pollFirstEntry();
+            }
+        }
+
+        return candidate;
+    }
+
+    /**
+     * Removes all the candidates from the queue and deletes the segment files.
+     */
+    @Override
+    public void clear() {
+        bands.values().forEach(bandsOfDepth -> bandsOfDepth.values().forEach(CandidateBand::clear));
+        bands.clear();
+        encoder.clear();
+    }
+
+    /**
+     * The candidates of a single crawl depth and priority. New candidates are appended to the
+     * segment files once the head buffer is full or there are candidates on disk already, so the
+     * candidates are served in insertion order.
+     */
+    private final class CandidateBand implements Serializable {
+
+        private final Deque<CrawlCandidate> headBuffer;
+        private final Deque<CandidateSegment> segments;
+        private long spilledCandidateCount;
+
+        /**
+         * Creates a {@link CandidateBand} instance.
+         */
+        CandidateBand() {
+            headBuffer = new ArrayDeque<>();
+            segments = new ArrayDeque<>();
+        }
+
+        /**
+         * Adds a crawl candidate to the band.
+         *
+         * @param candidate the crawl candidate
+         */
+        void add(final CrawlCandidate candidate) {
+            if (spilledCandidateCount == 0 && headBuffer.size() < headBufferSize) {
+                headBuffer.add(candidate);
+                return;
+            }
+
+            byte[] record = encoder.encode(candidate).toBytes();
+            CandidateSegment lastSegment = segments.peekLast();
+            if (lastSegment == null || !lastSegment.append(record)) {
+                // The full segment is not written anymore, it is mapped again once it is read
+                if (lastSegment != null && lastSegment != segments.peekFirst()) {
+                    lastSegment.unmap();
+                }
+
+                CandidateSegment newSegment =
+                        CandidateSegment.create(directory, segmentSizeInBytes, record.length);
+                newSegment.append(record);
+                segments.add(newSegment);
+            }
+
+            ++spilledCandidateCount;
+        }
+
+        /**
+         * Indicates if the band contains no candidates.
+         *
+         * @return <code>true</code> if the band is empty, <code>false</code> otherwise
+         */
+        boolean isEmpty() {
+            return headBuffer.isEmpty() && spilledCandidateCount == 0;
+        }
+
+        /**
+         * Retrieves and removes the first candidate of the band.
+         *
+         * @return the first candidate of the band
+         */
+        CrawlCandidate poll() {
+            CrawlCandidate candidate = headBuffer.poll();
+            if (headBuffer.isEmpty()) {
+                refillHeadBuffer();
+            }
+
+            return candidate;
+        }
+
+        /**
+         * Removes all the candidates from the band and deletes its segment files.
+         */
+        void clear() {
+            headBuffer.clear();
+            segments.forEach(CandidateSegment::delete);
+            segments.clear();
+            spilledCandidateCount = 0;
+        }
+
+        /**
+         * Moves candidates from the segment files to the head buffer, deleting the segment files
+         * which have been read entirely.
+         */
+        private void refillHeadBuffer() {
+            while (headBuffer.size() < headBufferSize && spilledCandidateCount > 0) {
+                CandidateSegment firstSegment = segments.getFirst();
+                if (!firstSegment.hasNext()) {
+                    segments.removeFirst().delete();
+                    continue;
+                }
+
+                headBuffer.add(encoder.decode(CompactCandidate.fromBytes(firstSegment.next())));
+                --spilledCandidateCount;
+            }
+
+            // Do not keep the last segment file if it has been read entirely
+            if (spilledCandidateCount == 0) {
+                segments.forEach(CandidateSegment::delete);
+                segments.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * A seen URL filter which stores every fingerprint, so it never reports a new URL as seen. The
+ * fingerprints are stored as pairs of <code>long</code> values in an open-addressing hash table
+ * with linear probing, either in the heap or in direct (off-heap) memory. Off-heap memory is
+ * released when the filter is garbage collected.
+ *
+ * <p>The all-zero fingerprint marks the empty slots of the table, so it is tracked separately.
+ * Since the fingerprints are uniformly distributed, their lower bits are used as the hash.
+ */
+public final class ExactSeenUrlFilter implements SeenUrlFilter {
+
+    private static final long INITIAL_SLOT_COUNT = 1 << 10;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+
+    // Large tables are split into chunks, since a buffer can hold at most 2^31 - 1 values
+    private static final int CHUNK_SHIFT = 24;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final boolean isOffHeap;
+
+    private transient LongBuffer[] chunks;
+    private transient long slotCount;
+    private transient long size;
+    private transient boolean containsZeroFingerprint;
+
+    /**
+     * Creates a {@link ExactSeenUrlFilter} instance.
+     *
+     * @param isOffHeap <code>true</code> if the fingerprints should be stored in direct memory,
+     *                  <code>false</code> if they should be stored in the heap
+     */
+    public ExactSeenUrlFilter(final boolean isOffHeap) {
+        this.isOffHeap = isOffHeap;
+
+        clear();
+    }
+
+    /**
+     * Records the fingerprint of a URL.
+     *
+     * @param urlFingerprint the fingerprint of the URL
+     *
+     * @return <code>true</code> if the fingerprint has not been seen before, <code>false</code>
+     *         otherwise
+     */
+    @Override
+    public boolean add(final UrlFingerprint urlFingerprint) {
+        long high = urlFingerprint.getHigh();
+        long low = urlFingerprint.getLow();
+        if (high == 0 && low == 0) {
+            boolean isNew = !containsZeroFingerprint;
+            containsZeroFingerprint = true;
+            return isNew;
+        }
+
+        if (size + 1 > slotCount * MAX_LOAD_FACTOR) {
+            resize(slotCount * 2);
+        }
+
+        return insert(high, low);
+    }
+
+    /**
+     * Forgets all the recorded fingerprints.
+     */
+    @Override
+    public void clear() {
+        allocate(INITIAL_SLOT_COUNT);
+        containsZeroFingerprint = false;
+    }
+
+    /**
+     * Returns the number of recorded fingerprints.
+     *
+     * @return the number of recorded fingerprints
+     */
+    long size() {
+        return containsZeroFingerprint ? size + 1 : size;
+    }
+
+    /**
+     * Inserts a non-zero fingerprint into the table, which must have a free slot.
+     *
+     * @param high the upper 64 bits of the fingerprint
+     * @param low  the lower 64 bits of the fingerprint
+     *
+     * @return <code>true</code> if the fingerprint was inserted, <code>false</code> if it was
+     *         already in the table
+     */
+    private boolean insert(final long high, final long low) {
+        long mask = slotCount - 1;
+        long slot = low & mask;
+        while (true) {
+            long slotHigh = get(2 * slot);
+            long slotLow = get(2 * slot + 1);
+            if (slotHigh == 0 && slotLow == 0) {
+                set(2 * slot, high);
+                set(2 * slot + 1, low);
+                ++size;
+                return true;
+            }
+
+            if (slotHigh == high && slotLow == low) {
+                return false;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Moves the fingerprints to a new table with the given number of slots.
+     *
+     * @param newSlotCount the number of slots of the new table (should be a power of two)
+     */
+    private void resize(final long newSlotCount) {
+        LongBuffer[] oldChunks = chunks;
+        long oldSlotCount = slotCount;
+
+        allocate(newSlotCount);
+        for (long slot = 0; slot < oldSlotCount; ++slot) {
+            long high = getFromChunks(oldChunks, 2 * slot);
+            long low = getFromChunks(oldChunks, 2 * slot + 1);
+            if (high != 0 || low != 0) {
+                insert(high, low);
+            }
+        }
+    }
+
+    /**
+     * Allocates a new, empty table with the given number of slots.
+     *
+     * @param newSlotCount the number of slots of the new table (should be a power of two)
+     */
+    private void allocate(final long newSlotCount) {
+        long valueCount = 2 * newSlotCount;
+        chunks = new LongBuffer[(int) ((valueCount + CHUNK_SIZE - 1) >>> CHUNK_SHIFT)];
+        for (int i = 0; i < chunks.length; ++i) {
+            int chunkSize = (int) Math.min(CHUNK_SIZE, valueCount - ((long) i << CHUNK_SHIFT));
+            chunks[i] = isOffHeap
+                    ? ByteBuffer.allocateDirect(chunkSize * Long.BYTES)
+                            .order(ByteOrder.nativeOrder())
+                            .asLongBuffer()
+                    : LongBuffer.wrap(new long[chunkSize]);
+        }
+
+        slotCount = newSlotCount;
+        size = 0;
+    }
+
+    /**
+     * Returns a value of the table.
+     *
+     * @param index the index of the value
+     *
+     * @return the value at the given index
+     */
+    private long get(final long index) {
+        return getFromChunks(chunks, index);
+    }
+
+    /**
+     * Sets a value of the table.
+     *
+     * @param index the index of the value
+     * @param value the new value
+     */
+    private void set(final long index, final long value) {
+        chunks[(int) (index >>> CHUNK_SHIFT)].put((int) (index & CHUNK_MASK), value);
+    }
+
+    /**
+     * Returns a value of a table.
+     *
+     * @param chunks the chunks of the table
+     * @param index  the index of the value
+     *
+     * @return the value at the given index
+     */
+    private static long getFromChunks(final LongBuffer[] chunks, final long index) {
+        return chunks[(int) (index >>> CHUNK_SHIFT)].get((int) (index & CHUNK_MASK));
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+
+        // Only the fingerprints are written, the table is rebuilt when reading them back
+        out.writeBoolean(containsZeroFingerprint);
+        out.writeLong(size);
+        for (long slot = 0; slot < slotCount; ++slot) {
+            long high = get(2 * slot);
+            long low = get(2 * slot + 1);
+            if (high != 0 || low != 0) {
+                out.writeLong(high);
+                out.writeLong(low);
+            }
+        }
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+
+        containsZeroFingerprint = in.readBoolean();
+        long fingerprintCount = in.readLong();
+
+        long newSlotCount = INITIAL_SLOT_COUNT;
+        while (fingerprintCount > newSlotCount * MAX_LOAD_FACTOR) {
+            newSlotCount *= 2;
+        }
+
+        allocate(newSlotCount);
+        for (long i = 0; i < fingerprintCount; ++i) {
+            insert(in.readLong(), in.readLong());
+        }
+    }
+}
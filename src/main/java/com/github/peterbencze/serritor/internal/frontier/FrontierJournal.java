@@ -0,0 +1,801 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import com.github.peterbencze.serritor.api.CrawlCandidate;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only journal of the changes of the crawl frontier. The fingerprints of the seen URLs
+ * are appended to a log which is never compacted, since the seen URLs are never forgotten. The
+ * added and the processed crawl candidates are appended to a separate log, which is compacted
+ * into a snapshot of the pending candidates once it has more records than the snapshot would
+ * have. The logs are flushed to the operating system after each change and synced to disk
+ * periodically, so a crash of the machine loses at most the changes of the last sync interval.
+ *
+ * <p>A candidate stays pending until it is processed, so the candidates which were in progress
+ * when the crawler crashed are recovered as well. Only the IDs of the pending candidates are kept
+ * in memory, looked up by a 128-bit hash of the properties of the candidates instead of their
+ * identity, since the candidate queues may rebuild the candidates which are polled from them.
+ *
+ * <p>The candidate log is compacted in the background: the log is closed and renamed, new records
+ * are appended to a new log, and the pending candidates of the previous snapshot and the renamed
+ * log are copied to a new snapshot. Since replaying the records is idempotent, the journal is
+ * recovered correctly at any point of the compaction.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class FrontierJournal {
+
+    static final long DEFAULT_SYNC_INTERVAL_IN_MILLIS = 1_000;
+    static final int DEFAULT_MIN_COMPACTION_RECORD_COUNT = 100_000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FrontierJournal.class);
+
+    private static final String SEEN_URL_LOG_FILE_NAME = "seen-urls.log";
+    private static final String CANDIDATE_LOG_FILE_NAME = "candidates.log";
+    private static final String COMPACTING_CANDIDATE_LOG_FILE_NAME = "candidates.log.compacting";
+    private static final String CANDIDATE_SNAPSHOT_FILE_NAME = "candidates.snapshot";
+    private static final String TEMPORARY_FILE_SUFFIX = ".tmp";
+
+    private static final byte ADDED_RECORD_TYPE = 1;
+    private static final byte COMPLETED_RECORD_TYPE = 2;
+
+    private static final int SEEN_URL_RECORD_SIZE = 2 * Long.BYTES;
+    private static final int ADDED_RECORD_HEADER_SIZE =
+            Byte.BYTES + 3 * Long.BYTES + Integer.BYTES;
+    private static final int COMPLETED_RECORD_SIZE = Byte.BYTES + Long.BYTES;
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private static final ExecutorService COMPACTION_EXECUTOR =
+            Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("frontier-journal-compaction-%d")
+                    .setDaemon(true)
+                    .build());
+
+    private final File directory;
+    private final long syncIntervalInNanos;
+    private final int minCompactionRecordCount;
+
+    // Equal candidates may be pending multiple times
+    private final Map<CandidateKey, Deque<Long>> pendingCandidateIds;
+
+    private LogWriter seenUrlLog;
+    private LogWriter candidateLog;
+    private long candidateLogRecordCount;
+    private long pendingCandidateCount;
+    private long nextCandidateId;
+    private long lastSyncTime;
+
+    // Incremented when the journal is cleared, so an outdated compaction can be discarded
+    private long generation;
+    private Future<?> compaction;
+
+    /**
+     * Creates a {@link FrontierJournal} instance.
+     *
+     * @param directory                the directory of the journal files
+     * @param syncIntervalInMillis     the maximum time between syncing the logs to disk
+     * @param minCompactionRecordCount the minimum number of records in the candidate log before
+     *                                 it is compacted
+     */
+    FrontierJournal(
+            final File directory,
+            final long syncIntervalInMillis,
+            final int minCompactionRecordCount) {
+        Validate.isTrue(directory.isDirectory() || directory.mkdirs(),
+                "Failed to create the crawl frontier journal directory.");
+
+        this.directory = directory;
+        this.minCompactionRecordCount = minCompactionRecordCount;
+        syncIntervalInNanos = TimeUnit.MILLISECONDS.toNanos(syncIntervalInMillis);
+        pendingCandidateIds = new HashMap<>();
+    }
+
+    /**
+     * Creates a {@link FrontierJournal} instance.
+     *
+     * @param directory the directory of the journal files
+     */
+    public FrontierJournal(final File directory) {
+        this(directory, DEFAULT_SYNC_INTERVAL_IN_MILLIS, DEFAULT_MIN_COMPACTION_RECORD_COUNT);
+    }
+
+    /**
+     * Replays the journal files and opens the logs for appending. Records which were only
+     * partially written before a crash are discarded. Must be called before any change is
+     * recorded.
+     *
+     * <p>The candidate files are read twice: first to find out which candidates are pending,
+     * then to read the pending candidates, so the completed ones are never held in memory.
+     *
+     * @param seenUrlConsumer          the operation to invoke with each seen URL fingerprint
+     * @param pendingCandidateConsumer the operation to invoke with each pending crawl candidate,
+     *                                 in the order they were added
+     *
+     * @return <code>true</code> if the journal contained any records, <code>false</code> otherwise
+     */
+    public synchronized boolean recover(
+            final Consumer<UrlFingerprint> seenUrlConsumer,
+            final Consumer<CrawlCandidate> pendingCandidateConsumer) {
+        Validate.validState(seenUrlLog == null, "The journal is already recovered.");
+
+        try {
+            File seenUrlLogFile = new File(directory, SEEN_URL_LOG_FILE_NAME);
+            long journalLength = readSeenUrlLog(seenUrlLogFile, seenUrlConsumer);
+            seenUrlLog = LogWriter.open(seenUrlLogFile, journalLength);
+
+            // The keys of the pending candidates by their ID
+            Map<Long, CandidateKey> pendingCandidateKeys = new HashMap<>();
+            CandidateRecordConsumer pendingCandidateKeyCollector =
+                    (recordType, id, key, record) -> {
+                        if (recordType == ADDED_RECORD_TYPE) {
+                            pendingCandidateKeys.put(id, key);
+                        } else {
+                            pendingCandidateKeys.remove(id);
+                        }
+
+                        nextCandidateId = Math.max(nextCandidateId, id + 1);
+                    };
+
+            File candidateLogFile = new File(directory, CANDIDATE_LOG_FILE_NAME);
+            journalLength += readCandidateRecords(getSnapshotFile(), pendingCandidateKeyCollector);
+            journalLength += readCandidateRecords(getCompactingLogFile(),
+                    pendingCandidateKeyCollector);
+            long candidateLogLength = readCandidateRecords(candidateLogFile,
+                    (recordType, id, key, record) -> {
+                        pendingCandidateKeyCollector.accept(recordType, id, key, record);
+                        ++candidateLogRecordCount;
+                    });
+            journalLength += candidateLogLength;
+
+            // Candidates may be in both the snapshot and the compacting log after a crash
+            CandidateRecordConsumer pendingCandidateReader = (recordType, id, key, record) -> {
+                if (recordType == ADDED_RECORD_TYPE && pendingCandidateKeys.remove(id) != null) {
+                    addPendingCandidateId(key, id);
+                    pendingCandidateConsumer.accept(SerializationUtils.deserialize(record));
+                }
+            };
+            readCandidateRecords(getSnapshotFile(), pendingCandidateReader);
+            readCandidateRecords(getCompactingLogFile(), pendingCandidateReader);
+            readCandidateRecords(candidateLogFile, pendingCandidateReader);
+
+            candidateLog = LogWriter.open(candidateLogFile, candidateLogLength);
+            lastSyncTime = System.nanoTime();
+
+            LOGGER.debug("Recovered {} pending crawl candidates from the journal",
+                    pendingCandidateCount);
+
+            return journalLength > 0;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Records the fingerprints of the newly seen URLs and the crawl candidates which were added
+     * to the crawl frontier.
+     *
+     * @param seenUrlFingerprints the fingerprints of the newly seen URLs
+     * @param candidates          the added crawl candidates
+     */
+    public synchronized void recordFedCandidates(
+            final List<UrlFingerprint> seenUrlFingerprints,
+            final List<CrawlCandidate> candidates) {
+        try {
+            DataOutputStream out = getSeenUrlLog().getOutput();
+            for (UrlFingerprint urlFingerprint : seenUrlFingerprints) {
+                out.writeLong(urlFingerprint.getHigh());
+                out.writeLong(urlFingerprint.getLow());
+            }
+
+            for (CrawlCandidate candidate : candidates) {
+                appendAddedRecord(candidate);
+            }
+
+            onChange();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Records a crawl candidate which was put back to the crawl frontier. Candidates which are
+     * requeued unchanged are still pending, so only new ones (e.g. retried candidates) are
+     * appended to the log.
+     *
+     * @param candidate the requeued crawl candidate
+     */
+    public synchronized void recordRequeuedCandidate(final CrawlCandidate candidate) {
+        if (pendingCandidateIds.containsKey(CandidateKey.of(candidate))) {
+            return;
+        }
+
+        recordAddedCandidate(candidate);
+    }
+
+    /**
+     * Records a crawl candidate which was added to the crawl frontier, even if an equal candidate
+     * is pending already (e.g. the revisit of a candidate which is in progress).
+     *
+     * @param candidate the added crawl candidate
+     */
+    public synchronized void recordAddedCandidate(final CrawlCandidate candidate) {
+        try {
+            appendAddedRecord(candidate);
+            onChange();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Records a crawl candidate which has been processed, so it is not recovered anymore.
+     *
+     * @param candidate the processed crawl candidate
+     */
+    public synchronized void recordCompletedCandidate(final CrawlCandidate candidate) {
+        CandidateKey key = CandidateKey.of(candidate);
+        Deque<Long> ids = pendingCandidateIds.get(key);
+        if (ids == null) {
+            // The journal was cleared while the candidate was in progress
+            return;
+        }
+
+        // Equal candidates are interchangeable, so any of their records can be completed
+        long id = ids.poll();
+        if (ids.isEmpty()) {
+            pendingCandidateIds.remove(key);
+        }
+
+        --pendingCandidateCount;
+
+        try {
+            DataOutputStream out = getCandidateLog().getOutput();
+            out.writeByte(COMPLETED_RECORD_TYPE);
+            out.writeLong(id);
+            ++candidateLogRecordCount;
+
+            onChange();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Syncs the logs to disk, so all the changes recorded so far survive a crash, and waits for
+     * the compaction in progress, so the journal files are not changed afterwards.
+     */
+    public void checkpoint() {
+        Future<?> compactionInProgress;
+        synchronized (this) {
+            try {
+                sync();
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+
+            compactionInProgress = compaction;
+        }
+
+        // The compaction needs the lock to finish
+        if (compactionInProgress != null) {
+            Futures.getUnchecked(compactionInProgress);
+        }
+    }
+
+    /**
+     * Removes all the records from the journal.
+     */
+    public synchronized void clear() {
+        LOGGER.debug("Clearing the crawl frontier journal");
+
+        ++generation;
+
+        try {
+            getSeenUrlLog().close();
+            getCandidateLog().close();
+            Files.deleteIfExists(getSnapshotFile().toPath());
+            Files.deleteIfExists(getCompactingLogFile().toPath());
+
+            seenUrlLog = LogWriter.open(new File(directory, SEEN_URL_LOG_FILE_NAME), 0);
+            candidateLog = LogWriter.open(new File(directory, CANDIDATE_LOG_FILE_NAME), 0);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        pendingCandidateIds.clear();
+        pendingCandidateCount = 0;
+        candidateLogRecordCount = 0;
+    }
+
+    /**
+     * Appends a record of an added crawl candidate to the candidate log.
+     *
+     * @param candidate the added crawl candidate
+     */
+    private void appendAddedRecord(final CrawlCandidate candidate) throws IOException {
+        long id = nextCandidateId++;
+        CandidateKey key = CandidateKey.of(candidate);
+
+        writeAddedRecord(getCandidateLog().getOutput(), id, key,
+                SerializationUtils.serialize(candidate));
+
+        addPendingCandidateId(key, id);
+        ++candidateLogRecordCount;
+    }
+
+    /**
+     * Adds the ID of a pending crawl candidate to the lookup by its key.
+     *
+     * @param key the key of the pending crawl candidate
+     * @param id  the ID of the candidate
+     */
+    private void addPendingCandidateId(final CandidateKey key, final long id) {
+        pendingCandidateIds.computeIfAbsent(key, candidateKey -> new ArrayDeque<>()).add(id);
+        ++pendingCandidateCount;
+    }
+
+    /**
+     * Starts compacting the candidate log if needed, flushes the logs and syncs them to disk if
+     * the sync interval has elapsed.
+     */
+    private void onChange() throws IOException {
+        // Writing the snapshot takes as long as appending the records, so this is amortized
+        boolean isCompactionInProgress = compaction != null && !compaction.isDone();
+        if (!isCompactionInProgress && candidateLogRecordCount >= Math.max(
+                minCompactionRecordCount, pendingCandidateCount)) {
+            startCompaction();
+        }
+
+        seenUrlLog.getOutput().flush();
+        candidateLog.getOutput().flush();
+
+        if (System.nanoTime() - lastSyncTime >= syncIntervalInNanos) {
+            sync();
+        }
+    }
+
+    /**
+     * Renames the candidate log and starts writing a new one, then compacts the renamed log in
+     * the background. If a previous compaction did not finish, its renamed log is compacted
+     * first.
+     */
+    private void startCompaction() throws IOException {
+        LOGGER.debug("Compacting the candidate log ({} records, {} pending candidates)",
+                candidateLogRecordCount, pendingCandidateCount);
+
+        // The seen URLs of the pending candidates should not be lost while they are recoverable
+        seenUrlLog.sync();
+
+        File compactingLogFile = getCompactingLogFile();
+        if (!compactingLogFile.exists()) {
+            File candidateLogFile = new File(directory, CANDIDATE_LOG_FILE_NAME);
+            candidateLog.sync();
+            candidateLog.close();
+            Files.move(candidateLogFile.toPath(), compactingLogFile.toPath(),
+                    StandardCopyOption.ATOMIC_MOVE);
+
+            candidateLog = LogWriter.open(candidateLogFile, 0);
+            candidateLogRecordCount = 0;
+        }
+
+        long compactedGeneration = generation;
+        compaction = COMPACTION_EXECUTOR.submit(() -> compact(compactedGeneration));
+    }
+
+    /**
+     * Writes the pending crawl candidates of the snapshot and the compacting log to a new
+     * snapshot, which atomically replaces the previous one, then deletes the compacting log. The
+     * files are only read and written without holding the lock, since they are not changed by
+     * the other operations.
+     *
+     * @param compactedGeneration the generation of the journal when the compaction was started
+     */
+    private void compact(final long compactedGeneration) {
+        File snapshotFile = getSnapshotFile();
+        File compactingLogFile = getCompactingLogFile();
+        File temporaryFile = new File(directory, CANDIDATE_SNAPSHOT_FILE_NAME
+                + TEMPORARY_FILE_SUFFIX);
+
+        try {
+            Set<Long> completedCandidateIds = new HashSet<>();
+            readCandidateRecords(compactingLogFile, (recordType, id, key, record) -> {
+                if (recordType == COMPLETED_RECORD_TYPE) {
+                    completedCandidateIds.add(id);
+                }
+            });
+
+            try (FileOutputStream fileOut = new FileOutputStream(temporaryFile);
+                    DataOutputStream out =
+                            new DataOutputStream(new BufferedOutputStream(fileOut))) {
+                CandidateRecordConsumer pendingCandidateWriter = (recordType, id, key, record) -> {
+                    if (recordType == ADDED_RECORD_TYPE && !completedCandidateIds.contains(id)) {
+                        writeAddedRecord(out, id, key, record);
+                    }
+                };
+                readCandidateRecords(snapshotFile, pendingCandidateWriter);
+                readCandidateRecords(compactingLogFile, pendingCandidateWriter);
+
+                out.flush();
+                fileOut.getFD().sync();
+            }
+
+            synchronized (this) {
+                if (compactedGeneration != generation) {
+                    // The journal was cleared during the compaction
+                    Files.deleteIfExists(temporaryFile.toPath());
+                    return;
+                }
+
+                Files.move(temporaryFile.toPath(), snapshotFile.toPath(),
+                        StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+                // Replaying the log on top of the new snapshot is idempotent, so a crash here is
+                // harmless
+                Files.delete(compactingLogFile.toPath());
+            }
+
+            LOGGER.debug("Compacted the candidate log");
+        } catch (IOException exception) {
+            // The compacting log is kept, so the compaction is retried on the next change
+            LOGGER.debug("Failed to compact the candidate log", exception);
+        }
+    }
+
+    /**
+     * Syncs the logs to disk.
+     */
+    private void sync() throws IOException {
+        getSeenUrlLog().sync();
+        getCandidateLog().sync();
+        lastSyncTime = System.nanoTime();
+    }
+
+    /**
+     * Returns the snapshot file of the pending crawl candidates.
+     *
+     * @return the snapshot file of the pending crawl candidates
+     */
+    private File getSnapshotFile() {
+        return new File(directory, CANDIDATE_SNAPSHOT_FILE_NAME);
+    }
+
+    /**
+     * Returns the file of the candidate log which is being compacted.
+     *
+     * @return the file of the candidate log which is being compacted
+     */
+    private File getCompactingLogFile() {
+        return new File(directory, COMPACTING_CANDIDATE_LOG_FILE_NAME);
+    }
+
+    /**
+     * Reads the seen URL log.
+     *
+     * @param file     the seen URL log file
+     * @param consumer the operation to invoke with each seen URL fingerprint
+     *
+     * @return the length of the valid part of the log in bytes
+     */
+    private static long readSeenUrlLog(
+            final File file,
+            final Consumer<UrlFingerprint> consumer) throws IOException {
+        if (!file.exists()) {
+            return 0;
+        }
+
+        long validLength = 0;
+        try (DataInputStream in = openInput(file)) {
+            while (true) {
+                long high = in.readLong();
+                long low = in.readLong();
+
+                consumer.accept(new UrlFingerprint(high, low));
+                validLength += SEEN_URL_RECORD_SIZE;
+            }
+        } catch (EOFException exception) {
+            // The end of the log, or a partially written record
+        }
+
+        return validLength;
+    }
+
+    /**
+     * Reads the records of a candidate log or snapshot. The snapshot has the same format as the
+     * log, but it only contains records of added candidates.
+     *
+     * @param file     the candidate log or snapshot file
+     * @param consumer the operation to invoke with each record
+     *
+     * @return the length of the valid part of the file in bytes
+     */
+    private static long readCandidateRecords(
+            final File file,
+            final CandidateRecordConsumer consumer) throws IOException {
+        if (!file.exists()) {
+            return 0;
+        }
+
+        long validLength = 0;
+        try (DataInputStream in = openInput(file)) {
+            while (true) {
+                byte recordType = in.readByte();
+                long id = in.readLong();
+                if (recordType == ADDED_RECORD_TYPE) {
+                    CandidateKey key = new CandidateKey(in.readLong(), in.readLong());
+                    byte[] record = new byte[in.readInt()];
+                    in.readFully(record);
+
+                    consumer.accept(recordType, id, key, record);
+                    validLength += ADDED_RECORD_HEADER_SIZE + record.length;
+                } else if (recordType == COMPLETED_RECORD_TYPE) {
+                    consumer.accept(recordType, id, null, null);
+                    validLength += COMPLETED_RECORD_SIZE;
+                } else {
+                    LOGGER.debug("Invalid candidate log record type: {}", recordType);
+                    break;
+                }
+            }
+        } catch (EOFException exception) {
+            // The end of the file, or a partially written record
+        }
+
+        return validLength;
+    }
+
+    /**
+     * Writes a record of an added crawl candidate.
+     *
+     * @param out    the output stream of the candidate log or snapshot
+     * @param id     the ID of the candidate
+     * @param key    the key of the candidate
+     * @param record the serialized candidate
+     */
+    private static void writeAddedRecord(
+            final DataOutputStream out,
+            final long id,
+            final CandidateKey key,
+            final byte[] record) throws IOException {
+        out.writeByte(ADDED_RECORD_TYPE);
+        out.writeLong(id);
+        out.writeLong(key.high);
+        out.writeLong(key.low);
+        out.writeInt(record.length);
+        out.write(record);
+    }
+
+    /**
+     * Opens a buffered input stream of a journal file.
+     *
+     * @param file the journal file
+     *
+     * @return the input stream of the file
+     */
+    private static DataInputStream openInput(final File file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+    }
+
+    /**
+     * Returns the writer of the seen URL log.
+     *
+     * @return the writer of the seen URL log
+     */
+    private LogWriter getSeenUrlLog() {
+        Validate.validState(seenUrlLog != null, "The journal is not recovered yet.");
+
+        return seenUrlLog;
+    }
+
+    /**
+     * Returns the writer of the candidate log.
+     *
+     * @return the writer of the candidate log
+     */
+    private LogWriter getCandidateLog() {
+        Validate.validState(candidateLog != null, "The journal is not recovered yet.");
+
+        return candidateLog;
+    }
+
+    /**
+     * An operation which is invoked with the records of the candidate log or snapshot.
+     */
+    @FunctionalInterface
+    private interface CandidateRecordConsumer {
+
+        /**
+         * Performs the operation on a record.
+         *
+         * @param recordType the type of the record
+         * @param id         the ID of the candidate
+         * @param key        the key of the candidate, or <code>null</code> if the record is not
+         *                   a record of an added candidate
+         * @param record     the serialized candidate, or <code>null</code> if the record is not
+         *                   a record of an added candidate
+         */
+        void accept(byte recordType, long id, CandidateKey key, byte[] record) throws IOException;
+    }
+
+    /**
+     * The 128-bit hash of the properties which identify a pending crawl candidate. The metadata
+     * of the request is not hashed, since it may not implement <code>equals</code>.
+     */
+    private static final class CandidateKey {
+
+        private final long high;
+        private final long low;
+
+        /**
+         * Creates a {@link CandidateKey} instance.
+         *
+         * @param high the high 64 bits of the hash
+         * @param low  the low 64 bits of the hash
+         */
+        CandidateKey(final long high, final long low) {
+            this.high = high;
+            this.low = low;
+        }
+
+        /**
+         * Creates the key of a crawl candidate.
+         *
+         * @param candidate the crawl candidate
+         *
+         * @return the key of the crawl candidate
+         */
+        static CandidateKey of(final CrawlCandidate candidate) {
+            Hasher hasher = HASH_FUNCTION.newHasher()
+                    .putString(candidate.getRequestUrl().toString(), StandardCharsets.UTF_8);
+
+            URI refererUrl = candidate.getRefererUrl();
+            if (refererUrl != null) {
+                hasher.putBoolean(true)
+                        .putString(refererUrl.toString(), StandardCharsets.UTF_8);
+            } else {
+                hasher.putBoolean(false);
+            }
+
+            hasher.putInt(candidate.getCrawlDepth())
+                    .putInt(candidate.getPriority())
+                    .putInt(candidate.getRetryCount());
+
+            ByteBuffer buffer = ByteBuffer.wrap(hasher.hash().asBytes());
+            return new CandidateKey(buffer.getLong(), buffer.getLong());
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj == this) {
+                return true;
+            }
+
+            if (obj instanceof CandidateKey) {
+                CandidateKey other = (CandidateKey) obj;
+                return high == other.high && low == other.low;
+            }
+
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) low;
+        }
+    }
+
+    /**
+     * Appends buffered records to a log file.
+     */
+    private static final class LogWriter {
+
+        private final FileChannel channel;
+        private final DataOutputStream output;
+
+        /**
+         * Creates a {@link LogWriter} instance.
+         *
+         * @param channel the channel of the log file, positioned at its end
+         */
+        private LogWriter(final FileChannel channel) {
+            this.channel = channel;
+            output = new DataOutputStream(new BufferedOutputStream(
+                    Channels.newOutputStream(channel)));
+        }
+
+        /**
+         * Opens a log file for appending, discarding everything after its valid part.
+         *
+         * @param file        the log file
+         * @param validLength the length of the valid part of the log in bytes
+         *
+         * @return the writer of the log
+         */
+        static LogWriter open(final File file, final long validLength) throws IOException {
+            FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE);
+            channel.truncate(validLength);
+            channel.position(validLength);
+
+            return new LogWriter(channel);
+        }
+
+        /**
+         * Returns the output stream to append the records with.
+         *
+         * @return the output stream of the log
+         */
+        DataOutputStream getOutput() {
+            return output;
+        }
+
+        /**
+         * Flushes the buffered records and syncs the log file to disk.
+         */
+        void sync() throws IOException {
+            output.flush();
+            channel.force(false);
+        }
+
+        /**
+         * Flushes the buffered records and closes the log file.
+         */
+        void close() throws IOException {
+            output.close();
+        }
+    }
+}
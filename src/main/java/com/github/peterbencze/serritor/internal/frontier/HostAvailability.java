@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import com.google.common.net.InternetDomainName;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Tells the crawl frontier when the hosts of the crawl candidates can be requested.
+ */
+public interface HostAvailability {
+
+    /**
+     * Indicates if the host can be requested now.
+     *
+     * @param host the host of the request
+     *
+     * @return <code>true</code> if the host can be requested, <code>false</code> otherwise
+     */
+    boolean isEligible(InternetDomainName host);
+
+    /**
+     * Returns the time from which the host can be requested again if it is being delayed.
+     *
+     * @param host the host of the request
+     *
+     * @return the time from which the host can be requested again, or empty if the host is not
+     *         being delayed
+     */
+    Optional<Instant> getNextEligibleTime(InternetDomainName host);
+}
@@ -0,0 +1,396 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import com.github.peterbencze.serritor.api.CrawlCandidate;
+import com.github.peterbencze.serritor.api.CrawlStrategy;
+import com.google.common.net.InternetDomainName;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.function.Function;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * The per-host back queues of a Mercator-style crawl frontier. Each host has its own queue of
+ * crawl candidates ordered by the crawl strategy. The hosts that may be requested now are kept in
+ * a set ordered by the best candidate of each host, while the delayed hosts are kept in a heap
+ * ordered by the time from which they can be requested again. Hosts with equally good candidates
+ * are served in turns. This way a host with a large number of candidates cannot hold back the
+ * others, and finding the best candidate which is eligible now does not require scanning the
+ * candidates of the delayed hosts.
+ *
+ * <p>Whether a host can be requested is decided by a {@link HostAvailability}. Hosts are checked
+ * lazily, when they would be selected, so the back queues do not have to be notified when the
+ * availability of a host changes.
+ *
+ * <p>The queue of each host can be bounded. In this case, the candidates added to a full queue are
+ * held in the overflow queue of the host, in the order they were added, and the queue of the host
+ * is refilled from its overflow queue when one of its candidates is polled. The total number of
+ * overflowing candidates is bounded as well, so the front queue is only drained while there is
+ * room for them, see {@link #isFull()}. Candidates with the same crawl depth and priority are
+ * polled in the order they were added.
+ *
+ * <p>The candidates are kept in their compact form while they are queued, and they are rebuilt
+ * when they are polled.
+ */
+public final class HostBackQueues implements Serializable {
+
+    private final Comparator<CompactCandidate> candidateComparator;
+    private final Comparator<QueuedCandidate> queuedCandidateComparator;
+    private final int hostCapacity;
+    private final int overflowCapacity;
+    private final CandidateEncoder encoder;
+    private final Map<String, HostQueue> hostQueues;
+    private final NavigableSet<HostQueue> readyHosts;
+    private final PriorityQueue<HostQueue> delayedHosts;
+    private final List<HostQueue> busyHosts;
+    private long nextSequenceNumber;
+    private int candidateCount;
+    private int overflowCount;
+
+    /**
+     * Creates a {@link HostBackQueues} instance.
+     *
+     * @param crawlStrategy    the crawl strategy which determines the order of the candidates
+     * @param hostCapacity     the maximum number of candidates in the queue of each host (0 means
+     *                         no limit)
+     * @param overflowCapacity the number of overflowing candidates of all the hosts from which the
+     *                         back queues are considered full
+     */
+    public HostBackQueues(
+            final CrawlStrategy crawlStrategy,
+            final int hostCapacity,
+            final int overflowCapacity) {
+        Validate.isTrue(hostCapacity >= 0, "The capacity cannot be negative.");
+        Validate.isTrue(overflowCapacity >= 0, "The overflow capacity cannot be negative.");
+
+        candidateComparator = InMemoryCandidateQueue.createComparator(crawlStrategy);
+        queuedCandidateComparator = (Comparator<QueuedCandidate> & Serializable)
+                (first, second) -> {
+                    int result = candidateComparator.compare(first.candidate, second.candidate);
+                    return result != 0
+                            ? result
+                            : Long.compare(first.sequenceNumber, second.sequenceNumber);
+                };
+        this.hostCapacity = hostCapacity;
+        this.overflowCapacity = overflowCapacity;
+        encoder = new CandidateEncoder();
+        hostQueues = new HashMap<>();
+
+        Comparator<HostQueue> readyHostComparator = (Comparator<HostQueue> & Serializable)
+                (first, second) -> {
+                    int result = candidateComparator.compare(first.peek(), second.peek());
+                    return result != 0
+                            ? result
+                            : Long.compare(first.sequenceNumber, second.sequenceNumber);
+                };
+        readyHosts = new TreeSet<>(readyHostComparator);
+
+        Function<HostQueue, Instant> nextEligibleTimeGetter =
+                (Function<HostQueue, Instant> & Serializable) hostQueue ->
+                        hostQueue.nextEligibleTime;
+        delayedHosts = new PriorityQueue<>(Comparator.comparing(nextEligibleTimeGetter));
+
+        busyHosts = new ArrayList<>();
+    }
+
+    /**
+     * Creates a {@link HostBackQueues} instance whose host queues are not bounded.
+     *
+     * @param crawlStrategy the crawl strategy which determines the order of the candidates
+     */
+    public HostBackQueues(final CrawlStrategy crawlStrategy) {
+        this(crawlStrategy, 0, 0);
+    }
+
+    /**
+     * Adds a crawl candidate to the queue of its host, or to the overflow queue of the host if
+     * the queue of the host is full.
+     *
+     * @param candidate the crawl candidate
+     */
+    public void add(final CrawlCandidate candidate) {
+        CompactCandidate compactCandidate = encoder.encode(candidate);
+        ++candidateCount;
+
+        HostQueue hostQueue = hostQueues.get(candidate.getDomain().toString());
+        if (hostQueue != null && hostCapacity != 0 && hostQueue.size() >= hostCapacity) {
+            hostQueue.overflow.add(compactCandidate);
+            ++overflowCount;
+        } else if (hostQueue == null) {
+            hostQueue = new HostQueue(nextSequenceNumber++);
+            hostQueues.put(candidate.getDomain().toString(), hostQueue);
+            hostQueue.add(compactCandidate);
+            readyHosts.add(hostQueue);
+        } else if (hostQueue.state == HostState.READY) {
+            // The best candidate of the host may change, which determines its place in the set
+            readyHosts.remove(hostQueue);
+            hostQueue.add(compactCandidate);
+            readyHosts.add(hostQueue);
+        } else {
+            hostQueue.add(compactCandidate);
+        }
+    }
+
+    /**
+     * Indicates if the back queues should not take more candidates, because the queues of the
+     * hosts are bounded and the number of overflowing candidates has reached its limit.
+     *
+     * @return <code>true</code> if the back queues are full, <code>false</code> otherwise
+     */
+    public boolean isFull() {
+        return hostCapacity != 0 && overflowCount >= overflowCapacity;
+    }
+
+    /**
+     * Returns the number of candidates in the back queues.
+     *
+     * @return the number of candidates in the back queues
+     */
+    public int size() {
+        return candidateCount;
+    }
+
+    /**
+     * Indicates if the back queues contain no candidates.
+     *
+     * @return <code>true</code> if the back queues are empty, <code>false</code> otherwise
+     */
+    public boolean isEmpty() {
+        return candidateCount == 0;
+    }
+
+    /**
+     * Retrieves and removes the best candidate whose host can be requested now.
+     *
+     * @param hostAvailability tells when the hosts can be requested
+     *
+     * @return the best candidate whose host can be requested now, or empty if there is none
+     */
+    public Optional<CrawlCandidate> poll(final HostAvailability hostAvailability) {
+        releaseBusyHosts(hostAvailability);
+        releaseDelayedHosts(hostAvailability);
+
+        HostQueue hostQueue;
+        while ((hostQueue = readyHosts.pollFirst()) != null) {
+            InternetDomainName host = encoder.getDomain(hostQueue.peek());
+            if (hostAvailability.isEligible(host)) {
+                CrawlCandidate candidate = encoder.decode(hostQueue.poll());
+                --candidateCount;
+
+                if (hostQueue.isEmpty()) {
+                    hostQueues.remove(host.toString());
+                } else {
+                    // Hosts with equally good candidates take turns
+                    hostQueue.sequenceNumber = nextSequenceNumber++;
+                    readyHosts.add(hostQueue);
+                }
+
+                return Optional.of(candidate);
+            }
+
+            park(hostQueue, hostAvailability);
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Removes all the candidates from the back queues.
+     */
+    public void clear() {
+        encoder.clear();
+        hostQueues.clear();
+        readyHosts.clear();
+        delayedHosts.clear();
+        busyHosts.clear();
+        candidateCount = 0;
+        overflowCount = 0;
+    }
+
+    /**
+     * Moves the hosts whose requests have finished out of the busy list. The number of busy hosts
+     * is bounded by the number of the concurrent requests, so they are simply checked one by one.
+     *
+     * @param hostAvailability tells when the hosts can be requested
+     */
+    private void releaseBusyHosts(final HostAvailability hostAvailability) {
+        Iterator<HostQueue> iterator = busyHosts.iterator();
+        while (iterator.hasNext()) {
+            HostQueue hostQueue = iterator.next();
+            InternetDomainName host = encoder.getDomain(hostQueue.peek());
+
+            if (hostAvailability.isEligible(host)) {
+                iterator.remove();
+                hostQueue.state = HostState.READY;
+                readyHosts.add(hostQueue);
+            } else {
+                Optional<Instant> nextEligibleTimeOpt = hostAvailability.getNextEligibleTime(host);
+                if (nextEligibleTimeOpt.isPresent()) {
+                    iterator.remove();
+                    hostQueue.state = HostState.DELAYED;
+                    hostQueue.nextEligibleTime = nextEligibleTimeOpt.get();
+                    delayedHosts.add(hostQueue);
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the delayed hosts whose delay has elapsed to the ready hosts.
+     *
+     * @param hostAvailability tells when the hosts can be requested
+     */
+    private void releaseDelayedHosts(final HostAvailability hostAvailability) {
+        HostQueue hostQueue;
+        while ((hostQueue = delayedHosts.peek()) != null) {
+            InternetDomainName host = encoder.getDomain(hostQueue.peek());
+            if (hostAvailability.isEligible(host)) {
+                delayedHosts.poll();
+                hostQueue.state = HostState.READY;
+                readyHosts.add(hostQueue);
+                continue;
+            }
+
+            Optional<Instant> nextEligibleTimeOpt = hostAvailability.getNextEligibleTime(host);
+            if (nextEligibleTimeOpt.isPresent()
+                    && nextEligibleTimeOpt.get().equals(hostQueue.nextEligibleTime)) {
+                // The earliest delay has not elapsed yet, neither have the others
+                return;
+            }
+
+            // The host has been requested since it was delayed, so its position is outdated
+            delayedHosts.poll();
+            park(hostQueue, hostAvailability);
+        }
+    }
+
+    /**
+     * Moves a host which cannot be requested now to the delayed hosts, or to the busy hosts if
+     * it has a request in progress.
+     *
+     * @param hostQueue        the queue of the host
+     * @param hostAvailability tells when the hosts can be requested
+     */
+    private void park(final HostQueue hostQueue, final HostAvailability hostAvailability) {
+        Optional<Instant> nextEligibleTimeOpt =
+                hostAvailability.getNextEligibleTime(encoder.getDomain(hostQueue.peek()));
+        if (nextEligibleTimeOpt.isPresent()) {
+            hostQueue.state = HostState.DELAYED;
+            hostQueue.nextEligibleTime = nextEligibleTimeOpt.get();
+            delayedHosts.add(hostQueue);
+        } else {
+            hostQueue.state = HostState.BUSY;
+            busyHosts.add(hostQueue);
+        }
+    }
+
+    /**
+     * The states of a host queue.
+     */
+    private enum HostState {
+        READY,
+        DELAYED,
+        BUSY
+    }
+
+    /**
+     * A queued crawl candidate with the number which keeps the order of the candidates with the
+     * same crawl depth and priority.
+     */
+    private static final class QueuedCandidate implements Serializable {
+
+        private final CompactCandidate candidate;
+        private final long sequenceNumber;
+
+        /**
+         * Creates a {@link QueuedCandidate} instance.
+         *
+         * @param candidate      the crawl candidate
+         * @param sequenceNumber the number of the candidate in the order of the candidates
+         */
+        QueuedCandidate(final CompactCandidate candidate, final long sequenceNumber) {
+            this.candidate = candidate;
+            this.sequenceNumber = sequenceNumber;
+        }
+    }
+
+    /**
+     * The crawl candidates of a single host.
+     */
+    private final class HostQueue implements Serializable {
+
+        private final PriorityQueue<QueuedCandidate> candidates;
+        private final Deque<CompactCandidate> overflow;
+        private long sequenceNumber;
+        private HostState state;
+        private Instant nextEligibleTime;
+
+        /**
+         * Creates a {@link HostQueue} instance.
+         *
+         * @param sequenceNumber the number used to break ties between hosts
+         */
+        HostQueue(final long sequenceNumber) {
+            this.sequenceNumber = sequenceNumber;
+            candidates = new PriorityQueue<>(queuedCandidateComparator);
+            overflow = new ArrayDeque<>();
+            state = HostState.READY;
+        }
+
+        void add(final CompactCandidate candidate) {
+            candidates.add(new QueuedCandidate(candidate, nextSequenceNumber++));
+        }
+
+        boolean isEmpty() {
+            return candidates.isEmpty();
+        }
+
+        int size() {
+            return candidates.size();
+        }
+
+        CompactCandidate peek() {
+            return candidates.peek().candidate;
+        }
+
+        CompactCandidate poll() {
+            CompactCandidate candidate = candidates.poll().candidate;
+
+            // A slot has freed up, which is taken by the next overflowing candidate
+            CompactCandidate overflowingCandidate = overflow.poll();
+            if (overflowingCandidate != null) {
+                add(overflowingCandidate);
+                --overflowCount;
+            }
+
+            return candidate;
+        }
+    }
+}
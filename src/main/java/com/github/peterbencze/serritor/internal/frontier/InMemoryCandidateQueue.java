@@ -0,0 +1,202 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import com.github.peterbencze.serritor.api.CrawlCandidate;
+import com.github.peterbencze.serritor.api.CrawlStrategy;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * A candidate queue which keeps all the crawl candidates in the heap. The candidates are put in
+ * buckets indexed by their crawl depth, and each bucket keeps a FIFO queue per priority. The crawl
+ * strategy only decides from which end the buckets are served, so no candidates have to be
+ * compared when they are added or removed. Since there are usually only a few distinct priorities,
+ * both operations take amortized constant time.
+ *
+ * <p>The candidates are kept in their compact form while they are queued, and they are rebuilt
+ * when they are polled.
+ */
+public final class InMemoryCandidateQueue implements CandidateQueue {
+
+    private final boolean isDepthFirst;
+    private final CandidateEncoder encoder;
+    private final List<DepthBucket> buckets;
+    private int size;
+
+    // The crawl depth of the bucket which is served next, only valid if the queue is not empty
+    private int currentCrawlDepth;
+
+    /**
+     * Creates a {@link InMemoryCandidateQueue} instance.
+     *
+     * @param crawlStrategy the crawl strategy which determines the order of the candidates
+     */
+    public InMemoryCandidateQueue(final CrawlStrategy crawlStrategy) {
+        switch (crawlStrategy) {
+            case BREADTH_FIRST:
+                isDepthFirst = false;
+                break;
+            case DEPTH_FIRST:
+                isDepthFirst = true;
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported crawl strategy");
+        }
+
+        encoder = new CandidateEncoder();
+        buckets = new ArrayList<>();
+    }
+
+    /**
+     * Adds a crawl candidate to the queue.
+     *
+     * @param candidate the crawl candidate
+     */
+    @Override
+    public void add(final CrawlCandidate candidate) {
+        int crawlDepth = candidate.getCrawlDepth();
+        while (buckets.size() <= crawlDepth) {
+            buckets.add(new DepthBucket());
+        }
+
+        buckets.get(crawlDepth).add(encoder.encode(candidate));
+
+        if (size == 0 || (isDepthFirst ? crawlDepth > currentCrawlDepth
+                : crawlDepth < currentCrawlDepth)) {
+            currentCrawlDepth = crawlDepth;
+        }
+
+        ++size;
+    }
+
+    /**
+     * Indicates if the queue contains no candidates.
+     *
+     * @return <code>true</code> if the queue is empty, <code>false</code> otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Retrieves and removes the head of the queue.
+     *
+     * @return the head of the queue, or <code>null</code> if the queue is empty
+     */
+    @Override
+    public CrawlCandidate poll() {
+        if (size == 0) {
+            return null;
+        }
+
+        CompactCandidate compactCandidate = buckets.get(currentCrawlDepth).poll();
+        --size;
+
+        // Move on to the next non-empty bucket, each empty bucket is skipped at most once
+        if (size > 0) {
+            while (buckets.get(currentCrawlDepth).isEmpty()) {
+                currentCrawlDepth += isDepthFirst ? -1 : 1;
+            }
+        }
+
+        return encoder.decode(compactCandidate);
+    }
+
+    /**
+     * Removes all the candidates from the queue.
+     */
+    @Override
+    public void clear() {
+        encoder.clear();
+        buckets.clear();
+        size = 0;
+    }
+
+    /**
+     * Creates a serializable comparator which orders the candidates according to the given crawl
+     * strategy. It compares the crawl depths and priorities directly, without boxing them.
+     *
+     * @param crawlStrategy the crawl strategy which determines the order of the candidates
+     *
+     * @return the comparator of the candidates
+     */
+    static Comparator<CompactCandidate> createComparator(final CrawlStrategy crawlStrategy) {
+        switch (crawlStrategy) {
+            case BREADTH_FIRST:
+                return (Comparator<CompactCandidate> & Serializable) (first, second) -> {
+                    int result = Integer.compare(first.getCrawlDepth(), second.getCrawlDepth());
+                    return result != 0
+                            ? result
+                            : Integer.compare(second.getPriority(), first.getPriority());
+                };
+            case DEPTH_FIRST:
+                return (Comparator<CompactCandidate> & Serializable) (first, second) -> {
+                    int result = Integer.compare(second.getCrawlDepth(), first.getCrawlDepth());
+                    return result != 0
+                            ? result
+                            : Integer.compare(second.getPriority(), first.getPriority());
+                };
+            default:
+                throw new IllegalArgumentException("Unsupported crawl strategy");
+        }
+    }
+
+    /**
+     * The candidates of a single crawl depth, in FIFO queues ordered by descending priority.
+     */
+    private static final class DepthBucket implements Serializable {
+
+        private final NavigableMap<Integer, Deque<CompactCandidate>> candidatesByPriority;
+
+        /**
+         * Creates a {@link DepthBucket} instance.
+         */
+        DepthBucket() {
+            candidatesByPriority = new TreeMap<>(Comparator.reverseOrder());
+        }
+
+        void add(final CompactCandidate candidate) {
+            candidatesByPriority.computeIfAbsent(candidate.getPriority(),
+                    priority -> new ArrayDeque<>())
+                    .add(candidate);
+        }
+
+        boolean isEmpty() {
+            return candidatesByPriority.isEmpty();
+        }
+
+        CompactCandidate poll() {
+            Map.Entry<Integer, Deque<CompactCandidate>> firstEntry =
+                    candidatesByPriority.firstEntry();
+            CompactCandidate candidate = firstEntry.getValue().poll();
+            if (firstEntry.getValue().isEmpty()) {
+                candidatesByPriority.pollFirstEntry();
+            }
+
+            return candidate;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.PrimitiveSink;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A seen URL filter backed by a scalable Bloom filter. It starts with a single Bloom filter sized
+ * for the expected number of URLs. When that fills up, a new filter with twice the capacity and a
+ * tighter false positive probability is added, so the overall false positive probability stays
+ * below the configured one no matter how many URLs are seen. The bit arrays of the filters are
+ * serialized as <code>long</code> arrays.
+ */
+public final class ProbabilisticSeenUrlFilter implements SeenUrlFilter {
+
+    // Each new filter has this fraction of the false positive probability of the previous one
+    private static final double TIGHTENING_RATIO = 0.5;
+    private static final int GROWTH_FACTOR = 2;
+
+    private final long expectedUrlCount;
+    private final double falsePositiveProbability;
+    private final List<BloomFilter<UrlFingerprint>> filters;
+
+    private long currentCapacity;
+    private double currentFalsePositiveProbability;
+    private long currentUrlCount;
+
+    /**
+     * Creates a {@link ProbabilisticSeenUrlFilter} instance.
+     *
+     * @param expectedUrlCount         the number of URLs the first filter is sized for
+     * @param falsePositiveProbability the maximum probability of reporting a new URL as seen
+     */
+    public ProbabilisticSeenUrlFilter(
+            final long expectedUrlCount,
+            final double falsePositiveProbability) {
+        Validate.isTrue(expectedUrlCount > 0, "The URL count must be positive.");
+        Validate.exclusiveBetween(0.0, 1.0, falsePositiveProbability,
+                "The probability must be between 0 and 1, exclusive.");
+
+        this.expectedUrlCount = expectedUrlCount;
+        this.falsePositiveProbability = falsePositiveProbability;
+        filters = new ArrayList<>();
+
+        clear();
+    }
+
+    /**
+     * Records the fingerprint of a URL.
+     *
+     * @param urlFingerprint the fingerprint of the URL
+     *
+     * @return <code>true</code> if the fingerprint has not been seen before, <code>false</code>
+     *         if it might have been seen
+     */
+    @Override
+    public boolean add(final UrlFingerprint urlFingerprint) {
+        for (BloomFilter<UrlFingerprint> filter : filters) {
+            if (filter.mightContain(urlFingerprint)) {
+                return false;
+            }
+        }
+
+        if (currentUrlCount >= currentCapacity) {
+            addFilter(currentCapacity * GROWTH_FACTOR,
+                    currentFalsePositiveProbability * TIGHTENING_RATIO);
+        }
+
+        filters.get(filters.size() - 1).put(urlFingerprint);
+        ++currentUrlCount;
+        return true;
+    }
+
+    /**
+     * Forgets all the recorded fingerprints.
+     */
+    @Override
+    public void clear() {
+        filters.clear();
+
+        // The sum of the geometric series of the probabilities is the configured probability
+        addFilter(expectedUrlCount, falsePositiveProbability * (1 - TIGHTENING_RATIO));
+    }
+
+    /**
+     * Adds a new, empty Bloom filter which receives the subsequent fingerprints.
+     *
+     * @param capacity    the number of URLs the filter is sized for
+     * @param probability the false positive probability of the filter
+     */
+    private void addFilter(final long capacity, final double probability) {
+        filters.add(BloomFilter.create(UrlFingerprintFunnel.INSTANCE, capacity, probability));
+        currentCapacity = capacity;
+        currentFalsePositiveProbability = probability;
+        currentUrlCount = 0;
+    }
+
+    /**
+     * Feeds both halves of a URL fingerprint to the hash function of the Bloom filters.
+     */
+    private enum UrlFingerprintFunnel implements Funnel<UrlFingerprint> {
+
+        INSTANCE;
+
+        @Override
+        public void funnel(final UrlFingerprint urlFingerprint, final PrimitiveSink into) {
+            into.putLong(urlFingerprint.getHigh()).putLong(urlFingerprint.getLow());
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import com.github.peterbencze.serritor.api.CrawlCandidate;
+import com.github.peterbencze.serritor.api.CrawlCandidate.CrawlCandidateBuilder;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Schedules the revisits of the successfully crawled URLs in continuous crawl mode. The revisit
+ * interval of each URL adapts to how often its content changes: it is halved when the content has
+ * changed since the previous visit and doubled when it has not, within the configured bounds. The
+ * first revisit of a URL is scheduled after the minimum interval.
+ */
+public final class RevisitScheduler implements Serializable {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private final long minIntervalInMillis;
+    private final long maxIntervalInMillis;
+    private final Map<UrlFingerprint, RevisitState> revisitStates;
+    private final PriorityQueue<ScheduledRevisit> scheduledRevisits;
+    private long nextSequenceNumber;
+
+    /**
+     * Creates a {@link RevisitScheduler} instance.
+     *
+     * @param minIntervalInMillis the minimum revisit interval in milliseconds
+     * @param maxIntervalInMillis the maximum revisit interval in milliseconds
+     */
+    public RevisitScheduler(final long minIntervalInMillis, final long maxIntervalInMillis) {
+        Validate.isTrue(minIntervalInMillis > 0, "The minimum interval must be positive.");
+        Validate.isTrue(minIntervalInMillis <= maxIntervalInMillis,
+                "The minimum interval cannot be greater than the maximum.");
+
+        this.minIntervalInMillis = minIntervalInMillis;
+        this.maxIntervalInMillis = maxIntervalInMillis;
+        revisitStates = new HashMap<>();
+        scheduledRevisits = new PriorityQueue<>();
+    }
+
+    /**
+     * Calculates the hash of the content of a page, which is used to detect content changes.
+     *
+     * @param content the content of the page
+     *
+     * @return the hash of the content
+     */
+    public static long hashContent(final String content) {
+        return HASH_FUNCTION.hashString(content, StandardCharsets.UTF_8).asLong();
+    }
+
+    /**
+     * Schedules the revisit of a successfully crawled candidate.
+     *
+     * @param candidate   the crawled candidate
+     * @param contentHash the hash of the content of the crawled page
+     * @param now         the time of the visit
+     *
+     * @return the candidate of the revisit
+     */
+    public CrawlCandidate scheduleRevisit(
+            final CrawlCandidate candidate,
+            final long contentHash,
+            final Instant now) {
+        UrlFingerprint urlFingerprint =
+                UrlCanonicalizer.createFingerprint(candidate.getRequestUrl());
+        RevisitState previousState = revisitStates.get(urlFingerprint);
+        long intervalInMillis;
+        if (previousState == null) {
+            intervalInMillis = minIntervalInMillis;
+        } else if (previousState.getContentHash() != contentHash) {
+            intervalInMillis = Math.max(previousState.getIntervalInMillis() / 2,
+                    minIntervalInMillis);
+        } else {
+            intervalInMillis = Math.min(previousState.getIntervalInMillis() * 2,
+                    maxIntervalInMillis);
+        }
+
+        revisitStates.put(urlFingerprint, new RevisitState(intervalInMillis, contentHash));
+
+        CrawlCandidate revisitCandidate = new CrawlCandidateBuilder(candidate)
+                .setRetryCount(0)
+                .build();
+        scheduledRevisits.add(new ScheduledRevisit(now.plusMillis(intervalInMillis),
+                nextSequenceNumber++, revisitCandidate));
+
+        return revisitCandidate;
+    }
+
+    /**
+     * Retrieves and removes the candidates whose revisits are due.
+     *
+     * @param now the current time
+     *
+     * @return the candidates whose revisits are due, in the order they became due
+     */
+    public List<CrawlCandidate> pollDueRevisits(final Instant now) {
+        List<CrawlCandidate> dueCandidates = new ArrayList<>();
+        while (!scheduledRevisits.isEmpty()
+                && !scheduledRevisits.peek().getDueTime().isAfter(now)) {
+            dueCandidates.add(scheduledRevisits.poll().getCandidate());
+        }
+
+        return dueCandidates;
+    }
+
+    /**
+     * Returns the time of the earliest scheduled revisit.
+     *
+     * @return the time of the earliest scheduled revisit, or empty if there are no revisits
+     */
+    public Optional<Instant> getNextRevisitTime() {
+        return Optional.ofNullable(scheduledRevisits.peek()).map(ScheduledRevisit::getDueTime);
+    }
+
+    /**
+     * Indicates if there are no scheduled revisits.
+     *
+     * @return <code>true</code> if there are no scheduled revisits, <code>false</code> otherwise
+     */
+    public boolean isEmpty() {
+        return scheduledRevisits.isEmpty();
+    }
+
+    /**
+     * Removes all the scheduled revisits and forgets the revisit intervals of the URLs.
+     */
+    public void clear() {
+        revisitStates.clear();
+        scheduledRevisits.clear();
+    }
+
+    /**
+     * The current revisit interval and the last seen content hash of a URL.
+     */
+    private static final class RevisitState implements Serializable {
+
+        private final long intervalInMillis;
+        private final long contentHash;
+
+        /**
+         * Creates a {@link RevisitState} instance.
+         *
+         * @param intervalInMillis the current revisit interval in milliseconds
+         * @param contentHash      the hash of the content seen at the last visit
+         */
+        RevisitState(final long intervalInMillis, final long contentHash) {
+            this.intervalInMillis = intervalInMillis;
+            this.contentHash = contentHash;
+        }
+
+        long getIntervalInMillis() {
+            return intervalInMillis;
+        }
+
+        long getContentHash() {
+            return contentHash;
+        }
+    }
+
+    /**
+     * A revisit scheduled for a given time. Revisits due at the same time are ordered by the
+     * order they were scheduled.
+     */
+    private static final class ScheduledRevisit
+            implements Comparable<ScheduledRevisit>, Serializable {
+
+        private final Instant dueTime;
+        private final long sequenceNumber;
+        private final CrawlCandidate candidate;
+
+        /**
+         * Creates a {@link ScheduledRevisit} instance.
+         *
+         * @param dueTime        the time when the revisit is due
+         * @param sequenceNumber the sequence number of the revisit
+         * @param candidate      the candidate of the revisit
+         */
+        ScheduledRevisit(
+                final Instant dueTime,
+                final long sequenceNumber,
+                final CrawlCandidate candidate) {
+            this.dueTime = dueTime;
+            this.sequenceNumber = sequenceNumber;
+            this.candidate = candidate;
+        }
+
+        Instant getDueTime() {
+            return dueTime;
+        }
+
+        CrawlCandidate getCandidate() {
+            return candidate;
+        }
+
+        @Override
+        public int compareTo(final ScheduledRevisit other) {
+            int result = dueTime.compareTo(other.dueTime);
+            return result != 0 ? result : Long.compare(sequenceNumber, other.sequenceNumber);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import java.io.Serializable;
+
+/**
+ * An interface which should be implemented by every filter that remembers the fingerprints of the
+ * URLs already seen by the crawl frontier.
+ *
+ * <p>Note: implementations are not thread-safe, the callers should synchronize the access (see
+ * {@link StripedSeenUrlFilter}).
+ */
+public interface SeenUrlFilter extends Serializable {
+
+    /**
+     * Records the fingerprint of a URL.
+     *
+     * @param urlFingerprint the fingerprint of the URL
+     *
+     * @return <code>true</code> if the fingerprint has not been seen before, <code>false</code>
+     *         if it has (or, in case of probabilistic filters, might have) been seen
+     */
+    boolean add(UrlFingerprint urlFingerprint);
+
+    /**
+     * Forgets all the recorded fingerprints.
+     */
+    void clear();
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import java.util.function.Supplier;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A thread-safe seen URL filter which spreads the fingerprints across multiple stripes, each of
+ * them being a separate filter guarded by its own lock. Recording a fingerprint is an atomic
+ * check-and-add on its stripe, so threads recording different URLs rarely wait for each other.
+ */
+public final class StripedSeenUrlFilter implements SeenUrlFilter {
+
+    private final SeenUrlFilter[] stripes;
+    private final int stripeShift;
+
+    /**
+     * Creates a {@link StripedSeenUrlFilter} instance.
+     *
+     * @param stripeCount   the number of stripes (should be a power of two)
+     * @param stripeFactory creates the filter of each stripe
+     */
+    public StripedSeenUrlFilter(
+            final int stripeCount,
+            final Supplier<SeenUrlFilter> stripeFactory) {
+        Validate.isTrue(stripeCount > 0 && Integer.bitCount(stripeCount) == 1,
+                "The stripe count must be a power of two.");
+
+        stripes = new SeenUrlFilter[stripeCount];
+        for (int i = 0; i < stripeCount; ++i) {
+            stripes[i] = stripeFactory.get();
+        }
+
+        stripeShift = Long.SIZE - Integer.numberOfTrailingZeros(stripeCount);
+    }
+
+    /**
+     * Records the fingerprint of a URL.
+     *
+     * @param urlFingerprint the fingerprint of the URL
+     *
+     * @return <code>true</code> if the fingerprint has not been seen before, <code>false</code>
+     *         if it has (or, in case of probabilistic filters, might have) been seen
+     */
+    @Override
+    public boolean add(final UrlFingerprint urlFingerprint) {
+        SeenUrlFilter stripe = getStripe(urlFingerprint);
+        synchronized (stripe) {
+            return stripe.add(urlFingerprint);
+        }
+    }
+
+    /**
+     * Forgets all the recorded fingerprints.
+     */
+    @Override
+    public void clear() {
+        for (SeenUrlFilter stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    /**
+     * Returns the stripe of the given fingerprint. The stripe is selected by the top bits of the
+     * fingerprint, since the filters of the stripes may use the low bits themselves.
+     *
+     * @param urlFingerprint the fingerprint of the URL
+     *
+     * @return the stripe of the fingerprint
+     */
+    private SeenUrlFilter getStripe(final UrlFingerprint urlFingerprint) {
+        if (stripes.length == 1) {
+            return stripes[0];
+        }
+
+        return stripes[(int) (urlFingerprint.getHigh() >>> stripeShift)];
+    }
+}
@@ -0,0 +1,557 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Creates the canonical form and the fingerprint of URLs. The scheme and the host are changed to
+ * lowercase, the query parameters are sorted by name and value and re-encoded as form fields, and
+ * the fragment is removed. This way, URLs that differ only in these aspects have the same
+ * fingerprint.
+ *
+ * <p>The canonical form is produced in a single pass over the raw components of the URL and fed
+ * straight into the hash function, without building intermediate strings. Only the query
+ * parameters which contain escape sequences are decoded into new strings, as their decoded form
+ * determines the order of the parameters.
+ */
+public final class UrlCanonicalizer {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private static final Comparator<QueryParam> QUERY_PARAM_COMPARATOR =
+            UrlCanonicalizer::compareQueryParams;
+
+    private UrlCanonicalizer() {
+    }
+
+    /**
+     * Creates the fingerprint of the given URL, which is the 128-bit hash of its canonical form.
+     *
+     * @param url the URL for which the fingerprint is created
+     *
+     * @return the fingerprint of the URL
+     */
+    public static UrlFingerprint createFingerprint(final URI url) {
+        Hasher hasher = HASH_FUNCTION.newHasher();
+        writeCanonicalForm(url, new CharSink() {
+            @Override
+            public void put(final char character) {
+                hasher.putChar(character);
+            }
+
+            @Override
+            public void put(final CharSequence chars, final int start, final int end) {
+                for (int i = start; i < end; ++i) {
+                    hasher.putChar(chars.charAt(i));
+                }
+            }
+        });
+
+        return UrlFingerprint.fromDigest(hasher.hash().asBytes());
+    }
+
+    /**
+     * Returns the canonical form of the given URL.
+     *
+     * @param url the URL to canonicalize
+     *
+     * @return the canonical form of the URL
+     */
+    public static String canonicalize(final URI url) {
+        StringBuilder builder = new StringBuilder(url.toString().length());
+        writeCanonicalForm(url, new CharSink() {
+            @Override
+            public void put(final char character) {
+                builder.append(character);
+            }
+
+            @Override
+            public void put(final CharSequence chars, final int start, final int end) {
+                builder.append(chars, start, end);
+            }
+        });
+
+        return builder.toString();
+    }
+
+    /**
+     * Writes the canonical form of the given URL to the sink.
+     *
+     * @param url  the URL to canonicalize
+     * @param sink the sink which receives the characters of the canonical form
+     */
+    private static void writeCanonicalForm(final URI url, final CharSink sink) {
+        String scheme = url.getScheme();
+        String host = url.getHost();
+        Validate.isTrue(scheme != null && host != null, "The URL must be absolute with a host.");
+
+        writeLowerCase(scheme, sink);
+        sink.put(':');
+        sink.put('/');
+        sink.put('/');
+
+        String userInfo = url.getRawUserInfo();
+        if (userInfo != null) {
+            sink.put(userInfo, 0, userInfo.length());
+            sink.put('@');
+        }
+
+        writeLowerCase(host, sink);
+
+        int port = url.getPort();
+        if (port >= 0) {
+            sink.put(':');
+            writeNumber(port, sink);
+        }
+
+        String path = url.getRawPath();
+        if (path != null && !path.isEmpty()) {
+            if (path.charAt(0) != '/') {
+                sink.put('/');
+            }
+
+            sink.put(path, 0, path.length());
+        }
+
+        String query = url.getRawQuery();
+        if (query != null && !query.isEmpty()) {
+            writeQuery(query, sink);
+        }
+    }
+
+    /**
+     * Writes the query parameters sorted by name and value, encoded as form fields.
+     *
+     * @param query the raw query of the URL
+     * @param sink  the sink which receives the characters of the query
+     */
+    private static void writeQuery(final String query, final CharSink sink) {
+        QueryParam[] params = parseQuery(query);
+        if (params.length == 0) {
+            return;
+        }
+
+        // Small arrays are sorted in place, without allocating a temporary array
+        Arrays.sort(params, QUERY_PARAM_COMPARATOR);
+
+        sink.put('?');
+        for (int i = 0; i < params.length; ++i) {
+            if (i > 0) {
+                sink.put('&');
+            }
+
+            QueryParam param = params[i];
+            writeFormField(param.getName(), param.getNameStart(), param.getNameEnd(), sink);
+            if (param.hasValue()) {
+                sink.put('=');
+                writeFormField(param.getValue(), param.getValueStart(), param.getValueEnd(),
+                        sink);
+            }
+        }
+    }
+
+    /**
+     * Splits the raw query into parameters at the <code>&amp;</code> and <code>;</code>
+     * separators. Parameters with an empty name are skipped.
+     *
+     * @param query the raw query of the URL
+     *
+     * @return the parameters of the query
+     */
+    private static QueryParam[] parseQuery(final String query) {
+        int paramCount = 0;
+        QueryParam[] params = new QueryParam[countSeparators(query) + 1];
+
+        int start = 0;
+        while (start <= query.length()) {
+            int end = start;
+            int nameEnd = -1;
+            while (end < query.length() && !isQueryParamSeparator(query.charAt(end))) {
+                if (nameEnd == -1 && query.charAt(end) == '=') {
+                    nameEnd = end;
+                }
+
+                ++end;
+            }
+
+            if (nameEnd == -1) {
+                if (end > start) {
+                    params[paramCount++] = new QueryParam(query, start, end, -1, -1);
+                }
+            } else if (nameEnd > start) {
+                params[paramCount++] = new QueryParam(query, start, nameEnd, nameEnd + 1, end);
+            }
+
+            start = end + 1;
+        }
+
+        return paramCount == params.length ? params : Arrays.copyOf(params, paramCount);
+    }
+
+    /**
+     * Compares two query parameters by their decoded name, then by their decoded value. A
+     * parameter without a value precedes the ones with a value.
+     *
+     * @param param1 the first parameter
+     * @param param2 the second parameter
+     *
+     * @return a negative integer, zero or a positive integer if the first parameter precedes, is
+     *         equal to or follows the second one
+     */
+    private static int compareQueryParams(final QueryParam param1, final QueryParam param2) {
+        int nameComparison = compare(param1.getName(), param1.getNameStart(), param1.getNameEnd(),
+                param2.getName(), param2.getNameStart(), param2.getNameEnd());
+        if (nameComparison != 0) {
+            return nameComparison;
+        }
+
+        if (!param1.hasValue() || !param2.hasValue()) {
+            return Boolean.compare(param1.hasValue(), param2.hasValue());
+        }
+
+        return compare(param1.getValue(), param1.getValueStart(), param1.getValueEnd(),
+                param2.getValue(), param2.getValueStart(), param2.getValueEnd());
+    }
+
+    /**
+     * Compares two character ranges lexicographically, like {@link String#compareTo(String)}.
+     *
+     * @param chars1 the characters of the first range
+     * @param start1 the start index of the first range, inclusive
+     * @param end1   the end index of the first range, exclusive
+     * @param chars2 the characters of the second range
+     * @param start2 the start index of the second range, inclusive
+     * @param end2   the end index of the second range, exclusive
+     *
+     * @return a negative integer, zero or a positive integer if the first range precedes, is
+     *         equal to or follows the second one
+     */
+    private static int compare(
+            final CharSequence chars1,
+            final int start1,
+            final int end1,
+            final CharSequence chars2,
+            final int start2,
+            final int end2) {
+        int length1 = end1 - start1;
+        int length2 = end2 - start2;
+        for (int i = 0; i < Math.min(length1, length2); ++i) {
+            char char1 = chars1.charAt(start1 + i);
+            char char2 = chars2.charAt(start2 + i);
+            if (char1 != char2) {
+                return char1 - char2;
+            }
+        }
+
+        return length1 - length2;
+    }
+
+    /**
+     * Writes a decoded query parameter name or value, encoded as a form field. Alphanumeric
+     * characters and <code>-_.*</code> are kept, spaces are replaced with <code>+</code> and
+     * every other character is percent-encoded using UTF-8.
+     *
+     * @param chars the decoded characters
+     * @param start the start index of the characters, inclusive
+     * @param end   the end index of the characters, exclusive
+     * @param sink  the sink which receives the encoded characters
+     */
+    private static void writeFormField(
+            final CharSequence chars,
+            final int start,
+            final int end,
+            final CharSink sink) {
+        for (int i = start; i < end; ++i) {
+            char character = chars.charAt(i);
+            if (isFormFieldSafe(character)) {
+                sink.put(character);
+            } else if (character == ' ') {
+                sink.put('+');
+            } else if (character < 0x80) {
+                writePercentEncoded(character, sink);
+            } else if (character < 0x800) {
+                writePercentEncoded(0xC0 | (character >> 6), sink);
+                writePercentEncoded(0x80 | (character & 0x3F), sink);
+            } else if (Character.isHighSurrogate(character) && i + 1 < end
+                    && Character.isLowSurrogate(chars.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(character, chars.charAt(++i));
+                writePercentEncoded(0xF0 | (codePoint >> 18), sink);
+                writePercentEncoded(0x80 | ((codePoint >> 12) & 0x3F), sink);
+                writePercentEncoded(0x80 | ((codePoint >> 6) & 0x3F), sink);
+                writePercentEncoded(0x80 | (codePoint & 0x3F), sink);
+            } else if (Character.isSurrogate(character)) {
+                // Unpaired surrogates are replaced with a question mark, just like by the encoder
+                writePercentEncoded('?', sink);
+            } else {
+                writePercentEncoded(0xE0 | (character >> 12), sink);
+                writePercentEncoded(0x80 | ((character >> 6) & 0x3F), sink);
+                writePercentEncoded(0x80 | (character & 0x3F), sink);
+            }
+        }
+    }
+
+    /**
+     * Writes a byte as a percent-encoded triplet with uppercase hexadecimal digits.
+     *
+     * @param value the byte value
+     * @param sink  the sink which receives the encoded characters
+     */
+    private static void writePercentEncoded(final int value, final CharSink sink) {
+        sink.put('%');
+        sink.put(HEX_DIGITS[(value >> 4) & 0xF]);
+        sink.put(HEX_DIGITS[value & 0xF]);
+    }
+
+    /**
+     * Writes the characters of the string, changing the ASCII uppercase letters to lowercase.
+     *
+     * @param chars the characters to write
+     * @param sink  the sink which receives the characters
+     */
+    private static void writeLowerCase(final String chars, final CharSink sink) {
+        for (int i = 0; i < chars.length(); ++i) {
+            char character = chars.charAt(i);
+            sink.put(character >= 'A' && character <= 'Z'
+                    ? (char) (character + ('a' - 'A'))
+                    : character);
+        }
+    }
+
+    /**
+     * Writes the decimal digits of a non-negative number.
+     *
+     * @param number the number to write
+     * @param sink   the sink which receives the digits
+     */
+    private static void writeNumber(final int number, final CharSink sink) {
+        if (number >= 10) {
+            writeNumber(number / 10, sink);
+        }
+
+        sink.put((char) ('0' + number % 10));
+    }
+
+    /**
+     * Counts the query parameter separators in the raw query.
+     *
+     * @param query the raw query of the URL
+     *
+     * @return the number of separators
+     */
+    private static int countSeparators(final String query) {
+        int count = 0;
+        for (int i = 0; i < query.length(); ++i) {
+            if (isQueryParamSeparator(query.charAt(i))) {
+                ++count;
+            }
+        }
+
+        return count;
+    }
+
+    private static boolean isQueryParamSeparator(final char character) {
+        return character == '&' || character == ';';
+    }
+
+    private static boolean isFormFieldSafe(final char character) {
+        return character >= 'a' && character <= 'z'
+                || character >= 'A' && character <= 'Z'
+                || character >= '0' && character <= '9'
+                || character == '-' || character == '_' || character == '.' || character == '*';
+    }
+
+    /**
+     * Receives the characters of the canonical form of a URL.
+     */
+    private interface CharSink {
+
+        /**
+         * Receives a single character.
+         *
+         * @param character the character
+         */
+        void put(char character);
+
+        /**
+         * Receives a range of characters.
+         *
+         * @param chars the characters
+         * @param start the start index of the range, inclusive
+         * @param end   the end index of the range, exclusive
+         */
+        void put(CharSequence chars, int start, int end);
+    }
+
+    /**
+     * A parameter of the query. The name and the value refer to a range of the raw query, unless
+     * they contain escape sequences, in which case they are decoded into new strings.
+     */
+    private static final class QueryParam {
+
+        private final CharSequence name;
+        private final int nameStart;
+        private final int nameEnd;
+        private final CharSequence value;
+        private final int valueStart;
+        private final int valueEnd;
+
+        /**
+         * Creates a {@link QueryParam} instance.
+         *
+         * @param query      the raw query of the URL
+         * @param nameStart  the start index of the name in the query, inclusive
+         * @param nameEnd    the end index of the name in the query, exclusive
+         * @param valueStart the start index of the value in the query, inclusive, or -1 if the
+         *                   parameter has no value
+         * @param valueEnd   the end index of the value in the query, exclusive, or -1 if the
+         *                   parameter has no value
+         */
+        QueryParam(
+                final String query,
+                final int nameStart,
+                final int nameEnd,
+                final int valueStart,
+                final int valueEnd) {
+            if (isEscaped(query, nameStart, nameEnd)) {
+                name = decode(query, nameStart, nameEnd);
+                this.nameStart = 0;
+                this.nameEnd = name.length();
+            } else {
+                name = query;
+                this.nameStart = nameStart;
+                this.nameEnd = nameEnd;
+            }
+
+            if (valueStart == -1) {
+                value = null;
+                this.valueStart = -1;
+                this.valueEnd = -1;
+            } else if (isEscaped(query, valueStart, valueEnd)) {
+                value = decode(query, valueStart, valueEnd);
+                this.valueStart = 0;
+                this.valueEnd = value.length();
+            } else {
+                value = query;
+                this.valueStart = valueStart;
+                this.valueEnd = valueEnd;
+            }
+        }
+
+        CharSequence getName() {
+            return name;
+        }
+
+        int getNameStart() {
+            return nameStart;
+        }
+
+        int getNameEnd() {
+            return nameEnd;
+        }
+
+        boolean hasValue() {
+            return value != null;
+        }
+
+        CharSequence getValue() {
+            return value;
+        }
+
+        int getValueStart() {
+            return valueStart;
+        }
+
+        int getValueEnd() {
+            return valueEnd;
+        }
+
+        /**
+         * Indicates if the range of the raw query contains percent-encoded characters or pluses
+         * which stand for spaces.
+         *
+         * @param query the raw query of the URL
+         * @param start the start index of the range, inclusive
+         * @param end   the end index of the range, exclusive
+         *
+         * @return <code>true</code> if the range has to be decoded, <code>false</code> otherwise
+         */
+        private static boolean isEscaped(final String query, final int start, final int end) {
+            for (int i = start; i < end; ++i) {
+                char character = query.charAt(i);
+                if (character == '%' || character == '+') {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * Decodes a form field of the raw query. Invalid escape sequences are kept as they are,
+         * while malformed UTF-8 byte sequences are replaced with the replacement character.
+         *
+         * @param query the raw query of the URL
+         * @param start the start index of the form field, inclusive
+         * @param end   the end index of the form field, exclusive
+         *
+         * @return the decoded form field
+         */
+        private static String decode(final String query, final int start, final int end) {
+            StringBuilder decoded = new StringBuilder(end - start);
+            byte[] bytes = new byte[end - start];
+            int byteCount = 0;
+
+            int i = start;
+            while (i < end) {
+                char character = query.charAt(i);
+                if (character == '%' && i + 2 < end) {
+                    int high = Character.digit(query.charAt(i + 1), 16);
+                    int low = Character.digit(query.charAt(i + 2), 16);
+                    if (high != -1 && low != -1) {
+                        bytes[byteCount++] = (byte) ((high << 4) + low);
+                        i += 3;
+                        continue;
+                    }
+                }
+
+                if (byteCount > 0) {
+                    decoded.append(new String(bytes, 0, byteCount, StandardCharsets.UTF_8));
+                    byteCount = 0;
+                }
+
+                decoded.append(character == '+' ? ' ' : character);
+                ++i;
+            }
+
+            if (byteCount > 0) {
+                decoded.append(new String(bytes, 0, byteCount, StandardCharsets.UTF_8));
+            }
+
+            return decoded.toString();
+        }
+    }
+}
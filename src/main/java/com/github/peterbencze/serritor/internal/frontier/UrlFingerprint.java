@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import org.apache.commons.lang3.Validate;
+
+/**
+ * A 128-bit fingerprint of a URL, stored as two <code>long</code> values.
+ */
+public final class UrlFingerprint implements Serializable {
+
+    static final int SIZE_IN_BYTES = 2 * Long.BYTES;
+
+    private final long high;
+    private final long low;
+
+    /**
+     * Creates a {@link UrlFingerprint} instance.
+     *
+     * @param high the upper 64 bits of the fingerprint
+     * @param low  the lower 64 bits of the fingerprint
+     */
+    public UrlFingerprint(final long high, final long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * Creates a fingerprint from the first 128 bits of a message digest.
+     *
+     * @param digest the message digest (should be at least 16 bytes long)
+     *
+     * @return the created fingerprint
+     */
+    public static UrlFingerprint fromDigest(final byte[] digest) {
+        Validate.isTrue(digest.length >= SIZE_IN_BYTES, "The digest is too short.");
+
+        ByteBuffer buffer = ByteBuffer.wrap(digest);
+        return new UrlFingerprint(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Returns the upper 64 bits of the fingerprint.
+     *
+     * @return the upper 64 bits of the fingerprint
+     */
+    public long getHigh() {
+        return high;
+    }
+
+    /**
+     * Returns the lower 64 bits of the fingerprint.
+     *
+     * @return the lower 64 bits of the fingerprint
+     */
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * Indicates if another object is equal to this fingerprint.
+     *
+     * @param obj the other object
+     *
+     * @return <code>true</code> if the other object is the same fingerprint, <code>false</code>
+     *         otherwise
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == this) {
+            return true;
+        }
+
+        if (obj instanceof UrlFingerprint) {
+            UrlFingerprint other = (UrlFingerprint) obj;
+            return high == other.high && low == other.low;
+        }
+
+        return false;
+    }
+
+    /**
+     * Calculates the hash code of the fingerprint.
+     *
+     * @return the hash code of the fingerprint
+     */
+    @Override
+    public int hashCode() {
+        // The bits of the fingerprint are uniformly distributed already
+        return (int) low;
+    }
+
+    /**
+     * Returns the string representation of this fingerprint.
+     *
+     * @return the fingerprint as a hexadecimal string
+     */
+    @Override
+    public String toString() {
+        return String.format("%016x%016x", high, low);
+    }
+}
@@ -14,36 +14,75 @@
  * limitations under the License.
  */
 
+
 package com.github.peterbencze.serritor.internal.stats;
 
-import com.github.peterbencze.serritor.internal.util.FunctionalReentrantReadWriteLock;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectInputStream.GetField;
+import java.io.ObjectOutputStream;
+import java.io.ObjectOutputStream.PutField;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.commons.lang3.Validate;
 
 /**
  * Accumulates statistics during the operation of the crawler.
+ *
+ * <p>This class is thread-safe and lock-free. The counters are updated independently of each
+ * other, so the values returned while events are recorded concurrently (including the snapshots)
+ * are weakly consistent.
  */
 public final class StatsCounter implements Serializable {
 
-    private final FunctionalReentrantReadWriteLock lock;
-
-    private int remainingCrawlCandidateCount;
-    private int processedCrawlCandidateCount;
-    private int responseSuccessCount;
-    private int pageLoadTimeoutCount;
-    private int requestRedirectCount;
-    private int nonHtmlResponseCount;
-    private int responseErrorCount;
-    private int networkErrorCount;
-    private int filteredDuplicateRequestCount;
-    private int filteredOffsiteRequestCount;
-    private int filteredCrawlDepthLimitExceedingRequestCount;
+    // The version of the previous, lock based implementation, so saved crawler states can still be
+    // resumed
+    private static final long serialVersionUID = -1718475389962746512L;
+
+    // The 32-bit counters of the previous implementation (the first ones of the names) are kept
+    // for compatibility, the 64-bit values are stored in an array in the order of the names
+    private static final String[] COUNTER_NAMES = {
+            "remainingCrawlCandidateCount",
+            "processedCrawlCandidateCount",
+            "responseSuccessCount",
+            "pageLoadTimeoutCount",
+            "requestRedirectCount",
+            "nonHtmlResponseCount",
+            "responseErrorCount",
+            "networkErrorCount",
+            "filteredDuplicateRequestCount",
+            "filteredOffsiteRequestCount",
+            "filteredCrawlDepthLimitExceedingRequestCount",
+            "domainNameCacheHitCount",
+            "domainNameCacheMissCount"
+    };
+    private static final int LEGACY_COUNTER_COUNT = 11;
+    private static final String COUNTS_FIELD_NAME = "counts";
+
+    private static final ObjectStreamField[] serialPersistentFields = createSerialFields();
+
+    private transient AtomicLong remainingCrawlCandidateCount;
+    private transient LongAdder processedCrawlCandidateCount;
+    private transient LongAdder responseSuccessCount;
+    private transient LongAdder pageLoadTimeoutCount;
+    private transient LongAdder requestRedirectCount;
+    private transient LongAdder nonHtmlResponseCount;
+    private transient LongAdder responseErrorCount;
+    private transient LongAdder networkErrorCount;
+    private transient LongAdder filteredDuplicateRequestCount;
+    private transient LongAdder filteredOffsiteRequestCount;
+    private transient LongAdder filteredCrawlDepthLimitExceedingRequestCount;
+    private transient LongAdder domainNameCacheHitCount;
+    private transient LongAdder domainNameCacheMissCount;
 
     /**
      * Creates a {@link StatsCounter} instance.
      */
     public StatsCounter() {
-        lock = new FunctionalReentrantReadWriteLock();
+        initCounters();
     }
 
     /**
@@ -51,8 +90,8 @@ public final class StatsCounter implements Serializable {
      *
      * @return the number of remaining crawl candidates
      */
-    public int getRemainingCrawlCandidateCount() {
-        return lock.readWithLock(() -> remainingCrawlCandidateCount);
+    public long getRemainingCrawlCandidateCount() {
+        return remainingCrawlCandidateCount.get();
     }
 
     /**
@@ -60,7 +99,7 @@ public final class StatsCounter implements Serializable {
      * the crawl frontier.
      */
     public void recordRemainingCrawlCandidate() {
-        lock.writeWithLock(() -> ++remainingCrawlCandidateCount);
+        remainingCrawlCandidateCount.incrementAndGet();
     }
 
     /**
@@ -68,8 +107,8 @@ public final class StatsCounter implements Serializable {
      *
      * @return the number of processed crawl candidates
      */
-    public int getProcessedCrawlCandidateCount() {
-        return lock.readWithLock(() -> processedCrawlCandidateCount);
+    public long getProcessedCrawlCandidateCount() {
+        return processedCrawlCandidateCount.sum();
     }
 
     /**
@@ -79,20 +118,15 @@ public final class StatsCounter implements Serializable {
      * @return the number of responses received during the crawl, whose HTTP status code indicated
      *         success (2xx)
      */
-    public int getResponseSuccessCount() {
-        return lock.readWithLock(() -> responseSuccessCount);
+    public long getResponseSuccessCount() {
+        return responseSuccessCount.sum();
     }
 
     /**
      * Records the receipt of a response whose HTTP status code indicates success (2xx).
      */
     public void recordResponseSuccess() {
-        lock.writeWithLock(() -> {
-            decrementRemainingCrawlCandidateCount();
-
-            ++responseSuccessCount;
-            incrementProcessedCrawlCandidateCount();
-        });
+        recordProcessedCrawlCandidate(responseSuccessCount);
     }
 
     /**
@@ -100,20 +134,15 @@ public final class StatsCounter implements Serializable {
      *
      * @return the number of page load timeouts that occurred during the crawl
      */
-    public int getPageLoadTimeoutCount() {
-        return lock.readWithLock(() -> pageLoadTimeoutCount);
+    public long getPageLoadTimeoutCount() {
+        return pageLoadTimeoutCount.sum();
     }
 
     /**
      * Records a page load timeout.
      */
     public void recordPageLoadTimeout() {
-        lock.writeWithLock(() -> {
-            decrementRemainingCrawlCandidateCount();
-
-            ++pageLoadTimeoutCount;
-            incrementProcessedCrawlCandidateCount();
-        });
+        recordProcessedCrawlCandidate(pageLoadTimeoutCount);
     }
 
     /**
@@ -121,20 +150,15 @@ public final class StatsCounter implements Serializable {
      *
      * @return the number of request redirects that occurred during the crawl
      */
-    public int getRequestRedirectCount() {
-        return lock.readWithLock(() -> requestRedirectCount);
+    public long getRequestRedirectCount() {
+        return requestRedirectCount.sum();
     }
 
     /**
      * Records a request redirect.
      */
     public void recordRequestRedirect() {
-        lock.writeWithLock(() -> {
-            decrementRemainingCrawlCandidateCount();
-
-            ++requestRedirectCount;
-            incrementProcessedCrawlCandidateCount();
-        });
+        recordProcessedCrawlCandidate(requestRedirectCount);
     }
 
     /**
@@ -142,20 +166,15 @@ public final class StatsCounter implements Serializable {
      *
      * @return the number of responses received with non-HTML content
      */
-    public int getNonHtmlResponseCount() {
-        return lock.readWithLock(() -> nonHtmlResponseCount);
+    public long getNonHtmlResponseCount() {
+        return nonHtmlResponseCount.sum();
     }
 
     /**
      * Records the receipt of a response with non-HTML content.
      */
     public void recordNonHtmlResponse() {
-        lock.writeWithLock(() -> {
-            decrementRemainingCrawlCandidateCount();
-
-            ++nonHtmlResponseCount;
-            incrementProcessedCrawlCandidateCount();
-        });
+        recordProcessedCrawlCandidate(nonHtmlResponseCount);
     }
 
     /**
@@ -165,20 +184,15 @@ public final class StatsCounter implements Serializable {
      * @return the number of responses received during the crawl, whose HTTP status code indicated
      *         error (4xx or 5xx)
      */
-    public int getResponseErrorCount() {
-        return lock.readWithLock(() -> responseErrorCount);
+    public long getResponseErrorCount() {
+        return responseErrorCount.sum();
     }
 
     /**
      * Records the receipt of a response whose HTTP status code indicates error (4xx or 5xx).
      */
     public void recordResponseError() {
-        lock.writeWithLock(() -> {
-            decrementRemainingCrawlCandidateCount();
-
-            ++responseErrorCount;
-            incrementProcessedCrawlCandidateCount();
-        });
+        recordProcessedCrawlCandidate(responseErrorCount);
     }
 
     /**
@@ -186,8 +200,8 @@ public final class StatsCounter implements Serializable {
      *
      * @return the number of network errors that occurred during the crawl
      */
-    public int getNetworkErrorCount() {
-        return lock.readWithLock(() -> networkErrorCount);
+    public long getNetworkErrorCount() {
+        return networkErrorCount.sum();
     }
 
     /**
@@ -195,12 +209,7 @@ public final class StatsCounter implements Serializable {
      * fulfill a request.
      */
     public void recordNetworkError() {
-        lock.writeWithLock(() -> {
-            decrementRemainingCrawlCandidateCount();
-
-            ++networkErrorCount;
-            incrementProcessedCrawlCandidateCount();
-        });
+        recordProcessedCrawlCandidate(networkErrorCount);
     }
 
     /**
@@ -208,8 +217,8 @@ public final class StatsCounter implements Serializable {
      *
      * @return the number of filtered duplicate requests
      */
-    public int getFilteredDuplicateRequestCount() {
-        return lock.readWithLock(() -> filteredDuplicateRequestCount);
+    public long getFilteredDuplicateRequestCount() {
+        return filteredDuplicateRequestCount.sum();
     }
 
     /**
@@ -217,7 +226,7 @@ public final class StatsCounter implements Serializable {
      * enabled and a duplicate request is encountered.
      */
     public void recordDuplicateRequest() {
-        lock.writeWithLock(() -> ++filteredDuplicateRequestCount);
+        filteredDuplicateRequestCount.increment();
     }
 
     /**
@@ -225,8 +234,8 @@ public final class StatsCounter implements Serializable {
      *
      * @return the number of filtered offsite requests
      */
-    public int getFilteredOffsiteRequestCount() {
-        return lock.readWithLock(() -> filteredOffsiteRequestCount);
+    public long getFilteredOffsiteRequestCount() {
+        return filteredOffsiteRequestCount.sum();
     }
 
     /**
@@ -234,7 +243,7 @@ public final class StatsCounter implements Serializable {
      * and an offsite request is encountered.
      */
     public void recordOffsiteRequest() {
-        lock.writeWithLock(() -> ++filteredOffsiteRequestCount);
+        filteredOffsiteRequestCount.increment();
     }
 
     /**
@@ -242,8 +251,8 @@ public final class StatsCounter implements Serializable {
      *
      * @return the number of filtered crawl depth limit exceeding requests
      */
-    public int getFilteredCrawlDepthLimitExceedingRequestCount() {
-        return lock.readWithLock(() -> filteredCrawlDepthLimitExceedingRequestCount);
+    public long getFilteredCrawlDepthLimitExceedingRequestCount() {
+        return filteredCrawlDepthLimitExceedingRequestCount.sum();
     }
 
     /**
@@ -251,32 +260,199 @@ public final class StatsCounter implements Serializable {
      * is set and the request's crawl depth exceeds this limit.
      */
     public void recordCrawlDepthLimitExceedingRequest() {
-        lock.writeWithLock(() -> ++filteredCrawlDepthLimitExceedingRequestCount);
+        filteredCrawlDepthLimitExceedingRequestCount.increment();
+    }
+
+    /**
+     * Returns the number of domain name lookups which were served from the domain name cache.
+     *
+     * @return the number of domain name cache hits
+     */
+    public long getDomainNameCacheHitCount() {
+        return domainNameCacheHitCount.sum();
+    }
+
+    /**
+     * Returns the number of domain name lookups which had to parse the domain name.
+     *
+     * @return the number of domain name cache misses
+     */
+    public long getDomainNameCacheMissCount() {
+        return domainNameCacheMissCount.sum();
+    }
+
+    /**
+     * Records the outcome of a domain name lookup made for the crawler.
+     *
+     * @param isCacheHit <code>true</code> if the domain name was found in the domain name cache,
+     *                   <code>false</code> if it had to be parsed
+     */
+    public void recordDomainNameLookup(final boolean isCacheHit) {
+        if (isCacheHit) {
+            domainNameCacheHitCount.increment();
+        } else {
+            domainNameCacheMissCount.increment();
+        }
+    }
+
+    /**
+     * Records the outcome of feeding a batch of crawl requests to the crawl frontier at once.
+     *
+     * @param candidateCount           the number of requests which became crawl candidates
+     * @param offsiteCount             the number of filtered offsite requests
+     * @param duplicateCount           the number of filtered duplicate requests
+     * @param depthLimitExceedingCount the number of filtered crawl depth limit exceeding requests
+     */
+    public void recordFedRequests(
+            final int candidateCount,
+            final int offsiteCount,
+            final int duplicateCount,
+            final int depthLimitExceedingCount) {
+        remainingCrawlCandidateCount.addAndGet(candidateCount);
+        filteredOffsiteRequestCount.add(offsiteCount);
+        filteredDuplicateRequestCount.add(duplicateCount);
+        filteredCrawlDepthLimitExceedingRequestCount.add(depthLimitExceedingCount);
     }
 
     /**
-     * Returns a snapshot of this counter's values.
+     * Returns a weakly consistent snapshot of this counter's values.
      *
      * @return a snapshot of this counter's values
      */
     public StatsCounterSnapshot getSnapshot() {
-        return lock.readWithLock(() -> new StatsCounterSnapshot(this));
+        return new StatsCounterSnapshot(this);
     }
 
     /**
-     * Increments the number of processed crawl candidates.
+     * Records a processed crawl candidate with the given outcome.
+     *
+     * @param outcomeCount the counter of the outcome
      */
-    private void incrementProcessedCrawlCandidateCount() {
-        ++processedCrawlCandidateCount;
+    private void recordProcessedCrawlCandidate(final LongAdder outcomeCount) {
+        decrementRemainingCrawlCandidateCount();
+
+        outcomeCount.increment();
+        processedCrawlCandidateCount.increment();
     }
 
     /**
      * Decrements the number of remaining crawl candidates. This number cannot be negative.
      */
     private void decrementRemainingCrawlCandidateCount() {
-        Validate.validState(remainingCrawlCandidateCount > 0,
-                "The number of remaining crawl candidates cannot be negative.");
+        long count;
+        do {
+            count = remainingCrawlCandidateCount.get();
+            Validate.validState(count > 0,
+                    "The number of remaining crawl candidates cannot be negative.");
+        } while (!remainingCrawlCandidateCount.compareAndSet(count, count - 1));
+    }
+
+    /**
+     * Creates the counters with zero values.
+     */
+    private void initCounters() {
+        remainingCrawlCandidateCount = new AtomicLong();
+        processedCrawlCandidateCount = new LongAdder();
+        responseSuccessCount = new LongAdder();
+        pageLoadTimeoutCount = new LongAdder();
+        requestRedirectCount = new LongAdder();
+        nonHtmlResponseCount = new LongAdder();
+        responseErrorCount = new LongAdder();
+        networkErrorCount = new LongAdder();
+        filteredDuplicateRequestCount = new LongAdder();
+        filteredOffsiteRequestCount = new LongAdder();
+        filteredCrawlDepthLimitExceedingRequestCount = new LongAdder();
+        domainNameCacheHitCount = new LongAdder();
+        domainNameCacheMissCount = new LongAdder();
+    }
 
-        --remainingCrawlCandidateCount;
+    /**
+     * Returns the counters in the order of their names.
+     *
+     * @return the counters in the order of their names
+     */
+    private long[] getCounts() {
+        return new long[]{
+                getRemainingCrawlCandidateCount(),
+                getProcessedCrawlCandidateCount(),
+                getResponseSuccessCount(),
+                getPageLoadTimeoutCount(),
+                getRequestRedirectCount(),
+                getNonHtmlResponseCount(),
+                getResponseErrorCount(),
+                getNetworkErrorCount(),
+                getFilteredDuplicateRequestCount(),
+                getFilteredOffsiteRequestCount(),
+                getFilteredCrawlDepthLimitExceedingRequestCount(),
+                getDomainNameCacheHitCount(),
+                getDomainNameCacheMissCount()
+        };
+    }
+
+    /**
+     * Sets the counters from values in the order of their names.
+     *
+     * @param counts the values of the counters
+     */
+    private void setCounts(final long[] counts) {
+        remainingCrawlCandidateCount.set(counts[0]);
+        processedCrawlCandidateCount.add(counts[1]);
+        responseSuccessCount.add(counts[2]);
+        pageLoadTimeoutCount.add(counts[3]);
+        requestRedirectCount.add(counts[4]);
+        nonHtmlResponseCount.add(counts[5]);
+        responseErrorCount.add(counts[6]);
+        networkErrorCount.add(counts[7]);
+        filteredDuplicateRequestCount.add(counts[8]);
+        filteredOffsiteRequestCount.add(counts[9]);
+        filteredCrawlDepthLimitExceedingRequestCount.add(counts[10]);
+        domainNameCacheHitCount.add(counts[11]);
+        domainNameCacheMissCount.add(counts[12]);
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        long[] counts = getCounts();
+
+        PutField fields = out.putFields();
+        for (int i = 0; i < LEGACY_COUNTER_COUNT; ++i) {
+            fields.put(COUNTER_NAMES[i], (int) Math.min(counts[i], Integer.MAX_VALUE));
+        }
+
+        fields.put(COUNTS_FIELD_NAME, counts);
+        out.writeFields();
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        GetField fields = in.readFields();
+
+        long[] counts = (long[]) fields.get(COUNTS_FIELD_NAME, null);
+        if (counts == null) {
+            // Written by the previous implementation
+            counts = new long[COUNTER_NAMES.length];
+            for (int i = 0; i < LEGACY_COUNTER_COUNT; ++i) {
+                counts[i] = fields.get(COUNTER_NAMES[i], 0);
+            }
+        }
+
+        // Written before the domain name cache counters were added
+        counts = Arrays.copyOf(counts, COUNTER_NAMES.length);
+
+        initCounters();
+        setCounts(counts);
+    }
+
+    /**
+     * Creates the descriptors of the serialized fields.
+     *
+     * @return the descriptors of the serialized fields
+     */
+    private static ObjectStreamField[] createSerialFields() {
+        ObjectStreamField[] fields = new ObjectStreamField[LEGACY_COUNTER_COUNT + 1];
+        for (int i = 0; i < LEGACY_COUNTER_COUNT; ++i) {
+            fields[i] = new ObjectStreamField(COUNTER_NAMES[i], int.class);
+        }
+
+        fields[LEGACY_COUNTER_COUNT] = new ObjectStreamField(COUNTS_FIELD_NAME, long[].class);
+        return fields;
     }
 }
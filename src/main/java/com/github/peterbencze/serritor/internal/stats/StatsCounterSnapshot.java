@@ -16,22 +16,28 @@
 
 package com.github.peterbencze.serritor.internal.stats;
 
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.function.ToLongFunction;
+
 /**
  * Represents a snapshot of the stats counter values.
  */
-public final class StatsCounterSnapshot {
-
-    private final int remainingCrawlCandidateCount;
-    private final int processedCrawlCandidateCount;
-    private final int responseSuccessCount;
-    private final int pageLoadTimeoutCount;
-    private final int requestRedirectCount;
-    private final int nonHtmlResponseCount;
-    private final int responseErrorCount;
-    private final int networkErrorCount;
-    private final int filteredDuplicateRequestCount;
-    private final int filteredOffsiteRequestCount;
-    private final int filteredCrawlDepthLimitExceedingRequestCount;
+public final class StatsCounterSnapshot implements Serializable {
+
+    private final long remainingCrawlCandidateCount;
+    private final long processedCrawlCandidateCount;
+    private final long responseSuccessCount;
+    private final long pageLoadTimeoutCount;
+    private final long requestRedirectCount;
+    private final long nonHtmlResponseCount;
+    private final long responseErrorCount;
+    private final long networkErrorCount;
+    private final long filteredDuplicateRequestCount;
+    private final long filteredOffsiteRequestCount;
+    private final long filteredCrawlDepthLimitExceedingRequestCount;
+    private final long domainNameCacheHitCount;
+    private final long domainNameCacheMissCount;
 
     /**
      * Creates a {@link StatsCounterSnapshot} instance.
@@ -51,6 +57,36 @@ public final class StatsCounterSnapshot {
         filteredOffsiteRequestCount = statsCounter.getFilteredOffsiteRequestCount();
         filteredCrawlDepthLimitExceedingRequestCount =
                 statsCounter.getFilteredCrawlDepthLimitExceedingRequestCount();
+        domainNameCacheHitCount = statsCounter.getDomainNameCacheHitCount();
+        domainNameCacheMissCount = statsCounter.getDomainNameCacheMissCount();
+    }
+
+    /**
+     * Creates a {@link StatsCounterSnapshot} instance which sums the values of the given
+     * snapshots, for example the ones of the nodes of a crawl cluster.
+     *
+     * @param snapshots the snapshots to sum
+     */
+    public StatsCounterSnapshot(final Collection<StatsCounterSnapshot> snapshots) {
+        remainingCrawlCandidateCount =
+                sum(snapshots, StatsCounterSnapshot::getRemainingCrawlCandidateCount);
+        processedCrawlCandidateCount =
+                sum(snapshots, StatsCounterSnapshot::getProcessedCrawlCandidateCount);
+        responseSuccessCount = sum(snapshots, StatsCounterSnapshot::getResponseSuccessCount);
+        pageLoadTimeoutCount = sum(snapshots, StatsCounterSnapshot::getPageLoadTimeoutCount);
+        requestRedirectCount = sum(snapshots, StatsCounterSnapshot::getRequestRedirectCount);
+        nonHtmlResponseCount = sum(snapshots, StatsCounterSnapshot::getNonHtmlResponseCount);
+        responseErrorCount = sum(snapshots, StatsCounterSnapshot::getResponseErrorCount);
+        networkErrorCount = sum(snapshots, StatsCounterSnapshot::getNetworkErrorCount);
+        filteredDuplicateRequestCount =
+                sum(snapshots, StatsCounterSnapshot::getFilteredDuplicateRequestCount);
+        filteredOffsiteRequestCount =
+                sum(snapshots, StatsCounterSnapshot::getFilteredOffsiteRequestCount);
+        filteredCrawlDepthLimitExceedingRequestCount = sum(snapshots,
+                StatsCounterSnapshot::getFilteredCrawlDepthLimitExceedingRequestCount);
+        domainNameCacheHitCount = sum(snapshots, StatsCounterSnapshot::getDomainNameCacheHitCount);
+        domainNameCacheMissCount =
+                sum(snapshots, StatsCounterSnapshot::getDomainNameCacheMissCount);
     }
 
     /**
@@ -58,7 +94,7 @@ public final class StatsCounterSnapshot {
      *
      * @return the number of remaining crawl candidates
      */
-    public int getRemainingCrawlCandidateCount() {
+    public long getRemainingCrawlCandidateCount() {
         return remainingCrawlCandidateCount;
     }
 
@@ -67,7 +103,7 @@ public final class StatsCounterSnapshot {
      *
      * @return the number of processed crawl candidates
      */
-    public int getProcessedCrawlCandidateCount() {
+    public long getProcessedCrawlCandidateCount() {
         return processedCrawlCandidateCount;
     }
 
@@ -78,7 +114,7 @@ public final class StatsCounterSnapshot {
      * @return the number of responses received during the crawl, whose HTTP status code indicated
      *         success (2xx)
      */
-    public int getResponseSuccessCount() {
+    public long getResponseSuccessCount() {
         return responseSuccessCount;
     }
 
@@ -87,7 +123,7 @@ public final class StatsCounterSnapshot {
      *
      * @return the number of page load timeouts that occurred during the crawl
      */
-    public int getPageLoadTimeoutCount() {
+    public long getPageLoadTimeoutCount() {
         return pageLoadTimeoutCount;
     }
 
@@ -96,7 +132,7 @@ public final class StatsCounterSnapshot {
      *
      * @return the number of request redirects that occurred during the crawl.
      */
-    public int getRequestRedirectCount() {
+    public long getRequestRedirectCount() {
         return requestRedirectCount;
     }
 
@@ -105,7 +141,7 @@ public final class StatsCounterSnapshot {
      *
      * @return the number of responses received with non-HTML content
      */
-    public int getNonHtmlResponseCount() {
+    public long getNonHtmlResponseCount() {
         return nonHtmlResponseCount;
     }
 
@@ -116,7 +152,7 @@ public final class StatsCounterSnapshot {
      * @return the number of responses received during the crawl, whose HTTP status code indicated
      *         error (4xx or 5xx)
      */
-    public int getResponseErrorCount() {
+    public long getResponseErrorCount() {
         return responseErrorCount;
     }
 
@@ -125,7 +161,7 @@ public final class StatsCounterSnapshot {
      *
      * @return the number of network errors that occurred during the crawl
      */
-    public int getNetworkErrorCount() {
+    public long getNetworkErrorCount() {
         return networkErrorCount;
     }
 
@@ -134,7 +170,7 @@ public final class StatsCounterSnapshot {
      *
      * @return the number of filtered duplicate requests
      */
-    public int getFilteredDuplicateRequestCount() {
+    public long getFilteredDuplicateRequestCount() {
         return filteredDuplicateRequestCount;
     }
 
@@ -143,7 +179,7 @@ public final class StatsCounterSnapshot {
      *
      * @return the number of filtered offsite requests
      */
-    public int getFilteredOffsiteRequestCount() {
+    public long getFilteredOffsiteRequestCount() {
         return filteredOffsiteRequestCount;
     }
 
@@ -152,7 +188,31 @@ public final class StatsCounterSnapshot {
      *
      * @return the number of filtered crawl depth limit exceeding requests
      */
-    public int getFilteredCrawlDepthLimitExceedingRequestCount() {
+    public long getFilteredCrawlDepthLimitExceedingRequestCount() {
         return filteredCrawlDepthLimitExceedingRequestCount;
     }
+
+    /**
+     * Returns the number of domain name lookups which were served from the cache.
+     *
+     * @return the number of domain name cache hits
+     */
+    public long getDomainNameCacheHitCount() {
+        return domainNameCacheHitCount;
+    }
+
+    /**
+     * Returns the number of domain name lookups which had to parse the domain name.
+     *
+     * @return the number of domain name cache misses
+     */
+    public long getDomainNameCacheMissCount() {
+        return domainNameCacheMissCount;
+    }
+
+    private static long sum(
+            final Collection<StatsCounterSnapshot> snapshots,
+            final ToLongFunction<StatsCounterSnapshot> valueGetter) {
+        return snapshots.stream().mapToLong(valueGetter).sum();
+    }
 }
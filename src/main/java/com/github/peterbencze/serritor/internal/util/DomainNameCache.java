@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.peterbencze.serritor.internal.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.net.InternetDomainName;
+
+/**
+ * A bounded, thread-safe cache of the parsed domain names of hosts. Parsing a domain name looks up
+ * its public suffix, which is repeated for every request otherwise, even though most of the
+ * requests of a crawl go to a small number of hosts. The least recently used entries are evicted
+ * once the cache is full.
+ *
+ * <p>The cache is shared by all the crawlers of the JVM, so it does not count hits and misses
+ * itself. Instead, each lookup can report whether it was served from the cache to its caller,
+ * which attributes it to the crawler the lookup was made for.
+ */
+public final class DomainNameCache {
+
+    private static final int MAXIMUM_SIZE = 16_384;
+
+    private static final Cache<String, InternetDomainName> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .build();
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private DomainNameCache() {
+    }
+
+    /**
+     * Returns the parsed domain name of a host, parsing it only if it is not in the cache.
+     *
+     * @param host the host
+     *
+     * @return the parsed domain name of the host
+     *
+     * @throws IllegalArgumentException if the host is not a valid domain name
+     */
+    public static InternetDomainName get(final String host) {
+        return get(host, isCacheHit -> {
+        });
+    }
+
+    /**
+     * Returns the parsed domain name of a host, parsing it only if it is not in the cache, and
+     * reports to the listener whether it was found in the cache.
+     *
+     * @param host     the host
+     * @param listener the listener which is notified of the outcome of the lookup
+     *
+     * @return the parsed domain name of the host
+     *
+     * @throws IllegalArgumentException if the host is not a valid domain name
+     */
+    public static InternetDomainName get(final String host, final LookupListener listener) {
+        InternetDomainName domain = CACHE.getIfPresent(host);
+        if (domain != null) {
+            listener.onLookup(true);
+            return domain;
+        }
+
+        // Invalid hosts are not cached, so the exception is thrown directly by the parser
+        domain = InternetDomainName.from(host);
+        CACHE.put(host, domain);
+        listener.onLookup(false);
+        return domain;
+    }
+
+    /**
+     * Notified of the outcome of a domain name lookup.
+     */
+    @FunctionalInterface
+    public interface LookupListener {
+
+        /**
+         * Called when a domain name is looked up.
+         *
+         * @param isCacheHit <code>true</code> if the domain name was found in the cache,
+         *                   <code>false</code> if it had to be parsed
+         */
+        void onLookup(boolean isCacheHit);
+    }
+}
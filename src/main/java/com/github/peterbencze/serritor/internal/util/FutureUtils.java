@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Helper methods for futures which represent the result of I/O operations.
+ */
+public final class FutureUtils {
+
+    /**
+     * Private constructor to hide the implicit public one.
+     */
+    private FutureUtils() {
+    }
+
+    /**
+     * Waits for the future to complete and returns its result. If the future completed with an
+     * I/O error, it is rethrown as a checked exception.
+     *
+     * @param <T>    the type of the result
+     * @param future the future to wait for
+     *
+     * @return the result of the future
+     *
+     * @throws IOException if the I/O operation failed
+     */
+    public static <T> T join(final CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+
+            throw exception;
+        }
+    }
+}
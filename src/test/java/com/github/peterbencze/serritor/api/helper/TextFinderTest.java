@@ -45,7 +45,7 @@ public final class TextFinderTest {
         webDriverMock = Mockito.mock(WebDriver.class);
 
         crawlResponseMock = Mockito.mock(CompleteCrawlResponse.class);
-        Mockito.when(crawlResponseMock.getWebDriver()).thenReturn(webDriverMock);
+        Mockito.when(crawlResponseMock.getSearchContext()).thenReturn(webDriverMock);
 
         textFinder = new TextFinder(textPattern);
     }
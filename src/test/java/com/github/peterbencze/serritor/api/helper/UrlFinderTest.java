@@ -42,7 +42,7 @@ public final class UrlFinderTest {
         webDriverMock = Mockito.mock(WebDriver.class);
 
         crawlResponseMock = Mockito.mock(CompleteCrawlResponse.class);
-        Mockito.when(crawlResponseMock.getWebDriver()).thenReturn(webDriverMock);
+        Mockito.when(crawlResponseMock.getSearchContext()).thenReturn(webDriverMock);
 
         urlFinder = UrlFinder.createDefault();
     }
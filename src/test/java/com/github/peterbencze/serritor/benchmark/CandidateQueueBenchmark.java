@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.benchmark;
+
+import com.github.peterbencze.serritor.api.CrawlCandidate;
+import com.github.peterbencze.serritor.api.CrawlCandidate.CrawlCandidateBuilder;
+import com.github.peterbencze.serritor.api.CrawlRequest.CrawlRequestBuilder;
+import com.github.peterbencze.serritor.api.CrawlStrategy;
+import com.github.peterbencze.serritor.internal.frontier.InMemoryCandidateQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the bucketed in-memory candidate queue with the previous, comparator-driven
+ * <code>PriorityQueue</code> by adding a set of candidates and then polling all of them. The
+ * benchmarks can be run with the main method, using the test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CandidateQueueBenchmark {
+
+    private static final int MAX_CRAWL_DEPTH = 8;
+    private static final int MAX_PRIORITY = 3;
+
+    @Param({"1000", "100000"})
+    private int candidateCount;
+
+    @Param({"BREADTH_FIRST", "DEPTH_FIRST"})
+    private CrawlStrategy crawlStrategy;
+
+    private List<CrawlCandidate> candidates;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+
+        candidates = new ArrayList<>(candidateCount);
+        for (int i = 0; i < candidateCount; ++i) {
+            CrawlRequestBuilder requestBuilder = new CrawlRequestBuilder("http://te.st/" + i)
+                    .setPriority(random.nextInt(MAX_PRIORITY + 1));
+
+            candidates.add(new CrawlCandidateBuilder(requestBuilder.build())
+                    .setCrawlDepth(random.nextInt(MAX_CRAWL_DEPTH + 1))
+                    .build());
+        }
+
+        Collections.shuffle(candidates, random);
+    }
+
+    @Benchmark
+    public void bucketedQueue(final Blackhole blackhole) {
+        InMemoryCandidateQueue queue = new InMemoryCandidateQueue(crawlStrategy);
+        candidates.forEach(queue::add);
+
+        while (!queue.isEmpty()) {
+            blackhole.consume(queue.poll());
+        }
+    }
+
+    @Benchmark
+    public void priorityQueue(final Blackhole blackhole) {
+        PriorityQueue<CrawlCandidate> queue = new PriorityQueue<>(createComparator());
+        candidates.forEach(queue::add);
+
+        while (!queue.isEmpty()) {
+            blackhole.consume(queue.poll());
+        }
+    }
+
+    private Comparator<CrawlCandidate> createComparator() {
+        Function<CrawlCandidate, Integer> crawlDepthGetter = CrawlCandidate::getCrawlDepth;
+        Function<CrawlCandidate, Integer> priorityGetter = CrawlCandidate::getPriority;
+
+        if (crawlStrategy == CrawlStrategy.BREADTH_FIRST) {
+            return Comparator.comparing(crawlDepthGetter)
+                    .thenComparing(priorityGetter, Comparator.reverseOrder());
+        }
+
+        return Comparator.comparing(crawlDepthGetter, Comparator.reverseOrder())
+                .thenComparing(priorityGetter, Comparator.reverseOrder());
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CandidateQueueBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.benchmark;
+
+import com.github.peterbencze.serritor.internal.frontier.UrlCanonicalizer;
+import com.github.peterbencze.serritor.internal.frontier.UrlFingerprint;
+import java.net.URI;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.utils.URIBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the URL canonicalizer with the previous, <code>URIBuilder</code> based URL
+ * fingerprinting of the crawl frontier. The benchmarks can be run with the main method, using the
+ * test classpath.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UrlFingerprintBenchmark {
+
+    @Param({
+            "https://www.example.com/articles/2019/06/some-article-title",
+            "https://www.example.com/search?q=web+crawler&page=2&sort=relevance#results"
+    })
+    private String url;
+
+    private URI uri;
+
+    @Setup
+    public void setup() {
+        uri = URI.create(url);
+    }
+
+    @Benchmark
+    public UrlFingerprint canonicalizer() {
+        return UrlCanonicalizer.createFingerprint(uri);
+    }
+
+    @Benchmark
+    public String uriBuilder() {
+        URIBuilder builder = new URIBuilder(uri);
+        builder.setScheme(builder.getScheme().toLowerCase())
+                .setHost(builder.getHost().toLowerCase());
+
+        List<NameValuePair> queryParams = builder.getQueryParams();
+        queryParams.sort(Comparator.comparing(NameValuePair::getName)
+                .thenComparing(NameValuePair::getValue));
+
+        builder.setParameters(queryParams);
+        builder.setFragment(null);
+
+        return DigestUtils.sha256Hex(builder.toString());
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UrlFingerprintBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build())
+                .run();
+    }
+}
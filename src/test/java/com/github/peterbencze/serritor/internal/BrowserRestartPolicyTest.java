@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal;
+
+import com.github.peterbencze.serritor.api.CrawlerConfiguration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * Test cases for {@link BrowserRestartPolicy}.
+ */
+public final class BrowserRestartPolicyTest {
+
+    private static final int RESTART_PAGE_COUNT = 2;
+    private static final long MEMORY_THRESHOLD_IN_BYTES = 1000;
+
+    private WebDriver webDriverMock;
+    private BrowserSession session;
+
+    @Before
+    public void before() {
+        webDriverMock = Mockito.mock(WebDriver.class,
+                Mockito.withSettings().extraInterfaces(JavascriptExecutor.class));
+        session = new BrowserSession(null, null, webDriverMock);
+    }
+
+    @Test
+    public void testIsRestartRequiredWhenRestartIsDisabled() {
+        BrowserRestartPolicy policy = new BrowserRestartPolicy(
+                new CrawlerConfiguration.CrawlerConfigurationBuilder().build());
+        session.recordPageLoad();
+
+        Assert.assertFalse(policy.isRestartRequired(session));
+        Mockito.verifyZeroInteractions(webDriverMock);
+    }
+
+    @Test
+    public void testIsRestartRequiredWhenPageCountIsReached() {
+        BrowserRestartPolicy policy = new BrowserRestartPolicy(
+                new CrawlerConfiguration.CrawlerConfigurationBuilder()
+                        .setBrowserRestartPageCount(RESTART_PAGE_COUNT)
+                        .build());
+
+        session.recordPageLoad();
+        Assert.assertFalse(policy.isRestartRequired(session));
+
+        session.recordPageLoad();
+        Assert.assertTrue(policy.isRestartRequired(session));
+    }
+
+    @Test
+    public void testIsRestartRequiredWhenMemoryThresholdIsExceeded() {
+        BrowserRestartPolicy policy = new BrowserRestartPolicy(
+                new CrawlerConfiguration.CrawlerConfigurationBuilder()
+                        .setBrowserRestartMemoryThreshold(MEMORY_THRESHOLD_IN_BYTES)
+                        .build());
+        session.recordPageLoad();
+
+        Mockito.when(((JavascriptExecutor) webDriverMock).executeScript(Mockito.anyString()))
+                .thenReturn(MEMORY_THRESHOLD_IN_BYTES);
+        Assert.assertFalse(policy.isRestartRequired(session));
+
+        Mockito.when(((JavascriptExecutor) webDriverMock).executeScript(Mockito.anyString()))
+                .thenReturn(MEMORY_THRESHOLD_IN_BYTES + 1);
+        Assert.assertTrue(policy.isRestartRequired(session));
+    }
+
+    @Test
+    public void testIsRestartRequiredWhenMemoryUsageIsNotSupported() {
+        BrowserRestartPolicy policy = new BrowserRestartPolicy(
+                new CrawlerConfiguration.CrawlerConfigurationBuilder()
+                        .setBrowserRestartMemoryThreshold(MEMORY_THRESHOLD_IN_BYTES)
+                        .build());
+        session.recordPageLoad();
+
+        Mockito.when(((JavascriptExecutor) webDriverMock).executeScript(Mockito.anyString()))
+                .thenReturn(-1L);
+        Assert.assertFalse(policy.isRestartRequired(session));
+
+        Mockito.when(((JavascriptExecutor) webDriverMock).executeScript(Mockito.anyString()))
+                .thenThrow(new WebDriverException());
+        Assert.assertFalse(policy.isRestartRequired(session));
+    }
+}
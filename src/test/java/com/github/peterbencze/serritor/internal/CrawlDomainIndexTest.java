@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal;
+
+import com.google.common.collect.Sets;
+import com.google.common.net.InternetDomainName;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link CrawlDomainIndex}.
+ */
+public final class CrawlDomainIndexTest {
+
+    private static final CrawlDomain CRAWL_DOMAIN_0 =
+            new CrawlDomain(InternetDomainName.from("test.com"));
+    private static final CrawlDomain CRAWL_DOMAIN_1 =
+            new CrawlDomain(InternetDomainName.from("sub.example.co.uk"));
+
+    private static final CrawlDomainIndex INDEX =
+            new CrawlDomainIndex(Sets.newHashSet(CRAWL_DOMAIN_0, CRAWL_DOMAIN_1));
+
+    @Test
+    public void testContainsCrawlDomainsAndTheirSubdomains() {
+        Assert.assertTrue(INDEX.contains(InternetDomainName.from("test.com")));
+        Assert.assertTrue(INDEX.contains(InternetDomainName.from("a.b.test.com")));
+        Assert.assertTrue(INDEX.contains(InternetDomainName.from("sub.example.co.uk")));
+        Assert.assertTrue(INDEX.contains(InternetDomainName.from("www.sub.example.co.uk")));
+    }
+
+    @Test
+    public void testDoesNotContainOtherDomains() {
+        Assert.assertFalse(INDEX.contains(InternetDomainName.from("com")));
+        Assert.assertFalse(INDEX.contains(InternetDomainName.from("example.co.uk")));
+        Assert.assertFalse(INDEX.contains(InternetDomainName.from("other.co.uk")));
+        Assert.assertFalse(INDEX.contains(InternetDomainName.from("test.org")));
+        Assert.assertFalse(INDEX.contains(InternetDomainName.from("latest.com")));
+    }
+
+    @Test
+    public void testContainsWithoutCrawlDomains() {
+        CrawlDomainIndex emptyIndex = new CrawlDomainIndex(Collections.emptySet());
+
+        Assert.assertFalse(emptyIndex.contains(InternetDomainName.from("test.com")));
+    }
+}
@@ -22,15 +22,24 @@ import com.github.peterbencze.serritor.api.CrawlRequest.CrawlRequestBuilder;
 import com.github.peterbencze.serritor.api.CrawlStrategy;
 import com.github.peterbencze.serritor.api.CrawlerConfiguration;
 import com.github.peterbencze.serritor.api.CrawlerConfiguration.CrawlerConfigurationBuilder;
+import com.github.peterbencze.serritor.internal.frontier.HostAvailability;
 import com.github.peterbencze.serritor.internal.stats.StatsCounter;
 import com.google.common.collect.Sets;
+import com.google.common.net.InternetDomainName;
+import java.io.IOException;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.lang3.SerializationUtils;
+import org.awaitility.Awaitility;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
 
 /**
@@ -108,6 +117,9 @@ public final class CrawlFrontierTest {
     // Max crawl depth
     private static final int MAX_CRAWL_DEPTH = 1;
 
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private CrawlerConfiguration configMock;
     private StatsCounter statsCounterMock;
 
@@ -132,12 +144,12 @@ public final class CrawlFrontierTest {
 
         Assert.assertTrue(crawlFrontier.hasNextCandidate());
 
-        crawlFrontier.getNextCandidate();
+        CrawlCandidate parentCandidate = crawlFrontier.getNextCandidate();
 
         Assert.assertFalse(crawlFrontier.hasNextCandidate());
 
-        crawlFrontier.feedRequest(CHILD_URL_0_CRAWL_REQUEST, false);
-        crawlFrontier.feedRequest(CHILD_URL_1_CRAWL_REQUEST, false);
+        crawlFrontier.feedRequest(CHILD_URL_0_CRAWL_REQUEST, parentCandidate);
+        crawlFrontier.feedRequest(CHILD_URL_1_CRAWL_REQUEST, parentCandidate);
 
         Assert.assertTrue(crawlFrontier.hasNextCandidate());
 
@@ -163,8 +175,8 @@ public final class CrawlFrontierTest {
     public void testEnabledDuplicateRequestFiltering() {
         CrawlFrontier crawlFrontier = new CrawlFrontier(configMock, statsCounterMock);
 
-        clearCrawlCandidateQueue(crawlFrontier);
-        crawlFrontier.feedRequest(DUPLICATE_ROOT_URL_0_CRAWL_REQUEST, false);
+        CrawlCandidate parentCandidate = clearCrawlCandidateQueue(crawlFrontier);
+        crawlFrontier.feedRequest(DUPLICATE_ROOT_URL_0_CRAWL_REQUEST, parentCandidate);
 
         Assert.assertFalse(crawlFrontier.hasNextCandidate());
     }
@@ -176,7 +188,7 @@ public final class CrawlFrontierTest {
         CrawlFrontier crawlFrontier = new CrawlFrontier(configMock, statsCounterMock);
 
         clearCrawlCandidateQueue(crawlFrontier);
-        crawlFrontier.feedRequest(DUPLICATE_ROOT_URL_0_CRAWL_REQUEST, true);
+        crawlFrontier.feedCrawlSeed(DUPLICATE_ROOT_URL_0_CRAWL_REQUEST);
 
         Assert.assertTrue(crawlFrontier.hasNextCandidate());
         Assert.assertEquals(DUPLICATE_ROOT_URL_0, crawlFrontier.getNextCandidate().getRequestUrl());
@@ -214,15 +226,15 @@ public final class CrawlFrontierTest {
         Assert.assertEquals(ROOT_URL_CRAWL_DEPTH, nextCandidate.getCrawlDepth());
         Assert.assertEquals(ROOT_URL_1_PRIORITY, nextCandidate.getPriority());
 
-        crawlFrontier.feedRequest(CHILD_URL_2_CRAWL_REQUEST, false);
+        crawlFrontier.feedRequest(CHILD_URL_2_CRAWL_REQUEST, nextCandidate);
 
         nextCandidate = crawlFrontier.getNextCandidate();
         Assert.assertEquals(ROOT_URL_0, nextCandidate.getRequestUrl());
         Assert.assertEquals(ROOT_URL_CRAWL_DEPTH, nextCandidate.getCrawlDepth());
         Assert.assertEquals(ROOT_URL_0_PRIORITY, nextCandidate.getPriority());
 
-        crawlFrontier.feedRequest(CHILD_URL_0_CRAWL_REQUEST, false);
-        crawlFrontier.feedRequest(CHILD_URL_1_CRAWL_REQUEST, false);
+        crawlFrontier.feedRequest(CHILD_URL_0_CRAWL_REQUEST, nextCandidate);
+        crawlFrontier.feedRequest(CHILD_URL_1_CRAWL_REQUEST, nextCandidate);
 
         nextCandidate = crawlFrontier.getNextCandidate();
         Assert.assertEquals(CHILD_URL_2, nextCandidate.getRequestUrl());
@@ -254,7 +266,7 @@ public final class CrawlFrontierTest {
         Assert.assertEquals(ROOT_URL_CRAWL_DEPTH, nextCandidate.getCrawlDepth());
         Assert.assertEquals(ROOT_URL_1_PRIORITY, nextCandidate.getPriority());
 
-        crawlFrontier.feedRequest(CHILD_URL_2_CRAWL_REQUEST, false);
+        crawlFrontier.feedRequest(CHILD_URL_2_CRAWL_REQUEST, nextCandidate);
 
         // A priority queue doesn't ensure FIFO order when elements have the same depth and priority
         nextCandidate = crawlFrontier.getNextCandidate();
@@ -267,8 +279,8 @@ public final class CrawlFrontierTest {
         Assert.assertEquals(ROOT_URL_CRAWL_DEPTH, nextCandidate.getCrawlDepth());
         Assert.assertEquals(ROOT_URL_0_PRIORITY, nextCandidate.getPriority());
 
-        crawlFrontier.feedRequest(CHILD_URL_0_CRAWL_REQUEST, false);
-        crawlFrontier.feedRequest(CHILD_URL_1_CRAWL_REQUEST, false);
+        crawlFrontier.feedRequest(CHILD_URL_0_CRAWL_REQUEST, nextCandidate);
+        crawlFrontier.feedRequest(CHILD_URL_1_CRAWL_REQUEST, nextCandidate);
 
         nextCandidate = crawlFrontier.getNextCandidate();
         Assert.assertEquals(CHILD_URL_0, nextCandidate.getRequestUrl());
@@ -282,23 +294,100 @@ public final class CrawlFrontierTest {
         Assert.assertFalse(crawlFrontier.hasNextCandidate());
     }
 
+    @Test
+    public void testGetNextCandidateWithHostAvailability() {
+        CrawlFrontier crawlFrontier = new CrawlFrontier(configMock, statsCounterMock);
+
+        HostAvailability hostAvailabilityMock = Mockito.mock(HostAvailability.class);
+        Mockito.when(hostAvailabilityMock.isEligible(
+                InternetDomainName.from(ALLOWED_CRAWL_DOMAIN_0))).thenReturn(true);
+
+        Optional<CrawlCandidate> nextCandidateOpt =
+                crawlFrontier.getNextCandidate(hostAvailabilityMock);
+        Assert.assertTrue(nextCandidateOpt.isPresent());
+        Assert.assertEquals(ROOT_URL_0, nextCandidateOpt.get().getRequestUrl());
+
+        // The candidate of the host which cannot be requested should remain in the frontier
+        Assert.assertFalse(crawlFrontier.getNextCandidate(hostAvailabilityMock).isPresent());
+        Assert.assertTrue(crawlFrontier.hasNextCandidate());
+        Assert.assertEquals(ROOT_URL_1, crawlFrontier.getNextCandidate().getRequestUrl());
+        Assert.assertFalse(crawlFrontier.hasNextCandidate());
+    }
+
+    @Test
+    public void testRequeueCandidate() {
+        CrawlFrontier crawlFrontier = new CrawlFrontier(configMock, statsCounterMock);
+        Mockito.reset(statsCounterMock);
+
+        CrawlCandidate nextCandidate = crawlFrontier.getNextCandidate();
+        crawlFrontier.requeueCandidate(nextCandidate);
+
+        // Queued candidates are rebuilt from their compact form when they are polled
+        CrawlCandidate requeuedCandidate = crawlFrontier.getNextCandidate();
+        Assert.assertEquals(nextCandidate.getRequestUrl(), requeuedCandidate.getRequestUrl());
+        Assert.assertEquals(nextCandidate.getPriority(), requeuedCandidate.getPriority());
+        Mockito.verifyZeroInteractions(statsCounterMock);
+    }
+
     @Test
     public void testCrawlDepthLimitation() {
         Mockito.when(configMock.getMaximumCrawlDepth()).thenReturn(MAX_CRAWL_DEPTH);
 
         CrawlFrontier crawlFrontier = new CrawlFrontier(configMock, statsCounterMock);
 
-        clearCrawlCandidateQueue(crawlFrontier);
-        crawlFrontier.feedRequest(CHILD_URL_0_CRAWL_REQUEST, false);
+        CrawlCandidate parentCandidate = clearCrawlCandidateQueue(crawlFrontier);
+        crawlFrontier.feedRequest(CHILD_URL_0_CRAWL_REQUEST, parentCandidate);
 
         CrawlCandidate nextCandidate = crawlFrontier.getNextCandidate();
         Assert.assertTrue(nextCandidate.getCrawlDepth() <= MAX_CRAWL_DEPTH);
 
-        crawlFrontier.feedRequest(CHILD_URL_1_CRAWL_REQUEST, false);
+        crawlFrontier.feedRequest(CHILD_URL_1_CRAWL_REQUEST, nextCandidate);
 
         Assert.assertFalse(crawlFrontier.hasNextCandidate());
     }
 
+    @Test
+    public void testFeedRequests() {
+        CrawlFrontier crawlFrontier = new CrawlFrontier(configMock, statsCounterMock);
+        CrawlCandidate parentCandidate = clearCrawlCandidateQueue(crawlFrontier);
+        Mockito.reset(statsCounterMock);
+
+        // The batch also contains a duplicate of one of its own requests
+        crawlFrontier.feedRequests(Arrays.asList(CHILD_URL_0_CRAWL_REQUEST,
+                OFFSITE_URL_CRAWL_REQUEST, CHILD_URL_1_CRAWL_REQUEST, CHILD_URL_0_CRAWL_REQUEST),
+                parentCandidate);
+
+        Mockito.verify(statsCounterMock).recordFedRequests(2, 1, 1, 0);
+        Mockito.verifyNoMoreInteractions(statsCounterMock);
+
+        for (int i = 0; i < 2; ++i) {
+            CrawlCandidate nextCandidate = crawlFrontier.getNextCandidate();
+            Assert.assertTrue(nextCandidate.getRequestUrl().getPath().contains(CHILD_URL_PATH));
+            Assert.assertEquals(CHILD_URL_CRAWL_DEPTH, nextCandidate.getCrawlDepth());
+            Assert.assertEquals(parentCandidate.getRequestUrl(), nextCandidate.getRefererUrl());
+        }
+
+        Assert.assertFalse(crawlFrontier.hasNextCandidate());
+    }
+
+    @Test
+    public void testFeedRequestCountsCandidateBeforeQueueing() {
+        CrawlFrontier crawlFrontier = new CrawlFrontier(configMock, statsCounterMock);
+        CrawlCandidate parentCandidate = clearCrawlCandidateQueue(crawlFrontier);
+
+        Mockito.doAnswer(invocation -> {
+            // A concurrent worker must not be able to take and complete the candidate yet
+            Assert.assertFalse(crawlFrontier.hasNextCandidate());
+            return null;
+        }).when(statsCounterMock).recordFedRequests(Mockito.anyInt(), Mockito.anyInt(),
+                Mockito.anyInt(), Mockito.anyInt());
+
+        crawlFrontier.feedRequest(CHILD_URL_0_CRAWL_REQUEST, parentCandidate);
+
+        Mockito.verify(statsCounterMock).recordFedRequests(1, 0, 0, 0);
+        Assert.assertTrue(crawlFrontier.hasNextCandidate());
+    }
+
     @Test
     public void testReset() {
         CrawlFrontier crawlFrontier = new CrawlFrontier(configMock, statsCounterMock);
@@ -315,9 +404,84 @@ public final class CrawlFrontierTest {
         Assert.assertFalse(crawlFrontier.hasNextCandidate());
     }
 
-    private static void clearCrawlCandidateQueue(final CrawlFrontier crawlFrontier) {
+    @Test
+    public void testGetNextCandidateWithBoundedHostBackQueues() {
+        Mockito.when(configMock.getHostBackQueueCapacity()).thenReturn(1);
+
+        CrawlFrontier crawlFrontier = new CrawlFrontier(configMock, statsCounterMock);
+        CrawlCandidate parentCandidate = crawlFrontier.getNextCandidate();
+        Assert.assertEquals(ROOT_URL_1, parentCandidate.getRequestUrl());
+
+        // The back queue of the first host is full, so its children wait in its overflow queue
+        crawlFrontier.feedRequest(CHILD_URL_0_CRAWL_REQUEST, parentCandidate);
+        crawlFrontier.feedRequest(CHILD_URL_1_CRAWL_REQUEST, parentCandidate);
+        crawlFrontier.feedRequest(CHILD_URL_2_CRAWL_REQUEST, parentCandidate);
+
+        Assert.assertEquals(ROOT_URL_0, crawlFrontier.getNextCandidate().getRequestUrl());
+        Assert.assertEquals(CHILD_URL_2, crawlFrontier.getNextCandidate().getRequestUrl());
+        Assert.assertEquals(CHILD_URL_0, crawlFrontier.getNextCandidate().getRequestUrl());
+        Assert.assertEquals(CHILD_URL_1, crawlFrontier.getNextCandidate().getRequestUrl());
+        Assert.assertFalse(crawlFrontier.hasNextCandidate());
+    }
+
+    @Test
+    public void testScheduleRevisit() {
+        Mockito.when(configMock.isContinuousCrawlEnabled()).thenReturn(true);
+        Mockito.when(configMock.getMinimumRevisitIntervalInMillis()).thenReturn(100L);
+
+        CrawlFrontier crawlFrontier = new CrawlFrontier(configMock, statsCounterMock);
+        CrawlCandidate candidate = crawlFrontier.getNextCandidate();
+        crawlFrontier.scheduleRevisit(candidate, "content");
+        clearCrawlCandidateQueue(crawlFrontier);
+
+        Assert.assertTrue(crawlFrontier.getNextRevisitTime().isPresent());
+
+        // The candidate is fed again once its revisit is due
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(crawlFrontier::hasNextCandidate);
+        Assert.assertEquals(candidate.getRequestUrl(),
+                crawlFrontier.getNextCandidate().getRequestUrl());
+        Assert.assertFalse(crawlFrontier.getNextRevisitTime().isPresent());
+        Mockito.verify(statsCounterMock).recordFedRequests(1, 0, 0, 0);
+    }
+
+    @Test
+    public void testRecoverFromJournal() throws IOException {
+        CrawlerConfiguration config = new CrawlerConfigurationBuilder()
+                .setOffsiteRequestFilterEnabled(true)
+                .addAllowedCrawlDomains(ALLOWED_CRAWL_DOMAINS)
+                .addCrawlSeeds(CRAWL_SEEDS)
+                .setCrawlFrontierJournalDirectory(temporaryFolder.newFolder())
+                .build();
+
+        CrawlFrontier crawlFrontier = new CrawlFrontier(config, new StatsCounter());
+        CrawlCandidate parentCandidate = crawlFrontier.getNextCandidate();
+        crawlFrontier.feedRequest(CHILD_URL_2_CRAWL_REQUEST, parentCandidate);
+        crawlFrontier.completeCandidate(parentCandidate);
+
+        // Only the configuration is serialized, the rest is recovered from the journal
+        CrawlFrontier deserializedCrawlFrontier =
+                SerializationUtils.deserialize(SerializationUtils.serialize(crawlFrontier));
+
+        CrawlFrontier recoveredCrawlFrontier = new CrawlFrontier(config, statsCounterMock);
+        Mockito.verify(statsCounterMock).recordFedRequests(2, 0, 0, 0);
+
+        for (CrawlFrontier frontier : Arrays.asList(deserializedCrawlFrontier,
+                recoveredCrawlFrontier)) {
+            // The seen URLs are recovered as well
+            frontier.feedCrawlSeed(DUPLICATE_ROOT_URL_0_CRAWL_REQUEST);
+
+            Assert.assertEquals(ROOT_URL_0, frontier.getNextCandidate().getRequestUrl());
+            Assert.assertEquals(CHILD_URL_2, frontier.getNextCandidate().getRequestUrl());
+            Assert.assertFalse(frontier.hasNextCandidate());
+        }
+    }
+
+    private static CrawlCandidate clearCrawlCandidateQueue(final CrawlFrontier crawlFrontier) {
+        CrawlCandidate lastCandidate = null;
         while (crawlFrontier.hasNextCandidate()) {
-            crawlFrontier.getNextCandidate();
+            lastCandidate = crawlFrontier.getNextCandidate();
         }
+
+        return lastCandidate;
     }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import java.util.Optional;
+import net.lightbody.bmp.core.har.HarResponse;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.littleshoot.proxy.HttpFilters;
+import org.mockito.Mockito;
+
+/**
+ * Test cases for {@link DocumentResponseRecorder}.
+ */
+public final class DocumentResponseRecorderTest {
+
+    private static final String DOCUMENT_URL = "http://example.com/foo";
+    private static final String RESOURCE_URL = "http://example.com/bar.css";
+    private static final String REDIRECT_URL = "http://example.com/baz";
+
+    private ChannelHandlerContext ctxMock;
+    private DocumentResponseRecorder recorder;
+
+    @Before
+    public void before() {
+        ctxMock = Mockito.mock(ChannelHandlerContext.class, Mockito.RETURNS_DEEP_STUBS);
+
+        recorder = new DocumentResponseRecorder();
+        recorder.startRecording(DOCUMENT_URL);
+    }
+
+    @Test
+    public void testRecordDocumentResponse() {
+        HttpResponse response = new DefaultHttpResponse(HttpVersion.HTTP_1_1,
+                HttpResponseStatus.MOVED_PERMANENTLY);
+        response.headers().add(HttpHeaders.Names.LOCATION, REDIRECT_URL);
+
+        sendRequest(RESOURCE_URL, new DefaultHttpResponse(HttpVersion.HTTP_1_1,
+                HttpResponseStatus.OK));
+        Assert.assertFalse(recorder.getDocumentResponse().isPresent());
+
+        sendRequest(DOCUMENT_URL, response);
+
+        Optional<HarResponse> documentResponseOpt = recorder.getDocumentResponse();
+        Assert.assertTrue(documentResponseOpt.isPresent());
+        Assert.assertEquals(HttpResponseStatus.MOVED_PERMANENTLY.code(),
+                documentResponseOpt.get().getStatus());
+        Assert.assertEquals(REDIRECT_URL, documentResponseOpt.get().getRedirectURL());
+        Assert.assertNull(documentResponseOpt.get().getError());
+    }
+
+    @Test
+    public void testRecordOnlyFirstResponse() {
+        sendRequest(DOCUMENT_URL, new DefaultHttpResponse(HttpVersion.HTTP_1_1,
+                HttpResponseStatus.OK));
+        sendRequest(DOCUMENT_URL, new DefaultHttpResponse(HttpVersion.HTTP_1_1,
+                HttpResponseStatus.NOT_FOUND));
+
+        Assert.assertEquals(HttpResponseStatus.OK.code(),
+                recorder.getDocumentResponse().get().getStatus());
+    }
+
+    @Test
+    public void testRecordNetworkError() {
+        HttpFilters filters = recorder.filterRequest(createRequest(DOCUMENT_URL), ctxMock);
+        filters.clientToProxyRequest(createRequest(DOCUMENT_URL));
+        filters.proxyToServerConnectionFailed();
+
+        Optional<HarResponse> documentResponseOpt = recorder.getDocumentResponse();
+        Assert.assertTrue(documentResponseOpt.isPresent());
+        Assert.assertNotNull(documentResponseOpt.get().getError());
+    }
+
+    @Test
+    public void testStartRecordingDiscardsPreviousResponse() {
+        sendRequest(DOCUMENT_URL, new DefaultHttpResponse(HttpVersion.HTTP_1_1,
+                HttpResponseStatus.OK));
+
+        recorder.startRecording(DOCUMENT_URL);
+
+        Assert.assertFalse(recorder.getDocumentResponse().isPresent());
+    }
+
+    private void sendRequest(final String url, final HttpResponse response) {
+        HttpRequest request = createRequest(url);
+        HttpFilters filters = recorder.filterRequest(request, ctxMock);
+        filters.clientToProxyRequest(request);
+        filters.serverToProxyResponse(response);
+    }
+
+    private static HttpRequest createRequest(final String url) {
+        return new DefaultHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.GET, url);
+    }
+}
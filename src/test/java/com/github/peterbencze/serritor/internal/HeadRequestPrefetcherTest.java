@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal;
+
+import com.github.peterbencze.serritor.api.CrawlCandidate;
+import com.github.peterbencze.serritor.api.PartialCrawlResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Test cases for {@link HeadRequestPrefetcher}.
+ */
+public final class HeadRequestPrefetcherTest {
+
+    private static final int DEPTH = 2;
+
+    private Map<CrawlCandidate, CompletableFuture<PartialCrawlResponse>> headResponses;
+    private HeadRequestPrefetcher prefetcher;
+
+    @Before
+    public void before() {
+        headResponses = new HashMap<>();
+        prefetcher = new HeadRequestPrefetcher(DEPTH, candidate -> {
+            CompletableFuture<PartialCrawlResponse> headResponse = new CompletableFuture<>();
+            headResponses.put(candidate, headResponse);
+            return headResponse;
+        });
+    }
+
+    @Test
+    public void testPrefetchUntilFull() {
+        Assert.assertFalse(prefetcher.isFull());
+        Assert.assertFalse(prefetcher.hasNextCandidate());
+
+        prefetcher.prefetch(createCrawlCandidateMock());
+        Assert.assertFalse(prefetcher.isFull());
+
+        prefetcher.prefetch(createCrawlCandidateMock());
+        Assert.assertTrue(prefetcher.isFull());
+        Assert.assertTrue(prefetcher.hasNextCandidate());
+        Assert.assertEquals(DEPTH, headResponses.size());
+    }
+
+    @Test
+    public void testGetNextCandidateInPrefetchOrder() {
+        CrawlCandidate firstCandidate = createCrawlCandidateMock();
+        CrawlCandidate secondCandidate = createCrawlCandidateMock();
+        prefetcher.prefetch(firstCandidate);
+        prefetcher.prefetch(secondCandidate);
+
+        Assert.assertSame(firstCandidate, prefetcher.getNextCandidate());
+        Assert.assertFalse(prefetcher.isFull());
+        Assert.assertSame(secondCandidate, prefetcher.getNextCandidate());
+        Assert.assertFalse(prefetcher.hasNextCandidate());
+    }
+
+    @Test
+    public void testTakeHeadResponse() throws IOException {
+        CrawlCandidate candidate = createCrawlCandidateMock();
+        prefetcher.prefetch(candidate);
+
+        PartialCrawlResponse responseMock = Mockito.mock(PartialCrawlResponse.class);
+        headResponses.get(candidate).complete(responseMock);
+
+        Assert.assertSame(responseMock,
+                prefetcher.takeHeadResponse(prefetcher.getNextCandidate()));
+    }
+
+    @Test(expected = IOException.class)
+    public void testTakeHeadResponseWhenRequestFailed() throws IOException {
+        CrawlCandidate candidate = createCrawlCandidateMock();
+        prefetcher.prefetch(candidate);
+
+        headResponses.get(candidate)
+                .completeExceptionally(new UncheckedIOException(new IOException()));
+
+        prefetcher.takeHeadResponse(prefetcher.getNextCandidate());
+    }
+
+    @Test
+    public void testDrain() {
+        CrawlCandidate firstCandidate = createCrawlCandidateMock();
+        CrawlCandidate secondCandidate = createCrawlCandidateMock();
+        prefetcher.prefetch(firstCandidate);
+        prefetcher.prefetch(secondCandidate);
+
+        Assert.assertEquals(Arrays.asList(firstCandidate, secondCandidate), prefetcher.drain());
+        Assert.assertFalse(prefetcher.hasNextCandidate());
+        Assert.assertTrue(headResponses.values()
+                .stream()
+                .allMatch(CompletableFuture::isCancelled));
+    }
+
+    private static CrawlCandidate createCrawlCandidateMock() {
+        CrawlCandidate mockedCrawlCandidate = Mockito.mock(CrawlCandidate.class);
+        Mockito.when(mockedCrawlCandidate.getRequestUrl())
+                .thenReturn(URI.create("http://example.com"));
+
+        return mockedCrawlCandidate;
+    }
+}
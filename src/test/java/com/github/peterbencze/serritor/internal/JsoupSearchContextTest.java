@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal;
+
+import java.util.List;
+import org.jsoup.Jsoup;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Test cases for {@link JsoupSearchContext}.
+ */
+public final class JsoupSearchContextTest {
+
+    // The namespace declaration should not prevent matching the tags by XPath, like in browsers
+    private static final String HTML = "<html xmlns='http://www.w3.org/1999/xhtml'><body>"
+            + "<div id='foo' class='bar'><a href='/baz' name='qux'>Link text</a></div>"
+            + "<a href='http://other.test/'>Other link</a>"
+            + "</body></html>";
+
+    private JsoupSearchContext searchContext;
+
+    @Before
+    public void before() {
+        searchContext = new JsoupSearchContext(Jsoup.parse(HTML, "http://te.st/"));
+    }
+
+    @Test
+    public void testFindElementsWithDifferentLocatingMechanisms() {
+        Assert.assertEquals(2, searchContext.findElements(By.tagName("a")).size());
+        Assert.assertEquals("div", searchContext.findElement(By.id("foo")).getTagName());
+        Assert.assertEquals("div", searchContext.findElement(By.className("bar")).getTagName());
+        Assert.assertEquals("a", searchContext.findElement(By.name("qux")).getTagName());
+        Assert.assertEquals(1, searchContext.findElements(By.cssSelector("div > a")).size());
+        Assert.assertEquals(1, searchContext.findElements(By.linkText("Link text")).size());
+        Assert.assertEquals(2, searchContext.findElements(By.partialLinkText("ink")).size());
+    }
+
+    @Test
+    public void testFindElementsInElementSearchesOnlyDescendants() {
+        WebElement divElement = searchContext.findElement(By.id("foo"));
+
+        List<WebElement> linkElements = divElement.findElements(By.tagName("a"));
+        Assert.assertEquals(1, linkElements.size());
+        Assert.assertTrue(divElement.findElements(By.className("bar")).isEmpty());
+    }
+
+    @Test
+    public void testGetAttributeResolvesRelativeUrls() {
+        WebElement linkElement = searchContext.findElement(By.name("qux"));
+
+        Assert.assertEquals("http://te.st/baz", linkElement.getAttribute("href"));
+        Assert.assertEquals("qux", linkElement.getAttribute("name"));
+        Assert.assertNull(linkElement.getAttribute("title"));
+        Assert.assertEquals("Link text", linkElement.getText());
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void testFindElementWhenNoElementMatchesTheLocator() {
+        searchContext.findElement(By.id("nonexistent"));
+    }
+
+    @Test
+    public void testFindElementsByXPath() {
+        Assert.assertEquals(2, searchContext.findElements(By.xpath("//a")).size());
+        Assert.assertEquals("Link text",
+                searchContext.findElement(By.xpath("//a[@name='qux']")).getText());
+
+        WebElement divElement = searchContext.findElement(By.xpath("//div[@id='foo']"));
+        Assert.assertEquals(1, divElement.findElements(By.xpath(".//a")).size());
+        Assert.assertEquals("foo", divElement.findElement(By.xpath(".")).getAttribute("id"));
+
+        // Absolute expressions search the whole document, like in browsers
+        Assert.assertEquals(2, divElement.findElements(By.xpath("//a")).size());
+    }
+
+    @Test(expected = InvalidSelectorException.class)
+    public void testFindElementsByInvalidXPath() {
+        searchContext.findElements(By.xpath("//a["));
+    }
+
+    @Test(expected = InvalidSelectorException.class)
+    public void testFindElementsByXPathWhichDoesNotSelectElements() {
+        searchContext.findElements(By.xpath("//a/@href"));
+    }
+}
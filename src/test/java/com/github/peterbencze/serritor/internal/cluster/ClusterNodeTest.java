@@ -0,0 +1,210 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.peterbencze.serritor.internal.cluster;
+
+import com.github.peterbencze.serritor.api.CrawlCandidate;
+import com.github.peterbencze.serritor.api.CrawlCandidate.CrawlCandidateBuilder;
+import com.github.peterbencze.serritor.api.CrawlRequest;
+import com.github.peterbencze.serritor.internal.stats.StatsCounter;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.awaitility.Awaitility;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ClusterNode}.
+ */
+public final class ClusterNodeTest {
+
+    private static final int NODE_COUNT = 2;
+    private static final long FLUSH_INTERVAL_IN_MILLIS = 10;
+
+    private static final CrawlCandidate PARENT_CANDIDATE =
+            new CrawlCandidateBuilder(CrawlRequest.createDefault("http://parent.com")).build();
+    private static final List<CrawlRequest> REQUESTS = IntStream.range(0, 20)
+            .mapToObj(i -> CrawlRequest.createDefault(String.format("http://host-%d.com", i)))
+            .collect(Collectors.toList());
+
+    private List<InetSocketAddress> nodeAddresses;
+    private List<StatsCounter> statsCounters;
+    private List<List<CrawlRequest>> receivedRequests;
+    private List<ClusterNode> nodes;
+
+    @Before
+    public void before() throws IOException {
+        nodeAddresses = new ArrayList<>();
+        for (int i = 0; i < NODE_COUNT; i++) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                nodeAddresses.add(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+                        socket.getLocalPort()));
+            }
+        }
+
+        statsCounters = new ArrayList<>();
+        receivedRequests = new ArrayList<>();
+        nodes = new ArrayList<>();
+        for (int i = 0; i < NODE_COUNT; i++) {
+            statsCounters.add(new StatsCounter());
+            receivedRequests.add(new CopyOnWriteArrayList<>());
+            nodes.add(createNode(i, ClusterNode.DEFAULT_MAX_PENDING_BATCH_COUNT));
+        }
+    }
+
+    @After
+    public void after() {
+        nodes.forEach(ClusterNode::close);
+    }
+
+    @Test
+    public void testForwardForeignRequests() {
+        List<CrawlRequest> localRequests =
+                nodes.get(0).forwardForeignRequests(REQUESTS, PARENT_CANDIDATE);
+
+        ShardRing shardRing = new ShardRing(NODE_COUNT);
+        List<CrawlRequest> foreignRequests = REQUESTS.stream()
+                .filter(request -> shardRing.getShard(request.getDomain()) == 1)
+                .collect(Collectors.toList());
+        Assert.assertEquals(REQUESTS.size() - foreignRequests.size(), localRequests.size());
+        Assert.assertTrue(localRequests.stream().allMatch(nodes.get(0)::isLocalRequest));
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> receivedRequests.get(1).size() == foreignRequests.size());
+        Assert.assertEquals(foreignRequests.stream()
+                        .map(CrawlRequest::getRequestUrl)
+                        .collect(Collectors.toList()),
+                receivedRequests.get(1).stream()
+                        .map(CrawlRequest::getRequestUrl)
+                        .collect(Collectors.toList()));
+        Assert.assertTrue(receivedRequests.get(0).isEmpty());
+    }
+
+    @Test
+    public void testForwardForeignRequestsAfterRestart() {
+        List<CrawlRequest> localRequests =
+                nodes.get(0).forwardForeignRequests(REQUESTS, PARENT_CANDIDATE);
+        int foreignRequestCount = REQUESTS.size() - localRequests.size();
+        Awaitility.await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> receivedRequests.get(1).size() == foreignRequestCount);
+
+        // The restarted node numbers its batches from the beginning again
+        nodes.get(0).close();
+        nodes.set(0, restartNode(0, ClusterNode.DEFAULT_MAX_PENDING_BATCH_COUNT));
+        nodes.get(0).forwardForeignRequests(REQUESTS, PARENT_CANDIDATE);
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> receivedRequests.get(1).size() == 2 * foreignRequestCount);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(nodes.get(0)::isCrawlFinished);
+    }
+
+    @Test
+    public void testForwardForeignRequestsToRestartedNode() {
+        nodes.get(1).close();
+        List<CrawlRequest> localRequests =
+                nodes.get(0).forwardForeignRequests(REQUESTS, PARENT_CANDIDATE);
+        int foreignRequestCount = REQUESTS.size() - localRequests.size();
+
+        // The requests are kept until the other node acknowledges them
+        nodes.set(1, restartNode(1, ClusterNode.DEFAULT_MAX_PENDING_BATCH_COUNT));
+        Awaitility.await().atMost(5, TimeUnit.SECONDS)
+                .until(() -> receivedRequests.get(1).size() == foreignRequestCount);
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(nodes.get(0)::isCrawlFinished);
+    }
+
+    @Test
+    public void testForwardForeignRequestsToUnreachableNode() {
+        nodes.get(0).close();
+        nodes.get(1).close();
+        nodes.set(0, restartNode(0, 1));
+
+        List<CrawlRequest> localRequests =
+                nodes.get(0).forwardForeignRequests(REQUESTS, PARENT_CANDIDATE);
+        int foreignRequestCount = REQUESTS.size() - localRequests.size();
+
+        // Wait until the requests are sent in a batch, which is dropped when the next one is sent
+        Awaitility.await().pollDelay(10 * FLUSH_INTERVAL_IN_MILLIS, TimeUnit.MILLISECONDS)
+                .until(() -> true);
+        nodes.get(0).forwardForeignRequests(REQUESTS, PARENT_CANDIDATE);
+
+        nodes.set(1, restartNode(1, ClusterNode.DEFAULT_MAX_PENDING_BATCH_COUNT));
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(nodes.get(0)::isCrawlFinished);
+        Assert.assertEquals(foreignRequestCount, receivedRequests.get(1).size());
+    }
+
+    @Test
+    public void testIsCrawlFinished() {
+        nodes.get(0).forwardForeignRequests(REQUESTS, PARENT_CANDIDATE);
+
+        // The forwarded requests have not been received yet
+        Assert.assertFalse(nodes.get(0).isCrawlFinished());
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(nodes.get(0)::isCrawlFinished);
+        Assert.assertFalse(receivedRequests.get(1).isEmpty());
+
+        // The other node is told that the crawl is finished when the node is closed
+        nodes.get(0).close();
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(nodes.get(1)::isCrawlFinished);
+    }
+
+    @Test
+    public void testGetPeerStatsCounterSnapshots() {
+        statsCounters.get(1).recordFedRequests(3, 0, 0, 0);
+
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).until(() ->
+                nodes.get(0).getPeerStatsCounterSnapshots().stream()
+                        .anyMatch(snapshot -> snapshot.getRemainingCrawlCandidateCount() == 3));
+    }
+
+    private ClusterNode createNode(final int nodeIndex, final int maxPendingBatchCount) {
+        List<CrawlRequest> requests = receivedRequests.get(nodeIndex);
+        ClusterNode node = new ClusterNode(nodeAddresses, nodeIndex,
+                (forwardedRequests, parent) -> {
+                    Assert.assertEquals(PARENT_CANDIDATE.getRequestUrl(), parent.getRequestUrl());
+                    requests.addAll(forwardedRequests);
+                }, () -> true, statsCounters.get(nodeIndex)::getSnapshot,
+                FLUSH_INTERVAL_IN_MILLIS, maxPendingBatchCount);
+        node.start();
+        return node;
+    }
+
+    private ClusterNode restartNode(final int nodeIndex, final int maxPendingBatchCount) {
+        // The server socket of the closed node may be released asynchronously
+        Awaitility.await().atMost(5, TimeUnit.SECONDS).ignoreExceptions().until(() -> {
+            try (ServerSocket socket = new ServerSocket()) {
+                socket.setReuseAddress(true);
+                socket.bind(nodeAddresses.get(nodeIndex));
+            }
+
+            return true;
+        });
+
+        // The closed node may have received some of the requests before it was closed
+        receivedRequests.set(nodeIndex, new CopyOnWriteArrayList<>());
+        return createNode(nodeIndex, maxPendingBatchCount);
+    }
+}
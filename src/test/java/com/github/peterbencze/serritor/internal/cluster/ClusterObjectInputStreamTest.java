@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.cluster;
+
+import com.github.peterbencze.serritor.api.CrawlCandidate;
+import com.github.peterbencze.serritor.api.CrawlCandidate.CrawlCandidateBuilder;
+import com.github.peterbencze.serritor.api.CrawlRequest;
+import com.github.peterbencze.serritor.api.CrawlRequest.CrawlRequestBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ClusterObjectInputStream}.
+ */
+public final class ClusterObjectInputStreamTest {
+
+    private static final CrawlCandidate PARENT_CANDIDATE =
+            new CrawlCandidateBuilder(CrawlRequest.createDefault("http://parent.com")).build();
+
+    @Test
+    public void testReadObjectWhenClassesAreAllowed() throws IOException, ClassNotFoundException {
+        HashMap<String, Integer> metadata = new HashMap<>();
+        metadata.put("key", 1);
+        CrawlRequest request = new CrawlRequestBuilder("http://example.com")
+                .setMetadata(metadata)
+                .build();
+
+        // The cluster node sends its batches as array lists
+        List<ForwardedRequests> batch = new ArrayList<>();
+        batch.add(new ForwardedRequests(new ArrayList<>(Collections.singletonList(request)),
+                PARENT_CANDIDATE));
+        Object deserialized = roundTrip(batch);
+
+        ForwardedRequests forwardedRequests = (ForwardedRequests) ((List<?>) deserialized).get(0);
+        CrawlRequest deserializedRequest = forwardedRequests.getRequests().get(0);
+        Assert.assertEquals(request.getRequestUrl(), deserializedRequest.getRequestUrl());
+        Assert.assertEquals(metadata, deserializedRequest.getMetadata().get());
+        Assert.assertEquals(PARENT_CANDIDATE.getRequestUrl(),
+                forwardedRequests.getParentCandidate().getRequestUrl());
+    }
+
+    @Test(expected = InvalidClassException.class)
+    public void testReadObjectWhenClassIsNotAllowed() throws IOException, ClassNotFoundException {
+        CrawlRequest request = new CrawlRequestBuilder("http://example.com")
+                .setMetadata(new Date())
+                .build();
+
+        roundTrip(new ForwardedRequests(new ArrayList<>(Collections.singletonList(request)),
+                PARENT_CANDIDATE));
+    }
+
+    private static Object roundTrip(final Object object)
+            throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+
+        try (ObjectInputStream in =
+                new ClusterObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.peterbencze.serritor.internal.cluster;
+
+import com.google.common.net.InternetDomainName;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ShardRing}.
+ */
+public final class ShardRingTest {
+
+    private static final List<InternetDomainName> DOMAINS = IntStream.range(0, 1000)
+            .mapToObj(i -> InternetDomainName.from(String.format("host-%d.example.com", i)))
+            .collect(Collectors.toList());
+
+    @Test
+    public void testGetShardSpreadsHostsEvenly() {
+        ShardRing shardRing = new ShardRing(4);
+
+        int[] hostCounts = new int[4];
+        DOMAINS.forEach(domain -> ++hostCounts[shardRing.getShard(domain)]);
+
+        for (int hostCount : hostCounts) {
+            Assert.assertTrue(hostCount > 150 && hostCount < 350);
+        }
+    }
+
+    @Test
+    public void testGetShardWhenNodeIsAdded() {
+        ShardRing shardRing = new ShardRing(4);
+        ShardRing extendedShardRing = new ShardRing(5);
+
+        // Hosts only move to the new node
+        DOMAINS.forEach(domain -> {
+            int newShard = extendedShardRing.getShard(domain);
+            Assert.assertTrue(newShard == 4 || newShard == shardRing.getShard(domain));
+        });
+    }
+}
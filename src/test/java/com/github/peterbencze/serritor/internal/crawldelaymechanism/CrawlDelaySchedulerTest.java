@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.crawldelaymechanism;
+
+import com.github.peterbencze.serritor.internal.util.stopwatch.TimeSource;
+import com.github.peterbencze.serritor.internal.util.stopwatch.UtcTimeSource;
+import com.google.common.net.InternetDomainName;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Test cases for {@link CrawlDelayScheduler}.
+ */
+public final class CrawlDelaySchedulerTest {
+
+    private static final InternetDomainName HOST_0 = InternetDomainName.from("foo.com");
+    private static final InternetDomainName HOST_1 = InternetDomainName.from("bar.com");
+
+    private static final long DELAY_IN_MILLIS = Duration.ofSeconds(10).toMillis();
+
+    private TimeSource timeSourceMock;
+    private Instant now;
+    private CrawlDelayScheduler scheduler;
+
+    @Before
+    public void before() {
+        now = Instant.now();
+
+        timeSourceMock = Mockito.mock(UtcTimeSource.class);
+        Mockito.when(timeSourceMock.getTime()).thenReturn(now);
+
+        scheduler = new CrawlDelayScheduler(timeSourceMock, true);
+    }
+
+    @Test
+    public void testIsEligibleWhenHostIsUnknown() {
+        Assert.assertTrue(scheduler.isEligible(HOST_0));
+    }
+
+    @Test
+    public void testIsEligibleWhenRequestIsInProgress() {
+        scheduler.recordRequestStart(HOST_0);
+
+        Assert.assertFalse(scheduler.isEligible(HOST_0));
+        Assert.assertTrue(scheduler.isEligible(HOST_1));
+    }
+
+    @Test
+    public void testIsEligibleWhenRequestIsInProgressAndHostAccessIsNotExclusive() {
+        scheduler = new CrawlDelayScheduler(timeSourceMock, false);
+        scheduler.recordRequestStart(HOST_0);
+
+        Assert.assertTrue(scheduler.isEligible(HOST_0));
+    }
+
+    @Test
+    public void testIsEligibleWhenDelayHasNotElapsed() {
+        scheduler.recordRequestStart(HOST_0);
+        scheduler.recordRequestEnd(HOST_0, DELAY_IN_MILLIS);
+
+        Mockito.when(timeSourceMock.getTime()).thenReturn(now.plusMillis(DELAY_IN_MILLIS - 1));
+
+        Assert.assertFalse(scheduler.isEligible(HOST_0));
+        Assert.assertTrue(scheduler.isEligible(HOST_1));
+    }
+
+    @Test
+    public void testIsEligibleWhenDelayHasElapsed() {
+        scheduler.recordRequestStart(HOST_0);
+        scheduler.recordRequestEnd(HOST_0, DELAY_IN_MILLIS);
+
+        Mockito.when(timeSourceMock.getTime()).thenReturn(now.plusMillis(DELAY_IN_MILLIS));
+
+        Assert.assertTrue(scheduler.isEligible(HOST_0));
+    }
+
+    @Test
+    public void testIsEligibleWhenThereIsNoDelay() {
+        scheduler.recordRequestStart(HOST_0);
+        scheduler.recordRequestEnd(HOST_0, 0);
+
+        Assert.assertTrue(scheduler.isEligible(HOST_0));
+    }
+
+    @Test
+    public void testGetNextEligibleTime() {
+        scheduler.recordRequestStart(HOST_0);
+
+        // A host with a request in progress is not delayed yet
+        Assert.assertFalse(scheduler.getNextEligibleTime(HOST_0).isPresent());
+
+        scheduler.recordRequestEnd(HOST_0, DELAY_IN_MILLIS);
+
+        Assert.assertEquals(Optional.of(now.plusMillis(DELAY_IN_MILLIS)),
+                scheduler.getNextEligibleTime(HOST_0));
+
+        Mockito.when(timeSourceMock.getTime()).thenReturn(now.plusMillis(DELAY_IN_MILLIS));
+
+        Assert.assertFalse(scheduler.getNextEligibleTime(HOST_0).isPresent());
+    }
+
+    @Test
+    public void testGetShortestRemainingDelay() {
+        Assert.assertFalse(scheduler.getShortestRemainingDelay().isPresent());
+
+        scheduler.recordRequestStart(HOST_0);
+        scheduler.recordRequestEnd(HOST_0, DELAY_IN_MILLIS);
+        scheduler.recordRequestStart(HOST_1);
+        scheduler.recordRequestEnd(HOST_1, 2 * DELAY_IN_MILLIS);
+
+        Mockito.when(timeSourceMock.getTime()).thenReturn(now.plusMillis(1));
+
+        Optional<Duration> shortestRemainingDelay = scheduler.getShortestRemainingDelay();
+        Assert.assertTrue(shortestRemainingDelay.isPresent());
+        Assert.assertEquals(DELAY_IN_MILLIS - 1, shortestRemainingDelay.get().toMillis());
+
+        Mockito.when(timeSourceMock.getTime()).thenReturn(now.plusMillis(DELAY_IN_MILLIS));
+
+        shortestRemainingDelay = scheduler.getShortestRemainingDelay();
+        Assert.assertTrue(shortestRemainingDelay.isPresent());
+        Assert.assertEquals(DELAY_IN_MILLIS, shortestRemainingDelay.get().toMillis());
+    }
+
+    @Test
+    public void testReset() {
+        scheduler.recordRequestStart(HOST_0);
+        scheduler.recordRequestStart(HOST_1);
+        scheduler.recordRequestEnd(HOST_1, DELAY_IN_MILLIS);
+
+        scheduler.reset();
+
+        Assert.assertTrue(scheduler.isEligible(HOST_0));
+        Assert.assertTrue(scheduler.isEligible(HOST_1));
+    }
+}
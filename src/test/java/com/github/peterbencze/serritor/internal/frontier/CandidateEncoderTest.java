@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import com.github.peterbencze.serritor.api.CrawlCandidate;
+import com.github.peterbencze.serritor.api.CrawlCandidate.CrawlCandidateBuilder;
+import com.github.peterbencze.serritor.api.CrawlRequest.CrawlRequestBuilder;
+import java.net.URI;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link CandidateEncoder}.
+ */
+public final class CandidateEncoderTest {
+
+    private static final URI REFERER_URL = URI.create("http://te.st/");
+    private static final URI REQUEST_URL =
+            URI.create("https://user@sub.te.st:8080/p%C3%A1th/%20?q=a%26b&r=%C3%A9#fragment");
+
+    private CandidateEncoder encoder;
+
+    @Before
+    public void before() {
+        encoder = new CandidateEncoder();
+    }
+
+    @Test
+    public void testDecodeEncodedCandidate() {
+        CrawlCandidate candidate = new CrawlCandidateBuilder(new CrawlRequestBuilder(REQUEST_URL)
+                .setPriority(2)
+                .setMetadata("metadata")
+                .build())
+                .setRefererUrl(REFERER_URL)
+                .setCrawlDepth(3)
+                .setRetryCount(1)
+                .build();
+
+        CompactCandidate compactCandidate = encoder.encode(candidate);
+        Assert.assertEquals("sub.te.st", encoder.getDomain(compactCandidate).toString());
+
+        CrawlCandidate decodedCandidate = encoder.decode(compactCandidate);
+        Assert.assertEquals(REQUEST_URL, decodedCandidate.getRequestUrl());
+        Assert.assertEquals(REQUEST_URL.toString(), decodedCandidate.getRequestUrl().toString());
+        Assert.assertEquals(candidate.getDomain(), decodedCandidate.getDomain());
+        Assert.assertEquals(REFERER_URL, decodedCandidate.getRefererUrl());
+        Assert.assertEquals(3, decodedCandidate.getCrawlDepth());
+        Assert.assertEquals(2, decodedCandidate.getPriority());
+        Assert.assertEquals(1, decodedCandidate.getRetryCount());
+        Assert.assertEquals("metadata", decodedCandidate.getMetadata().get());
+    }
+
+    @Test
+    public void testReleaseReferer() {
+        CompactCandidate child0 = encoder.encode(createChildCandidate("http://te.st/0"));
+        CompactCandidate child1 = encoder.encode(createChildCandidate("http://te.st/1"));
+        CompactCandidate seed = encoder.encode(new CrawlCandidateBuilder(
+                new CrawlRequestBuilder(REFERER_URL).build()).build());
+
+        // The children of a page share the ID of their referer
+        Assert.assertEquals(child0.getRefererId(), child1.getRefererId());
+        Assert.assertNull(encoder.decode(seed).getRefererUrl());
+        Assert.assertSame(REFERER_URL, encoder.decode(child0).getRefererUrl());
+        Assert.assertSame(REFERER_URL, encoder.decode(child1).getRefererUrl());
+
+        // The ID of the released referer is reused
+        URI otherRefererUrl = URI.create("http://te.st/other");
+        CompactCandidate otherChild = encoder.encode(new CrawlCandidateBuilder(
+                new CrawlRequestBuilder("http://te.st/2").build())
+                .setRefererUrl(otherRefererUrl)
+                .build());
+        Assert.assertEquals(child0.getRefererId(), otherChild.getRefererId());
+        Assert.assertEquals(otherRefererUrl, encoder.decode(otherChild).getRefererUrl());
+    }
+
+    @Test
+    public void testDecodeAfterSerialization() {
+        CompactCandidate compactCandidate = encoder.encode(createChildCandidate(REQUEST_URL
+                .toString()));
+
+        CandidateEncoder deserializedEncoder =
+                SerializationUtils.deserialize(SerializationUtils.serialize(encoder));
+
+        Assert.assertEquals("sub.te.st",
+                deserializedEncoder.getDomain(compactCandidate).toString());
+        Assert.assertEquals(REQUEST_URL,
+                deserializedEncoder.decode(compactCandidate).getRequestUrl());
+    }
+
+    private static CrawlCandidate createChildCandidate(final String url) {
+        return new CrawlCandidateBuilder(new CrawlRequestBuilder(url).build())
+                .setRefererUrl(REFERER_URL)
+                .setCrawlDepth(1)
+                .build();
+    }
+}
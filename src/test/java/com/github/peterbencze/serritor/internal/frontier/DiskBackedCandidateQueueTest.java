@@ -0,0 +1,197 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import com.github.peterbencze.serritor.api.CrawlCandidate;
+import com.github.peterbencze.serritor.api.CrawlCandidate.CrawlCandidateBuilder;
+import com.github.peterbencze.serritor.api.CrawlRequest;
+import com.github.peterbencze.serritor.api.CrawlRequest.CrawlRequestBuilder;
+import com.github.peterbencze.serritor.api.CrawlStrategy;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test cases for {@link DiskBackedCandidateQueue}.
+ */
+public final class DiskBackedCandidateQueueTest {
+
+    private static final int HEAD_BUFFER_SIZE = 2;
+
+    // Small enough to spread the spilled candidates across multiple segment files
+    private static final int SEGMENT_SIZE_IN_BYTES = 1024;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File directory;
+
+    @Before
+    public void before() throws IOException {
+        directory = temporaryFolder.newFolder();
+    }
+
+    @Test
+    public void testPollWithBreadthFirstStrategy() {
+        DiskBackedCandidateQueue queue = createQueue(CrawlStrategy.BREADTH_FIRST);
+        List<CrawlCandidate> candidates = createCandidates();
+        candidates.forEach(queue::add);
+
+        Assert.assertEquals(Arrays.asList("/1/1-0", "/1/1-1", "/1/1-2", "/1/1-3", "/1/0-0",
+                "/1/0-1", "/1/0-2", "/1/0-3", "/2/1-0", "/2/1-1", "/2/1-2", "/2/1-3", "/2/0-0",
+                "/2/0-1", "/2/0-2", "/2/0-3"), pollAll(queue));
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void testPollWithDepthFirstStrategy() {
+        DiskBackedCandidateQueue queue = createQueue(CrawlStrategy.DEPTH_FIRST);
+        List<CrawlCandidate> candidates = createCandidates();
+        candidates.forEach(queue::add);
+
+        Assert.assertEquals(Arrays.asList("/2/1-0", "/2/1-1", "/2/1-2", "/2/1-3", "/2/0-0",
+                "/2/0-1", "/2/0-2", "/2/0-3", "/1/1-0", "/1/1-1", "/1/1-2", "/1/1-3", "/1/0-0",
+                "/1/0-1", "/1/0-2", "/1/0-3"), pollAll(queue));
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testPollAfterSerialization() {
+        DiskBackedCandidateQueue queue = createQueue(CrawlStrategy.BREADTH_FIRST);
+        List<CrawlCandidate> candidates = createCandidates();
+        candidates.forEach(queue::add);
+        queue.poll();
+
+        DiskBackedCandidateQueue deserializedQueue =
+                SerializationUtils.deserialize(SerializationUtils.serialize(queue));
+
+        List<String> paths = pollAll(deserializedQueue);
+        Assert.assertEquals(candidates.size() - 1, paths.size());
+        Assert.assertEquals("/1/1-1", paths.get(0));
+    }
+
+    @Test
+    public void testPollAfterOriginalQueueIsDrained() {
+        DiskBackedCandidateQueue queue = createQueue(CrawlStrategy.BREADTH_FIRST);
+        List<CrawlCandidate> candidates = createCandidates();
+        candidates.forEach(queue::add);
+        queue.poll();
+
+        byte[] serializedQueue = SerializationUtils.serialize(queue);
+        List<String> paths = pollAll(queue);
+        Assert.assertEquals(0, directory.list().length);
+
+        DiskBackedCandidateQueue deserializedQueue =
+                SerializationUtils.deserialize(serializedQueue);
+
+        Assert.assertEquals(paths, pollAll(deserializedQueue));
+        Assert.assertTrue(deserializedQueue.isEmpty());
+        Assert.assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void testPollSpilledCandidateWithRefererAndMetadata() {
+        DiskBackedCandidateQueue queue = createQueue(CrawlStrategy.BREADTH_FIRST);
+        for (int i = 0; i < HEAD_BUFFER_SIZE; ++i) {
+            queue.add(createCandidate(1, 0, i));
+        }
+
+        CrawlRequest request = new CrawlRequestBuilder("http://te.st/spilled?q=1#fragment")
+                .setMetadata("metadata")
+                .build();
+        queue.add(new CrawlCandidateBuilder(request)
+                .setRefererUrl(URI.create("http://referer.te.st/"))
+                .setCrawlDepth(1)
+                .setRetryCount(2)
+                .build());
+        Assert.assertNotEquals(0, directory.list().length);
+
+        for (int i = 0; i < HEAD_BUFFER_SIZE; ++i) {
+            queue.poll();
+        }
+
+        CrawlCandidate spilledCandidate = queue.poll();
+        Assert.assertEquals(request.getRequestUrl(), spilledCandidate.getRequestUrl());
+        Assert.assertEquals(URI.create("http://referer.te.st/"), spilledCandidate.getRefererUrl());
+        Assert.assertEquals(1, spilledCandidate.getCrawlDepth());
+        Assert.assertEquals(2, spilledCandidate.getRetryCount());
+        Assert.assertEquals("metadata", spilledCandidate.getMetadata().get());
+        Assert.assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void testClear() {
+        DiskBackedCandidateQueue queue = createQueue(CrawlStrategy.BREADTH_FIRST);
+        createCandidates().forEach(queue::add);
+        Assert.assertNotEquals(0, directory.list().length);
+
+        queue.clear();
+
+        Assert.assertTrue(queue.isEmpty());
+        Assert.assertNull(queue.poll());
+        Assert.assertEquals(0, directory.list().length);
+    }
+
+    private DiskBackedCandidateQueue createQueue(final CrawlStrategy crawlStrategy) {
+        return new DiskBackedCandidateQueue(crawlStrategy, directory, HEAD_BUFFER_SIZE,
+                SEGMENT_SIZE_IN_BYTES);
+    }
+
+    private static List<CrawlCandidate> createCandidates() {
+        List<CrawlCandidate> candidates = new ArrayList<>();
+        for (int i = 0; i < 4; ++i) {
+            for (int crawlDepth = 1; crawlDepth <= 2; ++crawlDepth) {
+                for (int priority = 0; priority <= 1; ++priority) {
+                    candidates.add(createCandidate(crawlDepth, priority, i));
+                }
+            }
+        }
+
+        return candidates;
+    }
+
+    private static CrawlCandidate createCandidate(
+            final int crawlDepth,
+            final int priority,
+            final int index) {
+        CrawlRequest request = new CrawlRequestBuilder(String.format("http://te.st/%d/%d-%d",
+                crawlDepth, priority, index))
+                .setPriority(priority)
+                .build();
+
+        return new CrawlCandidateBuilder(request).setCrawlDepth(crawlDepth).build();
+    }
+
+    private static List<String> pollAll(final CandidateQueue queue) {
+        List<String> paths = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            paths.add(queue.poll().getRequestUrl().getPath());
+        }
+
+        return paths;
+    }
+}
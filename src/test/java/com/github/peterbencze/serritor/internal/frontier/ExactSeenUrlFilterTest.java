@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ExactSeenUrlFilter}.
+ */
+public final class ExactSeenUrlFilterTest {
+
+    // Enough to grow the table several times
+    private static final int URL_COUNT = 10_000;
+
+    private static final UrlFingerprint ZERO_FINGERPRINT = new UrlFingerprint(0, 0);
+
+    @Test
+    public void testAddWithHeapStorage() {
+        assertAddRecordsEveryFingerprint(new ExactSeenUrlFilter(false));
+    }
+
+    @Test
+    public void testAddWithOffHeapStorage() {
+        assertAddRecordsEveryFingerprint(new ExactSeenUrlFilter(true));
+    }
+
+    @Test
+    public void testAddWithZeroFingerprint() {
+        ExactSeenUrlFilter filter = new ExactSeenUrlFilter(false);
+
+        Assert.assertTrue(filter.add(ZERO_FINGERPRINT));
+        Assert.assertFalse(filter.add(ZERO_FINGERPRINT));
+        Assert.assertEquals(1, filter.size());
+    }
+
+    @Test
+    public void testSerialization() {
+        ExactSeenUrlFilter filter = new ExactSeenUrlFilter(true);
+        filter.add(ZERO_FINGERPRINT);
+        for (int i = 0; i < URL_COUNT; ++i) {
+            filter.add(createFingerprint(i));
+        }
+
+        ExactSeenUrlFilter deserializedFilter =
+                SerializationUtils.deserialize(SerializationUtils.serialize(filter));
+
+        Assert.assertEquals(URL_COUNT + 1, deserializedFilter.size());
+        Assert.assertFalse(deserializedFilter.add(ZERO_FINGERPRINT));
+        for (int i = 0; i < URL_COUNT; ++i) {
+            Assert.assertFalse(deserializedFilter.add(createFingerprint(i)));
+        }
+    }
+
+    @Test
+    public void testClear() {
+        ExactSeenUrlFilter filter = new ExactSeenUrlFilter(false);
+        filter.add(createFingerprint(0));
+
+        filter.clear();
+
+        Assert.assertEquals(0, filter.size());
+        Assert.assertTrue(filter.add(createFingerprint(0)));
+    }
+
+    private static void assertAddRecordsEveryFingerprint(final ExactSeenUrlFilter filter) {
+        for (int i = 0; i < URL_COUNT; ++i) {
+            Assert.assertTrue(filter.add(createFingerprint(i)));
+        }
+
+        for (int i = 0; i < URL_COUNT; ++i) {
+            Assert.assertFalse(filter.add(createFingerprint(i)));
+        }
+
+        Assert.assertEquals(URL_COUNT, filter.size());
+    }
+
+    private static UrlFingerprint createFingerprint(final int index) {
+        return UrlFingerprint.fromDigest(DigestUtils.sha256("http://te.st/" + index));
+    }
+}
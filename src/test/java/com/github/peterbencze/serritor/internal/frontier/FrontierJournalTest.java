@@ -0,0 +1,214 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import com.github.peterbencze.serritor.api.CrawlCandidate;
+import com.github.peterbencze.serritor.api.CrawlCandidate.CrawlCandidateBuilder;
+import com.github.peterbencze.serritor.api.CrawlRequest;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Test cases for {@link FrontierJournal}.
+ */
+public final class FrontierJournalTest {
+
+    // Small enough to compact the candidate log during the tests
+    private static final int MIN_COMPACTION_RECORD_COUNT = 4;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File directory;
+
+    @Before
+    public void before() throws IOException {
+        directory = temporaryFolder.newFolder();
+    }
+
+    @Test
+    public void testRecoverWithEmptyJournal() {
+        Assert.assertFalse(createJournal().recover(urlFingerprint -> Assert.fail(),
+                candidate -> Assert.fail()));
+    }
+
+    @Test
+    public void testRecoverPendingCandidates() {
+        FrontierJournal journal = createJournal();
+        journal.recover(urlFingerprint -> { }, candidate -> { });
+
+        List<CrawlCandidate> candidates = createCandidates("/0", "/1", "/2");
+        List<UrlFingerprint> urlFingerprints = candidates.stream()
+                .map(candidate -> UrlCanonicalizer.createFingerprint(candidate.getRequestUrl()))
+                .collect(Collectors.toList());
+        journal.recordFedCandidates(urlFingerprints, candidates);
+
+        // Requeueing a pending candidate must not duplicate it
+        journal.recordRequeuedCandidate(candidates.get(0));
+        journal.recordCompletedCandidate(candidates.get(1));
+        journal.recordRequeuedCandidate(createCandidates("/1").get(0));
+        journal.checkpoint();
+
+        List<UrlFingerprint> recoveredUrlFingerprints = new ArrayList<>();
+        List<CrawlCandidate> recoveredCandidates = new ArrayList<>();
+        Assert.assertTrue(createJournal().recover(recoveredUrlFingerprints::add,
+                recoveredCandidates::add));
+
+        Assert.assertEquals(urlFingerprints.toString(), recoveredUrlFingerprints.toString());
+        Assert.assertEquals(Arrays.asList("/0", "/2", "/1"), getPaths(recoveredCandidates));
+    }
+
+    @Test
+    public void testRecoverAfterCompaction() {
+        FrontierJournal journal = createJournal();
+        journal.recover(urlFingerprint -> { }, candidate -> { });
+
+        List<CrawlCandidate> candidates = createCandidates("/0", "/1", "/2", "/3", "/4", "/5");
+        journal.recordFedCandidates(Collections.emptyList(), candidates);
+        candidates.subList(0, 4).forEach(journal::recordCompletedCandidate);
+        journal.recordFedCandidates(Collections.emptyList(), createCandidates("/6"));
+        journal.checkpoint();
+
+        // The candidate log has been compacted into a snapshot
+        Assert.assertTrue(new File(directory, "candidates.snapshot").exists());
+        Assert.assertFalse(new File(directory, "candidates.log.compacting").exists());
+
+        List<CrawlCandidate> recoveredCandidates = new ArrayList<>();
+        FrontierJournal recoveredJournal = createJournal();
+        recoveredJournal.recover(urlFingerprint -> { }, recoveredCandidates::add);
+        Assert.assertEquals(Arrays.asList("/4", "/5", "/6"), getPaths(recoveredCandidates));
+
+        // The recovered candidates can be completed after recovery
+        recoveredJournal.recordCompletedCandidate(recoveredCandidates.get(0));
+        recoveredJournal.checkpoint();
+        recoveredCandidates.clear();
+        createJournal().recover(urlFingerprint -> { }, recoveredCandidates::add);
+        Assert.assertEquals(Arrays.asList("/5", "/6"), getPaths(recoveredCandidates));
+    }
+
+    @Test
+    public void testCompleteEqualCandidate() {
+        FrontierJournal journal = createJournal();
+        journal.recover(urlFingerprint -> { }, candidate -> { });
+        journal.recordFedCandidates(Collections.emptyList(), createCandidates("/0", "/1"));
+        journal.recordAddedCandidate(createCandidates("/0").get(0));
+
+        // Candidates rebuilt by the candidate queues are not the same instances
+        journal.recordCompletedCandidate(createCandidates("/0").get(0));
+        journal.checkpoint();
+
+        List<CrawlCandidate> recoveredCandidates = new ArrayList<>();
+        createJournal().recover(urlFingerprint -> { }, recoveredCandidates::add);
+        Assert.assertEquals(Arrays.asList("/1", "/0"), getPaths(recoveredCandidates));
+    }
+
+    @Test
+    public void testRecoverDuringCompaction() throws IOException {
+        FrontierJournal journal = createJournal();
+        journal.recover(urlFingerprint -> { }, candidate -> { });
+        List<CrawlCandidate> candidates = createCandidates("/0", "/1", "/2");
+        journal.recordFedCandidates(Collections.emptyList(), candidates);
+        journal.recordCompletedCandidate(candidates.get(0));
+        journal.checkpoint();
+
+        // Simulate a crash after the candidate log was renamed for compaction
+        Files.move(new File(directory, "candidates.log").toPath(),
+                new File(directory, "candidates.log.compacting").toPath());
+
+        FrontierJournal recoveredJournal = createJournal();
+        List<CrawlCandidate> recoveredCandidates = new ArrayList<>();
+        recoveredJournal.recover(urlFingerprint -> { }, recoveredCandidates::add);
+        Assert.assertEquals(Arrays.asList("/1", "/2"), getPaths(recoveredCandidates));
+
+        // The interrupted compaction is finished once the candidate log has to be compacted
+        recoveredJournal.recordCompletedCandidate(recoveredCandidates.get(0));
+        recoveredJournal.recordFedCandidates(Collections.emptyList(),
+                createCandidates("/3", "/4", "/5"));
+        recoveredJournal.checkpoint();
+        Assert.assertFalse(new File(directory, "candidates.log.compacting").exists());
+
+        recoveredCandidates.clear();
+        createJournal().recover(urlFingerprint -> { }, recoveredCandidates::add);
+        Assert.assertEquals(Arrays.asList("/2", "/3", "/4", "/5"), getPaths(recoveredCandidates));
+    }
+
+    @Test
+    public void testRecoverWithPartiallyWrittenRecord() throws IOException {
+        FrontierJournal journal = createJournal();
+        journal.recover(urlFingerprint -> { }, candidate -> { });
+        journal.recordFedCandidates(Collections.emptyList(), createCandidates("/0"));
+
+        // Simulate a crash while appending a record
+        try (FileOutputStream out =
+                new FileOutputStream(new File(directory, "candidates.log"), true)) {
+            out.write(new byte[]{1, 0, 0});
+        }
+
+        FrontierJournal recoveredJournal = createJournal();
+        recoveredJournal.recover(urlFingerprint -> { }, candidate -> { });
+        recoveredJournal.recordFedCandidates(Collections.emptyList(), createCandidates("/1"));
+
+        List<CrawlCandidate> recoveredCandidates = new ArrayList<>();
+        createJournal().recover(urlFingerprint -> { }, recoveredCandidates::add);
+        Assert.assertEquals(Arrays.asList("/0", "/1"), getPaths(recoveredCandidates));
+    }
+
+    @Test
+    public void testClear() {
+        FrontierJournal journal = createJournal();
+        journal.recover(urlFingerprint -> { }, candidate -> { });
+
+        List<CrawlCandidate> candidates = createCandidates("/0", "/1", "/2", "/3", "/4");
+        journal.recordFedCandidates(Collections.emptyList(), candidates);
+        journal.clear();
+        journal.recordCompletedCandidate(candidates.get(0));
+
+        Assert.assertFalse(createJournal().recover(urlFingerprint -> Assert.fail(),
+                candidate -> Assert.fail()));
+    }
+
+    private FrontierJournal createJournal() {
+        return new FrontierJournal(directory, FrontierJournal.DEFAULT_SYNC_INTERVAL_IN_MILLIS,
+                MIN_COMPACTION_RECORD_COUNT);
+    }
+
+    private static List<CrawlCandidate> createCandidates(final String... paths) {
+        return Arrays.stream(paths)
+                .map(path -> new CrawlCandidateBuilder(
+                        CrawlRequest.createDefault("http://te.st" + path)).build())
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> getPaths(final List<CrawlCandidate> candidates) {
+        return candidates.stream()
+                .map(candidate -> candidate.getRequestUrl().getPath())
+                .collect(Collectors.toList());
+    }
+}
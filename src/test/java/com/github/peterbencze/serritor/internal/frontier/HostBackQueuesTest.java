@@ -0,0 +1,187 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import com.github.peterbencze.serritor.api.CrawlCandidate;
+import com.github.peterbencze.serritor.api.CrawlCandidate.CrawlCandidateBuilder;
+import com.github.peterbencze.serritor.api.CrawlRequest.CrawlRequestBuilder;
+import com.github.peterbencze.serritor.api.CrawlStrategy;
+import com.github.peterbencze.serritor.internal.crawldelaymechanism.CrawlDelayScheduler;
+import com.github.peterbencze.serritor.internal.util.stopwatch.TimeSource;
+import com.github.peterbencze.serritor.internal.util.stopwatch.UtcTimeSource;
+import com.google.common.net.InternetDomainName;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Test cases for {@link HostBackQueues}.
+ */
+public final class HostBackQueuesTest {
+
+    private static final InternetDomainName HOST_0 = InternetDomainName.from("foo.com");
+
+    private static final long DELAY_IN_MILLIS = 1000;
+
+    private TimeSource timeSourceMock;
+    private Instant now;
+    private CrawlDelayScheduler scheduler;
+    private HostBackQueues backQueues;
+
+    @Before
+    public void before() {
+        now = Instant.now();
+
+        timeSourceMock = Mockito.mock(UtcTimeSource.class);
+        Mockito.when(timeSourceMock.getTime()).thenReturn(now);
+
+        scheduler = new CrawlDelayScheduler(timeSourceMock, true);
+        backQueues = new HostBackQueues(CrawlStrategy.BREADTH_FIRST);
+    }
+
+    @Test
+    public void testPollServesHostsInTurns() {
+        for (int i = 0; i < 3; ++i) {
+            backQueues.add(createCandidate("foo.com", i, 1, 0));
+        }
+        backQueues.add(createCandidate("bar.com", 0, 1, 0));
+        backQueues.add(createCandidate("bar.com", 1, 1, 0));
+
+        List<String> hosts = new ArrayList<>();
+        while (!backQueues.isEmpty()) {
+            hosts.add(backQueues.poll(new CrawlDelayScheduler(false)).get().getRequestUrl()
+                    .getHost());
+        }
+
+        Assert.assertEquals(Arrays.asList("foo.com", "bar.com", "foo.com", "bar.com", "foo.com"),
+                hosts);
+    }
+
+    @Test
+    public void testPollFollowsCrawlStrategyAcrossHosts() {
+        backQueues.add(createCandidate("foo.com", 0, 2, 0));
+        backQueues.add(createCandidate("bar.com", 0, 1, 0));
+        backQueues.add(createCandidate("baz.com", 0, 1, 1));
+
+        Assert.assertEquals("http://baz.com/0", pollUrl());
+        Assert.assertEquals("http://bar.com/0", pollUrl());
+        Assert.assertEquals("http://foo.com/0", pollUrl());
+    }
+
+    @Test
+    public void testPollSkipsHostsWhichCannotBeRequested() {
+        backQueues.add(createCandidate("foo.com", 0, 1, 1));
+        backQueues.add(createCandidate("foo.com", 1, 1, 1));
+        backQueues.add(createCandidate("bar.com", 0, 1, 0));
+        backQueues.add(createCandidate("bar.com", 1, 1, 0));
+
+        Assert.assertEquals("http://foo.com/0", pollUrl());
+        scheduler.recordRequestStart(HOST_0);
+
+        // The request to the first host is in progress
+        Assert.assertEquals("http://bar.com/0", pollUrl());
+
+        scheduler.recordRequestEnd(HOST_0, DELAY_IN_MILLIS);
+
+        // The first host is being delayed
+        Assert.assertEquals("http://bar.com/1", pollUrl());
+        Assert.assertFalse(backQueues.poll(scheduler).isPresent());
+
+        Mockito.when(timeSourceMock.getTime()).thenReturn(now.plusMillis(DELAY_IN_MILLIS));
+
+        Assert.assertEquals("http://foo.com/1", pollUrl());
+        Assert.assertTrue(backQueues.isEmpty());
+    }
+
+    @Test
+    public void testAddWhenQueueOfHostIsFull() {
+        backQueues = new HostBackQueues(CrawlStrategy.BREADTH_FIRST, 1, 2);
+
+        backQueues.add(createCandidate("foo.com", 0, 1, 0));
+        backQueues.add(createCandidate("foo.com", 1, 1, 0));
+        Assert.assertFalse(backQueues.isFull());
+        // Better than the overflowing candidate, but it is added after it
+        backQueues.add(createCandidate("foo.com", 2, 0, 0));
+        Assert.assertTrue(backQueues.isFull());
+        backQueues.add(createCandidate("bar.com", 0, 1, 0));
+        Assert.assertEquals(4, backQueues.size());
+
+        Assert.assertEquals("http://foo.com/0", pollUrl());
+        Assert.assertFalse(backQueues.isFull());
+        Assert.assertEquals("http://bar.com/0", pollUrl());
+        Assert.assertEquals("http://foo.com/1", pollUrl());
+        Assert.assertEquals("http://foo.com/2", pollUrl());
+        Assert.assertTrue(backQueues.isEmpty());
+    }
+
+    @Test
+    public void testPollWithSameCrawlDepthAndPriority() {
+        for (int i = 0; i < 10; i++) {
+            backQueues.add(createCandidate("foo.com", i, 1, 0));
+        }
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("http://foo.com/" + i, pollUrl());
+        }
+    }
+
+    @Test
+    public void testPollAfterSerialization() {
+        backQueues.add(createCandidate("foo.com", 0, 1, 0));
+        backQueues.add(createCandidate("foo.com", 1, 1, 0));
+        backQueues.add(createCandidate("bar.com", 0, 1, 0));
+
+        pollUrl();
+        scheduler.recordRequestStart(HOST_0);
+        scheduler.recordRequestEnd(HOST_0, DELAY_IN_MILLIS);
+        pollUrl();
+        Assert.assertFalse(backQueues.poll(scheduler).isPresent());
+
+        HostBackQueues deserializedBackQueues =
+                SerializationUtils.deserialize(SerializationUtils.serialize(backQueues));
+
+        // The delay of the host is not remembered after the crawl is resumed
+        Optional<CrawlCandidate> candidateOpt =
+                deserializedBackQueues.poll(new CrawlDelayScheduler(true));
+        Assert.assertEquals("http://foo.com/1", candidateOpt.get().getRequestUrl().toString());
+        Assert.assertTrue(deserializedBackQueues.isEmpty());
+    }
+
+    private String pollUrl() {
+        return backQueues.poll(scheduler).get().getRequestUrl().toString();
+    }
+
+    private static CrawlCandidate createCandidate(
+            final String host,
+            final int index,
+            final int crawlDepth,
+            final int priority) {
+        return new CrawlCandidateBuilder(
+                new CrawlRequestBuilder(String.format("http://%s/%d", host, index))
+                        .setPriority(priority)
+                        .build())
+                .setCrawlDepth(crawlDepth)
+                .build();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import com.github.peterbencze.serritor.api.CrawlCandidate;
+import com.github.peterbencze.serritor.api.CrawlCandidate.CrawlCandidateBuilder;
+import com.github.peterbencze.serritor.api.CrawlRequest;
+import com.github.peterbencze.serritor.api.CrawlRequest.CrawlRequestBuilder;
+import com.github.peterbencze.serritor.api.CrawlStrategy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link InMemoryCandidateQueue}.
+ */
+public final class InMemoryCandidateQueueTest {
+
+    @Test
+    public void testPollWithBreadthFirstStrategy() {
+        InMemoryCandidateQueue queue = new InMemoryCandidateQueue(CrawlStrategy.BREADTH_FIRST);
+        addCandidates(queue);
+
+        Assert.assertEquals(Arrays.asList("/1/1-0", "/1/1-1", "/1/0-0", "/1/0-1", "/3/1-0",
+                "/3/1-1", "/3/0-0", "/3/0-1"), pollAll(queue));
+        Assert.assertNull(queue.poll());
+    }
+
+    @Test
+    public void testPollWithDepthFirstStrategy() {
+        InMemoryCandidateQueue queue = new InMemoryCandidateQueue(CrawlStrategy.DEPTH_FIRST);
+        addCandidates(queue);
+
+        Assert.assertEquals(Arrays.asList("/3/1-0", "/3/1-1", "/3/0-0", "/3/0-1", "/1/1-0",
+                "/1/1-1", "/1/0-0", "/1/0-1"), pollAll(queue));
+        Assert.assertNull(queue.poll());
+    }
+
+    @Test
+    public void testPollAfterAddingBetterCandidate() {
+        InMemoryCandidateQueue queue = new InMemoryCandidateQueue(CrawlStrategy.BREADTH_FIRST);
+        queue.add(createCandidate(2, 0, 0));
+        queue.add(createCandidate(3, 0, 0));
+        Assert.assertEquals("/2/0-0", queue.poll().getRequestUrl().getPath());
+
+        queue.add(createCandidate(0, 0, 0));
+
+        Assert.assertEquals(Arrays.asList("/0/0-0", "/3/0-0"), pollAll(queue));
+    }
+
+    @Test
+    public void testPollAfterSerialization() {
+        InMemoryCandidateQueue queue = new InMemoryCandidateQueue(CrawlStrategy.BREADTH_FIRST);
+        addCandidates(queue);
+        queue.poll();
+
+        InMemoryCandidateQueue deserializedQueue =
+                SerializationUtils.deserialize(SerializationUtils.serialize(queue));
+
+        List<String> paths = pollAll(deserializedQueue);
+        Assert.assertEquals(7, paths.size());
+        Assert.assertEquals("/1/1-1", paths.get(0));
+    }
+
+    private static void addCandidates(final CandidateQueue queue) {
+        for (int i = 0; i < 2; ++i) {
+            for (int crawlDepth = 1; crawlDepth <= 3; crawlDepth += 2) {
+                for (int priority = 0; priority <= 1; ++priority) {
+                    queue.add(createCandidate(crawlDepth, priority, i));
+                }
+            }
+        }
+    }
+
+    private static CrawlCandidate createCandidate(
+            final int crawlDepth,
+            final int priority,
+            final int index) {
+        CrawlRequest request = new CrawlRequestBuilder(String.format("http://te.st/%d/%d-%d",
+                crawlDepth, priority, index))
+                .setPriority(priority)
+                .build();
+
+        return new CrawlCandidateBuilder(request).setCrawlDepth(crawlDepth).build();
+    }
+
+    private static List<String> pollAll(final CandidateQueue queue) {
+        List<String> paths = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            paths.add(queue.poll().getRequestUrl().getPath());
+        }
+
+        return paths;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link ProbabilisticSeenUrlFilter}.
+ */
+public final class ProbabilisticSeenUrlFilterTest {
+
+    private static final long EXPECTED_URL_COUNT = 10_000;
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    private ProbabilisticSeenUrlFilter filter;
+
+    @Before
+    public void before() {
+        filter = new ProbabilisticSeenUrlFilter(EXPECTED_URL_COUNT, FALSE_POSITIVE_PROBABILITY);
+    }
+
+    @Test
+    public void testAddWhenFingerprintWasSeen() {
+        Assert.assertTrue(filter.add(createFingerprint(0)));
+        Assert.assertFalse(filter.add(createFingerprint(0)));
+    }
+
+    @Test
+    public void testAddWhenExpectedUrlCountIsExceeded() {
+        int urlCount = (int) EXPECTED_URL_COUNT * 8;
+
+        int falsePositiveCount = 0;
+        for (int i = 0; i < urlCount; ++i) {
+            if (!filter.add(createFingerprint(i))) {
+                ++falsePositiveCount;
+            }
+        }
+
+        Assert.assertTrue(falsePositiveCount < urlCount * FALSE_POSITIVE_PROBABILITY);
+        for (int i = 0; i < urlCount; ++i) {
+            Assert.assertFalse(filter.add(createFingerprint(i)));
+        }
+    }
+
+    @Test
+    public void testSerialization() {
+        for (int i = 0; i < EXPECTED_URL_COUNT; ++i) {
+            filter.add(createFingerprint(i));
+        }
+
+        byte[] serializedFilter = SerializationUtils.serialize(filter);
+        Assert.assertTrue(serializedFilter.length < EXPECTED_URL_COUNT * 3);
+
+        ProbabilisticSeenUrlFilter deserializedFilter =
+                SerializationUtils.deserialize(serializedFilter);
+        Assert.assertFalse(deserializedFilter.add(createFingerprint(0)));
+    }
+
+    @Test
+    public void testClear() {
+        filter.add(createFingerprint(0));
+
+        filter.clear();
+
+        Assert.assertTrue(filter.add(createFingerprint(0)));
+    }
+
+    private static UrlFingerprint createFingerprint(final int index) {
+        return UrlFingerprint.fromDigest(DigestUtils.sha256("http://te.st/" + index));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import com.github.peterbencze.serritor.api.CrawlCandidate;
+import com.github.peterbencze.serritor.api.CrawlCandidate.CrawlCandidateBuilder;
+import com.github.peterbencze.serritor.api.CrawlRequest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link RevisitScheduler}.
+ */
+public final class RevisitSchedulerTest {
+
+    private static final long MIN_INTERVAL_IN_MILLIS = 1_000;
+    private static final long MAX_INTERVAL_IN_MILLIS = 4_000;
+
+    private static final long CONTENT_HASH_0 = RevisitScheduler.hashContent("content-0");
+    private static final long CONTENT_HASH_1 = RevisitScheduler.hashContent("content-1");
+
+    private static final Instant START_TIME = Instant.ofEpochMilli(0);
+
+    private RevisitScheduler revisitScheduler;
+
+    @Before
+    public void before() {
+        revisitScheduler = new RevisitScheduler(MIN_INTERVAL_IN_MILLIS, MAX_INTERVAL_IN_MILLIS);
+    }
+
+    @Test
+    public void testAdaptiveRevisitInterval() {
+        CrawlCandidate candidate = createCandidate("http://te.st/");
+
+        // First visit
+        Instant now = START_TIME;
+        revisitScheduler.scheduleRevisit(candidate, CONTENT_HASH_0, now);
+        Assert.assertEquals(Optional.of(now.plusMillis(1_000)),
+                revisitScheduler.getNextRevisitTime());
+
+        // Unchanged content doubles the interval up to the maximum
+        now = takeRevisit(now.plusMillis(1_000));
+        revisitScheduler.scheduleRevisit(candidate, CONTENT_HASH_0, now);
+        Assert.assertEquals(Optional.of(now.plusMillis(2_000)),
+                revisitScheduler.getNextRevisitTime());
+
+        now = takeRevisit(now.plusMillis(2_000));
+        revisitScheduler.scheduleRevisit(candidate, CONTENT_HASH_0, now);
+        now = takeRevisit(now.plusMillis(4_000));
+        revisitScheduler.scheduleRevisit(candidate, CONTENT_HASH_0, now);
+        Assert.assertEquals(Optional.of(now.plusMillis(4_000)),
+                revisitScheduler.getNextRevisitTime());
+
+        // Changed content halves the interval down to the minimum
+        now = takeRevisit(now.plusMillis(4_000));
+        revisitScheduler.scheduleRevisit(candidate, CONTENT_HASH_1, now);
+        Assert.assertEquals(Optional.of(now.plusMillis(2_000)),
+                revisitScheduler.getNextRevisitTime());
+
+        now = takeRevisit(now.plusMillis(2_000));
+        revisitScheduler.scheduleRevisit(candidate, CONTENT_HASH_0, now);
+        now = takeRevisit(now.plusMillis(1_000));
+        revisitScheduler.scheduleRevisit(candidate, CONTENT_HASH_1, now);
+        Assert.assertEquals(Optional.of(now.plusMillis(1_000)),
+                revisitScheduler.getNextRevisitTime());
+    }
+
+    @Test
+    public void testPollDueRevisits() {
+        CrawlCandidate candidate0 = createCandidate("http://te.st/0");
+        CrawlCandidate candidate1 = new CrawlCandidateBuilder(createCandidate("http://te.st/1"))
+                .setRetryCount(2)
+                .build();
+        revisitScheduler.scheduleRevisit(candidate1, CONTENT_HASH_0, START_TIME);
+        revisitScheduler.scheduleRevisit(candidate0, CONTENT_HASH_0, START_TIME);
+
+        Assert.assertEquals(Collections.emptyList(),
+                revisitScheduler.pollDueRevisits(START_TIME.plusMillis(999)));
+
+        // Revisits due at the same time are returned in the order they were scheduled
+        List<CrawlCandidate> dueCandidates =
+                revisitScheduler.pollDueRevisits(START_TIME.plusMillis(1_000));
+        Assert.assertEquals(Arrays.asList("/1", "/0"), dueCandidates.stream()
+                .map(candidate -> candidate.getRequestUrl().getPath())
+                .collect(Collectors.toList()));
+        Assert.assertEquals(0, dueCandidates.get(0).getRetryCount());
+        Assert.assertTrue(revisitScheduler.isEmpty());
+        Assert.assertFalse(revisitScheduler.getNextRevisitTime().isPresent());
+    }
+
+    private Instant takeRevisit(final Instant now) {
+        Assert.assertEquals(1, revisitScheduler.pollDueRevisits(now).size());
+        return now;
+    }
+
+    private static CrawlCandidate createCandidate(final String url) {
+        return new CrawlCandidateBuilder(CrawlRequest.createDefault(url)).build();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.peterbencze.serritor.internal.frontier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link StripedSeenUrlFilter}.
+ */
+public final class StripedSeenUrlFilterTest {
+
+    private static final int STRIPE_COUNT = 8;
+    private static final int THREAD_COUNT = 4;
+    private static final int URL_COUNT = 10_000;
+
+    @Test
+    public void testConcurrentAddRecordsEveryFingerprintOnce() throws Exception {
+        StripedSeenUrlFilter filter =
+                new StripedSeenUrlFilter(STRIPE_COUNT, () -> new ExactSeenUrlFilter(false));
+
+        // Every thread tries to add the same fingerprints, only one of them may succeed for each
+        Callable<Integer> task = () -> {
+            int addedCount = 0;
+            for (int i = 0; i < URL_COUNT; ++i) {
+                if (filter.add(createFingerprint(i))) {
+                    ++addedCount;
+                }
+            }
+
+            return addedCount;
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < THREAD_COUNT; ++i) {
+                futures.add(executor.submit(task));
+            }
+
+            int totalAddedCount = 0;
+            for (Future<Integer> future : futures) {
+                totalAddedCount += future.get();
+            }
+
+            Assert.assertEquals(URL_COUNT, totalAddedCount);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testClear() {
+        StripedSeenUrlFilter filter =
+                new StripedSeenUrlFilter(STRIPE_COUNT, () -> new ExactSeenUrlFilter(false));
+        for (int i = 0; i < STRIPE_COUNT; ++i) {
+            filter.add(createFingerprint(i));
+        }
+
+        filter.clear();
+
+        for (int i = 0; i < STRIPE_COUNT; ++i) {
+            Assert.assertTrue(filter.add(createFingerprint(i)));
+        }
+    }
+
+    private static UrlFingerprint createFingerprint(final int index) {
+        return UrlFingerprint.fromDigest(DigestUtils.sha256("http://example.com/" + index));
+    }
+}
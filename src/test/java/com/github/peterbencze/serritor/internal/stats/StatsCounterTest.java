@@ -16,6 +16,9 @@
 
 package com.github.peterbencze.serritor.internal.stats;
 
+import java.io.IOException;
+import java.io.InputStream;
+import org.apache.commons.lang3.SerializationUtils;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -36,9 +39,9 @@ public final class StatsCounterTest {
     public void testRecordResponseSuccess() {
         statsCounter.recordRemainingCrawlCandidate();
 
-        int remainingCrawlCandidateCountBefore = statsCounter.getRemainingCrawlCandidateCount();
-        int responseSuccessCountBefore = statsCounter.getResponseSuccessCount();
-        int processedCrawlCandidateCountBefore = statsCounter.getProcessedCrawlCandidateCount();
+        long remainingCrawlCandidateCountBefore = statsCounter.getRemainingCrawlCandidateCount();
+        long responseSuccessCountBefore = statsCounter.getResponseSuccessCount();
+        long processedCrawlCandidateCountBefore = statsCounter.getProcessedCrawlCandidateCount();
 
         statsCounter.recordResponseSuccess();
 
@@ -53,9 +56,9 @@ public final class StatsCounterTest {
     public void testRecordPageLoadTimeout() {
         statsCounter.recordRemainingCrawlCandidate();
 
-        int remainingCrawlCandidateCountBefore = statsCounter.getRemainingCrawlCandidateCount();
-        int pageLoadTimeoutCountBefore = statsCounter.getPageLoadTimeoutCount();
-        int processedCrawlCandidateCountBefore = statsCounter.getProcessedCrawlCandidateCount();
+        long remainingCrawlCandidateCountBefore = statsCounter.getRemainingCrawlCandidateCount();
+        long pageLoadTimeoutCountBefore = statsCounter.getPageLoadTimeoutCount();
+        long processedCrawlCandidateCountBefore = statsCounter.getProcessedCrawlCandidateCount();
 
         statsCounter.recordResponseSuccess();
 
@@ -70,9 +73,9 @@ public final class StatsCounterTest {
     public void testRecordRequestRedirect() {
         statsCounter.recordRemainingCrawlCandidate();
 
-        int remainingCrawlCandidateCountBefore = statsCounter.getRemainingCrawlCandidateCount();
-        int requestRedirectCountBefore = statsCounter.getRequestRedirectCount();
-        int processedCrawlCandidateCountBefore = statsCounter.getProcessedCrawlCandidateCount();
+        long remainingCrawlCandidateCountBefore = statsCounter.getRemainingCrawlCandidateCount();
+        long requestRedirectCountBefore = statsCounter.getRequestRedirectCount();
+        long processedCrawlCandidateCountBefore = statsCounter.getProcessedCrawlCandidateCount();
 
         statsCounter.recordResponseSuccess();
 
@@ -87,9 +90,9 @@ public final class StatsCounterTest {
     public void testRecordNonHtmlResponse() {
         statsCounter.recordRemainingCrawlCandidate();
 
-        int remainingCrawlCandidateCountBefore = statsCounter.getRemainingCrawlCandidateCount();
-        int nonHtmlResponseCount = statsCounter.getNonHtmlResponseCount();
-        int processedCrawlCandidateCountBefore = statsCounter.getProcessedCrawlCandidateCount();
+        long remainingCrawlCandidateCountBefore = statsCounter.getRemainingCrawlCandidateCount();
+        long nonHtmlResponseCount = statsCounter.getNonHtmlResponseCount();
+        long processedCrawlCandidateCountBefore = statsCounter.getProcessedCrawlCandidateCount();
 
         statsCounter.recordResponseSuccess();
 
@@ -104,9 +107,9 @@ public final class StatsCounterTest {
     public void testRecordResponseError() {
         statsCounter.recordRemainingCrawlCandidate();
 
-        int remainingCrawlCandidateCountBefore = statsCounter.getRemainingCrawlCandidateCount();
-        int responseErrorCount = statsCounter.getResponseErrorCount();
-        int processedCrawlCandidateCountBefore = statsCounter.getProcessedCrawlCandidateCount();
+        long remainingCrawlCandidateCountBefore = statsCounter.getRemainingCrawlCandidateCount();
+        long responseErrorCount = statsCounter.getResponseErrorCount();
+        long processedCrawlCandidateCountBefore = statsCounter.getProcessedCrawlCandidateCount();
 
         statsCounter.recordResponseSuccess();
 
@@ -121,9 +124,9 @@ public final class StatsCounterTest {
     public void testRecordNetworkError() {
         statsCounter.recordRemainingCrawlCandidate();
 
-        int remainingCrawlCandidateCountBefore = statsCounter.getRemainingCrawlCandidateCount();
-        int networkErrorCount = statsCounter.getNetworkErrorCount();
-        int processedCrawlCandidateCountBefore = statsCounter.getProcessedCrawlCandidateCount();
+        long remainingCrawlCandidateCountBefore = statsCounter.getRemainingCrawlCandidateCount();
+        long networkErrorCount = statsCounter.getNetworkErrorCount();
+        long processedCrawlCandidateCountBefore = statsCounter.getProcessedCrawlCandidateCount();
 
         statsCounter.recordResponseSuccess();
 
@@ -133,4 +136,71 @@ public final class StatsCounterTest {
         Assert.assertEquals(processedCrawlCandidateCountBefore + 1,
                 statsCounter.getProcessedCrawlCandidateCount());
     }
+
+    @Test
+    public void testRecordFedRequests() {
+        statsCounter.recordFedRequests(4, 3, 2, 1);
+
+        Assert.assertEquals(4, statsCounter.getRemainingCrawlCandidateCount());
+        Assert.assertEquals(3, statsCounter.getFilteredOffsiteRequestCount());
+        Assert.assertEquals(2, statsCounter.getFilteredDuplicateRequestCount());
+        Assert.assertEquals(1, statsCounter.getFilteredCrawlDepthLimitExceedingRequestCount());
+    }
+
+    @Test
+    public void testRecordDomainNameLookup() {
+        statsCounter.recordDomainNameLookup(true);
+        statsCounter.recordDomainNameLookup(true);
+        statsCounter.recordDomainNameLookup(false);
+
+        Assert.assertEquals(2, statsCounter.getDomainNameCacheHitCount());
+        Assert.assertEquals(1, statsCounter.getDomainNameCacheMissCount());
+    }
+
+    @Test
+    public void testSerializationWithLargeCounts() {
+        statsCounter.recordFedRequests(Integer.MAX_VALUE, 0, 0, 0);
+        statsCounter.recordFedRequests(Integer.MAX_VALUE, 0, 0, 0);
+        statsCounter.recordResponseSuccess();
+        statsCounter.recordDomainNameLookup(true);
+        statsCounter.recordDomainNameLookup(false);
+
+        StatsCounter deserializedStatsCounter =
+                SerializationUtils.deserialize(SerializationUtils.serialize(statsCounter));
+
+        Assert.assertEquals(2L * Integer.MAX_VALUE - 1,
+                deserializedStatsCounter.getRemainingCrawlCandidateCount());
+        Assert.assertEquals(1, deserializedStatsCounter.getResponseSuccessCount());
+        Assert.assertEquals(1, deserializedStatsCounter.getProcessedCrawlCandidateCount());
+        Assert.assertEquals(1, deserializedStatsCounter.getDomainNameCacheHitCount());
+        Assert.assertEquals(1, deserializedStatsCounter.getDomainNameCacheMissCount());
+    }
+
+    @Test
+    public void testDeserializePreviousVersion() throws IOException {
+        // Serialized by the previous, lock based implementation with 32-bit counters
+        StatsCounter deserializedStatsCounter;
+        try (InputStream in = getClass().getResourceAsStream("/stats-counter-32bit.ser")) {
+            deserializedStatsCounter = SerializationUtils.deserialize(in);
+        }
+
+        Assert.assertEquals(3, deserializedStatsCounter.getRemainingCrawlCandidateCount());
+        Assert.assertEquals(7, deserializedStatsCounter.getProcessedCrawlCandidateCount());
+        Assert.assertEquals(2, deserializedStatsCounter.getResponseSuccessCount());
+        Assert.assertEquals(1, deserializedStatsCounter.getPageLoadTimeoutCount());
+        Assert.assertEquals(1, deserializedStatsCounter.getRequestRedirectCount());
+        Assert.assertEquals(1, deserializedStatsCounter.getNonHtmlResponseCount());
+        Assert.assertEquals(1, deserializedStatsCounter.getResponseErrorCount());
+        Assert.assertEquals(1, deserializedStatsCounter.getNetworkErrorCount());
+        Assert.assertEquals(2, deserializedStatsCounter.getFilteredDuplicateRequestCount());
+        Assert.assertEquals(1, deserializedStatsCounter.getFilteredOffsiteRequestCount());
+        Assert.assertEquals(3,
+                deserializedStatsCounter.getFilteredCrawlDepthLimitExceedingRequestCount());
+        Assert.assertEquals(0, deserializedStatsCounter.getDomainNameCacheHitCount());
+        Assert.assertEquals(0, deserializedStatsCounter.getDomainNameCacheMissCount());
+
+        // The counters keep working after deserialization
+        deserializedStatsCounter.recordResponseSuccess();
+        Assert.assertEquals(2, deserializedStatsCounter.getRemainingCrawlCandidateCount());
+    }
 }
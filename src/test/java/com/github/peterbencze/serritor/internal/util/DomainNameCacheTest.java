@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019 Peter Bencze.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.github.peterbencze.serritor.internal.util;
+
+import com.google.common.net.InternetDomainName;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test cases for {@link DomainNameCache}.
+ */
+public final class DomainNameCacheTest {
+
+    @Test
+    public void testGetCachedDomainName() {
+        List<Boolean> lookups = new ArrayList<>();
+
+        InternetDomainName domain = DomainNameCache.get("www.domain-name-cache.com", lookups::add);
+        Assert.assertEquals(InternetDomainName.from("www.domain-name-cache.com"), domain);
+        Assert.assertSame(domain, DomainNameCache.get("www.domain-name-cache.com", lookups::add));
+
+        Assert.assertEquals(Arrays.asList(false, true), lookups);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetInvalidDomainName() {
+        DomainNameCache.get("invalid..domain");
+    }
+}
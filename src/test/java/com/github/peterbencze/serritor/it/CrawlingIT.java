@@ -22,6 +22,7 @@ import com.github.peterbencze.serritor.api.CrawlRequest;
 import com.github.peterbencze.serritor.api.CrawlerConfiguration;
 import com.github.peterbencze.serritor.api.event.NonHtmlResponseEvent;
 import com.github.peterbencze.serritor.api.event.ResponseSuccessEvent;
+import com.github.peterbencze.serritor.api.helper.UrlFinder;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
@@ -30,6 +31,12 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
 import net.lightbody.bmp.BrowserMobProxyServer;
 import net.lightbody.bmp.client.ClientUtil;
 import org.apache.commons.io.IOUtils;
@@ -39,10 +46,12 @@ import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.openqa.selenium.WebDriver.Options;
 import org.openqa.selenium.htmlunit.HtmlUnitDriver;
 import org.openqa.selenium.remote.BrowserType;
 import org.openqa.selenium.remote.CapabilityType;
 import org.openqa.selenium.remote.DesiredCapabilities;
+import org.openqa.selenium.remote.UnreachableBrowserException;
 
 /**
  * Integration test cases for Serritor.
@@ -206,6 +215,316 @@ public final class CrawlingIT {
         Assert.assertEquals(0, WireMock.findUnmatchedRequests().size());
     }
 
+    @Test
+    public void testCrawlingWithMultipleWorkers() {
+        WireMock.givenThat(WireMock.any(WireMock.urlMatching("/(foo|bar|baz)"))
+                .willReturn(WireMock.ok()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, ContentType.TEXT_HTML.toString())));
+
+        CrawlerConfiguration config = new CrawlerConfiguration.CrawlerConfigurationBuilder()
+                .addCrawlSeed(CrawlRequest.createDefault("http://te.st/foo"))
+                .addCrawlSeed(CrawlRequest.createDefault("http://te.st/bar"))
+                .addCrawlSeed(CrawlRequest.createDefault("http://te.st/baz"))
+                .setWorkerCount(2)
+                .build();
+
+        Crawler crawler = new Crawler(config) {
+        };
+        crawler.start(Browser.HTML_UNIT, capabilities);
+
+        WireMock.verify(1, WireMock.headRequestedFor(WireMock.urlEqualTo("/foo")));
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/foo")));
+
+        WireMock.verify(1, WireMock.headRequestedFor(WireMock.urlEqualTo("/bar")));
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/bar")));
+
+        WireMock.verify(1, WireMock.headRequestedFor(WireMock.urlEqualTo("/baz")));
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/baz")));
+
+        Assert.assertEquals(3, crawler.getCrawlStats().getResponseSuccessCount());
+    }
+
+    @Test
+    public void testCrawlingWithHeadRequestPrefetching() {
+        WireMock.givenThat(WireMock.any(WireMock.urlMatching("/(foo|baz)"))
+                .willReturn(WireMock.ok()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, ContentType.TEXT_HTML.toString())));
+
+        WireMock.givenThat(WireMock.head(WireMock.urlEqualTo("/bar"))
+                .willReturn(WireMock.ok()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, ContentType.APPLICATION_JSON
+                                .toString())));
+
+        CrawlerConfiguration config = new CrawlerConfiguration.CrawlerConfigurationBuilder()
+                .addCrawlSeed(CrawlRequest.createDefault("http://te.st/foo"))
+                .addCrawlSeed(CrawlRequest.createDefault("http://te.st/bar"))
+                .addCrawlSeed(CrawlRequest.createDefault("http://te.st/baz"))
+                .setHeadRequestPrefetchDepth(2)
+                .build();
+
+        Crawler crawler = new Crawler(config) {
+        };
+        crawler.start(Browser.HTML_UNIT, capabilities);
+
+        WireMock.verify(1, WireMock.headRequestedFor(WireMock.urlEqualTo("/foo")));
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/foo")));
+
+        WireMock.verify(1, WireMock.headRequestedFor(WireMock.urlEqualTo("/bar")));
+        WireMock.verify(0, WireMock.getRequestedFor(WireMock.urlEqualTo("/bar")));
+
+        WireMock.verify(1, WireMock.headRequestedFor(WireMock.urlEqualTo("/baz")));
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/baz")));
+
+        Assert.assertEquals(2, crawler.getCrawlStats().getResponseSuccessCount());
+        Assert.assertEquals(1, crawler.getCrawlStats().getNonHtmlResponseCount());
+    }
+
+    @Test
+    public void testCrawlingWithHtmlUnitProxyBypass() {
+        WireMock.givenThat(WireMock.any(WireMock.urlEqualTo("/foo"))
+                .willReturn(WireMock.ok()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, ContentType.TEXT_HTML.toString())
+                        .withBody("<script>window.location.replace('http://te.st/bar')</script>")));
+
+        WireMock.givenThat(WireMock.any(WireMock.urlEqualTo("/bar"))
+                .willReturn(WireMock.notFound()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, ContentType.TEXT_HTML.toString())));
+
+        CrawlerConfiguration config = new CrawlerConfiguration.CrawlerConfigurationBuilder()
+                .addCrawlSeed(CrawlRequest.createDefault("http://te.st/foo"))
+                .setHtmlUnitProxyBypassEnabled(true)
+                .build();
+
+        Crawler crawler = new Crawler(config) {
+        };
+        crawler.start(Browser.HTML_UNIT, capabilities);
+
+        WireMock.verify(1, WireMock.headRequestedFor(WireMock.urlEqualTo("/foo")));
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/foo")));
+
+        WireMock.verify(1, WireMock.headRequestedFor(WireMock.urlEqualTo("/bar")));
+
+        // Visited 2 times because of JS redirect
+        WireMock.verify(2, WireMock.getRequestedFor(WireMock.urlEqualTo("/bar")));
+
+        Assert.assertEquals(1, crawler.getCrawlStats().getRequestRedirectCount());
+        Assert.assertEquals(1, crawler.getCrawlStats().getResponseErrorCount());
+    }
+
+    @Test
+    public void testFileDownloadWithAsyncHttpClient() throws IOException {
+        WireMock.givenThat(WireMock.any(WireMock.urlEqualTo("/foo"))
+                .willReturn(WireMock.ok()
+                        .withHeader("Content-Type", ContentType.APPLICATION_OCTET_STREAM.toString())
+                        .withBodyFile("test-file")));
+
+        File destinationFile = createTempFile();
+
+        CrawlerConfiguration config = new CrawlerConfiguration.CrawlerConfigurationBuilder()
+                .addCrawlSeed(CrawlRequest.createDefault("http://te.st/foo"))
+                .setHeadRequestPrefetchDepth(1)
+                .setAsyncHttpClientEnabled(true)
+                .build();
+
+        Crawler crawler = new Crawler(config) {
+            @Override
+            protected void onNonHtmlResponse(final NonHtmlResponseEvent event) {
+                super.onNonHtmlResponse(event);
+
+                downloadFileAsync(event.getCrawlCandidate().getRequestUrl(), destinationFile)
+                        .join();
+            }
+        };
+        crawler.start(Browser.HTML_UNIT, capabilities);
+
+        WireMock.verify(1, WireMock.headRequestedFor(WireMock.urlEqualTo("/foo")));
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/foo")));
+
+        Assert.assertEquals(0, WireMock.findUnmatchedRequests().size());
+
+        InputStream input = this.getClass().getResourceAsStream("/__files/test-file");
+        String expected = IOUtils.toString(input, Charset.defaultCharset());
+        String actual = IOUtils.toString(destinationFile.toURI(), Charset.defaultCharset());
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testCrawlingWithStaticHtmlUrlPattern() {
+        WireMock.givenThat(WireMock.any(WireMock.urlEqualTo("/foo"))
+                .willReturn(WireMock.ok()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, ContentType.TEXT_HTML.toString())
+                        .withBody("<script>window.location.replace('http://te.st/baz')</script>"
+                                + "<a href='/bar'>Bar</a>")));
+
+        WireMock.givenThat(WireMock.any(WireMock.urlEqualTo("/bar"))
+                .willReturn(WireMock.notFound()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, ContentType.TEXT_HTML.toString())));
+
+        CrawlerConfiguration config = new CrawlerConfiguration.CrawlerConfigurationBuilder()
+                .addCrawlSeed(CrawlRequest.createDefault("http://te.st/foo"))
+                .build();
+
+        Crawler crawler = new Crawler(config) {
+            {
+                registerStaticHtmlUrlPattern(Pattern.compile("te\\.st/(foo|bar)"));
+            }
+
+            @Override
+            protected void onResponseSuccess(final ResponseSuccessEvent event) {
+                super.onResponseSuccess(event);
+
+                UrlFinder.createDefault()
+                        .findAllInResponse(event.getCompleteCrawlResponse())
+                        .forEach(url -> crawl(CrawlRequest.createDefault(url)));
+            }
+        };
+        crawler.start(Browser.HTML_UNIT, capabilities);
+
+        WireMock.verify(1, WireMock.headRequestedFor(WireMock.urlEqualTo("/foo")));
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/foo")));
+
+        WireMock.verify(1, WireMock.headRequestedFor(WireMock.urlEqualTo("/bar")));
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/bar")));
+
+        // JavaScript is not executed on static HTML pages
+        WireMock.verify(0, WireMock.anyRequestedFor(WireMock.urlEqualTo("/baz")));
+
+        Assert.assertEquals(1, crawler.getCrawlStats().getResponseSuccessCount());
+        Assert.assertEquals(1, crawler.getCrawlStats().getResponseErrorCount());
+    }
+
+    @Test
+    public void testBrowserRestart() {
+        WireMock.givenThat(WireMock.any(WireMock.urlMatching("/(foo|bar|baz)"))
+                .willReturn(WireMock.ok()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, ContentType.TEXT_HTML.toString())));
+
+        CrawlerConfiguration config = new CrawlerConfiguration.CrawlerConfigurationBuilder()
+                .addCrawlSeed(CrawlRequest.createDefault("http://te.st/foo"))
+                .addCrawlSeed(CrawlRequest.createDefault("http://te.st/bar"))
+                .addCrawlSeed(CrawlRequest.createDefault("http://te.st/baz"))
+                .setBrowserRestartPageCount(2)
+                .build();
+
+        AtomicInteger browserInitCount = new AtomicInteger();
+        Crawler crawler = new Crawler(config) {
+            @Override
+            protected void onBrowserInit(final Options options) {
+                super.onBrowserInit(options);
+
+                browserInitCount.incrementAndGet();
+            }
+        };
+        crawler.start(Browser.HTML_UNIT, capabilities);
+
+        // Restarted after the second page
+        Assert.assertEquals(2, browserInitCount.get());
+        Assert.assertEquals(3, crawler.getCrawlStats().getResponseSuccessCount());
+    }
+
+    @Test
+    public void testBrowserReuse() {
+        WireMock.givenThat(WireMock.any(WireMock.urlEqualTo("/foo"))
+                .willReturn(WireMock.ok()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, ContentType.TEXT_HTML.toString())));
+
+        CrawlerConfiguration config = new CrawlerConfiguration.CrawlerConfigurationBuilder()
+                .addCrawlSeed(CrawlRequest.createDefault("http://te.st/foo"))
+                .setBrowserReuseEnabled(true)
+                .build();
+
+        AtomicInteger browserInitCount = new AtomicInteger();
+        Crawler crawler = new Crawler(config) {
+            @Override
+            protected void onBrowserInit(final Options options) {
+                super.onBrowserInit(options);
+
+                browserInitCount.incrementAndGet();
+            }
+        };
+
+        crawler.start(Browser.HTML_UNIT, capabilities);
+        crawler.start(Browser.HTML_UNIT, capabilities);
+        Assert.assertEquals(1, browserInitCount.get());
+
+        crawler.closeBrowsers();
+        crawler.start(Browser.HTML_UNIT, capabilities);
+        crawler.closeBrowsers();
+        Assert.assertEquals(2, browserInitCount.get());
+
+        WireMock.verify(3, WireMock.getRequestedFor(WireMock.urlEqualTo("/foo")));
+    }
+
+    @Test
+    public void testBrowserFailureRecovery() {
+        WireMock.givenThat(WireMock.any(WireMock.urlMatching("/(foo|bar)"))
+                .willReturn(WireMock.ok()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, ContentType.TEXT_HTML.toString())));
+
+        CrawlerConfiguration config = new CrawlerConfiguration.CrawlerConfigurationBuilder()
+                .addCrawlSeed(CrawlRequest.createDefault("http://te.st/foo"))
+                .build();
+
+        AtomicInteger browserInitCount = new AtomicInteger();
+        List<String> successfulPaths = Collections.synchronizedList(new ArrayList<>());
+        Crawler crawler = new Crawler(config) {
+            @Override
+            protected void onBrowserInit(final Options options) {
+                super.onBrowserInit(options);
+
+                browserInitCount.incrementAndGet();
+            }
+
+            @Override
+            protected void onResponseSuccess(final ResponseSuccessEvent event) {
+                super.onResponseSuccess(event);
+
+                successfulPaths.add(event.getCrawlCandidate().getRequestUrl().getPath());
+                if (successfulPaths.size() == 1) {
+                    crawl(CrawlRequest.createDefault("http://te.st/bar"));
+
+                    // Simulate a browser crash, which is noticed when the next page is loaded
+                    event.getCompleteCrawlResponse().getWebDriver().quit();
+                }
+            }
+        };
+        crawler.start(Browser.HTML_UNIT, capabilities);
+
+        // The candidate is retried with a restarted browser
+        Assert.assertEquals(2, browserInitCount.get());
+        Assert.assertEquals(Arrays.asList("/foo", "/bar"), successfulPaths);
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/foo")));
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/bar")));
+    }
+
+    @Test
+    public void testBrowserFailureInCallbackIsNotRetried() {
+        WireMock.givenThat(WireMock.any(WireMock.urlEqualTo("/foo"))
+                .willReturn(WireMock.ok()
+                        .withHeader(HttpHeaders.CONTENT_TYPE, ContentType.TEXT_HTML.toString())));
+
+        CrawlerConfiguration config = new CrawlerConfiguration.CrawlerConfigurationBuilder()
+                .addCrawlSeed(CrawlRequest.createDefault("http://te.st/foo"))
+                .build();
+
+        Crawler crawler = new Crawler(config) {
+            @Override
+            protected void onResponseSuccess(final ResponseSuccessEvent event) {
+                super.onResponseSuccess(event);
+
+                throw new UnreachableBrowserException("Simulated browser crash");
+            }
+        };
+
+        try {
+            crawler.start(Browser.HTML_UNIT, capabilities);
+            Assert.fail("The exception thrown by the callback should be propagated");
+        } catch (UnreachableBrowserException exception) {
+            // The response event was delivered, so the candidate must not be crawled again
+            WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/foo")));
+        }
+    }
+
     @After
     public void after() {
         WireMock.reset();